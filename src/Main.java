@@ -1,6 +1,12 @@
 import service.*;
 import repository.*;
+import persistencia.BancoDados;
+import persistencia.DiarioAlteracoes;
+import persistencia.PoliticaSincronizacao;
 import ui.Menu;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 
 /**
  * Classe Main - FASE FINAL: Sistema Educacional Consolidado
@@ -27,6 +33,8 @@ import ui.Menu;
  * │  CAMADA SERVICE (Lógica de Negócio)  │ ← Regras de negócio
  * ├──────────────────────────────────────┤
  * │ CAMADA REPOSITORY (Persistência)     │ ← Dados em memória
+ * ├──────────────────────────────────────┤
+ * │ LOG + INSTANTÂNEOS (persistencia)    │ ← Dados em disco
  * └──────────────────────────────────────┘
  * 
  * (Fase Final: Sistema Educacional Consolidado)
@@ -39,30 +47,57 @@ public class Main {
         // ========== INICIALIZAÇÃO DE CAMADAS ==========
         
         // Camada Repository (Dados)
-        AlunoRepository alunoRepository = new AlunoRepository();
-        ProfessorRepository professorRepository = new ProfessorRepository();
-        CursoRepository cursoRepository = new CursoRepository();
-        TurmaRepository turmaRepository = new TurmaRepository();
+        // O diretório de logins é compartilhado para garantir logins únicos entre perfis
+        // O motor de armazenamento (LISTA, HASH, CONCORRENTE) é escolhido por entidade
+        // Em implantações multiusuário (várias threads), use Armazenamento.CONCORRENTE
+        DiretorioLogin diretorioLogin = new DiretorioLogin();
+        AlunoRepository alunoRepository = new AlunoRepository(Armazenamento.HASH, diretorioLogin);
+        ProfessorRepository professorRepository = new ProfessorRepository(Armazenamento.HASH, diretorioLogin);
+        CursoRepository cursoRepository = new CursoRepository(Armazenamento.HASH);
+        TurmaRepository turmaRepository = new TurmaRepository(Armazenamento.HASH);
+        
+        // Log de alterações em disco (Fase 9): reconstrói os repositórios ao iniciar
+        // PERIODICA força o disco a cada 200 ms; use SEMPRE para não perder nenhuma alteração
+        // Com um endereço JDBC como argumento (ex: jdbc:h2:./dados/sge), os dados ficam em um
+        // banco embutido no lugar do log, consultável em SQL (o driver precisa estar no classpath)
+        String urlBanco = args.length > 0 ? args[0] : null;
+        BancoDados banco = urlBanco == null ? null
+                : new BancoDados(urlBanco, PoliticaSincronizacao.PERIODICA, alunoRepository,
+                                 professorRepository, cursoRepository, turmaRepository);
+        DiarioAlteracoes diario = banco != null ? null
+                : new DiarioAlteracoes(Paths.get("dados"), PoliticaSincronizacao.PERIODICA, alunoRepository,
+                                       professorRepository, cursoRepository, turmaRepository);
         
         // Camada Service (Lógica de Negócio)
-        AlunoService alunoService = new AlunoService(alunoRepository);
-        ProfessorService professorService = new ProfessorService(professorRepository);
-        CursoService cursoService = new CursoService(cursoRepository);
+        // Remover um aluno o desmatricula das turmas (CASCATA); professores e cursos
+        // com turmas só podem ser removidos depois que as turmas forem tratadas (RESTRINGIR)
+        AlunoService alunoService = new AlunoService(alunoRepository, turmaRepository, PoliticaRemocao.CASCATA);
+        ProfessorService professorService = new ProfessorService(professorRepository, turmaRepository,
+                                                                 PoliticaRemocao.RESTRINGIR);
+        CursoService cursoService = new CursoService(cursoRepository, turmaRepository, PoliticaRemocao.RESTRINGIR);
         TurmaService turmaService = new TurmaService(turmaRepository);
+        AutenticacaoService autenticacaoService = new AutenticacaoService(diretorioLogin);
         SistemaService sistemaService = new SistemaService(alunoService, professorService, 
                                                            cursoService, turmaService);
         
         // Camada UI (Interface)
-        Menu menu = new Menu(alunoService, professorService, cursoService, turmaService, sistemaService);
+        Menu menu = new Menu(alunoService, professorService, cursoService, turmaService,
+                             sistemaService, autenticacaoService);
         
         exibirCarregamento();
         
-        // Carrega dados de demonstração (opcional)
-        sistemaService.inicializarDados();
+        // Recupera os dados gravados; sem dados gravados, carrega os de demonstração
+        int recuperadas = banco != null ? recuperarDados(banco) : recuperarDados(diario);
+        if (recuperadas == 0) {
+            sistemaService.inicializarDados();
+        }
+        Runnable fecharDados = banco != null ? banco::fechar : diario::fechar;
+        Runtime.getRuntime().addShutdownHook(new Thread(fecharDados));
         
         // Inicia o menu interativo
         menu.iniciar();
         
+        fecharDados.run();
         exibirEncerramento();
     }
     
@@ -102,6 +137,56 @@ public class Main {
         }
     }
     
+    /**
+     * Carrega o último instantâneo, reproduz o log de alterações e passa a
+     * gravar as novas alterações
+     * @param diario - Log de alterações
+     * @return Quantidade de alterações recuperadas (0 se não havia dados gravados)
+     */
+    private static int recuperarDados(DiarioAlteracoes diario) {
+        try {
+            int recuperadas = diario.abrir();
+            if (recuperadas > 0) {
+                System.out.println("✓ " + recuperadas + " alterações recuperadas de " + diario.getDiretorio()
+                                   + " (" + diario.getRegistrosInstantaneo() + " do instantâneo, "
+                                   + (recuperadas - diario.getRegistrosInstantaneo()) + " do log)");
+            }
+            if (diario.getRegistrosIgnorados() > 0) {
+                System.out.println("❌ " + diario.getRegistrosIgnorados() + " registros do log não puderam ser aplicados");
+            }
+            if (diario.getBytesDescartados() > 0) {
+                System.out.println("❌ Final do log estava incompleto: " + diario.getBytesDescartados() + " bytes descartados");
+            }
+            return recuperadas;
+        } catch (IOException e) {
+            System.out.println("❌ Não foi possível abrir o log de alterações: " + e.getMessage());
+            System.out.println("   O sistema seguirá sem gravar os dados em disco.");
+            return 0;
+        }
+    }
+    
+    /**
+     * Carrega os dados do banco de dados e passa a gravar as novas alterações nele
+     * @param banco - Banco de dados embutido
+     * @return Quantidade de itens carregados (0 se o banco estava vazio)
+     */
+    private static int recuperarDados(BancoDados banco) {
+        try {
+            int carregados = banco.abrir();
+            if (carregados > 0) {
+                System.out.println("✓ " + carregados + " registros carregados de " + banco.getUrl());
+            }
+            if (banco.getRegistrosIgnorados() > 0) {
+                System.out.println("❌ " + banco.getRegistrosIgnorados() + " registros do banco não puderam ser carregados");
+            }
+            return carregados;
+        } catch (SQLException e) {
+            System.out.println("❌ Não foi possível abrir o banco de dados: " + e.getMessage());
+            System.out.println("   O sistema seguirá sem gravar os dados em disco.");
+            return 0;
+        }
+    }
+    
     /**
      * Exibe mensagem de encerramento
      */
@@ -114,4 +199,4 @@ public class Main {
         System.out.println("║                                                          ║");
         System.out.println("╚══════════════════════════════════════════════════════════╝\n");
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -41,10 +41,12 @@ public class Administrador extends Usuario {
     
     public void setDepartamento(String departamento) {
         this.departamento = departamento;
+        registrarAlteracao();
     }
     
     public void setNivelAcesso(String nivelAcesso) {
         this.nivelAcesso = nivelAcesso;
+        registrarAlteracao();
     }
     
     // ========== IMPLEMENTANDO MÉTODOS DA INTERFACE AUTENTICAVEL ==========
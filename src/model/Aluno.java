@@ -10,6 +10,10 @@ package model;
  * (Fase 6: Relatórios e Polimorfismo)
  */
 public class Aluno extends Usuario {
+
+    // Nome do campo informado aos observadores quando o curso muda (Fase 8)
+    public static final String CAMPO_CURSO = "curso";
+
     private String matricula;
     private String curso;
     
@@ -42,10 +46,14 @@ public class Aluno extends Usuario {
     
     public void setMatricula(String matricula) {
         this.matricula = matricula;
+        registrarAlteracao();
     }
     
     public void setCurso(String curso) {
+        String cursoAnterior = this.curso;
         this.curso = curso;
+        notificarAlteracao(CAMPO_CURSO, cursoAnterior, curso);
+        registrarAlteracao();
     }
     
     // ========== IMPLEMENTANDO MÉTODOS DA INTERFACE AUTENTICAVEL ==========
@@ -126,6 +134,16 @@ public class Aluno extends Usuario {
         System.out.println("════════════════════════════════════════\n");
     }
     
+    /**
+     * Retorna uma cópia dos atributos lida de uma vez só, sem misturar valores de
+     * antes e depois de uma atualização em andamento (Fase 8)
+     * Usada por quem grava ou exporta vários atributos juntos
+     * @return Novo Aluno com os mesmos atributos, fora de qualquer repositório
+     */
+    public Aluno copiarAtributos() {
+        return lerConsistente(() -> new Aluno(nome, login, senha, matricula, curso));
+    }
+    
     /**
      * Retorna uma representação em String do Aluno
      */
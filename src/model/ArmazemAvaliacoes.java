@@ -0,0 +1,296 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe ArmazemAvaliacoes
+ * Guarda as avaliações de uma turma em colunas de tipos primitivos, uma posição
+ * por avaliação, na ordem de registro
+ *
+ * COLUNAS:
+ * - id: identificador da avaliação na turma (crescente, nunca reaproveitado)
+ * - aluno: índice no dicionário de alunos da turma
+ * - descrição: índice no dicionário de descrições ("Prova 1" fica guardada uma vez só)
+ * - nota: a nota
+ * - próxima: posição da próxima avaliação do mesmo aluno (-1 na última)
+ *
+ * Cada avaliação ocupa 24 bytes nas colunas, em vez de um objeto Avaliacao com
+ * lista de observadores, entradas nas listas da turma e a própria String da descrição.
+ * Os objetos Avaliacao devolvidos pela turma são vistas criadas na hora (id + turma)
+ *
+ * Como os ids crescem na ordem das posições, a posição de um id sai por busca binária.
+ * A remoção desloca as posições seguintes (System.arraycopy) e refaz o encadeamento
+ * por aluno em O(n); remover avaliações é raro perto de registrar e consultar
+ *
+ * O dicionário de alunos guarda a última instância recebida para cada matrícula
+ * (um aluno recadastrado aparece nas vistas com os dados novos), e a entrada de um
+ * aluno que fica sem avaliações é liberada e reaproveitada pelo próximo aluno novo
+ *
+ * Não é sincronizado: a turma dona do armazém o acessa sempre com a sua trava
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+final class ArmazemAvaliacoes {
+
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    // Colunas (só as posições de 0 a quantidade-1 valem)
+    private int[] ids = new int[CAPACIDADE_INICIAL];
+    private int[] alunos = new int[CAPACIDADE_INICIAL];
+    private int[] descricoes = new int[CAPACIDADE_INICIAL];
+    private double[] notas = new double[CAPACIDADE_INICIAL];
+    private int[] proximas = new int[CAPACIDADE_INICIAL];
+    private int quantidade;
+    private int proximoId;
+
+    // Dicionário de alunos: por índice, o aluno e a primeira e última posição das suas avaliações
+    private final Map<String, Integer> indicePorMatricula = new HashMap<>();
+    private final List<Aluno> dicionarioAlunos = new ArrayList<>();
+    private int[] primeiras = new int[CAPACIDADE_INICIAL];
+    private int[] ultimas = new int[CAPACIDADE_INICIAL];
+    private int[] quantidadesPorAluno = new int[CAPACIDADE_INICIAL];
+    private int[] alunosLivres = new int[CAPACIDADE_INICIAL]; // índices liberados (pilha)
+    private int quantidadeAlunosLivres;
+
+    // Dicionário de descrições
+    private final Map<String, Integer> indicePorDescricao = new HashMap<>();
+    private final List<String> dicionarioDescricoes = new ArrayList<>();
+
+    // ========== CONSULTA ==========
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    int getId(int posicao) {
+        return ids[posicao];
+    }
+
+    Aluno getAluno(int posicao) {
+        return dicionarioAlunos.get(alunos[posicao]);
+    }
+
+    String getDescricao(int posicao) {
+        return dicionarioDescricoes.get(descricoes[posicao]);
+    }
+
+    double getNota(int posicao) {
+        return notas[posicao];
+    }
+
+    void setNota(int posicao, double nota) {
+        notas[posicao] = nota;
+    }
+
+    /**
+     * Procura a posição de uma avaliação pelo id (busca binária)
+     * @return Posição, ou -1 se a avaliação não está (mais) no armazém
+     */
+    int posicao(int id) {
+        int posicao = Arrays.binarySearch(ids, 0, quantidade, id);
+        return posicao >= 0 ? posicao : -1;
+    }
+
+    /**
+     * Primeira avaliação de um aluno; as demais seguem por proxima()
+     * @return Posição, ou -1 se o aluno não tem avaliações
+     */
+    int primeira(String matricula) {
+        Integer aluno = matricula == null ? null : indicePorMatricula.get(matricula);
+        return aluno != null ? primeiras[aluno] : -1;
+    }
+
+    int proxima(int posicao) {
+        return proximas[posicao];
+    }
+
+    int quantidadeDoAluno(String matricula) {
+        Integer aluno = matricula == null ? null : indicePorMatricula.get(matricula);
+        return aluno != null ? quantidadesPorAluno[aluno] : 0;
+    }
+
+    /**
+     * Copia a coluna de notas
+     * @return Notas na ordem de registro
+     */
+    double[] copiarNotas() {
+        return Arrays.copyOf(notas, quantidade);
+    }
+
+    // ========== ALTERAÇÃO ==========
+
+    /**
+     * Acrescenta uma avaliação no fim das colunas
+     * @return Id da avaliação
+     */
+    int adicionar(Aluno aluno, String descricao, double nota) {
+        int id = proximoId;
+        adicionar(id, aluno, descricao, nota);
+        return id;
+    }
+
+    /**
+     * Acrescenta uma avaliação com um id já atribuído (restauração de dados gravados)
+     * O id vai para a posição que mantém as colunas em ordem de id: no fim, no caso
+     * comum, ou deslocando as seguintes se ele chegou fora de ordem
+     * @return false se o armazém já tem uma avaliação com esse id
+     */
+    boolean adicionar(int id, Aluno aluno, String descricao, double nota) {
+        int busca = Arrays.binarySearch(ids, 0, quantidade, id);
+        if (busca >= 0) {
+            return false;
+        }
+        if (quantidade == ids.length) {
+            int capacidade = quantidade + (quantidade >> 1);
+            ids = Arrays.copyOf(ids, capacidade);
+            alunos = Arrays.copyOf(alunos, capacidade);
+            descricoes = Arrays.copyOf(descricoes, capacidade);
+            notas = Arrays.copyOf(notas, capacidade);
+            proximas = Arrays.copyOf(proximas, capacidade);
+        }
+        int indiceAluno = indiceAluno(aluno);
+        int posicao = -busca - 1;
+        int seguintes = quantidade - posicao;
+        if (seguintes > 0) {
+            System.arraycopy(ids, posicao, ids, posicao + 1, seguintes);
+            System.arraycopy(alunos, posicao, alunos, posicao + 1, seguintes);
+            System.arraycopy(descricoes, posicao, descricoes, posicao + 1, seguintes);
+            System.arraycopy(notas, posicao, notas, posicao + 1, seguintes);
+        }
+        quantidade++;
+        proximoId = Math.max(proximoId, id + 1);
+        ids[posicao] = id;
+        alunos[posicao] = indiceAluno;
+        descricoes[posicao] = indiceDescricao(descricao);
+        notas[posicao] = nota;
+        if (seguintes > 0) {
+            reencadear();
+        } else {
+            encadear(indiceAluno, posicao);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a avaliação de uma posição, mantendo a ordem das demais
+     */
+    void remover(int posicao) {
+        int aluno = alunos[posicao];
+        int seguintes = quantidade - posicao - 1;
+        System.arraycopy(ids, posicao + 1, ids, posicao, seguintes);
+        System.arraycopy(alunos, posicao + 1, alunos, posicao, seguintes);
+        System.arraycopy(descricoes, posicao + 1, descricoes, posicao, seguintes);
+        System.arraycopy(notas, posicao + 1, notas, posicao, seguintes);
+        quantidade--;
+        reencadear();
+        if (quantidadesPorAluno[aluno] == 0) {
+            liberarAluno(aluno);
+        }
+    }
+
+    /**
+     * Remove todas as avaliações de um aluno em uma única passada
+     * @return Quantidade removida
+     */
+    int removerAluno(String matricula) {
+        Integer aluno = matricula == null ? null : indicePorMatricula.get(matricula);
+        if (aluno == null || quantidadesPorAluno[aluno] == 0) {
+            return 0;
+        }
+        int mantidas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (alunos[i] != aluno) {
+                ids[mantidas] = ids[i];
+                alunos[mantidas] = alunos[i];
+                descricoes[mantidas] = descricoes[i];
+                notas[mantidas] = notas[i];
+                mantidas++;
+            }
+        }
+        int removidas = quantidade - mantidas;
+        quantidade = mantidas;
+        reencadear();
+        liberarAluno(aluno);
+        return removidas;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Alunos com a mesma matrícula são o mesmo aluno (como no índice da turma);
+    // uma instância diferente (aluno recadastrado) substitui a guardada
+    private int indiceAluno(Aluno aluno) {
+        Integer indice = indicePorMatricula.get(aluno.getMatricula());
+        if (indice != null) {
+            if (dicionarioAlunos.get(indice) != aluno) {
+                dicionarioAlunos.set(indice, aluno);
+            }
+            return indice;
+        }
+        if (quantidadeAlunosLivres > 0) {
+            indice = alunosLivres[--quantidadeAlunosLivres];
+            dicionarioAlunos.set(indice, aluno);
+        } else {
+            indice = dicionarioAlunos.size();
+            dicionarioAlunos.add(aluno);
+            if (indice == primeiras.length) {
+                int capacidade = indice + (indice >> 1);
+                primeiras = Arrays.copyOf(primeiras, capacidade);
+                ultimas = Arrays.copyOf(ultimas, capacidade);
+                quantidadesPorAluno = Arrays.copyOf(quantidadesPorAluno, capacidade);
+            }
+        }
+        indicePorMatricula.put(aluno.getMatricula(), indice);
+        primeiras[indice] = -1;
+        ultimas[indice] = -1;
+        quantidadesPorAluno[indice] = 0;
+        return indice;
+    }
+
+    // O aluno ficou sem avaliações: a entrada do dicionário volta para a pilha de livres
+    // (procurada pelo índice, porque a matrícula do objeto guardado pode ter mudado)
+    private void liberarAluno(int indice) {
+        indicePorMatricula.values().remove(indice);
+        dicionarioAlunos.set(indice, null);
+        if (quantidadeAlunosLivres == alunosLivres.length) {
+            alunosLivres = Arrays.copyOf(alunosLivres, quantidadeAlunosLivres + (quantidadeAlunosLivres >> 1));
+        }
+        alunosLivres[quantidadeAlunosLivres++] = indice;
+    }
+
+    private int indiceDescricao(String descricao) {
+        Integer indice = indicePorDescricao.get(descricao);
+        if (indice == null) {
+            indice = dicionarioDescricoes.size();
+            dicionarioDescricoes.add(descricao);
+            indicePorDescricao.put(descricao, indice);
+        }
+        return indice;
+    }
+
+    // Põe a posição no fim da cadeia do aluno
+    private void encadear(int aluno, int posicao) {
+        proximas[posicao] = -1;
+        if (ultimas[aluno] < 0) {
+            primeiras[aluno] = posicao;
+        } else {
+            proximas[ultimas[aluno]] = posicao;
+        }
+        ultimas[aluno] = posicao;
+        quantidadesPorAluno[aluno]++;
+    }
+
+    // Refaz as cadeias depois que as posições mudaram
+    private void reencadear() {
+        int totalAlunos = dicionarioAlunos.size();
+        Arrays.fill(primeiras, 0, totalAlunos, -1);
+        Arrays.fill(ultimas, 0, totalAlunos, -1);
+        Arrays.fill(quantidadesPorAluno, 0, totalAlunos, 0);
+        for (int i = 0; i < quantidade; i++) {
+            encadear(alunos[i], i);
+        }
+    }
+}
@@ -1,20 +1,50 @@
 package model;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Classe que representa uma Avaliação no sistema
  * Responsável por armazenar notas e descrições de avaliações
  * Utiliza ENCAPSULAMENTO para garantir segurança no acesso às notas
+ *
+ * Depois de registrada em uma turma, a avaliação é uma vista sobre as colunas
+ * de notas da turma (Fase 8): a nota lida e alterada é a que está na turma, e
+ * duas vistas da mesma avaliação são iguais (equals). Antes de registrada, ou
+ * depois de removida, a avaliação é avulsa e guarda a nota no próprio objeto
+ *
+ * A igualdade acompanha o vínculo com a turma: ela só vale enquanto a avaliação
+ * está registrada, e vistas de uma avaliação removida voltam a ser iguais só a si
+ * mesmas. Não guarde avaliações em conjuntos ou como chaves de mapas que precisem
+ * sobreviver à remoção; use turma + getId() como identificador
  */
 public class Avaliacao {
     // ========== ATRIBUTOS PRIVADOS ==========
-    private double nota;
-    private String descricao;
-    private Aluno aluno;
+    // Escrita com a trava da turma (ou pelo dono da avulsa) e lida sem trava por getNota()
+    private volatile double nota;
+    private final String descricao;
+    private final Aluno aluno;
+    
+    // Turma em que a avaliação está registrada (null se avulsa) e o id dela na turma
+    private volatile Turma turma;
+    private int id;
+    
+    // Versão das notas da turma quando a vista leu a nota: enquanto for a mesma, a nota guardada vale.
+    // Gravada depois da nota e lida antes dela: quem vê a versão vê a nota lida junto (ou uma mais nova)
+    private volatile long versaoLida;
     
     // Constante para validação
     private static final double NOTA_MINIMA = 0.0;
     private static final double NOTA_MAXIMA = 10.0;
     
+    // Nome do campo informado aos observadores (Fase 9)
+    public static final String CAMPO_NOTA = "nota";
+    
+    // Observadores avisados quando a nota muda por este objeto (criada no primeiro observador;
+    // a turma da avaliação não precisa de um, porque a nota já é alterada nela)
+    private volatile List<ObservadorAlteracao> observadores;
+    
     /**
      * Construtor da classe Avaliacao
      * @param descricao - Descrição da avaliação (ex: "Prova 1", "Trabalho Final")
@@ -26,6 +56,18 @@ public class Avaliacao {
         this.nota = 0.0; // Inicializa com 0
     }
     
+    /**
+     * Construtor de uma vista sobre uma avaliação registrada na turma
+     */
+    Avaliacao(Turma turma, int id, Aluno aluno, String descricao, double nota, long versao) {
+        this.id = id;
+        this.aluno = aluno;
+        this.descricao = descricao;
+        this.nota = nota;
+        this.versaoLida = versao;
+        this.turma = turma;
+    }
+    
     // ========== GETTERS (APENAS LEITURA) ==========
     
     /**
@@ -33,6 +75,15 @@ public class Avaliacao {
      * @return Valor da nota
      */
     public double getNota() {
+        Turma vinculada = turma;
+        if (vinculada != null) {
+            long versao = versaoLida;
+            double valor = nota;
+            if (versao == vinculada.getVersaoNotas()) {
+                return valor;
+            }
+            vinculada.lerNota(this);
+        }
         return nota;
     }
     
@@ -52,6 +103,17 @@ public class Avaliacao {
         return aluno;
     }
     
+    /**
+     * Retorna o id da avaliação na turma em que foi registrada
+     * O id é atribuído pela turma no registro, nunca é reaproveitado por ela e continua
+     * o mesmo depois de a avaliação ser removida; é com ele que o log de alterações
+     * identifica a avaliação (um aluno pode ter várias com a mesma descrição)
+     * @return Id na turma (sem significado antes do primeiro registro)
+     */
+    public int getId() {
+        return id;
+    }
+    
     // ========== NÃO TEMOS SETTERS DIRETOS ==========
     // A nota SÓ pode ser alterada através do método atribuirNota()
     // que valida o valor antes de atribuir
@@ -84,16 +146,112 @@ public class Avaliacao {
         }
         
         // Se passou em todas as validações, atribui a nota
-        this.nota = valor;
+        definirNota(valor);
         System.out.println("✓ Nota " + valor + " atribuída com sucesso para " + aluno.getNome());
         return true;
     }
     
+    /**
+     * Atribui uma nota com as mesmas validações, sem imprimir mensagens
+     * (usado ao restaurar avaliações gravadas)
+     * @param valor - Valor da nota a ser atribuída
+     * @return true se a nota foi atribuída, false se está fora do intervalo permitido
+     */
+    public boolean alterarNota(double valor) {
+        if (valor < NOTA_MINIMA || valor > NOTA_MAXIMA) {
+            return false;
+        }
+        definirNota(valor);
+        return true;
+    }
+    
+    private void definirNota(double valor) {
+        Turma vinculada = turma;
+        double notaAnterior = vinculada != null ? vinculada.definirNota(this, valor) : Double.NaN;
+        if (Double.isNaN(notaAnterior)) {
+            // Avulsa (ou já removida da turma): a nota fica no próprio objeto
+            notaAnterior = this.nota;
+            this.nota = valor;
+        }
+        notificarAlteracao(CAMPO_NOTA, notaAnterior, valor);
+    }
+    
+    // ========== VÍNCULO COM A TURMA (FASE 8) ==========
+    // Chamados pela Turma com a sua trava
+    
+    Turma getTurma() {
+        return turma;
+    }
+    
+    // Nota guardada no objeto: a da avulsa, ou a última que a vista leu da turma
+    double getNotaGuardada() {
+        return nota;
+    }
+    
+    // Nota lida da turma (a vista guarda a última, para o caso de a avaliação sair da turma);
+    // a nota vai antes da versão, na ordem inversa da leitura em getNota()
+    void setNotaLida(double nota, long versao) {
+        this.nota = nota;
+        this.versaoLida = versao;
+    }
+    
+    void vincular(Turma turma, int id, long versao) {
+        this.id = id;
+        this.versaoLida = versao;
+        this.turma = turma;
+    }
+    
+    void desvincular(double notaFinal) {
+        this.nota = notaFinal;
+        this.turma = null;
+    }
+    
+    // ========== OBSERVADORES (FASE 9) ==========
+    
+    /**
+     * Registra um observador de alterações de nota
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorAlteracao observador) {
+        synchronized (this) {
+            if (observadores == null) {
+                observadores = new CopyOnWriteArrayList<>();
+            }
+        }
+        observadores.add(observador);
+    }
+    
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorAlteracao observador) {
+        List<ObservadorAlteracao> atuais = observadores;
+        if (atuais != null) {
+            atuais.remove(observador);
+        }
+    }
+    
+    /**
+     * Avisa os observadores que a nota mudou
+     * Não avisa quando o valor continua o mesmo
+     */
+    private void notificarAlteracao(String campo, Object valorAnterior, Object valorNovo) {
+        List<ObservadorAlteracao> atuais = observadores;
+        if (atuais == null || Objects.equals(valorAnterior, valorNovo)) {
+            return;
+        }
+        for (ObservadorAlteracao observador : atuais) {
+            observador.alterado(this, campo, valorAnterior, valorNovo);
+        }
+    }
+    
     /**
      * Retorna a situação do aluno com base na nota
      * @return String com a situação (Aprovado, Recuperação, Reprovado)
      */
     public String obterSituacao() {
+        double nota = getNota();
         if (nota >= 7.0) {
             return "Aprovado";
         } else if (nota >= 5.0) {
@@ -113,11 +271,38 @@ public class Avaliacao {
         System.out.println("Aluno: " + aluno.getNome());
         System.out.println("Matrícula: " + aluno.getMatricula());
         System.out.println("Descrição: " + descricao);
-        System.out.println("Nota: " + nota);
+        System.out.println("Nota: " + getNota());
         System.out.println("Situação: " + obterSituacao());
         System.out.println("════════════════════════════════════════\n");
     }
     
+    /**
+     * Vistas da mesma avaliação registrada (mesma turma e mesmo id) são iguais; avulsas
+     * só são iguais a si mesmas. Como depende do vínculo com a turma, duas vistas
+     * iguais deixam de ser quando a avaliação é removida (ver a descrição da classe)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Avaliacao)) {
+            return false;
+        }
+        Avaliacao outra = (Avaliacao) o;
+        Turma vinculada = turma;
+        return vinculada != null && vinculada == outra.turma && id == outra.id;
+    }
+    
+    /**
+     * Calculado só com aluno e descrição, que não mudam: o hash é o mesmo
+     * antes e depois de a avaliação entrar ou sair de uma turma
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(aluno != null ? aluno.getMatricula() : null, descricao);
+    }
+    
     /**
      * Retorna uma representação em String da avaliação
      */
@@ -126,7 +311,7 @@ public class Avaliacao {
         return "Avaliacao{" +
                 "aluno='" + aluno.getNome() + '\'' +
                 ", descricao='" + descricao + '\'' +
-                ", nota=" + nota +
+                ", nota=" + getNota() +
                 ", situacao='" + obterSituacao() + '\'' +
                 '}';
     }
@@ -0,0 +1,106 @@
+package model;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Classe ControleVersao
+ * Carimbo de versão de uma entidade para controle de concorrência OTIMISTA
+ * (sem travas: nenhum leitor ou escritor espera por outro)
+ *
+ * FUNCIONAMENTO:
+ * - Versão PAR: entidade estável
+ * - Versão ÍMPAR: uma atualização condicional está em andamento
+ * - iniciarEdicao(v) só tem sucesso se a versão atual ainda for v (compare-and-set);
+ *   caso contrário outro editor chegou antes e o chamador recebe um conflito
+ * - Cada setter soma 2 (mantém a paridade) e concluirEdicao torna a versão par de novo
+ *
+ * Leitores que precisam de uma visão consistente de vários atributos
+ * usam lerConsistente(), que repete a leitura se uma edição ocorreu no meio
+ *
+ * ORDEM DE MEMÓRIA (os atributos são campos comuns, só a versão é atômica):
+ * - iniciarEdicao: barreira store-store depois da versão ímpar, para que nenhum
+ *   atributo novo fique visível antes dela
+ * - concluirEdicao/registrarAlteracao: barreira release antes de avançar a versão,
+ *   para que os atributos gravados fiquem visíveis antes dela
+ * - lerConsistente: barreira acquire entre ler os atributos e reler a versão
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class ControleVersao {
+
+    private final AtomicLong versao = new AtomicLong();
+
+    /**
+     * Retorna a versão atual
+     * @return Número da versão (par = estável, ímpar = em edição)
+     */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    /**
+     * Indica se há uma atualização condicional em andamento
+     * @return true se a versão atual é ímpar
+     */
+    public boolean emEdicao() {
+        return (versao.get() & 1L) == 1L;
+    }
+
+    /**
+     * Reserva a entidade para uma atualização condicional
+     * @param versaoEsperada - Versão lida pelo editor antes de preparar a alteração
+     * @return true se a reserva foi feita, false em caso de conflito
+     */
+    public boolean iniciarEdicao(long versaoEsperada) {
+        if ((versaoEsperada & 1L) == 1L || !versao.compareAndSet(versaoEsperada, versaoEsperada + 1)) {
+            return false;
+        }
+        VarHandle.storeStoreFence();
+        return true;
+    }
+
+    /**
+     * Conclui uma atualização condicional (a versão volta a ser par)
+     */
+    public void concluirEdicao() {
+        VarHandle.releaseFence();
+        versao.incrementAndGet();
+    }
+
+    /**
+     * Desiste de uma atualização condicional que não alterou nada
+     */
+    public void cancelarEdicao() {
+        versao.decrementAndGet();
+    }
+
+    /**
+     * Registra uma alteração de atributo (chamado pelos setters)
+     */
+    public void registrarAlteracao() {
+        VarHandle.releaseFence();
+        versao.addAndGet(2);
+    }
+
+    /**
+     * Lê atributos da entidade garantindo que nenhuma edição ocorreu durante a leitura
+     * @param leitura - Função que lê os atributos desejados
+     * @return Resultado de uma leitura feita com a entidade estável
+     */
+    public <T> T lerConsistente(Supplier<T> leitura) {
+        while (true) {
+            long antes = versao.get();
+            if ((antes & 1L) == 1L) {
+                Thread.onSpinWait();
+                continue;
+            }
+            T resultado = leitura.get();
+            VarHandle.acquireFence();
+            if (versao.get() == antes) {
+                return resultado;
+            }
+        }
+    }
+}
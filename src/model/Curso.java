@@ -8,10 +8,13 @@ package model;
  * (Fase 4: Herança e Polimorfismo)
  * (Fase 6: Relatórios e Polimorfismo)
  */
-public class Curso implements Relatorio {
+public class Curso implements Relatorio, Versionavel {
     protected String nome;
     protected String codigo;
     protected double cargaHoraria;
+
+    // Carimbo de versão para atualizações otimistas (Fase 8)
+    private final ControleVersao controleVersao = new ControleVersao();
     
     /**
      * Construtor da classe Curso
@@ -43,16 +46,54 @@ public class Curso implements Relatorio {
     
     public void setNome(String nome) {
         this.nome = nome;
+        registrarAlteracao();
     }
     
     public void setCodigo(String codigo) {
         this.codigo = codigo;
+        registrarAlteracao();
     }
     
     public void setCargaHoraria(double cargaHoraria) {
         this.cargaHoraria = cargaHoraria;
+        registrarAlteracao();
     }
     
+    // ========== VERSÃO (FASE 8) ==========
+
+    /**
+     * Retorna o controle de versão usado nas atualizações condicionais
+     * @return Controle de versão
+     */
+    @Override
+    public ControleVersao getControleVersao() {
+        return controleVersao;
+    }
+
+    /**
+     * Registra uma alteração de atributo no carimbo de versão
+     */
+    protected void registrarAlteracao() {
+        controleVersao.registrarAlteracao();
+    }
+
+    /**
+     * Retorna uma cópia dos atributos lida de uma vez só, sem misturar valores de
+     * antes e depois de uma atualização em andamento
+     * Usada por quem grava ou exporta vários atributos juntos
+     * @return Novo curso do mesmo tipo e com os mesmos atributos, fora de qualquer repositório
+     */
+    public Curso copiarAtributos() {
+        return lerConsistente(this::copiar);
+    }
+
+    /**
+     * Cria a cópia usada por copiarAtributos (SOBRESCRITO pelas subclasses)
+     */
+    protected Curso copiar() {
+        return new Curso(nome, codigo, cargaHoraria);
+    }
+
     // ========== MÉTODOS ==========
     
     /**
@@ -33,6 +33,14 @@ public class CursoEAD extends Curso {
     
     public void setPlataformaVirtual(String plataformaVirtual) {
         this.plataformaVirtual = plataformaVirtual;
+        registrarAlteracao();
+    }
+    
+    // ========== VERSÃO (FASE 8) ==========
+    
+    @Override
+    protected Curso copiar() {
+        return new CursoEAD(nome, codigo, cargaHoraria, plataformaVirtual);
     }
     
     // ========== MÉTODOS ==========
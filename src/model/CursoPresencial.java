@@ -33,6 +33,14 @@ public class CursoPresencial extends Curso {
     
     public void setSalaDeAula(String salaDeAula) {
         this.salaDeAula = salaDeAula;
+        registrarAlteracao();
+    }
+    
+    // ========== VERSÃO (FASE 8) ==========
+    
+    @Override
+    protected Curso copiar() {
+        return new CursoPresencial(nome, codigo, cargaHoraria, salaDeAula);
     }
     
     // ========== MÉTODOS ==========
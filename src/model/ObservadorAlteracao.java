@@ -0,0 +1,22 @@
+package model;
+
+/**
+ * Interface ObservadorAlteracao
+ * Define o contrato para quem precisa ser avisado quando um atributo
+ * de uma entidade é alterado (ex: índices mantidos pelos repositórios)
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public interface ObservadorAlteracao {
+
+    /**
+     * Chamado logo após a alteração de um atributo
+     *
+     * @param origem - Entidade que sofreu a alteração
+     * @param campo - Nome do atributo alterado (ex: Aluno.CAMPO_CURSO)
+     * @param valorAnterior - Valor antes da alteração
+     * @param valorNovo - Valor depois da alteração
+     */
+    void alterado(Object origem, String campo, Object valorAnterior, Object valorNovo);
+
+}
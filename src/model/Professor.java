@@ -42,10 +42,12 @@ public class Professor extends Usuario {
     
     public void setEspecialidade(String especialidade) {
         this.especialidade = especialidade;
+        registrarAlteracao();
     }
     
     public void setRegistro(String registro) {
         this.registro = registro;
+        registrarAlteracao();
     }
     
     // ========== IMPLEMENTANDO MÉTODOS DA INTERFACE AUTENTICAVEL ==========
@@ -126,6 +128,16 @@ public class Professor extends Usuario {
         System.out.println("════════════════════════════════════════\n");
     }
     
+    /**
+     * Retorna uma cópia dos atributos lida de uma vez só, sem misturar valores de
+     * antes e depois de uma atualização em andamento (Fase 8)
+     * Usada por quem grava ou exporta vários atributos juntos
+     * @return Novo Professor com os mesmos atributos, fora de qualquer repositório
+     */
+    public Professor copiarAtributos() {
+        return lerConsistente(() -> new Professor(nome, login, senha, especialidade, registro));
+    }
+    
     /**
      * Retorna uma representação em String do Professor
      */
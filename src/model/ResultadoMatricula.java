@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * Enum ResultadoMatricula
+ * Situação de cada aluno em uma matrícula em lote (Turma.matricularAlunos)
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public enum ResultadoMatricula {
+
+    MATRICULADO,        // Aluno incluído na turma
+    JA_MATRICULADO,     // Aluno já estava na turma antes do lote
+    DUPLICADO_NO_LOTE,  // Matrícula repetida dentro do próprio lote (a primeira ocorrência entrou)
+    INVALIDO            // Aluno nulo ou sem matrícula
+
+}
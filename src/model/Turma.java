@@ -1,19 +1,96 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Classe que representa uma Turma no sistema
  * Responsável por associar um Professor, um Curso e uma lista de Alunos
  * Também gerencia avaliações dos alunos (Fase 3)
+ *
+ * Segura para acesso concorrente (Fase 8): as alterações são sincronizadas
+ * e as listas entregues não mudam depois de obtidas (alunos em uma lista imutável
+ * refeita após cada alteração, avaliações em listas montadas a cada consulta),
+ * então iterações nunca lançam ConcurrentModificationException
+ *
+ * Os alunos ficam indexados pela matrícula, na ordem de matrícula: verificar,
+ * incluir e remover uma matrícula custa O(1), mesmo em turmas EAD com milhares de alunos.
+ *
+ * As avaliações ficam em colunas de tipos primitivos (ArmazemAvaliacoes), encadeadas
+ * por aluno: as de um aluno saem em O(k), sem percorrer as da turma inteira.
+ * Os objetos Avaliacao entregues são vistas sobre as colunas, criadas na consulta
+ *
+ * A soma e a quantidade de notas de cada aluno e da turma são mantidas a cada
+ * avaliação incluída, removida ou com nota alterada: as médias saem em O(1)
+ *
+ * Matrículas, avaliações e notas também são informadas aos observadores
+ * (Fase 9), para que possam ser gravadas no log de alterações. Os avisos são
+ * guardados com a trava da turma e entregues depois de soltá-la, na ordem das
+ * alterações: uma gravação lenta não segura quem só quer ler a turma
  */
-public class Turma {
+public class Turma implements Versionavel {
+
+    // Nomes dos campos informados aos observadores (Fase 8)
+    public static final String CAMPO_CODIGO = "codigo";
+    public static final String CAMPO_PROFESSOR = "professor";
+    public static final String CAMPO_CURSO = "curso";
+
+    // Matrícula de alunos: (null, aluno) ao adicionar e (aluno, null) ao remover
+    public static final String CAMPO_ALUNOS = "alunos";
+
+    // Avaliações (Fase 9): (null, avaliação) ao adicionar e (avaliação, null) ao remover
+    public static final String CAMPO_AVALIACOES = "avaliacoes";
+
+    // Nota alterada em uma avaliação da turma: (nota anterior, avaliação já com a nova nota)
+    public static final String CAMPO_NOTA = "nota";
+
     private String codigo;
     private Professor professor;
     private Curso curso;
-    private List<Aluno> listaAlunos;
-    private List<Avaliacao> listaAvaliacoes;
+
+    // Alunos por matrícula, na ordem de matrícula (protegido pela trava da turma)
+    private final Map<String, Aluno> alunosPorMatricula;
+
+    // Lista entregue por getListaAlunos(): null depois de uma alteração e refeita
+    // na primeira leitura, então matrículas seguidas não copiam a lista a cada uma
+    private volatile List<Aluno> listaAlunos;
+    private volatile int quantidadeAlunos;
+
+    // Avaliações em colunas, na ordem de registro (protegido pela trava da turma)
+    private final ArmazemAvaliacoes avaliacoes = new ArmazemAvaliacoes();
+    
+    // Muda a cada nota alterada ou avaliação removida: as vistas que leram a nota
+    // na versão atual a devolvem sem travar nem procurar nas colunas
+    private volatile long versaoNotas;
+
+    // Soma e quantidade de notas por matrícula e da turma inteira, refeitas (com a
+    // trava da turma) a cada alteração de avaliação; lidas sem trava pelas médias
+    private final ConcurrentMap<String, Acumulado> acumuladoPorMatricula = new ConcurrentHashMap<>();
+    private volatile Acumulado acumuladoTurma = Acumulado.VAZIO;
+
+    // Carimbo de versão para atualizações otimistas (Fase 8)
+    private final ControleVersao controleVersao = new ControleVersao();
+
+    // Observadores avisados quando um atributo indexado muda (Fase 8)
+    private final List<ObservadorAlteracao> observadores = new CopyOnWriteArrayList<>();
+
+    // Avisos de matrículas, avaliações e notas guardados com a trava da turma (na ordem
+    // das alterações) e entregues um de cada vez, sem ela, por quem segura travaEntrega
+    private final Queue<Notificacao> notificacoesPendentes = new ConcurrentLinkedQueue<>();
+    private final Object travaEntrega = new Object();
     
     /**
      * Construtor da classe Turma
@@ -25,8 +102,8 @@ public class Turma {
         this.codigo = codigo;
         this.professor = professor;
         this.curso = curso;
-        this.listaAlunos = new ArrayList<>(); // Inicializa a lista vazia
-        this.listaAvaliacoes = new ArrayList<>(); // Inicializa a lista vazia
+        this.alunosPorMatricula = new LinkedHashMap<>();
+        this.listaAlunos = List.of(); // Inicializa a lista vazia
     }
     
     // ========== GETTERS ==========
@@ -43,28 +120,158 @@ public class Turma {
         return curso;
     }
     
+    /**
+     * Retorna os alunos matriculados, na ordem de matrícula
+     * A lista é imutável e compartilhada entre os leitores; só é refeita
+     * (com a trava da turma) na primeira leitura depois de uma alteração
+     * @return Lista imutável de alunos
+     */
     public List<Aluno> getListaAlunos() {
-        return listaAlunos;
+        List<Aluno> alunos = listaAlunos;
+        if (alunos == null) {
+            synchronized (this) {
+                alunos = listaAlunos;
+                if (alunos == null) {
+                    alunos = List.copyOf(alunosPorMatricula.values());
+                    listaAlunos = alunos;
+                }
+            }
+        }
+        return alunos;
+    }
+    
+    /**
+     * Retorna as avaliações da turma, na ordem de registro
+     * A lista é montada a cada chamada, com uma vista para cada avaliação
+     * @return Lista imutável de avaliações
+     */
+    public synchronized List<Avaliacao> getListaAvaliacoes() {
+        Avaliacao[] vistas = new Avaliacao[avaliacoes.getQuantidade()];
+        for (int i = 0; i < vistas.length; i++) {
+            vistas[i] = vista(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(vistas));
+    }
+    
+    /**
+     * Retorna a quantidade de avaliações da turma (sem montar a lista)
+     * @return Número de avaliações
+     */
+    public synchronized int getQuantidadeAvaliacoes() {
+        return avaliacoes.getQuantidade();
     }
     
-    public List<Avaliacao> getListaAvaliacoes() {
-        return listaAvaliacoes;
+    /**
+     * Copia as notas de todas as avaliações, sem criar objetos Avaliacao
+     * @return Notas na ordem de registro
+     */
+    public synchronized double[] copiarNotas() {
+        return avaliacoes.copiarNotas();
     }
     
     // ========== SETTERS ==========
     
     public void setCodigo(String codigo) {
+        String codigoAnterior = this.codigo;
         this.codigo = codigo;
+        registrarAlteracao();
+        notificarAlteracao(CAMPO_CODIGO, codigoAnterior, codigo);
     }
     
     public void setProfessor(Professor professor) {
+        Professor professorAnterior = this.professor;
         this.professor = professor;
+        registrarAlteracao();
+        notificarAlteracao(CAMPO_PROFESSOR, professorAnterior, professor);
     }
     
     public void setCurso(Curso curso) {
+        Curso cursoAnterior = this.curso;
         this.curso = curso;
+        registrarAlteracao();
+        notificarAlteracao(CAMPO_CURSO, cursoAnterior, curso);
     }
     
+    // ========== VERSÃO (FASE 8) ==========
+
+    /**
+     * Retorna o controle de versão usado nas atualizações condicionais
+     * @return Controle de versão
+     */
+    @Override
+    public ControleVersao getControleVersao() {
+        return controleVersao;
+    }
+
+    /**
+     * Registra uma alteração de atributo no carimbo de versão
+     */
+    protected void registrarAlteracao() {
+        controleVersao.registrarAlteracao();
+    }
+
+    /**
+     * Retorna código, professor e curso lidos de uma vez só, sem misturar valores
+     * de antes e depois de uma atualização em andamento
+     * @return Nova turma só com os atributos (sem alunos nem avaliações), fora de qualquer repositório
+     */
+    public Turma copiarAtributos() {
+        return lerConsistente(() -> new Turma(codigo, professor, curso));
+    }
+
+    // ========== OBSERVADORES (FASE 8) ==========
+
+    /**
+     * Registra um observador de alterações desta turma
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorAlteracao observador) {
+        observadores.add(observador);
+    }
+
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorAlteracao observador) {
+        observadores.remove(observador);
+    }
+
+    /**
+     * Avisa os observadores que um atributo mudou
+     * Não avisa quando o valor continua o mesmo
+     */
+    protected void notificarAlteracao(String campo, Object valorAnterior, Object valorNovo) {
+        if (Objects.equals(valorAnterior, valorNovo)) {
+            return;
+        }
+        for (ObservadorAlteracao observador : observadores) {
+            observador.alterado(this, campo, valorAnterior, valorNovo);
+        }
+    }
+
+    // Chamado com a trava da turma: o aviso espera na fila até a trava ser solta
+    private void agendarNotificacao(String campo, Object valorAnterior, Object valorNovo) {
+        if (!observadores.isEmpty()) {
+            notificacoesPendentes.add(new Notificacao(campo, valorAnterior, valorNovo));
+        }
+    }
+
+    // Chamado sem a trava da turma, depois de cada alteração. Quem chega enquanto outra
+    // thread entrega espera ela terminar: ao voltar, o aviso da sua alteração já foi
+    // entregue (por esta thread ou pela outra), sempre depois dos que vieram antes dele
+    private void entregarNotificacoes() {
+        if (notificacoesPendentes.isEmpty() && observadores.isEmpty()) {
+            return;
+        }
+        synchronized (travaEntrega) {
+            Notificacao notificacao;
+            while ((notificacao = notificacoesPendentes.poll()) != null) {
+                notificarAlteracao(notificacao.campo, notificacao.valorAnterior, notificacao.valorNovo);
+            }
+        }
+    }
+
     // ========== MÉTODOS DE GERENCIAMENTO DE ALUNOS ==========
     
     /**
@@ -78,42 +285,126 @@ public class Turma {
             return;
         }
         
-        // Verifica se o aluno já está matriculado
-        for (Aluno a : listaAlunos) {
-            if (a.getMatricula().equals(aluno.getMatricula())) {
-                System.out.println("❌ Erro: Aluno " + aluno.getNome() + " já está matriculado nesta turma!");
-                return;
-            }
+        // Verifica se o aluno já está matriculado e adiciona
+        if (!matricular(aluno)) {
+            System.out.println("❌ Erro: Aluno " + aluno.getNome() + " já está matriculado nesta turma!");
+            return;
         }
-        
-        // Adiciona o aluno
-        listaAlunos.add(aluno);
         System.out.println("✓ Aluno " + aluno.getNome() + " adicionado à turma " + codigo);
     }
     
+    /**
+     * Matricula um aluno sem imprimir mensagens (usado ao restaurar dados gravados)
+     * @param aluno - Aluno a ser matriculado
+     * @return true se matriculado, false se nulo ou já matriculado
+     */
+    public boolean matricular(Aluno aluno) {
+        synchronized (this) {
+            if (aluno == null || alunosPorMatricula.putIfAbsent(aluno.getMatricula(), aluno) != null) {
+                return false;
+            }
+            alunosAlterados();
+            agendarNotificacao(CAMPO_ALUNOS, null, aluno);
+        }
+        entregarNotificacoes();
+        return true;
+    }
+    
+    /**
+     * Matricula vários alunos de uma vez, sem imprimir mensagens
+     * Cada aluno custa O(1); a lista de alunos é refeita uma só vez, na próxima leitura
+     * @param alunos - Alunos a matricular, na ordem em que devem entrar na turma
+     * @return Situação de cada aluno, na mesma ordem da coleção
+     */
+    public List<ResultadoMatricula> matricularAlunos(Collection<Aluno> alunos) {
+        List<ResultadoMatricula> resultados = new ArrayList<>(alunos.size());
+        Set<String> doLote = new HashSet<>();
+        synchronized (this) {
+            for (Aluno aluno : alunos) {
+                if (aluno == null || aluno.getMatricula() == null) {
+                    resultados.add(ResultadoMatricula.INVALIDO);
+                } else if (alunosPorMatricula.putIfAbsent(aluno.getMatricula(), aluno) == null) {
+                    doLote.add(aluno.getMatricula());
+                    alunosAlterados();
+                    agendarNotificacao(CAMPO_ALUNOS, null, aluno);
+                    resultados.add(ResultadoMatricula.MATRICULADO);
+                } else if (doLote.contains(aluno.getMatricula())) {
+                    resultados.add(ResultadoMatricula.DUPLICADO_NO_LOTE);
+                } else {
+                    resultados.add(ResultadoMatricula.JA_MATRICULADO);
+                }
+            }
+        }
+        entregarNotificacoes();
+        return resultados;
+    }
+    
     /**
      * Remove um aluno da turma pela matrícula
      * @param matricula - Matrícula do aluno a ser removido
      */
     public void removerAluno(String matricula) {
-        // Procura o aluno na lista
-        Aluno alunoParaRemover = null;
-        for (Aluno aluno : listaAlunos) {
-            if (aluno.getMatricula().equals(matricula)) {
-                alunoParaRemover = aluno;
-                break;
-            }
-        }
+        Aluno alunoRemovido = desmatricular(matricula);
         
-        // Se encontrou, remove
-        if (alunoParaRemover != null) {
-            listaAlunos.remove(alunoParaRemover);
-            System.out.println("✓ Aluno " + alunoParaRemover.getNome() + " removido da turma " + codigo);
+        if (alunoRemovido != null) {
+            System.out.println("✓ Aluno " + alunoRemovido.getNome() + " removido da turma " + codigo);
         } else {
             System.out.println("❌ Erro: Aluno com matrícula " + matricula + " não encontrado na turma!");
         }
     }
     
+    /**
+     * Remove a matrícula de um aluno sem imprimir mensagens (as avaliações são mantidas)
+     * @param matricula - Matrícula do aluno
+     * @return Aluno removido, ou null se não estava matriculado
+     */
+    public Aluno desmatricular(String matricula) {
+        Aluno aluno;
+        synchronized (this) {
+            aluno = retirarMatricula(matricula);
+        }
+        entregarNotificacoes();
+        return aluno;
+    }
+    
+    // Chamado com a trava da turma
+    private Aluno retirarMatricula(String matricula) {
+        Aluno aluno = alunosPorMatricula.remove(matricula);
+        if (aluno != null) {
+            alunosAlterados();
+            agendarNotificacao(CAMPO_ALUNOS, aluno, null);
+        }
+        return aluno;
+    }
+    
+    /**
+     * Desvincula um aluno da turma: remove a matrícula e todas as avaliações dele
+     * Usado na remoção em cascata do aluno (não imprime mensagens)
+     * @param matricula - Matrícula do aluno
+     * @return Quantidade de avaliações removidas
+     */
+    public int desvincularAluno(String matricula) {
+        List<Avaliacao> removidas;
+        synchronized (this) {
+            retirarMatricula(matricula);
+            
+            // O encadeamento diz quais são as avaliações do aluno; sem nenhuma, as colunas nem são percorridas
+            removidas = obterAvaliacoesPorAluno(matricula);
+            if (!removidas.isEmpty()) {
+                // Uma única passada nas colunas para todas as avaliações do aluno
+                avaliacoes.removerAluno(matricula);
+                versaoNotas++;
+                reacumular(matricula);
+                for (Avaliacao avaliacao : removidas) {
+                    avaliacao.desvincular(avaliacao.getNotaGuardada());
+                    agendarNotificacao(CAMPO_AVALIACOES, avaliacao, null);
+                }
+            }
+        }
+        entregarNotificacoes();
+        return removidas.size();
+    }
+    
     /**
      * Remove um aluno da turma pelo objeto Aluno
      * @param aluno - Aluno a ser removido
@@ -131,7 +422,104 @@ public class Turma {
      * @return Número de alunos matriculados
      */
     public int getQuantidadeAlunos() {
-        return listaAlunos.size();
+        return quantidadeAlunos;
+    }
+    
+    /**
+     * Verifica se um aluno está matriculado na turma
+     * @param matricula - Matrícula do aluno
+     * @return true se matriculado
+     */
+    public synchronized boolean isMatriculado(String matricula) {
+        return alunosPorMatricula.containsKey(matricula);
+    }
+    
+    /**
+     * Busca um aluno matriculado na turma pela matrícula
+     * @param matricula - Matrícula do aluno
+     * @return Aluno matriculado, ou null se não estiver na turma
+     */
+    public synchronized Aluno buscarAluno(String matricula) {
+        return alunosPorMatricula.get(matricula);
+    }
+    
+    // Chamado com a trava da turma depois de cada inclusão ou remoção de aluno
+    private void alunosAlterados() {
+        listaAlunos = null;
+        quantidadeAlunos = alunosPorMatricula.size();
+    }
+    
+    // Vista sobre a avaliação de uma posição das colunas (chamado com a trava da turma)
+    private Avaliacao vista(int posicao) {
+        return new Avaliacao(this, avaliacoes.getId(posicao), avaliacoes.getAluno(posicao),
+                             avaliacoes.getDescricao(posicao), avaliacoes.getNota(posicao), versaoNotas);
+    }
+    
+    // Refaz a soma do aluno a partir das suas avaliações (O(k)) e corrige a da turma
+    // tirando a soma anterior do aluno e pondo a nova. Chamado com a trava da turma
+    private void reacumular(String matricula) {
+        Acumulado anterior = acumuladoPorMatricula.getOrDefault(matricula, Acumulado.VAZIO);
+        Acumulado atual = Acumulado.VAZIO;
+        int quantidade = avaliacoes.quantidadeDoAluno(matricula);
+        if (quantidade > 0) {
+            double soma = 0.0;
+            for (int i = avaliacoes.primeira(matricula); i >= 0; i = avaliacoes.proxima(i)) {
+                soma += avaliacoes.getNota(i);
+            }
+            atual = new Acumulado(soma, quantidade);
+            acumuladoPorMatricula.put(matricula, atual);
+        } else {
+            acumuladoPorMatricula.remove(matricula);
+        }
+        acumuladoTurma = acumuladoTurma.trocar(anterior, atual);
+    }
+    
+    // ========== NOTAS DAS VISTAS (FASE 8) ==========
+    
+    long getVersaoNotas() {
+        return versaoNotas;
+    }
+    
+    // Atualiza a nota guardada na vista; se a avaliação já saiu da turma, a vista fica avulsa
+    synchronized void lerNota(Avaliacao vista) {
+        if (vista.getTurma() != this) {
+            return;
+        }
+        int posicao = avaliacoes.posicao(vista.getId());
+        if (posicao < 0) {
+            vista.desvincular(vista.getNotaGuardada());
+            return;
+        }
+        vista.setNotaLida(avaliacoes.getNota(posicao), versaoNotas);
+    }
+    
+    /**
+     * Altera a nota de uma avaliação da turma (chamado pela vista, já com a nota validada)
+     * Atualiza as médias e avisa os observadores da turma (fora da trava)
+     * @return Nota anterior, ou NaN se a avaliação não está mais na turma
+     */
+    double definirNota(Avaliacao vista, double valor) {
+        double anterior;
+        synchronized (this) {
+            if (vista.getTurma() != this) {
+                return Double.NaN;
+            }
+            int posicao = avaliacoes.posicao(vista.getId());
+            if (posicao < 0) {
+                vista.desvincular(vista.getNotaGuardada());
+                return Double.NaN;
+            }
+            anterior = avaliacoes.getNota(posicao);
+            avaliacoes.setNota(posicao, valor);
+            versaoNotas++;
+            vista.setNotaLida(valor, versaoNotas);
+            reacumular(vista.getAluno().getMatricula());
+            if (anterior != valor) {
+                agendarNotificacao(CAMPO_NOTA, anterior, vista);
+            }
+        }
+        entregarNotificacoes();
+        return anterior;
     }
     
     // ========== MÉTODOS DE GERENCIAMENTO DE AVALIAÇÕES ==========
@@ -145,43 +533,143 @@ public class Turma {
             System.out.println("❌ Erro: Avaliação não pode ser nula!");
             return;
         }
-        listaAvaliacoes.add(avaliacao);
+        registrarAvaliacao(avaliacao);
         System.out.println("✓ Avaliação de " + avaliacao.getAluno().getNome() + " adicionada à turma!");
     }
     
     /**
-     * Obtém todas as avaliações de um aluno específico
-     * @param matricula - Matrícula do aluno
-     * @return Lista de avaliações do aluno
+     * Adiciona uma avaliação sem imprimir mensagens (usado ao restaurar dados gravados)
+     * @param avaliacao - Avaliação a ser adicionada
+     * @return true se adicionada, false se nula
+     */
+    public boolean registrarAvaliacao(Avaliacao avaliacao) {
+        return registrar(avaliacao, -1);
+    }
+    
+    /**
+     * Adiciona uma avaliação com o id que ela tinha quando foi gravada, sem imprimir mensagens
+     * (usado ao restaurar dados gravados: os registros seguintes do log apontam para esse id)
+     * @param avaliacao - Avaliação a ser adicionada
+     * @param id - Id gravado da avaliação (não negativo)
+     * @return true se adicionada, false se nula ou se a turma já tem uma avaliação com esse id
+     */
+    public boolean restaurarAvaliacao(Avaliacao avaliacao, int id) {
+        return id >= 0 && registrar(avaliacao, id);
+    }
+    
+    // Registra com um id novo (idGravado < 0) ou com o id gravado
+    private boolean registrar(Avaliacao avaliacao, int idGravado) {
+        if (avaliacao == null) {
+            return false;
+        }
+        // Lida antes de travar esta turma: se for vista de outra turma, a leitura trava aquela
+        double nota = avaliacao.getNota();
+        synchronized (this) {
+            // A avaliação entra nas colunas; se era avulsa, o objeto passa a ser uma vista dela
+            // (se já estava em uma turma, continua lá e a desta turma é independente)
+            int id = idGravado;
+            if (id < 0) {
+                id = avaliacoes.adicionar(avaliacao.getAluno(), avaliacao.getDescricao(), nota);
+            } else if (!avaliacoes.adicionar(id, avaliacao.getAluno(), avaliacao.getDescricao(), nota)) {
+                return false;
+            }
+            if (avaliacao.getTurma() == null) {
+                avaliacao.vincular(this, id, versaoNotas);
+            } else {
+                avaliacao = vista(avaliacoes.posicao(id));
+            }
+            reacumular(avaliacao.getAluno().getMatricula());
+            agendarNotificacao(CAMPO_AVALIACOES, null, avaliacao);
+        }
+        entregarNotificacoes();
+        return true;
+    }
+    
+    /**
+     * Busca uma avaliação da turma pelo id
+     * @param id - Id da avaliação na turma (ver Avaliacao.getId)
+     * @return Vista da avaliação, ou null se a turma não tem (mais) esse id
      */
-    public List<Avaliacao> obterAvaliacoesPorAluno(String matricula) {
-        List<Avaliacao> avaliacoes = new ArrayList<>();
-        for (Avaliacao avaliacao : listaAvaliacoes) {
-            if (avaliacao.getAluno().getMatricula().equals(matricula)) {
-                avaliacoes.add(avaliacao);
+    public synchronized Avaliacao buscarAvaliacao(int id) {
+        int posicao = avaliacoes.posicao(id);
+        return posicao >= 0 ? vista(posicao) : null;
+    }
+    
+    /**
+     * Remove uma avaliação da turma sem imprimir mensagens
+     * @param avaliacao - Avaliação a ser removida
+     * @return true se removida, false se não pertencia à turma
+     */
+    public boolean removerAvaliacao(Avaliacao avaliacao) {
+        synchronized (this) {
+            int posicao = avaliacao == null || avaliacao.getTurma() != this ? -1 : avaliacoes.posicao(avaliacao.getId());
+            if (posicao < 0) {
+                return false;
             }
+            double nota = avaliacoes.getNota(posicao);
+            avaliacoes.remover(posicao);
+            versaoNotas++;
+            avaliacao.desvincular(nota);
+            reacumular(avaliacao.getAluno().getMatricula());
+            agendarNotificacao(CAMPO_AVALIACOES, avaliacao, null);
         }
-        return avaliacoes;
+        entregarNotificacoes();
+        return true;
     }
     
     /**
-     * Calcula a média de notas de um aluno
+     * Obtém todas as avaliações de um aluno específico pelo encadeamento por aluno, em O(k)
      * @param matricula - Matrícula do aluno
-     * @return Média das notas
+     * @return Lista imutável de avaliações do aluno, na ordem de registro (vazia se não houver)
      */
-    public double calcularMediaAluno(String matricula) {
-        List<Avaliacao> avaliacoes = obterAvaliacoesPorAluno(matricula);
-        
-        if (avaliacoes.isEmpty()) {
-            return 0.0;
+    public synchronized List<Avaliacao> obterAvaliacoesPorAluno(String matricula) {
+        int quantidade = avaliacoes.quantidadeDoAluno(matricula);
+        if (quantidade == 0) {
+            return List.of();
         }
-        
-        double soma = 0.0;
-        for (Avaliacao av : avaliacoes) {
-            soma += av.getNota();
+        Avaliacao[] vistas = new Avaliacao[quantidade];
+        int n = 0;
+        for (int i = avaliacoes.primeira(matricula); i >= 0; i = avaliacoes.proxima(i)) {
+            vistas[n++] = vista(i);
         }
-        
-        return soma / avaliacoes.size();
+        return Collections.unmodifiableList(Arrays.asList(vistas));
+    }
+    
+    /**
+     * Retorna a quantidade de avaliações de um aluno em O(1), sem travar a turma
+     * @param matricula - Matrícula do aluno (matriculado ou não)
+     * @return Número de avaliações do aluno nesta turma
+     */
+    public int contarAvaliacoesAluno(String matricula) {
+        Acumulado acumulado = matricula == null ? null : acumuladoPorMatricula.get(matricula);
+        return acumulado != null ? acumulado.quantidade : 0;
+    }
+    
+    /**
+     * Retorna as matrículas que têm avaliações nesta turma, inclusive de alunos
+     * que já saíram dela (desmatricular mantém as avaliações)
+     * @return Lista de matrículas, sem repetição
+     */
+    public List<String> listarMatriculasAvaliadas() {
+        return List.copyOf(acumuladoPorMatricula.keySet());
+    }
+    
+    /**
+     * Calcula a média de notas de um aluno em O(1), pela soma mantida a cada alteração
+     * @param matricula - Matrícula do aluno
+     * @return Média das notas (0.0 se o aluno não tiver avaliações)
+     */
+    public double calcularMediaAluno(String matricula) {
+        Acumulado acumulado = matricula == null ? null : acumuladoPorMatricula.get(matricula);
+        return acumulado != null ? acumulado.media() : 0.0;
+    }
+    
+    /**
+     * Calcula a média de todas as notas da turma em O(1), pela soma mantida a cada alteração
+     * @return Média das notas (0.0 se a turma não tiver avaliações)
+     */
+    public double calcularMediaTurma() {
+        return acumuladoTurma.media();
     }
     
     /**
@@ -198,11 +686,15 @@ public class Turma {
                           " (Código: " + curso.getCodigo() + 
                           ", Carga Horária: " + curso.getCargaHoraria() + "h)");
         System.out.println("Quantidade de Alunos: " + getQuantidadeAlunos());
+        if (getQuantidadeAvaliacoes() > 0) {
+            System.out.println("Média da Turma: " + calcularMediaTurma());
+        }
         
-        if (getQuantidadeAlunos() > 0) {
+        List<Aluno> alunos = getListaAlunos();
+        if (!alunos.isEmpty()) {
             System.out.println("\n--- Alunos Matriculados ---");
-            for (int i = 0; i < listaAlunos.size(); i++) {
-                Aluno aluno = listaAlunos.get(i);
+            for (int i = 0; i < alunos.size(); i++) {
+                Aluno aluno = alunos.get(i);
                 System.out.println((i + 1) + ". " + aluno.getNome() + " (" + aluno.getMatricula() + ")");
             }
         } else {
@@ -223,4 +715,49 @@ public class Turma {
                 ", quantidadeAlunos=" + getQuantidadeAlunos() +
                 '}';
     }
+    
+    // ========== AVISOS PENDENTES ==========
+    
+    // Um aviso guardado para entregar depois que a trava da turma for solta
+    private static final class Notificacao {
+        final String campo;
+        final Object valorAnterior;
+        final Object valorNovo;
+        
+        Notificacao(String campo, Object valorAnterior, Object valorNovo) {
+            this.campo = campo;
+            this.valorAnterior = valorAnterior;
+            this.valorNovo = valorNovo;
+        }
+    }
+    
+    // ========== SOMA DE NOTAS ==========
+    
+    // Soma e quantidade de notas, imutáveis: trocadas inteiras a cada alteração,
+    // então quem lê sem trava nunca vê a soma de uma e a quantidade de outra
+    private static final class Acumulado {
+        static final Acumulado VAZIO = new Acumulado(0.0, 0);
+        
+        final double soma;
+        final int quantidade;
+        
+        Acumulado(double soma, int quantidade) {
+            this.soma = soma;
+            this.quantidade = quantidade;
+        }
+        
+        // Tira a parte anterior e põe a atual; sem notas volta a zero exato,
+        // descartando o resíduo de arredondamento das subtrações
+        Acumulado trocar(Acumulado anterior, Acumulado atual) {
+            int novaQuantidade = quantidade - anterior.quantidade + atual.quantidade;
+            if (novaQuantidade == 0) {
+                return VAZIO;
+            }
+            return new Acumulado(soma - anterior.soma + atual.soma, novaQuantidade);
+        }
+        
+        double media() {
+            return quantidade == 0 ? 0.0 : soma / quantidade;
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package model;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Classe Abstrata Usuario
  * Define atributos e comportamentos comuns a todos os usuários do sistema
@@ -10,14 +14,26 @@ package model;
  * (Fase 5: Interfaces e Abstração)
  * (Fase 6: Relatórios e Polimorfismo)
  */
-public abstract class Usuario implements Autenticavel, Relatorio {
-    
+public abstract class Usuario implements Autenticavel, Relatorio, Versionavel {
+
+    // Nome do campo informado aos observadores quando o login muda (Fase 8)
+    public static final String CAMPO_LOGIN = "login";
+
+    // Nome do campo informado aos observadores quando o nome muda (Fase 8)
+    public static final String CAMPO_NOME = "nome";
+
     // ========== ATRIBUTOS PROTEGIDOS ==========
     // protected: acessível pelas subclasses
     protected String nome;
     protected String login;
     protected String senha;
-    
+
+    // Observadores avisados quando um atributo indexado muda (Fase 8)
+    private final List<ObservadorAlteracao> observadores = new CopyOnWriteArrayList<>();
+
+    // Carimbo de versão para atualizações otimistas (Fase 8)
+    private final ControleVersao controleVersao = new ControleVersao();
+
     /**
      * Construtor da classe abstrata Usuario
      * @param nome - Nome do usuário
@@ -47,17 +63,73 @@ public abstract class Usuario implements Autenticavel, Relatorio {
     // ========== SETTERS ==========
     
     public void setNome(String nome) {
+        String nomeAnterior = this.nome;
         this.nome = nome;
+        notificarAlteracao(CAMPO_NOME, nomeAnterior, nome);
+        registrarAlteracao();
     }
     
     public void setLogin(String login) {
+        String loginAnterior = this.login;
         this.login = login;
+        notificarAlteracao(CAMPO_LOGIN, loginAnterior, login);
+        registrarAlteracao();
     }
     
     public void setSenha(String senha) {
         this.senha = senha;
+        registrarAlteracao();
     }
     
+    // ========== VERSÃO (FASE 8) ==========
+
+    /**
+     * Retorna o controle de versão usado nas atualizações condicionais
+     * @return Controle de versão
+     */
+    @Override
+    public ControleVersao getControleVersao() {
+        return controleVersao;
+    }
+
+    /**
+     * Registra uma alteração de atributo no carimbo de versão
+     */
+    protected void registrarAlteracao() {
+        controleVersao.registrarAlteracao();
+    }
+
+    // ========== OBSERVADORES (FASE 8) ==========
+
+    /**
+     * Registra um observador de alterações deste usuário
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorAlteracao observador) {
+        observadores.add(observador);
+    }
+
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorAlteracao observador) {
+        observadores.remove(observador);
+    }
+
+    /**
+     * Avisa os observadores que um atributo mudou
+     * Não avisa quando o valor continua o mesmo
+     */
+    protected void notificarAlteracao(String campo, Object valorAnterior, Object valorNovo) {
+        if (Objects.equals(valorAnterior, valorNovo)) {
+            return;
+        }
+        for (ObservadorAlteracao observador : observadores) {
+            observador.alterado(this, campo, valorAnterior, valorNovo);
+        }
+    }
+
     // ========== MÉTODOS ABSTRATOS ==========
     
     /**
@@ -0,0 +1,38 @@
+package model;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface Versionavel
+ * Define o contrato para entidades com carimbo de versão,
+ * usadas nas atualizações condicionais (compare-and-set) dos repositórios
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public interface Versionavel {
+
+    /**
+     * Retorna o controle de versão da entidade
+     * @return Controle de versão
+     */
+    ControleVersao getControleVersao();
+
+    /**
+     * Retorna a versão atual da entidade
+     * Deve ser lida ANTES de preparar uma alteração e enviada ao atualizar
+     * @return Número da versão
+     */
+    default long getVersao() {
+        return getControleVersao().getVersao();
+    }
+
+    /**
+     * Lê vários atributos sem misturar valores de antes e depois de uma atualização
+     * @param leitura - Função que lê os atributos desejados
+     * @return Resultado de uma leitura feita com a entidade estável
+     */
+    default <T> T lerConsistente(Supplier<T> leitura) {
+        return getControleVersao().lerConsistente(leitura);
+    }
+
+}
@@ -0,0 +1,823 @@
+package persistencia;
+
+import model.Aluno;
+import model.Avaliacao;
+import model.Curso;
+import model.CursoEAD;
+import model.CursoPresencial;
+import model.ObservadorAlteracao;
+import model.Professor;
+import model.Turma;
+import repository.AlunoRepository;
+import repository.CursoRepository;
+import repository.ObservadorRepositorio;
+import repository.ProfessorRepository;
+import repository.TurmaRepository;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe BancoDados
+ * Guarda os repositórios em um banco de dados relacional embutido (JDBC),
+ * alternativa ao log de alterações para quem precisa consultar os dados em SQL
+ * O banco roda dentro do processo (ex: H2 ou SQLite em arquivo): nenhum servidor
+ * RESPONSABILIDADES:
+ * - Criar as tabelas e os índices na primeira abertura
+ * - Na abertura, carregar as tabelas nos repositórios
+ * - Depois da abertura, gravar cada alteração: inclusões, atualizações e
+ *   remoções nos repositórios, matrículas, avaliações e notas das turmas
+ *
+ * TABELAS ("ordem" guarda a sequência de cadastro, a ordem de listagem):
+ * - professor (registro, nome, login, senha, especialidade, ordem)
+ * - curso (codigo, tipo, nome, carga_horaria, local_curso, ordem)
+ * - aluno (matricula, nome, login, senha, curso, ordem)
+ * - turma (codigo, professor, curso, ordem)
+ * - turma_aluno (turma, matricula, ordem)
+ * - avaliacao (turma, id, matricula, descricao, nota, ordem): id é o que a turma
+ *   atribuiu, então um aluno pode ter várias avaliações com a mesma descrição
+ *
+ * ESCRITA EM LOTE:
+ * - Os observadores só colocam a alteração na fila; os valores são lidos com a
+ *   trava da fila, então a fila tem os estados na ordem em que foram lidos
+ * - A fila é gravada em uma única transação; alterações seguidas do mesmo tipo
+ *   viram um lote do PreparedStatement (addBatch/executeBatch)
+ * - Salvar uma entidade é "UPDATE pela chave primária e INSERT das linhas que
+ *   o UPDATE não encontrou": SQL comum, aceito por H2, SQLite e outros
+ * - SEMPRE grava e confirma cada alteração antes de a operação retornar;
+ *   PERIODICA e SISTEMA gravam a fila a cada INTERVALO_GRAVACAO_MS
+ *   (quando ela chega a LIMITE_FILA, quem fez a alteração grava na hora)
+ *
+ * LEITURA SEM N+1:
+ * - Cada tabela é lida com UMA consulta. O professor e o curso de cada turma e
+ *   o aluno de cada matrícula e avaliação são resolvidos nos repositórios já
+ *   carregados (uma instância por chave), nunca com uma consulta por linha
+ * - Depois da abertura as turmas apontam direto para essas instâncias:
+ *   relatórios como TurmaService.gerarRelatorioTurmas não consultam o banco
+ *
+ * Alterações feitas direto nos setters de Aluno, Professor e Curso só são
+ * gravadas quando passam pelo atualizar() do repositório
+ *
+ * (Fase 9: Persistência)
+ */
+public class BancoDados {
+
+    // Intervalo de gravação da fila nas políticas PERIODICA e SISTEMA
+    public static final long INTERVALO_GRAVACAO_MS = 200;
+
+    // Alterações pendentes a partir das quais a fila é gravada na hora
+    public static final int LIMITE_FILA = 1000;
+
+    // Linhas trazidas por vez nas consultas da abertura
+    private static final int TAMANHO_LEITURA = 1000;
+
+    private static final String TIPO_PRESENCIAL = "PRESENCIAL";
+    private static final String TIPO_EAD = "EAD";
+
+    private static final String[] ESQUEMA = {
+        "CREATE TABLE IF NOT EXISTS professor (registro VARCHAR NOT NULL PRIMARY KEY, nome VARCHAR, "
+            + "login VARCHAR, senha VARCHAR, especialidade VARCHAR, ordem BIGINT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS curso (codigo VARCHAR NOT NULL PRIMARY KEY, tipo VARCHAR NOT NULL, "
+            + "nome VARCHAR, carga_horaria DOUBLE PRECISION NOT NULL, local_curso VARCHAR, ordem BIGINT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS aluno (matricula VARCHAR NOT NULL PRIMARY KEY, nome VARCHAR, "
+            + "login VARCHAR, senha VARCHAR, curso VARCHAR, ordem BIGINT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS turma (codigo VARCHAR NOT NULL PRIMARY KEY, professor VARCHAR, "
+            + "curso VARCHAR, ordem BIGINT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS turma_aluno (turma VARCHAR NOT NULL, matricula VARCHAR NOT NULL, "
+            + "ordem BIGINT NOT NULL, PRIMARY KEY (turma, matricula))",
+        "CREATE TABLE IF NOT EXISTS avaliacao (turma VARCHAR NOT NULL, id INTEGER NOT NULL, "
+            + "matricula VARCHAR NOT NULL, descricao VARCHAR NOT NULL, nota DOUBLE PRECISION NOT NULL, "
+            + "ordem BIGINT NOT NULL, PRIMARY KEY (turma, id))",
+        // Índices das consultas por referência (as chaves primárias já cobrem as buscas por turma)
+        "CREATE INDEX IF NOT EXISTS aluno_curso ON aluno (curso)",
+        "CREATE INDEX IF NOT EXISTS turma_professor ON turma (professor)",
+        "CREATE INDEX IF NOT EXISTS turma_curso ON turma (curso)",
+        "CREATE INDEX IF NOT EXISTS turma_aluno_matricula ON turma_aluno (matricula)"
+    };
+
+    private static final String[] TABELAS = {"professor", "curso", "aluno", "turma", "turma_aluno", "avaliacao"};
+
+    private final String url;
+    private final PoliticaSincronizacao politica;
+
+    private final AlunoRepository alunoRepository;
+    private final ProfessorRepository professorRepository;
+    private final CursoRepository cursoRepository;
+    private final TurmaRepository turmaRepository;
+
+    private Connection conexao;
+    private final Map<String, PreparedStatement> comandosPreparados = new HashMap<>();
+    private Thread gravador;
+
+    // Fila de alterações: travaFila protege a lista, travaEscrita garante que
+    // as filas retiradas chegam ao banco na mesma ordem em que foram retiradas
+    private final Object travaFila = new Object();
+    private final Object travaEscrita = new Object();
+    private List<Alteracao> fila = new ArrayList<>();
+    private boolean fechado;
+
+    // Avisa o gravador para parar (sem interrupt, como no LogEscrita)
+    private volatile boolean encerrando;
+
+    // Sequência de cadastro, continua do maior valor gravado
+    private final AtomicLong ordem = new AtomicLong();
+
+    // Código de cada turma na posição atual da fila: muda junto com a troca de código
+    // na fila, com a travaFila, então uma alteração nunca cita um código que a fila
+    // ainda não trocou ou já deixou para trás
+    private final Map<Turma, String> codigosGravados = new ConcurrentHashMap<>();
+
+    // Resultado da última abertura
+    private int registrosCarregados;
+    private int registrosIgnorados;
+
+    // ========== COMANDOS ==========
+
+    /**
+     * Comandos SQL das alterações
+     * sql: UPDATE ou DELETE, executado para todas as alterações do lote
+     * sqlInclusao: INSERT das linhas que o UPDATE não encontrou (null se não houver);
+     *              recebe todos os parâmetros, o sql só os primeiros
+     * quantidadeChaves: últimos parâmetros do sql que formam a chave primária
+     */
+    private enum Comando {
+        SALVAR_PROFESSOR("UPDATE professor SET nome = ?, login = ?, senha = ?, especialidade = ? WHERE registro = ?",
+                         "INSERT INTO professor (nome, login, senha, especialidade, registro, ordem) VALUES (?, ?, ?, ?, ?, ?)", 1),
+        REMOVER_PROFESSOR("DELETE FROM professor WHERE registro = ?"),
+        SALVAR_CURSO("UPDATE curso SET tipo = ?, nome = ?, carga_horaria = ?, local_curso = ? WHERE codigo = ?",
+                     "INSERT INTO curso (tipo, nome, carga_horaria, local_curso, codigo, ordem) VALUES (?, ?, ?, ?, ?, ?)", 1),
+        REMOVER_CURSO("DELETE FROM curso WHERE codigo = ?"),
+        SALVAR_ALUNO("UPDATE aluno SET nome = ?, login = ?, senha = ?, curso = ? WHERE matricula = ?",
+                     "INSERT INTO aluno (nome, login, senha, curso, matricula, ordem) VALUES (?, ?, ?, ?, ?, ?)", 1),
+        REMOVER_ALUNO("DELETE FROM aluno WHERE matricula = ?"),
+        SALVAR_TURMA("UPDATE turma SET professor = ?, curso = ? WHERE codigo = ?",
+                     "INSERT INTO turma (professor, curso, codigo, ordem) VALUES (?, ?, ?, ?)", 1),
+        RECODIFICAR_TURMA("UPDATE turma SET codigo = ? WHERE codigo = ?"),
+        RECODIFICAR_MATRICULAS("UPDATE turma_aluno SET turma = ? WHERE turma = ?"),
+        RECODIFICAR_AVALIACOES("UPDATE avaliacao SET turma = ? WHERE turma = ?"),
+        REMOVER_TURMA("DELETE FROM turma WHERE codigo = ?"),
+        REMOVER_MATRICULAS("DELETE FROM turma_aluno WHERE turma = ?"),
+        REMOVER_AVALIACOES("DELETE FROM avaliacao WHERE turma = ?"),
+        // Matrícula não tem atributos: o UPDATE só confere se a linha já existe
+        SALVAR_MATRICULA("UPDATE turma_aluno SET ordem = ordem WHERE turma = ? AND matricula = ?",
+                         "INSERT INTO turma_aluno (turma, matricula, ordem) VALUES (?, ?, ?)", 2),
+        REMOVER_MATRICULA("DELETE FROM turma_aluno WHERE turma = ? AND matricula = ?"),
+        SALVAR_AVALIACAO("UPDATE avaliacao SET nota = ? WHERE turma = ? AND id = ?",
+                         "INSERT INTO avaliacao (nota, turma, id, matricula, descricao, ordem) VALUES (?, ?, ?, ?, ?, ?)", 2),
+        REMOVER_AVALIACAO("DELETE FROM avaliacao WHERE turma = ? AND id = ?");
+
+        private final String sql;
+        private final String sqlInclusao;
+        private final int quantidadeChaves;
+        private final int quantidadeParametros;
+
+        Comando(String sql) {
+            this(sql, null, 0);
+        }
+
+        Comando(String sql, String sqlInclusao, int quantidadeChaves) {
+            this.sql = sql;
+            this.sqlInclusao = sqlInclusao;
+            this.quantidadeChaves = quantidadeChaves;
+            int parametros = 0;
+            for (int i = 0; i < sql.length(); i++) {
+                if (sql.charAt(i) == '?') {
+                    parametros++;
+                }
+            }
+            this.quantidadeParametros = parametros;
+        }
+    }
+
+    // Uma alteração na fila
+    private static final class Alteracao {
+        private final Comando comando;
+        private final Object[] parametros;
+
+        Alteracao(Comando comando, Object... parametros) {
+            this.comando = comando;
+            this.parametros = parametros;
+        }
+
+        // Chave primária da linha salva (duas na mesma chave não podem ir no mesmo lote)
+        List<Object> chave() {
+            int fim = comando.quantidadeParametros;
+            return Arrays.asList(Arrays.copyOfRange(parametros, fim - comando.quantidadeChaves, fim));
+        }
+    }
+
+    // ========== OBSERVADORES ==========
+
+    private final ObservadorRepositorio<Aluno> observadorAlunos = new ObservadorRepositorio<Aluno>() {
+        @Override
+        public void adicionado(Aluno aluno) {
+            gravar(fila -> fila.add(salvarAluno(aluno)));
+        }
+
+        @Override
+        public void atualizado(Aluno aluno) {
+            gravar(fila -> fila.add(salvarAluno(aluno)));
+        }
+
+        @Override
+        public void removido(Aluno aluno) {
+            gravar(fila -> fila.add(new Alteracao(Comando.REMOVER_ALUNO, aluno.getMatricula())));
+        }
+    };
+
+    private final ObservadorRepositorio<Professor> observadorProfessores = new ObservadorRepositorio<Professor>() {
+        @Override
+        public void adicionado(Professor professor) {
+            gravar(fila -> fila.add(salvarProfessor(professor)));
+        }
+
+        @Override
+        public void atualizado(Professor professor) {
+            gravar(fila -> fila.add(salvarProfessor(professor)));
+        }
+
+        @Override
+        public void removido(Professor professor) {
+            gravar(fila -> fila.add(new Alteracao(Comando.REMOVER_PROFESSOR, professor.getRegistro())));
+        }
+    };
+
+    private final ObservadorRepositorio<Curso> observadorCursos = new ObservadorRepositorio<Curso>() {
+        @Override
+        public void adicionado(Curso curso) {
+            gravar(fila -> salvarCurso(fila, curso));
+        }
+
+        @Override
+        public void atualizado(Curso curso) {
+            gravar(fila -> salvarCurso(fila, curso));
+        }
+
+        @Override
+        public void removido(Curso curso) {
+            gravar(fila -> fila.add(new Alteracao(Comando.REMOVER_CURSO, curso.getCodigo())));
+        }
+    };
+
+    private final ObservadorRepositorio<Turma> observadorTurmas = new ObservadorRepositorio<Turma>() {
+        @Override
+        public void adicionado(Turma turma) {
+            // Trava a turma: nenhuma matrícula entra entre a imagem gravada e o observador
+            // (avisos ainda pendentes de antes chegam depois da imagem, na ordem, e só
+            // repetem o que ela já tem)
+            synchronized (turma) {
+                turma.adicionarObservador(observadorTurma);
+                gravar(fila -> salvarTurmaCompleta(fila, turma));
+            }
+        }
+
+        @Override
+        public void atualizado(Turma turma) {
+            // Nada a fazer: os setters já avisaram o observadorTurma de cada atributo alterado
+        }
+
+        @Override
+        public void removido(Turma turma) {
+            turma.removerObservador(observadorTurma);
+            gravar(fila -> {
+                String codigo = codigoGravado(turma);
+                fila.add(new Alteracao(Comando.REMOVER_AVALIACOES, codigo));
+                fila.add(new Alteracao(Comando.REMOVER_MATRICULAS, codigo));
+                fila.add(new Alteracao(Comando.REMOVER_TURMA, codigo));
+                codigosGravados.remove(turma);
+            });
+        }
+    };
+
+    // Atributos, matrículas, avaliações e notas de cada turma armazenada
+    private final ObservadorAlteracao observadorTurma = (origem, campo, anterior, novo) -> {
+        Turma turma = (Turma) origem;
+        if (Turma.CAMPO_CODIGO.equals(campo)) {
+            gravar(fila -> {
+                fila.add(new Alteracao(Comando.RECODIFICAR_TURMA, novo, anterior));
+                fila.add(new Alteracao(Comando.RECODIFICAR_MATRICULAS, novo, anterior));
+                fila.add(new Alteracao(Comando.RECODIFICAR_AVALIACOES, novo, anterior));
+                codigosGravados.put(turma, (String) novo);
+            });
+        } else if (Turma.CAMPO_PROFESSOR.equals(campo) || Turma.CAMPO_CURSO.equals(campo)) {
+            gravar(fila -> fila.add(salvarTurma(turma)));
+        } else if (Turma.CAMPO_ALUNOS.equals(campo)) {
+            Aluno aluno = (Aluno) (novo != null ? novo : anterior);
+            gravar(fila -> fila.add(novo != null ? salvarMatricula(turma, aluno)
+                                                 : new Alteracao(Comando.REMOVER_MATRICULA, codigoGravado(turma),
+                                                                 aluno.getMatricula())));
+        } else if (Turma.CAMPO_AVALIACOES.equals(campo)) {
+            if (novo != null) {
+                gravar(fila -> fila.add(salvarAvaliacao(turma, (Avaliacao) novo)));
+            } else {
+                Avaliacao avaliacao = (Avaliacao) anterior;
+                gravar(fila -> fila.add(new Alteracao(Comando.REMOVER_AVALIACAO, codigoGravado(turma), avaliacao.getId())));
+            }
+        } else if (Turma.CAMPO_NOTA.equals(campo)) {
+            gravar(fila -> fila.add(salvarAvaliacao(turma, (Avaliacao) novo)));
+        }
+    };
+
+    /**
+     * Construtor do BancoDados
+     * @param url - Endereço JDBC do banco (ex: jdbc:h2:./dados/sge ou jdbc:sqlite:dados/sge.db);
+     *              o driver do banco precisa estar no classpath
+     * @param politica - Quando gravar as alterações no banco
+     * @param alunoRepository - Repositório de alunos
+     * @param professorRepository - Repositório de professores
+     * @param cursoRepository - Repositório de cursos
+     * @param turmaRepository - Repositório de turmas
+     */
+    public BancoDados(String url, PoliticaSincronizacao politica,
+                      AlunoRepository alunoRepository, ProfessorRepository professorRepository,
+                      CursoRepository cursoRepository, TurmaRepository turmaRepository) {
+        this.url = url;
+        this.politica = politica;
+        this.alunoRepository = alunoRepository;
+        this.professorRepository = professorRepository;
+        this.cursoRepository = cursoRepository;
+        this.turmaRepository = turmaRepository;
+    }
+
+    // ========== CICLO DE VIDA ==========
+
+    /**
+     * Conecta ao banco, cria as tabelas que faltam, carrega os dados nos
+     * repositórios e passa a gravar as novas alterações
+     * Deve ser chamado com os repositórios ainda vazios, antes de qualquer cadastro
+     * @return Quantidade de itens carregados (entidades, matrículas e avaliações)
+     * @throws SQLException se o banco não puder ser aberto ou lido
+     */
+    public int abrir() throws SQLException {
+        if (conexao != null) {
+            throw new IllegalStateException("Banco de dados já está aberto");
+        }
+        registrosCarregados = 0;
+        registrosIgnorados = 0;
+
+        Connection nova = DriverManager.getConnection(url);
+        try {
+            nova.setAutoCommit(false);
+            conexao = nova;
+            try (Statement comando = conexao.createStatement()) {
+                for (String sql : ESQUEMA) {
+                    comando.execute(sql);
+                }
+            }
+            ordem.set(maiorOrdem());
+            carregar();
+            conexao.commit();
+        } catch (SQLException | RuntimeException e) {
+            conexao = null;
+            fecharSilenciosamente(nova);
+            throw e;
+        }
+
+        conectar();
+        if (politica != PoliticaSincronizacao.SEMPRE) {
+            long intervaloNs = TimeUnit.MILLISECONDS.toNanos(INTERVALO_GRAVACAO_MS);
+            gravador = new Thread(() -> gravarPeriodicamente(intervaloNs), "gravador-banco");
+            gravador.setDaemon(true);
+            gravador.start();
+        }
+        return registrosCarregados;
+    }
+
+    /**
+     * Grava o que está na fila, para de gravar alterações e fecha a conexão
+     * (chamadas repetidas não têm efeito)
+     */
+    public void fechar() {
+        synchronized (travaFila) {
+            if (conexao == null || fechado) {
+                return;
+            }
+            fechado = true;
+        }
+        encerrando = true;
+        if (gravador != null) {
+            LockSupport.unpark(gravador);
+        }
+        alunoRepository.removerObservador(observadorAlunos);
+        professorRepository.removerObservador(observadorProfessores);
+        cursoRepository.removerObservador(observadorCursos);
+        turmaRepository.removerObservador(observadorTurmas);
+        for (Turma turma : turmaRepository.listarTodas()) {
+            turma.removerObservador(observadorTurma);
+        }
+        codigosGravados.clear();
+
+        synchronized (travaEscrita) {
+            gravarFila();
+            for (PreparedStatement comando : comandosPreparados.values()) {
+                fecharSilenciosamente(comando);
+            }
+            comandosPreparados.clear();
+            try {
+                conexao.close();
+            } catch (SQLException e) {
+                System.out.println("❌ Erro ao fechar o banco de dados: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grava agora as alterações que estão na fila (em uma transação)
+     * @throws SQLException se a gravação falhar (as alterações do grupo são descartadas)
+     */
+    public void sincronizar() throws SQLException {
+        synchronized (travaEscrita) {
+            List<Alteracao> lote;
+            synchronized (travaFila) {
+                if (fila.isEmpty()) {
+                    return;
+                }
+                lote = fila;
+                fila = new ArrayList<>();
+            }
+            executar(lote);
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Itens carregados do banco na última abertura
+     * @return Quantidade de entidades, matrículas e avaliações carregadas
+     */
+    public int getRegistrosCarregados() {
+        return registrosCarregados;
+    }
+
+    /**
+     * Linhas que não puderam ser carregadas na última abertura
+     * (ex: matrícula de um aluno que não existe mais)
+     * @return Quantidade de linhas ignoradas
+     */
+    public int getRegistrosIgnorados() {
+        return registrosIgnorados;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    // ========== GRAVAÇÃO ==========
+
+    private void conectar() {
+        alunoRepository.adicionarObservador(observadorAlunos);
+        professorRepository.adicionarObservador(observadorProfessores);
+        cursoRepository.adicionarObservador(observadorCursos);
+        turmaRepository.adicionarObservador(observadorTurmas);
+        for (Turma turma : turmaRepository.listarTodas()) {
+            codigosGravados.put(turma, turma.getCodigo());
+            turma.adicionarObservador(observadorTurma);
+        }
+    }
+
+    // Linhas completas das entidades (a ordem só é usada se a linha for incluída)
+    // Atributos copiados de uma vez: uma atualização em andamento não entra pela metade
+    // Chamados com a travaFila (dentro de gravar)
+
+    private Alteracao salvarAluno(Aluno original) {
+        Aluno aluno = original.copiarAtributos();
+        return new Alteracao(Comando.SALVAR_ALUNO, aluno.getNome(), aluno.getLogin(), aluno.getSenha(),
+                             aluno.getCurso(), aluno.getMatricula(), ordem.incrementAndGet());
+    }
+
+    private Alteracao salvarProfessor(Professor original) {
+        Professor professor = original.copiarAtributos();
+        return new Alteracao(Comando.SALVAR_PROFESSOR, professor.getNome(), professor.getLogin(),
+                             professor.getSenha(), professor.getEspecialidade(), professor.getRegistro(),
+                             ordem.incrementAndGet());
+    }
+
+    private void salvarCurso(List<Alteracao> fila, Curso original) {
+        Curso curso = original.copiarAtributos();
+        String tipo;
+        String local;
+        if (curso instanceof CursoEAD) {
+            tipo = TIPO_EAD;
+            local = ((CursoEAD) curso).getPlataformaVirtual();
+        } else if (curso instanceof CursoPresencial) {
+            tipo = TIPO_PRESENCIAL;
+            local = ((CursoPresencial) curso).getSalaDeAula();
+        } else {
+            return;
+        }
+        fila.add(new Alteracao(Comando.SALVAR_CURSO, tipo, curso.getNome(), curso.getCargaHoraria(), local,
+                               curso.getCodigo(), ordem.incrementAndGet()));
+    }
+
+    private Alteracao salvarTurma(Turma turma) {
+        Professor professor = turma.getProfessor();
+        Curso curso = turma.getCurso();
+        return new Alteracao(Comando.SALVAR_TURMA, professor == null ? null : professor.getRegistro(),
+                             curso == null ? null : curso.getCodigo(), codigoGravado(turma), ordem.incrementAndGet());
+    }
+
+    // Atributos, matrículas e avaliações (chamado também com a turma travada)
+    private void salvarTurmaCompleta(List<Alteracao> fila, Turma turma) {
+        codigosGravados.put(turma, turma.getCodigo());
+        fila.add(salvarTurma(turma));
+        for (Aluno aluno : turma.getListaAlunos()) {
+            fila.add(salvarMatricula(turma, aluno));
+        }
+        for (Avaliacao avaliacao : turma.getListaAvaliacoes()) {
+            fila.add(salvarAvaliacao(turma, avaliacao));
+        }
+    }
+
+    private Alteracao salvarMatricula(Turma turma, Aluno aluno) {
+        return new Alteracao(Comando.SALVAR_MATRICULA, codigoGravado(turma), aluno.getMatricula(), ordem.incrementAndGet());
+    }
+
+    private Alteracao salvarAvaliacao(Turma turma, Avaliacao avaliacao) {
+        return new Alteracao(Comando.SALVAR_AVALIACAO, avaliacao.getNota(), codigoGravado(turma), avaliacao.getId(),
+                             avaliacao.getAluno().getMatricula(), avaliacao.getDescricao(), ordem.incrementAndGet());
+    }
+
+    private String codigoGravado(Turma turma) {
+        return codigosGravados.getOrDefault(turma, turma.getCodigo());
+    }
+
+    // Alterações montadas com a travaFila: ler os valores e enfileirar não se separam
+    @FunctionalInterface
+    private interface Captura {
+        void enfileirar(List<Alteracao> fila);
+    }
+
+    // Coloca as alterações na fila (juntas) e grava quando a política ou o tamanho da fila pedem
+    private void gravar(Captura captura) {
+        int pendentes;
+        synchronized (travaFila) {
+            if (fechado) {
+                return;
+            }
+            captura.enfileirar(fila);
+            pendentes = fila.size();
+        }
+        if (politica == PoliticaSincronizacao.SEMPRE || pendentes >= LIMITE_FILA) {
+            gravarFila();
+        }
+    }
+
+    // A alteração já foi aplicada em memória: uma falha de gravação é informada, não propagada
+    private void gravarFila() {
+        try {
+            sincronizar();
+        } catch (SQLException e) {
+            System.out.println("❌ Erro ao gravar no banco de dados: " + e.getMessage());
+        }
+    }
+
+    private void gravarPeriodicamente(long intervaloNs) {
+        while (!encerrando) {
+            LockSupport.parkNanos(intervaloNs);
+            if (!encerrando) {
+                gravarFila();
+            }
+        }
+    }
+
+    // Chamado com a travaEscrita: um lote por sequência de alterações do mesmo comando
+    private void executar(List<Alteracao> lote) throws SQLException {
+        try {
+            int inicio = 0;
+            while (inicio < lote.size()) {
+                inicio = executarSequencia(lote, inicio);
+            }
+            conexao.commit();
+        } catch (SQLException e) {
+            try {
+                conexao.rollback();
+            } catch (SQLException erroDesfazer) {
+                e.addSuppressed(erroDesfazer);
+            }
+            throw new SQLException(lote.size() + " alterações não gravadas: " + e.getMessage(), e);
+        }
+    }
+
+    // Executa as alterações seguidas do mesmo comando a partir de "inicio"; retorna onde parou
+    private int executarSequencia(List<Alteracao> lote, int inicio) throws SQLException {
+        Comando comando = lote.get(inicio).comando;
+        Set<List<Object>> chaves = comando.sqlInclusao == null ? null : new HashSet<>();
+        int fim = inicio;
+        while (fim < lote.size() && lote.get(fim).comando == comando
+                && (chaves == null || chaves.add(lote.get(fim).chave()))) {
+            fim++;
+        }
+
+        PreparedStatement atualizacao = preparar(comando.sql);
+        for (int i = inicio; i < fim; i++) {
+            vincular(atualizacao, lote.get(i).parametros, comando.quantidadeParametros);
+            atualizacao.addBatch();
+        }
+        int[] linhas = atualizacao.executeBatch();
+        if (comando.sqlInclusao == null) {
+            return fim;
+        }
+
+        // Inclui as linhas que o UPDATE não encontrou
+        PreparedStatement inclusao = null;
+        for (int i = inicio; i < fim; i++) {
+            Object[] parametros = lote.get(i).parametros;
+            int alteradas = linhas[i - inicio];
+            if (alteradas == Statement.SUCCESS_NO_INFO) {
+                // O driver não informou: repete o UPDATE sozinho (mesmo resultado) para saber
+                vincular(atualizacao, parametros, comando.quantidadeParametros);
+                alteradas = atualizacao.executeUpdate();
+            }
+            if (alteradas == 0) {
+                if (inclusao == null) {
+                    inclusao = preparar(comando.sqlInclusao);
+                }
+                vincular(inclusao, parametros, parametros.length);
+                inclusao.addBatch();
+            }
+        }
+        if (inclusao != null) {
+            inclusao.executeBatch();
+        }
+        return fim;
+    }
+
+    // Comandos preparados uma vez por conexão
+    private PreparedStatement preparar(String sql) throws SQLException {
+        PreparedStatement comando = comandosPreparados.get(sql);
+        if (comando == null) {
+            comando = conexao.prepareStatement(sql);
+            comandosPreparados.put(sql, comando);
+        }
+        return comando;
+    }
+
+    private static void vincular(PreparedStatement comando, Object[] parametros, int quantidade) throws SQLException {
+        for (int i = 0; i < quantidade; i++) {
+            Object valor = parametros[i];
+            if (valor == null) {
+                comando.setNull(i + 1, Types.VARCHAR);
+            } else if (valor instanceof Double) {
+                comando.setDouble(i + 1, (Double) valor);
+            } else if (valor instanceof Long) {
+                comando.setLong(i + 1, (Long) valor);
+            } else if (valor instanceof Integer) {
+                comando.setInt(i + 1, (Integer) valor);
+            } else {
+                comando.setString(i + 1, (String) valor);
+            }
+        }
+    }
+
+    // ========== CARGA NOS REPOSITÓRIOS ==========
+
+    // Uma linha de uma consulta
+    @FunctionalInterface
+    private interface LeituraLinha {
+        void ler(ResultSet linha) throws SQLException;
+    }
+
+    private void lerTabela(String sql, LeituraLinha leitura) throws SQLException {
+        try (Statement consulta = conexao.createStatement()) {
+            consulta.setFetchSize(TAMANHO_LEITURA);
+            try (ResultSet linhas = consulta.executeQuery(sql)) {
+                while (linhas.next()) {
+                    leitura.ler(linhas);
+                }
+            }
+        }
+    }
+
+    private long maiorOrdem() throws SQLException {
+        long maior = 0;
+        for (String tabela : TABELAS) {
+            try (Statement consulta = conexao.createStatement();
+                 ResultSet linha = consulta.executeQuery("SELECT MAX(ordem) FROM " + tabela)) {
+                if (linha.next()) {
+                    maior = Math.max(maior, linha.getLong(1));
+                }
+            }
+        }
+        return maior;
+    }
+
+    // Professores, cursos e alunos entram em lote; as turmas são montadas
+    // completas (matrículas e avaliações) antes de entrar no repositório
+    private void carregar() throws SQLException {
+        List<Professor> professores = new ArrayList<>();
+        lerTabela("SELECT nome, login, senha, especialidade, registro FROM professor ORDER BY ordem",
+                  linha -> professores.add(new Professor(linha.getString(1), linha.getString(2), linha.getString(3),
+                                                         linha.getString(4), linha.getString(5))));
+        if (professorRepository.adicionarTodos(professores).isAplicado()) {
+            registrosCarregados += professores.size();
+        } else {
+            for (Professor professor : professores) {
+                contar(professorRepository.adicionar(professor));
+            }
+        }
+
+        List<Curso> cursos = new ArrayList<>();
+        lerTabela("SELECT tipo, nome, codigo, carga_horaria, local_curso FROM curso ORDER BY ordem", linha -> {
+            String tipo = linha.getString(1);
+            if (TIPO_EAD.equals(tipo)) {
+                cursos.add(new CursoEAD(linha.getString(2), linha.getString(3), linha.getDouble(4), linha.getString(5)));
+            } else if (TIPO_PRESENCIAL.equals(tipo)) {
+                cursos.add(new CursoPresencial(linha.getString(2), linha.getString(3), linha.getDouble(4),
+                                               linha.getString(5)));
+            } else {
+                registrosIgnorados++;
+            }
+        });
+        if (cursoRepository.adicionarTodos(cursos).isAplicado()) {
+            registrosCarregados += cursos.size();
+        } else {
+            for (Curso curso : cursos) {
+                contar(cursoRepository.adicionar(curso));
+            }
+        }
+
+        List<Aluno> alunos = new ArrayList<>();
+        lerTabela("SELECT nome, login, senha, matricula, curso FROM aluno ORDER BY ordem",
+                  linha -> alunos.add(new Aluno(linha.getString(1), linha.getString(2), linha.getString(3),
+                                                linha.getString(4), linha.getString(5))));
+        if (alunoRepository.adicionarTodos(alunos).isAplicado()) {
+            registrosCarregados += alunos.size();
+        } else {
+            for (Aluno aluno : alunos) {
+                contar(alunoRepository.adicionar(aluno));
+            }
+        }
+
+        carregarTurmas();
+    }
+
+    // Referências resolvidas nos repositórios já carregados: nenhuma consulta por turma
+    private void carregarTurmas() throws SQLException {
+        Map<String, Turma> turmas = new LinkedHashMap<>();
+        lerTabela("SELECT codigo, professor, curso FROM turma ORDER BY ordem", linha -> {
+            Professor professor = professorRepository.buscarPorRegistro(linha.getString(2));
+            Curso curso = cursoRepository.buscarPorCodigo(linha.getString(3));
+            if (professor == null || curso == null) {
+                registrosIgnorados++;
+                return;
+            }
+            turmas.put(linha.getString(1), new Turma(linha.getString(1), professor, curso));
+        });
+
+        lerTabela("SELECT turma, matricula FROM turma_aluno ORDER BY ordem", linha -> {
+            Turma turma = turmas.get(linha.getString(1));
+            Aluno aluno = alunoRepository.buscarPorMatricula(linha.getString(2));
+            contar(turma != null && turma.matricular(aluno));
+        });
+
+        // Cada avaliação volta com o id gravado: as alterações seguintes a encontram por ele
+        lerTabela("SELECT turma, id, matricula, descricao, nota FROM avaliacao ORDER BY ordem", linha -> {
+            Turma turma = turmas.get(linha.getString(1));
+            Aluno aluno = alunoRepository.buscarPorMatricula(linha.getString(3));
+            if (turma == null || aluno == null) {
+                registrosIgnorados++;
+                return;
+            }
+            Avaliacao avaliacao = new Avaliacao(linha.getString(4), aluno);
+            contar(avaliacao.alterarNota(linha.getDouble(5)) && turma.restaurarAvaliacao(avaliacao, linha.getInt(2)));
+        });
+
+        for (Turma turma : turmas.values()) {
+            contar(turmaRepository.adicionar(turma));
+        }
+    }
+
+    private void contar(boolean carregado) {
+        if (carregado) {
+            registrosCarregados++;
+        } else {
+            registrosIgnorados++;
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static void fecharSilenciosamente(AutoCloseable recurso) {
+        try {
+            recurso.close();
+        } catch (Exception e) {
+            // Já há um erro sendo informado (ou o banco está sendo fechado)
+        }
+    }
+}
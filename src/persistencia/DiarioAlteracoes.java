@@ -0,0 +1,837 @@
+package persistencia;
+
+import model.Aluno;
+import model.Avaliacao;
+import model.Curso;
+import model.CursoEAD;
+import model.CursoPresencial;
+import model.ObservadorAlteracao;
+import model.Professor;
+import model.Turma;
+import repository.AlunoRepository;
+import repository.CursoRepository;
+import repository.ObservadorRepositorio;
+import repository.ProfessorRepository;
+import repository.TurmaRepository;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classe DiarioAlteracoes
+ * Torna os repositórios duráveis com um log de alterações (write-ahead log)
+ * RESPONSABILIDADES:
+ * - Na abertura, carregar o último instantâneo e reproduzir o log a partir dele
+ * - Descartar a cauda incompleta deixada por uma queda
+ * - Depois da abertura, gravar cada alteração: inclusões, atualizações e
+ *   remoções nos repositórios, matrículas, avaliações e notas das turmas
+ * - Compactar o log quando o segmento atual passa do limite de tamanho
+ *
+ * ARQUIVOS (no diretório informado):
+ * - alteracoes-<lsn>.log: segmentos do log, pelo número do primeiro registro
+ * - instantaneo-<lsn>.dat: estado completo, válido para os registros anteriores a <lsn>
+ *   (formato binário compacto, ver GravadorInstantaneo)
+ *
+ * COMPACTAÇÃO (sem parar os escritores):
+ * 1. O log passa para um segmento novo, que começa no registro L
+ * 2. O estado é gravado percorrendo os repositórios enquanto as alterações
+ *    continuam; cada turma é travada só enquanto é copiada
+ * 3. O instantâneo ganha o nome definitivo (movimento atômico) e os segmentos
+ *    e instantâneos anteriores a L são apagados
+ * O instantâneo pode já conter alterações posteriores a L: como reaplicar um
+ * registro não muda o resultado, reproduzir o log a partir de L chega ao mesmo
+ * estado final. Assim a abertura custa "instantâneo + cauda curta", não importa
+ * quanto histórico já passou pelo log
+ *
+ * TURMAS RECODIFICADAS DURANTE A COMPACTAÇÃO:
+ * - Uma turma pode ser copiada para o instantâneo já com o código novo
+ * - Registros da cauda que ainda citam o código anterior ficam guardados
+ * - Quando a troca de código é reproduzida, eles são aplicados à turma
+ *   com o código novo
+ *
+ * O registro é gravado antes de a operação retornar para quem a chamou;
+ * a política de sincronização define quando ele chega de fato ao disco
+ *
+ * Alterações feitas direto nos setters de Aluno, Professor e Curso só são
+ * gravadas quando passam pelo atualizar() do repositório
+ *
+ * (Fase 9: Persistência)
+ */
+public class DiarioAlteracoes {
+
+    // Intervalo de sincronização da política PERIODICA
+    public static final long INTERVALO_SINCRONIZACAO_MS = 200;
+
+    // Tamanho do segmento atual a partir do qual o log é compactado
+    public static final long LIMITE_SEGMENTO_PADRAO = 8L << 20;
+
+    private static final String PREFIXO_SEGMENTO = "alteracoes-";
+    private static final String EXTENSAO_SEGMENTO = ".log";
+    private static final String PREFIXO_INSTANTANEO = "instantaneo-";
+    private static final String EXTENSAO_INSTANTANEO = ".dat";
+    private static final String EXTENSAO_TEMPORARIO = ".tmp";
+    private static final int DIGITOS_LSN = 20; // nomes com a mesma largura ficam em ordem
+
+    private final Path diretorio;
+    private final PoliticaSincronizacao politica;
+    private final long limiteSegmento;
+
+    private final AlunoRepository alunoRepository;
+    private final ProfessorRepository professorRepository;
+    private final CursoRepository cursoRepository;
+    private final TurmaRepository turmaRepository;
+
+    private LogEscrita log;
+    private final AtomicBoolean compactando = new AtomicBoolean();
+
+    // Fechamento espera a compactação em andamento (ela ainda apaga arquivos)
+    private final Object travaCompactacao = new Object();
+    private boolean fechado;
+
+    // Resultado da última abertura
+    private long ultimoLsn;
+    private int registrosInstantaneo;
+    private int registrosReaplicados;
+    private int registrosIgnorados;
+    private long bytesDescartados;
+
+    // Usado só durante a reprodução: registros ignorados por citar uma turma que não
+    // existe, pelo código citado (ver aplicarNovoCodigo)
+    private Map<String, List<Registro>> registrosPendentes;
+
+    // Código de cada turma na posição atual do log: muda junto com o registro da troca
+    // de código, com a trava do log, então um registro nunca cita um código que o log
+    // ainda não conhece ou já deixou para trás
+    private final Map<Turma, String> codigosGravados = new ConcurrentHashMap<>();
+
+    // ========== OBSERVADORES ==========
+
+    private final ObservadorRepositorio<Aluno> observadorAlunos = new ObservadorRepositorio<Aluno>() {
+        @Override
+        public void adicionado(Aluno aluno) {
+            gravar(destino -> anexarAluno(destino, aluno));
+        }
+
+        @Override
+        public void atualizado(Aluno aluno) {
+            gravar(destino -> anexarAluno(destino, aluno));
+        }
+
+        @Override
+        public void removido(Aluno aluno) {
+            gravar(destino -> destino.anexar(TipoRegistro.ALUNO_REMOVIDO, 0.0, aluno.getMatricula()));
+        }
+    };
+
+    private final ObservadorRepositorio<Professor> observadorProfessores = new ObservadorRepositorio<Professor>() {
+        @Override
+        public void adicionado(Professor professor) {
+            gravar(destino -> anexarProfessor(destino, professor));
+        }
+
+        @Override
+        public void atualizado(Professor professor) {
+            gravar(destino -> anexarProfessor(destino, professor));
+        }
+
+        @Override
+        public void removido(Professor professor) {
+            gravar(destino -> destino.anexar(TipoRegistro.PROFESSOR_REMOVIDO, 0.0, professor.getRegistro()));
+        }
+    };
+
+    private final ObservadorRepositorio<Curso> observadorCursos = new ObservadorRepositorio<Curso>() {
+        @Override
+        public void adicionado(Curso curso) {
+            gravar(destino -> anexarCurso(destino, curso));
+        }
+
+        @Override
+        public void atualizado(Curso curso) {
+            gravar(destino -> anexarCurso(destino, curso));
+        }
+
+        @Override
+        public void removido(Curso curso) {
+            gravar(destino -> destino.anexar(TipoRegistro.CURSO_REMOVIDO, 0.0, curso.getCodigo()));
+        }
+    };
+
+    private final ObservadorRepositorio<Turma> observadorTurmas = new ObservadorRepositorio<Turma>() {
+        @Override
+        public void adicionado(Turma turma) {
+            // Trava a turma: nenhuma matrícula entra entre a imagem gravada e o observador
+            // (avisos ainda pendentes de antes chegam depois da imagem, na ordem, e só
+            // repetem o que ela já tem)
+            synchronized (turma) {
+                turma.adicionarObservador(observadorTurma);
+                gravar(destino -> anexarTurmaCompleta(destino, turma));
+            }
+        }
+
+        @Override
+        public void atualizado(Turma turma) {
+            // Nada a fazer: os setters já avisaram o observadorTurma de cada atributo alterado
+        }
+
+        @Override
+        public void removido(Turma turma) {
+            turma.removerObservador(observadorTurma);
+            gravar(destino -> {
+                destino.anexar(TipoRegistro.TURMA_REMOVIDA, 0.0, codigoGravado(turma));
+                codigosGravados.remove(turma);
+            });
+        }
+    };
+
+    // Atributos, matrículas, avaliações e notas de cada turma armazenada
+    private final ObservadorAlteracao observadorTurma = (origem, campo, anterior, novo) -> {
+        Turma turma = (Turma) origem;
+        if (Turma.CAMPO_CODIGO.equals(campo)) {
+            gravar(destino -> {
+                destino.anexar(TipoRegistro.TURMA_RECODIFICADA, 0.0, (String) anterior, (String) novo);
+                codigosGravados.put(turma, (String) novo);
+            });
+        } else if (Turma.CAMPO_PROFESSOR.equals(campo) || Turma.CAMPO_CURSO.equals(campo)) {
+            gravar(destino -> anexarTurma(destino, turma));
+        } else if (Turma.CAMPO_ALUNOS.equals(campo)) {
+            Aluno aluno = (Aluno) (novo != null ? novo : anterior);
+            TipoRegistro tipo = novo != null ? TipoRegistro.MATRICULA_ADICIONADA : TipoRegistro.MATRICULA_REMOVIDA;
+            gravar(destino -> destino.anexar(tipo, 0.0, codigoGravado(turma), aluno.getMatricula()));
+        } else if (Turma.CAMPO_AVALIACOES.equals(campo)) {
+            if (novo != null) {
+                gravar(destino -> anexarAvaliacao(destino, turma, (Avaliacao) novo));
+            } else {
+                Avaliacao avaliacao = (Avaliacao) anterior;
+                gravar(destino -> destino.anexar(TipoRegistro.AVALIACAO_REMOVIDA, 0.0, codigoGravado(turma),
+                                                 Integer.toString(avaliacao.getId())));
+            }
+        } else if (Turma.CAMPO_NOTA.equals(campo)) {
+            gravar(destino -> anexarAvaliacao(destino, turma, (Avaliacao) novo));
+        }
+    };
+
+    /**
+     * Construtor do DiarioAlteracoes (compacta com o limite de segmento padrão)
+     * @param diretorio - Diretório do log e dos instantâneos (criado se não existir)
+     * @param politica - Quando forçar o log para o disco
+     * @param alunoRepository - Repositório de alunos
+     * @param professorRepository - Repositório de professores
+     * @param cursoRepository - Repositório de cursos
+     * @param turmaRepository - Repositório de turmas
+     */
+    public DiarioAlteracoes(Path diretorio, PoliticaSincronizacao politica,
+                            AlunoRepository alunoRepository, ProfessorRepository professorRepository,
+                            CursoRepository cursoRepository, TurmaRepository turmaRepository) {
+        this(diretorio, politica, LIMITE_SEGMENTO_PADRAO, alunoRepository, professorRepository,
+             cursoRepository, turmaRepository);
+    }
+
+    /**
+     * Construtor do DiarioAlteracoes
+     * @param diretorio - Diretório do log e dos instantâneos (criado se não existir)
+     * @param politica - Quando forçar o log para o disco
+     * @param limiteSegmento - Tamanho do segmento (bytes) que dispara a compactação
+     * @param alunoRepository - Repositório de alunos
+     * @param professorRepository - Repositório de professores
+     * @param cursoRepository - Repositório de cursos
+     * @param turmaRepository - Repositório de turmas
+     */
+    public DiarioAlteracoes(Path diretorio, PoliticaSincronizacao politica, long limiteSegmento,
+                            AlunoRepository alunoRepository, ProfessorRepository professorRepository,
+                            CursoRepository cursoRepository, TurmaRepository turmaRepository) {
+        this.diretorio = diretorio;
+        this.politica = politica;
+        this.limiteSegmento = limiteSegmento;
+        this.alunoRepository = alunoRepository;
+        this.professorRepository = professorRepository;
+        this.cursoRepository = cursoRepository;
+        this.turmaRepository = turmaRepository;
+    }
+
+    // ========== CICLO DE VIDA ==========
+
+    /**
+     * Carrega o último instantâneo, reproduz o log a partir dele e passa a
+     * gravar as novas alterações
+     * Deve ser chamado com os repositórios ainda vazios, antes de qualquer cadastro
+     * @return Quantidade de registros aplicados (instantâneo + log)
+     * @throws IOException se os arquivos não puderem ser lidos ou o log aberto para escrita
+     */
+    public int abrir() throws IOException {
+        if (log != null) {
+            throw new IllegalStateException("Log de alterações já está aberto");
+        }
+        Files.createDirectories(diretorio);
+        apagarTemporarios();
+
+        int reproduzidos = 0;
+        long tamanhoValido = 0;
+        ultimoLsn = 0;
+        registrosInstantaneo = 0;
+        registrosReaplicados = 0;
+        registrosIgnorados = 0;
+        bytesDescartados = 0;
+
+        List<Long> instantaneos = listarNumerados(PREFIXO_INSTANTANEO, EXTENSAO_INSTANTANEO);
+        List<Long> segmentos = listarNumerados(PREFIXO_SEGMENTO, EXTENSAO_SEGMENTO);
+        long inicio = 0; // Registros anteriores a este já estão no instantâneo
+
+        // Os índices secundários são montados uma vez, depois do instantâneo e do log
+        registrosPendentes = new HashMap<>();
+        boolean cargaAlunos = alunoRepository.iniciarCarga();
+        boolean cargaTurmas = turmaRepository.iniciarCarga();
+        try {
+            if (!instantaneos.isEmpty()) {
+                inicio = instantaneos.get(instantaneos.size() - 1);
+                registrosInstantaneo = LeitorInstantaneo.carregar(arquivoInstantaneo(inicio), inicio, professorRepository,
+                                                                  cursoRepository, alunoRepository, turmaRepository);
+                ultimoLsn = inicio - 1;
+            }
+
+            for (int i = 0; i < segmentos.size(); i++) {
+                boolean ultimo = i == segmentos.size() - 1;
+                Path segmento = arquivoSegmento(segmentos.get(i));
+                if (!ultimo && segmentos.get(i + 1) <= inicio) {
+                    // Compactação interrompida antes da limpeza: tudo já está no instantâneo
+                    Files.deleteIfExists(segmento);
+                    continue;
+                }
+
+                LeitorLog leitor = new LeitorLog(segmento);
+                try {
+                    Registro registro = new Registro();
+                    while (leitor.proximo(registro)) {
+                        if (registro.getLsn() < inicio) {
+                            continue;
+                        }
+                        if (aplicar(registro)) {
+                            reproduzidos++;
+                        } else {
+                            registrosIgnorados++;
+                            guardarSeTurmaAusente(registro);
+                        }
+                        ultimoLsn = registro.getLsn();
+                    }
+                    bytesDescartados += leitor.getTamanhoArquivo() - leitor.getPosicaoValida();
+                    if (ultimo) {
+                        tamanhoValido = leitor.getPosicaoValida();
+                    }
+                } finally {
+                    leitor.fechar();
+                }
+            }
+        } finally {
+            registrosPendentes = null;
+            if (cargaAlunos) {
+                alunoRepository.concluirCarga();
+            }
+            if (cargaTurmas) {
+                turmaRepository.concluirCarga();
+            }
+        }
+
+        // Continua no último segmento (ou começa um, no primeiro uso)
+        long proximoLsn = ultimoLsn + 1;
+        Path atual = arquivoSegmento(proximoLsn);
+        if (!segmentos.isEmpty()) {
+            long primeiroDoAtual = segmentos.get(segmentos.size() - 1);
+            proximoLsn = Math.max(proximoLsn, primeiroDoAtual);
+            atual = arquivoSegmento(primeiroDoAtual);
+        }
+        log = new LogEscrita(atual, tamanhoValido, proximoLsn, politica, INTERVALO_SINCRONIZACAO_MS);
+        conectar();
+
+        if (log.getTamanho() >= limiteSegmento) {
+            iniciarCompactacao();
+        }
+        return registrosInstantaneo + reproduzidos + registrosReaplicados;
+    }
+
+    /**
+     * Para de gravar alterações e fecha o log (chamadas repetidas não têm efeito)
+     * Se houver uma compactação em andamento, espera ela terminar
+     */
+    public void fechar() {
+        synchronized (travaCompactacao) {
+            if (log == null || fechado) {
+                return;
+            }
+            fechado = true;
+        }
+        alunoRepository.removerObservador(observadorAlunos);
+        professorRepository.removerObservador(observadorProfessores);
+        cursoRepository.removerObservador(observadorCursos);
+        turmaRepository.removerObservador(observadorTurmas);
+        for (Turma turma : turmaRepository.listarTodas()) {
+            turma.removerObservador(observadorTurma);
+        }
+        codigosGravados.clear();
+
+        try {
+            log.fechar();
+        } catch (IOException e) {
+            System.out.println("❌ Erro ao fechar o log de alterações: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Força para o disco os registros ainda pendentes
+     * @throws IOException se a gravação falhar
+     */
+    public void sincronizar() throws IOException {
+        if (log != null) {
+            log.sincronizar();
+        }
+    }
+
+    /**
+     * Grava um instantâneo do estado atual e apaga os segmentos do log que ele
+     * substitui; as alterações continuam sendo gravadas enquanto isso
+     * @return false se já havia uma compactação em andamento
+     * @throws IOException se o instantâneo não puder ser gravado
+     */
+    public boolean compactar() throws IOException {
+        if (log == null) {
+            throw new IllegalStateException("Log de alterações não está aberto");
+        }
+        if (!compactando.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            executarCompactacao();
+            return true;
+        } finally {
+            compactando.set(false);
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Registros carregados do instantâneo na última abertura
+     * @return Quantidade de registros (0 se não havia instantâneo)
+     */
+    public int getRegistrosInstantaneo() {
+        return registrosInstantaneo;
+    }
+
+    /**
+     * Registros do log que não puderam ser aplicados na última abertura
+     * (ex: matrícula de um aluno que não existe mais)
+     * @return Quantidade de registros ignorados
+     */
+    public int getRegistrosIgnorados() {
+        return registrosIgnorados;
+    }
+
+    /**
+     * Bytes da cauda incompleta ou corrompida descartados na última abertura
+     * @return Quantidade de bytes descartados
+     */
+    public long getBytesDescartados() {
+        return bytesDescartados;
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    // ========== GRAVAÇÃO ==========
+
+    private void conectar() {
+        alunoRepository.adicionarObservador(observadorAlunos);
+        professorRepository.adicionarObservador(observadorProfessores);
+        cursoRepository.adicionarObservador(observadorCursos);
+        turmaRepository.adicionarObservador(observadorTurmas);
+        for (Turma turma : turmaRepository.listarTodas()) {
+            codigosGravados.put(turma, turma.getCodigo());
+            turma.adicionarObservador(observadorTurma);
+        }
+    }
+
+    // Imagens completas das entidades gravadas pelos observadores
+    // (atributos copiados de uma vez: uma atualização em andamento não entra pela metade)
+
+    private static void anexarAluno(LogEscrita destino, Aluno original) throws IOException {
+        Aluno aluno = original.copiarAtributos();
+        destino.anexar(TipoRegistro.ALUNO_SALVO, 0.0, aluno.getNome(), aluno.getLogin(), aluno.getSenha(),
+                       aluno.getMatricula(), aluno.getCurso());
+    }
+
+    private static void anexarProfessor(LogEscrita destino, Professor original) throws IOException {
+        Professor professor = original.copiarAtributos();
+        destino.anexar(TipoRegistro.PROFESSOR_SALVO, 0.0, professor.getNome(), professor.getLogin(),
+                       professor.getSenha(), professor.getEspecialidade(), professor.getRegistro());
+    }
+
+    private static void anexarCurso(LogEscrita destino, Curso original) throws IOException {
+        Curso curso = original.copiarAtributos();
+        if (curso instanceof CursoEAD) {
+            destino.anexar(TipoRegistro.CURSO_EAD_SALVO, curso.getCargaHoraria(), curso.getNome(), curso.getCodigo(),
+                           ((CursoEAD) curso).getPlataformaVirtual());
+        } else if (curso instanceof CursoPresencial) {
+            destino.anexar(TipoRegistro.CURSO_PRESENCIAL_SALVO, curso.getCargaHoraria(), curso.getNome(),
+                           curso.getCodigo(), ((CursoPresencial) curso).getSalaDeAula());
+        }
+    }
+
+    private void anexarTurma(LogEscrita destino, Turma turma) throws IOException {
+        Professor professor = turma.getProfessor();
+        Curso curso = turma.getCurso();
+        destino.anexar(TipoRegistro.TURMA_SALVA, 0.0, codigoGravado(turma),
+                       professor == null ? null : professor.getRegistro(),
+                       curso == null ? null : curso.getCodigo());
+    }
+
+    // Atributos, matrículas e avaliações (chamado com a turma travada)
+    private void anexarTurmaCompleta(LogEscrita destino, Turma turma) throws IOException {
+        codigosGravados.put(turma, turma.getCodigo());
+        anexarTurma(destino, turma);
+        for (Aluno aluno : turma.getListaAlunos()) {
+            destino.anexar(TipoRegistro.MATRICULA_ADICIONADA, 0.0, codigoGravado(turma), aluno.getMatricula());
+        }
+        for (Avaliacao avaliacao : turma.getListaAvaliacoes()) {
+            anexarAvaliacao(destino, turma, avaliacao);
+        }
+    }
+
+    private void anexarAvaliacao(LogEscrita destino, Turma turma, Avaliacao avaliacao) throws IOException {
+        destino.anexar(TipoRegistro.AVALIACAO_SALVA, avaliacao.getNota(), codigoGravado(turma),
+                       Integer.toString(avaliacao.getId()), avaliacao.getAluno().getMatricula(),
+                       avaliacao.getDescricao());
+    }
+
+    // Chamado com a trava do log (dentro de uma gravação)
+    private String codigoGravado(Turma turma) {
+        return codigosGravados.getOrDefault(turma, turma.getCodigo());
+    }
+
+    // A alteração já foi aplicada em memória: uma falha de gravação é informada, não propagada
+    // Os valores são lidos dentro da gravação, com a trava do log (ver LogEscrita.anexarEmOrdem)
+    private void gravar(LogEscrita.Gravacao gravacao) {
+        try {
+            log.anexarEmOrdem(gravacao);
+            if (log.getTamanho() >= limiteSegmento) {
+                iniciarCompactacao();
+            }
+        } catch (IOException e) {
+            System.out.println("❌ Erro ao gravar no log de alterações: " + e.getMessage());
+        }
+    }
+
+    // ========== COMPACTAÇÃO ==========
+
+    // Compacta em segundo plano, para não atrasar quem fez a alteração
+    private void iniciarCompactacao() {
+        if (!compactando.compareAndSet(false, true)) {
+            return;
+        }
+        Thread compactador = new Thread(() -> {
+            try {
+                executarCompactacao();
+            } catch (IOException e) {
+                System.out.println("❌ Erro ao compactar o log de alterações: " + e.getMessage());
+            } finally {
+                compactando.set(false);
+            }
+        }, "compactador-log");
+        compactador.setDaemon(true);
+        compactador.start();
+    }
+
+    // Chamado por quem ganhou a flag "compactando"
+    private void executarCompactacao() throws IOException {
+        synchronized (travaCompactacao) {
+            if (!fechado) {
+                compactarArquivos();
+            }
+        }
+    }
+
+    private void compactarArquivos() throws IOException {
+        long inicio = log.rotacionar(this::arquivoSegmento);
+
+        Path definitivo = arquivoInstantaneo(inicio);
+        Path temporario = diretorio.resolve(definitivo.getFileName() + EXTENSAO_TEMPORARIO);
+        GravadorInstantaneo.gravar(temporario, inicio, professorRepository, cursoRepository,
+                                   alunoRepository, turmaRepository);
+        Files.move(temporario, definitivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // O instantâneo já cobre tudo o que veio antes do novo segmento
+        for (long lsn : listarNumerados(PREFIXO_SEGMENTO, EXTENSAO_SEGMENTO)) {
+            if (lsn < inicio) {
+                Files.deleteIfExists(arquivoSegmento(lsn));
+            }
+        }
+        for (long lsn : listarNumerados(PREFIXO_INSTANTANEO, EXTENSAO_INSTANTANEO)) {
+            if (lsn < inicio) {
+                Files.deleteIfExists(arquivoInstantaneo(lsn));
+            }
+        }
+    }
+
+    // ========== ARQUIVOS ==========
+
+    private Path arquivoSegmento(long primeiroLsn) {
+        return diretorio.resolve(nomeNumerado(PREFIXO_SEGMENTO, primeiroLsn, EXTENSAO_SEGMENTO));
+    }
+
+    private Path arquivoInstantaneo(long lsn) {
+        return diretorio.resolve(nomeNumerado(PREFIXO_INSTANTANEO, lsn, EXTENSAO_INSTANTANEO));
+    }
+
+    private static String nomeNumerado(String prefixo, long numero, String extensao) {
+        String digitos = Long.toString(numero);
+        StringBuilder nome = new StringBuilder(prefixo);
+        for (int i = digitos.length(); i < DIGITOS_LSN; i++) {
+            nome.append('0');
+        }
+        return nome.append(digitos).append(extensao).toString();
+    }
+
+    // Números dos arquivos "prefixo<número>extensao" do diretório, em ordem crescente
+    private List<Long> listarNumerados(String prefixo, String extensao) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, prefixo + "*" + extensao)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(nome.substring(prefixo.length(), nome.length() - extensao.length())));
+                } catch (NumberFormatException e) {
+                    // Não é um arquivo do diário: ignora
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+
+    // Instantâneos que não chegaram a ser concluídos
+    private void apagarTemporarios() throws IOException {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO_INSTANTANEO + "*" + EXTENSAO_TEMPORARIO)) {
+            for (Path arquivo : arquivos) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    // ========== REPRODUÇÃO ==========
+
+    /**
+     * Aplica um registro lido do log nos repositórios, sem imprimir mensagens
+     * Reaplicar um registro já aplicado não muda o resultado
+     * @return false se o registro referencia algo que não existe
+     */
+    private boolean aplicar(Registro r) {
+        switch (r.getTipo()) {
+            case ALUNO_SALVO:
+                return aplicarAluno(new Aluno(r.getTexto(0), r.getTexto(1), r.getTexto(2), r.getTexto(3), r.getTexto(4)));
+            case ALUNO_REMOVIDO:
+                return alunoRepository.buscarPorMatricula(r.getTexto(0)) == null
+                        || alunoRepository.remover(r.getTexto(0));
+            case PROFESSOR_SALVO:
+                return aplicarProfessor(new Professor(r.getTexto(0), r.getTexto(1), r.getTexto(2), r.getTexto(3), r.getTexto(4)));
+            case PROFESSOR_REMOVIDO:
+                return professorRepository.buscarPorRegistro(r.getTexto(0)) == null
+                        || professorRepository.remover(r.getTexto(0));
+            case CURSO_PRESENCIAL_SALVO:
+                return aplicarCurso(new CursoPresencial(r.getTexto(0), r.getTexto(1), r.getNumero(), r.getTexto(2)));
+            case CURSO_EAD_SALVO:
+                return aplicarCurso(new CursoEAD(r.getTexto(0), r.getTexto(1), r.getNumero(), r.getTexto(2)));
+            case CURSO_REMOVIDO:
+                return cursoRepository.buscarPorCodigo(r.getTexto(0)) == null
+                        || cursoRepository.remover(r.getTexto(0));
+            case TURMA_SALVA:
+                return aplicarTurma(r.getTexto(0), r.getTexto(1), r.getTexto(2));
+            case TURMA_RECODIFICADA:
+                return aplicarNovoCodigo(r.getTexto(0), r.getTexto(1));
+            case TURMA_REMOVIDA:
+                registrosPendentes.remove(r.getTexto(0));
+                return turmaRepository.buscarPorCodigo(r.getTexto(0)) == null
+                        || turmaRepository.remover(r.getTexto(0));
+            case MATRICULA_ADICIONADA:
+                return aplicarMatricula(r.getTexto(0), r.getTexto(1));
+            case MATRICULA_REMOVIDA:
+                return aplicarDesmatricula(r.getTexto(0), r.getTexto(1));
+            case AVALIACAO_SALVA:
+                return aplicarAvaliacao(r.getTexto(0), lerId(r.getTexto(1)), r.getTexto(2), r.getTexto(3),
+                                        r.getNumero());
+            case AVALIACAO_REMOVIDA:
+                return aplicarRemocaoAvaliacao(r.getTexto(0), lerId(r.getTexto(1)));
+            default:
+                return false;
+        }
+    }
+
+    private boolean aplicarAluno(Aluno aluno) {
+        if (alunoRepository.buscarPorMatricula(aluno.getMatricula()) == null) {
+            return alunoRepository.adicionar(aluno);
+        }
+        // Atualiza a instância existente: as turmas continuam apontando para ela
+        return alunoRepository.atualizar(aluno.getMatricula(), aluno);
+    }
+
+    private boolean aplicarProfessor(Professor professor) {
+        if (professorRepository.buscarPorRegistro(professor.getRegistro()) == null) {
+            return professorRepository.adicionar(professor);
+        }
+        return professorRepository.atualizar(professor.getRegistro(), professor);
+    }
+
+    private boolean aplicarCurso(Curso curso) {
+        Curso atual = cursoRepository.buscarPorCodigo(curso.getCodigo());
+        if (atual == null) {
+            return cursoRepository.adicionar(curso);
+        }
+        if (atual.getClass() != curso.getClass()) {
+            // Mudou de modalidade: substitui o curso
+            cursoRepository.remover(curso.getCodigo());
+            return cursoRepository.adicionar(curso);
+        }
+
+        // O atualizar() do repositório só copia os atributos comuns
+        if (atual instanceof CursoEAD) {
+            ((CursoEAD) atual).setPlataformaVirtual(((CursoEAD) curso).getPlataformaVirtual());
+        } else if (atual instanceof CursoPresencial) {
+            ((CursoPresencial) atual).setSalaDeAula(((CursoPresencial) curso).getSalaDeAula());
+        }
+        return cursoRepository.atualizar(curso.getCodigo(), curso);
+    }
+
+    private boolean aplicarTurma(String codigo, String registroProfessor, String codigoCurso) {
+        Professor professor = professorRepository.buscarPorRegistro(registroProfessor);
+        Curso curso = cursoRepository.buscarPorCodigo(codigoCurso);
+        if (professor == null || curso == null) {
+            return false;
+        }
+
+        Turma turma = turmaRepository.buscarPorCodigo(codigo);
+        if (turma == null) {
+            return turmaRepository.adicionar(new Turma(codigo, professor, curso));
+        }
+        turma.setProfessor(professor);
+        turma.setCurso(curso);
+        return true;
+    }
+
+    private boolean aplicarNovoCodigo(String codigoAnterior, String codigoNovo) {
+        Turma turma = turmaRepository.buscarPorCodigo(codigoAnterior);
+        if (turma != null) {
+            registrosPendentes.remove(codigoAnterior);
+            return turmaRepository.atualizar(codigoAnterior, new Turma(codigoNovo, turma.getProfessor(), turma.getCurso()));
+        }
+
+        // Já aplicado: o instantâneo copiou a turma depois da troca de código. Os registros
+        // dela entre o instantâneo e a troca citam o código anterior e foram ignorados
+        // (ex: matrículas de alunos incluídos depois da seção de alunos, que o instantâneo
+        // deixa para o log); eles valem para o código novo
+        List<Registro> pendentes = registrosPendentes.remove(codigoAnterior);
+        if (turmaRepository.buscarPorCodigo(codigoNovo) == null) {
+            if (pendentes != null) {
+                registrosPendentes.put(codigoNovo, pendentes); // o instantâneo tem uma troca seguinte
+            }
+            return false;
+        }
+        if (pendentes != null) {
+            for (Registro pendente : pendentes) {
+                pendente.definirTexto(0, codigoNovo);
+                if (aplicar(pendente)) {
+                    registrosIgnorados--;
+                    registrosReaplicados++;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Guarda uma cópia do registro ignorado se ele cita uma turma que não existe
+    private void guardarSeTurmaAusente(Registro r) {
+        switch (r.getTipo()) {
+            case TURMA_SALVA:
+            case MATRICULA_ADICIONADA:
+            case MATRICULA_REMOVIDA:
+            case AVALIACAO_SALVA:
+            case AVALIACAO_REMOVIDA:
+                if (turmaRepository.buscarPorCodigo(r.getTexto(0)) == null) {
+                    registrosPendentes.computeIfAbsent(r.getTexto(0), codigo -> new ArrayList<>()).add(r.copiar());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean aplicarMatricula(String codigoTurma, String matricula) {
+        Turma turma = turmaRepository.buscarPorCodigo(codigoTurma);
+        Aluno aluno = alunoRepository.buscarPorMatricula(matricula);
+        if (turma == null || aluno == null) {
+            return false;
+        }
+        turma.matricular(aluno); // false se já matriculado: nada a fazer
+        return true;
+    }
+
+    private boolean aplicarDesmatricula(String codigoTurma, String matricula) {
+        Turma turma = turmaRepository.buscarPorCodigo(codigoTurma);
+        if (turma == null) {
+            return false;
+        }
+        turma.desmatricular(matricula);
+        return true;
+    }
+
+    // A avaliação volta com o id gravado: os registros seguintes (inclusive os gravados
+    // depois desta abertura, que continuam no mesmo log) apontam para ele
+    private boolean aplicarAvaliacao(String codigoTurma, int id, String matricula, String descricao, double nota) {
+        Turma turma = turmaRepository.buscarPorCodigo(codigoTurma);
+        if (turma == null || id < 0) {
+            return false;
+        }
+
+        Avaliacao avaliacao = turma.buscarAvaliacao(id);
+        if (avaliacao != null) {
+            return avaliacao.alterarNota(nota);
+        }
+
+        Aluno aluno = alunoRepository.buscarPorMatricula(matricula);
+        if (aluno == null) {
+            aluno = turma.buscarAluno(matricula);
+        }
+        if (aluno == null) {
+            return false;
+        }
+        avaliacao = new Avaliacao(descricao, aluno);
+        return avaliacao.alterarNota(nota) && turma.restaurarAvaliacao(avaliacao, id);
+    }
+
+    private boolean aplicarRemocaoAvaliacao(String codigoTurma, int id) {
+        Turma turma = turmaRepository.buscarPorCodigo(codigoTurma);
+        if (turma == null || id < 0) {
+            return false;
+        }
+        Avaliacao avaliacao = turma.buscarAvaliacao(id);
+        if (avaliacao != null) {
+            turma.removerAvaliacao(avaliacao);
+        }
+        return true;
+    }
+
+    // Id da avaliação gravado como texto (-1 se o texto não é um id)
+    private static int lerId(String texto) {
+        try {
+            return texto == null ? -1 : Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package persistencia;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Classe EscritorCsv
+ * Escreve um arquivo CSV campo a campo, em fluxo
+ *
+ * FORMATO (o mesmo aceito pelo LeitorCsv):
+ * - Campos separados por vírgula (ou outro separador)
+ * - Campos com separador, aspas ou quebra de linha vão entre aspas, com as aspas duplicadas
+ * - Linhas terminadas por \r\n
+ *
+ * Nenhuma linha é montada em String: os trechos do texto vão para um buffer
+ * próprio e chegam ao destino em blocos (flush/close entregam o restante)
+ *
+ * (Fase 9: Persistência)
+ */
+public class EscritorCsv implements Closeable, Flushable {
+
+    private final SaidaTexto saida;
+    private final char separador;
+    private boolean inicioLinha = true;
+
+    /**
+     * Construtor do EscritorCsv com vírgula como separador
+     * @param saida - Destino
+     */
+    public EscritorCsv(Writer saida) {
+        this(saida, ',');
+    }
+
+    /**
+     * Construtor do EscritorCsv
+     * @param saida - Destino
+     * @param separador - Separador de campos
+     */
+    public EscritorCsv(Writer saida, char separador) {
+        if (separador == '"' || separador == '\n' || separador == '\r') {
+            throw new IllegalArgumentException("Separador inválido: " + separador);
+        }
+        this.saida = new SaidaTexto(saida);
+        this.separador = separador;
+    }
+
+    // ========== ESCRITA ==========
+
+    /**
+     * Escreve um campo de texto na linha atual
+     * @param valor - Conteúdo do campo (null vira campo vazio)
+     * @throws IOException se a escrita falhar
+     */
+    public void campo(String valor) throws IOException {
+        separar();
+        if (valor == null) {
+            return;
+        }
+        if (!precisaAspas(valor)) {
+            saida.write(valor);
+            return;
+        }
+        saida.write('"');
+        int inicio = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            if (valor.charAt(i) == '"') {
+                // Escreve até as aspas (inclusive) e repete as aspas
+                saida.write(valor, inicio, i + 1 - inicio);
+                saida.write('"');
+                inicio = i + 1;
+            }
+        }
+        saida.write(valor, inicio, valor.length() - inicio);
+        saida.write('"');
+    }
+
+    /**
+     * Escreve um campo numérico na linha atual (ponto como separador decimal)
+     * @param valor - Número
+     * @throws IOException se a escrita falhar
+     */
+    public void campo(double valor) throws IOException {
+        separar();
+        saida.write(Double.toString(valor));
+    }
+
+    /**
+     * Escreve uma linha inteira (ex: o cabeçalho)
+     * @param campos - Campos da linha
+     * @throws IOException se a escrita falhar
+     */
+    public void linha(String... campos) throws IOException {
+        for (String valor : campos) {
+            campo(valor);
+        }
+        terminarLinha();
+    }
+
+    /**
+     * Termina a linha atual
+     * @throws IOException se a escrita falhar
+     */
+    public void terminarLinha() throws IOException {
+        saida.write("\r\n");
+        inicioLinha = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        saida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        saida.close();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void separar() throws IOException {
+        if (!inicioLinha) {
+            saida.write(separador);
+        }
+        inicioLinha = false;
+    }
+
+    private boolean precisaAspas(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == separador || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,215 @@
+package persistencia;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Classe EscritorJson
+ * Escreve JSON em fluxo, sem montar a árvore do documento na memória
+ *
+ * Uso: iniciarLista/iniciarObjeto abrem um nível, nome() informa a chave do
+ * próximo valor dentro de um objeto e terminarLista/terminarObjeto fecham o nível.
+ * As vírgulas são colocadas automaticamente
+ *
+ * O texto vai para um buffer próprio e chega ao destino em blocos
+ * (flush/close entregam o restante)
+ *
+ * Os itens da lista mais externa ficam um por linha: arquivos grandes
+ * continuam legíveis e comparáveis linha a linha
+ *
+ * (Fase 9: Persistência)
+ */
+public class EscritorJson implements Closeable, Flushable {
+
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    private final SaidaTexto saida;
+
+    // Por nível aberto: se já tem algum item (precisa de vírgula antes do próximo)
+    private boolean[] temItens = new boolean[16];
+    private int nivel;
+    private boolean aposNome;
+
+    /**
+     * Construtor do EscritorJson
+     * @param saida - Destino
+     */
+    public EscritorJson(Writer saida) {
+        this.saida = new SaidaTexto(saida);
+    }
+
+    // ========== ESTRUTURA ==========
+
+    public void iniciarObjeto() throws IOException {
+        antesDoValor();
+        saida.write('{');
+        abrirNivel();
+    }
+
+    public void terminarObjeto() throws IOException {
+        fecharNivel();
+        saida.write('}');
+    }
+
+    public void iniciarLista() throws IOException {
+        antesDoValor();
+        saida.write('[');
+        abrirNivel();
+    }
+
+    public void terminarLista() throws IOException {
+        fecharNivel();
+        saida.write(']');
+    }
+
+    /**
+     * Informa a chave do próximo valor (dentro de um objeto)
+     * @param nome - Nome do campo
+     * @throws IOException se a escrita falhar
+     */
+    public void nome(String nome) throws IOException {
+        if (aposNome) {
+            throw new IllegalStateException("Nome " + nome + " informado sem o valor do anterior");
+        }
+        antesDoValor();
+        escreverTexto(nome);
+        saida.write(':');
+        aposNome = true;
+    }
+
+    // ========== VALORES ==========
+
+    /**
+     * Escreve um texto (null vira null)
+     * @param valor - Texto
+     * @throws IOException se a escrita falhar
+     */
+    public void valor(String valor) throws IOException {
+        antesDoValor();
+        if (valor == null) {
+            saida.write("null");
+        } else {
+            escreverTexto(valor);
+        }
+    }
+
+    /**
+     * Escreve um número (NaN e infinitos, que o JSON não tem, viram null)
+     * @param valor - Número
+     * @throws IOException se a escrita falhar
+     */
+    public void valor(double valor) throws IOException {
+        antesDoValor();
+        saida.write(Double.isFinite(valor) ? Double.toString(valor) : "null");
+    }
+
+    /**
+     * Escreve um campo de texto de um objeto (atalho para nome + valor)
+     * @param nome - Nome do campo
+     * @param valor - Texto
+     * @throws IOException se a escrita falhar
+     */
+    public void campo(String nome, String valor) throws IOException {
+        nome(nome);
+        valor(valor);
+    }
+
+    /**
+     * Escreve um campo numérico de um objeto (atalho para nome + valor)
+     * @param nome - Nome do campo
+     * @param valor - Número
+     * @throws IOException se a escrita falhar
+     */
+    public void campo(String nome, double valor) throws IOException {
+        nome(nome);
+        valor(valor);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        saida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        saida.close();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Vírgula entre itens do mesmo nível (o valor logo após um nome não leva vírgula)
+    private void antesDoValor() throws IOException {
+        if (aposNome) {
+            aposNome = false;
+            return;
+        }
+        if (nivel == 0) {
+            return;
+        }
+        if (temItens[nivel]) {
+            saida.write(',');
+        }
+        temItens[nivel] = true;
+        if (nivel == 1) {
+            saida.write('\n');
+        }
+    }
+
+    private void abrirNivel() {
+        nivel++;
+        if (nivel == temItens.length) {
+            temItens = Arrays.copyOf(temItens, nivel * 2);
+        }
+        temItens[nivel] = false;
+    }
+
+    private void fecharNivel() throws IOException {
+        if (nivel == 0 || aposNome) {
+            throw new IllegalStateException("Nível fechado sem estar aberto (ou com nome sem valor)");
+        }
+        if (nivel == 1 && temItens[nivel]) {
+            saida.write('\n');
+        }
+        nivel--;
+    }
+
+    // Texto entre aspas; escreve os trechos sem escape direto do String
+    private void escreverTexto(String texto) throws IOException {
+        saida.write('"');
+        int inicio = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            saida.write(texto, inicio, i - inicio);
+            inicio = i + 1;
+            switch (c) {
+                case '"':
+                    saida.write("\\\"");
+                    break;
+                case '\\':
+                    saida.write("\\\\");
+                    break;
+                case '\n':
+                    saida.write("\\n");
+                    break;
+                case '\r':
+                    saida.write("\\r");
+                    break;
+                case '\t':
+                    saida.write("\\t");
+                    break;
+                default:
+                    saida.write("\\u00");
+                    saida.write(HEXADECIMAL[c >> 4]);
+                    saida.write(HEXADECIMAL[c & 0xF]);
+            }
+        }
+        saida.write(texto, inicio, texto.length() - inicio);
+        saida.write('"');
+    }
+}
@@ -0,0 +1,345 @@
+package persistencia;
+
+import model.Aluno;
+import model.Avaliacao;
+import model.Curso;
+import model.CursoEAD;
+import model.CursoPresencial;
+import model.Professor;
+import model.Turma;
+import repository.AlunoRepository;
+import repository.CursoRepository;
+import repository.ProfessorRepository;
+import repository.TurmaRepository;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Classe GravadorInstantaneo
+ * Grava o estado completo dos repositórios em um arquivo binário compacto
+ *
+ * FORMATO DO ARQUIVO:
+ * - Cabeçalho: número mágico (int) + versão do formato (short) + lsn (long)
+ *   (o instantâneo contém tudo o que o log registrou antes do lsn)
+ * - Seções, uma após a outra: [byte tipo][int tamanho][int crc32][conteúdo]
+ *   PROFESSORES: n x (nome, login, senha, ref especialidade, registro)
+ *   CURSOS: n x (byte modalidade, nome, codigo, double carga, ref sala ou plataforma)
+ *   ALUNOS: n x (nome, login, senha, matricula, ref curso)
+ *   TURMAS: n x (codigo, id professor, id curso, alunos: m x id aluno,
+ *                avaliações: k x (id avaliação, id aluno, ref descrição, double nota))
+ *   (id avaliação é o da turma, que os registros do log seguintes usam)
+ *   TEXTOS: tabela dos valores repetidos, na ordem das refs
+ *   FIM: seção vazia que marca o fim do arquivo
+ * - Inteiros são varints (7 bits por byte); textos são [varint comprimento + 1][UTF-8]
+ *   e refs são [varint posição na tabela + 1] (0 = null nos dois casos)
+ * - Turmas apontam para professores, cursos e alunos pela posição na seção deles,
+ *   sem repetir as chaves
+ *
+ * A tabela de textos vai por último: ela cresce enquanto as outras seções são
+ * gravadas (os repositórios continuam em uso) e o LeitorInstantaneo, que mapeia
+ * o arquivo inteiro, a lê antes das demais
+ *
+ * (Fase 9: Persistência)
+ */
+public class GravadorInstantaneo {
+
+    // Cabeçalho do arquivo
+    static final int NUMERO_MAGICO = 0x53474549; // "SGEI"
+    static final short VERSAO_FORMATO = 1;
+    static final int TAMANHO_CABECALHO = 14;
+    static final int TAMANHO_CABECALHO_SECAO = 9; // tipo + tamanho + crc
+
+    // Tipos de seção
+    static final byte SECAO_FIM = 0;
+    static final byte SECAO_PROFESSORES = 1;
+    static final byte SECAO_CURSOS = 2;
+    static final byte SECAO_ALUNOS = 3;
+    static final byte SECAO_TURMAS = 4;
+    static final byte SECAO_TEXTOS = 5;
+    static final int QUANTIDADE_SECOES = 6;
+
+    // Modalidades de curso
+    static final byte CURSO_PRESENCIAL = 1;
+    static final byte CURSO_EAD = 2;
+
+    private static final int CAPACIDADE_BUFFER = 256 * 1024;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final CRC32 crc;
+    private long posicaoSecao = -1; // início da seção aberta (-1: nenhuma)
+
+    // Tabela de textos repetidos: texto -> posição
+    private final Map<String, Integer> posicaoTexto = new HashMap<>();
+    private final List<String> textos = new ArrayList<>();
+
+    private GravadorInstantaneo(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                      StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(CAPACIDADE_BUFFER);
+        this.crc = new CRC32();
+    }
+
+    /**
+     * Grava um instantâneo dos repositórios, que podem continuar em uso
+     * (cada turma fica travada só enquanto é copiada)
+     * @param arquivo - Arquivo de destino (substituído se existir)
+     * @param lsn - Primeiro registro do log que NÃO precisa estar no instantâneo
+     * @param professorRepository - Repositório de professores
+     * @param cursoRepository - Repositório de cursos
+     * @param alunoRepository - Repositório de alunos
+     * @param turmaRepository - Repositório de turmas
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public static void gravar(Path arquivo, long lsn, ProfessorRepository professorRepository,
+                              CursoRepository cursoRepository, AlunoRepository alunoRepository,
+                              TurmaRepository turmaRepository) throws IOException {
+        GravadorInstantaneo gravador = new GravadorInstantaneo(arquivo);
+        try {
+            gravador.gravarTudo(lsn, professorRepository.listarTodos(), cursoRepository.listarTodos(),
+                                alunoRepository.listarTodos(), turmaRepository.listarTodas());
+            gravador.canal.force(true);
+        } finally {
+            gravador.canal.close();
+        }
+    }
+
+    // ========== SEÇÕES ==========
+
+    private void gravarTudo(long lsn, List<Professor> professores, List<Curso> cursos,
+                            List<Aluno> alunos, List<Turma> turmas) throws IOException {
+        buffer.putInt(NUMERO_MAGICO).putShort(VERSAO_FORMATO).putLong(lsn);
+
+        // Posição de cada entidade na sua seção, usada pelas turmas
+        Map<Professor, Integer> idProfessor = new IdentityHashMap<>();
+        Map<Curso, Integer> idCurso = new IdentityHashMap<>();
+        Map<Aluno, Integer> idAluno = new IdentityHashMap<>(alunos.size() * 2);
+
+        iniciarSecao(SECAO_PROFESSORES);
+        escreverVarint(professores.size());
+        for (Professor original : professores) {
+            Professor professor = original.copiarAtributos();
+            escreverTexto(professor.getNome());
+            escreverTexto(professor.getLogin());
+            escreverTexto(professor.getSenha());
+            escreverRef(professor.getEspecialidade());
+            escreverTexto(professor.getRegistro());
+            idProfessor.put(original, idProfessor.size());
+        }
+        terminarSecao();
+
+        iniciarSecao(SECAO_CURSOS);
+        escreverVarint(cursos.size());
+        for (Curso original : cursos) {
+            Curso curso = original.copiarAtributos();
+            boolean ead = curso instanceof CursoEAD;
+            escreverByte(ead ? CURSO_EAD : CURSO_PRESENCIAL);
+            escreverTexto(curso.getNome());
+            escreverTexto(curso.getCodigo());
+            escreverDouble(curso.getCargaHoraria());
+            escreverRef(ead ? ((CursoEAD) curso).getPlataformaVirtual() : ((CursoPresencial) curso).getSalaDeAula());
+            idCurso.put(original, idCurso.size());
+        }
+        terminarSecao();
+
+        iniciarSecao(SECAO_ALUNOS);
+        escreverVarint(alunos.size());
+        for (Aluno original : alunos) {
+            Aluno aluno = original.copiarAtributos();
+            escreverTexto(aluno.getNome());
+            escreverTexto(aluno.getLogin());
+            escreverTexto(aluno.getSenha());
+            escreverTexto(aluno.getMatricula());
+            escreverRef(aluno.getCurso());
+            idAluno.put(original, idAluno.size());
+        }
+        terminarSecao();
+
+        // Referências a entidades incluídas depois das seções acima são deixadas
+        // de fora: elas entraram após o lsn e a reprodução do log as completa
+        // (código, professor e curso lidos juntos uma vez só: uma troca no meio da gravação também está no log)
+        iniciarSecao(SECAO_TURMAS);
+        List<Turma> completas = new ArrayList<>(turmas.size());
+        String[] codigoDaTurma = new String[turmas.size()];
+        int[] professorDaTurma = new int[turmas.size()];
+        int[] cursoDaTurma = new int[turmas.size()];
+        for (Turma turma : turmas) {
+            Turma atributos = turma.copiarAtributos();
+            Integer professor = idProfessor.get(atributos.getProfessor());
+            Integer curso = idCurso.get(atributos.getCurso());
+            if (professor != null && curso != null) {
+                codigoDaTurma[completas.size()] = atributos.getCodigo();
+                professorDaTurma[completas.size()] = professor;
+                cursoDaTurma[completas.size()] = curso;
+                completas.add(turma);
+            }
+        }
+        escreverVarint(completas.size());
+        for (int i = 0; i < completas.size(); i++) {
+            Turma turma = completas.get(i);
+            synchronized (turma) {
+                gravarTurma(turma, codigoDaTurma[i], professorDaTurma[i], cursoDaTurma[i], idAluno);
+            }
+        }
+        terminarSecao();
+
+        iniciarSecao(SECAO_TEXTOS);
+        escreverVarint(textos.size());
+        for (String texto : textos) {
+            escreverTexto(texto);
+        }
+        terminarSecao();
+
+        iniciarSecao(SECAO_FIM);
+        terminarSecao();
+        descarregar();
+    }
+
+    // Chamado com a turma travada
+    private void gravarTurma(Turma turma, String codigo, int professor, int curso,
+                             Map<Aluno, Integer> idAluno) throws IOException {
+        escreverTexto(codigo);
+        escreverVarint(professor);
+        escreverVarint(curso);
+
+        List<Aluno> alunos = turma.getListaAlunos();
+        int conhecidos = 0;
+        for (Aluno aluno : alunos) {
+            if (idAluno.containsKey(aluno)) {
+                conhecidos++;
+            }
+        }
+        escreverVarint(conhecidos);
+        for (Aluno aluno : alunos) {
+            Integer id = idAluno.get(aluno);
+            if (id != null) {
+                escreverVarint(id);
+            }
+        }
+
+        List<Avaliacao> avaliacoes = turma.getListaAvaliacoes();
+        conhecidos = 0;
+        for (Avaliacao avaliacao : avaliacoes) {
+            if (idAluno.containsKey(avaliacao.getAluno())) {
+                conhecidos++;
+            }
+        }
+        escreverVarint(conhecidos);
+        for (Avaliacao avaliacao : avaliacoes) {
+            Integer id = idAluno.get(avaliacao.getAluno());
+            if (id != null) {
+                escreverVarint(avaliacao.getId());
+                escreverVarint(id);
+                escreverRef(avaliacao.getDescricao());
+                escreverDouble(avaliacao.getNota());
+            }
+        }
+    }
+
+    private void iniciarSecao(byte tipo) throws IOException {
+        descarregar();
+        posicaoSecao = canal.position();
+        buffer.put(tipo).putInt(0).putInt(0); // tamanho e CRC preenchidos em terminarSecao
+        descarregar();
+        crc.reset();
+    }
+
+    private void terminarSecao() throws IOException {
+        descarregar();
+        long fim = canal.position();
+        long tamanho = fim - posicaoSecao - TAMANHO_CABECALHO_SECAO;
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IOException("Seção do instantâneo grande demais: " + tamanho + " bytes");
+        }
+
+        ByteBuffer cabecalho = ByteBuffer.allocate(2 * Integer.BYTES);
+        cabecalho.putInt((int) tamanho).putInt((int) crc.getValue()).flip();
+        long posicao = posicaoSecao + 1;
+        while (cabecalho.hasRemaining()) {
+            posicao += canal.write(cabecalho, posicao);
+        }
+        posicaoSecao = -1;
+    }
+
+    // ========== CODIFICAÇÃO ==========
+
+    private void escreverByte(byte valor) throws IOException {
+        garantir(1);
+        buffer.put(valor);
+    }
+
+    private void escreverDouble(double valor) throws IOException {
+        garantir(Double.BYTES);
+        buffer.putDouble(valor);
+    }
+
+    private void escreverVarint(int valor) throws IOException {
+        garantir(5);
+        while ((valor & ~0x7F) != 0) {
+            buffer.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        buffer.put((byte) valor);
+    }
+
+    private void escreverTexto(String texto) throws IOException {
+        if (texto == null) {
+            escreverVarint(0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarint(bytes.length + 1);
+        int escritos = 0;
+        while (escritos < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                descarregar();
+            }
+            int parte = Math.min(buffer.remaining(), bytes.length - escritos);
+            buffer.put(bytes, escritos, parte);
+            escritos += parte;
+        }
+    }
+
+    // Valor repetido: grava só a posição na tabela de textos
+    private void escreverRef(String texto) throws IOException {
+        if (texto == null) {
+            escreverVarint(0);
+            return;
+        }
+        Integer posicao = posicaoTexto.get(texto);
+        if (posicao == null) {
+            posicao = textos.size();
+            posicaoTexto.put(texto, posicao);
+            textos.add(texto);
+        }
+        escreverVarint(posicao + 1);
+    }
+
+    private void garantir(int quantidade) throws IOException {
+        if (buffer.remaining() < quantidade) {
+            descarregar();
+        }
+    }
+
+    // O CRC da seção aberta cobre tudo o que passa por aqui depois do cabeçalho dela
+    private void descarregar() throws IOException {
+        buffer.flip();
+        if (posicaoSecao >= 0) {
+            crc.update(buffer.array(), 0, buffer.limit());
+        }
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,316 @@
+package persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Classe LeitorCsv
+ * Lê um arquivo CSV registro a registro, sem carregar o arquivo inteiro
+ *
+ * FORMATO ACEITO:
+ * - Campos separados por vírgula (ou outro separador, ex: ';' das planilhas em português)
+ * - Campos entre aspas podem conter separador, quebra de linha e aspas duplicadas ("")
+ * - Linhas terminadas por \n, \r\n ou \r; linhas em branco são ignoradas
+ * - A marca de ordem de bytes (BOM) no início do arquivo é descartada
+ *
+ * DESEMPENHO:
+ * - Lê em blocos de caracteres e cria cada campo direto do bloco,
+ *   sem passar por String de linha nem expressões regulares
+ * - O vetor de campos é reaproveitado entre registros
+ * - A memória usada é limitada: campos e registros grandes demais são
+ *   marcados com erro em vez de crescer sem limite
+ *
+ * Um registro malformado não interrompe a leitura: getErro() informa o problema
+ * e a leitura continua no registro seguinte
+ *
+ * (Fase 9: Persistência)
+ */
+public class LeitorCsv implements Closeable {
+
+    private static final int CAPACIDADE_BUFFER = 1 << 16;
+    public static final int TAMANHO_MAXIMO_CAMPO = 1 << 16;
+    public static final int QUANTIDADE_MAXIMA_CAMPOS = 256;
+
+    private final Reader entrada;
+    private final char separador;
+    private final char[] buffer = new char[CAPACIDADE_BUFFER];
+    private int posicao;
+    private int limite;
+    private boolean inicio = true;
+
+    // Campo que atravessa o fim do bloco (ou tem aspas) é montado aqui
+    private final StringBuilder campo = new StringBuilder();
+
+    private String[] campos = new String[16];
+    private int quantidade;
+    private long linhaAtual = 1;
+    private long linhaRegistro;
+    private String erro;
+
+    /**
+     * Construtor do LeitorCsv com vírgula como separador
+     * @param entrada - Texto CSV (não precisa ser bufferizado)
+     */
+    public LeitorCsv(Reader entrada) {
+        this(entrada, ',');
+    }
+
+    /**
+     * Construtor do LeitorCsv
+     * @param entrada - Texto CSV (não precisa ser bufferizado)
+     * @param separador - Separador de campos
+     */
+    public LeitorCsv(Reader entrada, char separador) {
+        if (separador == '"' || separador == '\n' || separador == '\r') {
+            throw new IllegalArgumentException("Separador inválido: " + separador);
+        }
+        this.entrada = entrada;
+        this.separador = separador;
+    }
+
+    // ========== LEITURA ==========
+
+    /**
+     * Lê o próximo registro
+     * @return true se leu um registro, false no fim do arquivo
+     * @throws IOException se a leitura falhar
+     */
+    public boolean proximo() throws IOException {
+        // Pula linhas em branco
+        while (true) {
+            if (posicao >= limite && !preencher()) {
+                return false;
+            }
+            char c = buffer[posicao];
+            if (c != '\n' && c != '\r') {
+                break;
+            }
+            posicao++;
+            terminarLinha(c);
+        }
+
+        linhaRegistro = linhaAtual;
+        quantidade = 0;
+        erro = null;
+        while (!lerCampo()) {
+            // Continua até o campo que fecha o registro
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a quantidade de campos do registro atual
+     * @return Número de campos
+     */
+    public int getQuantidadeCampos() {
+        return quantidade;
+    }
+
+    /**
+     * Retorna um campo do registro atual
+     * @param indice - Posição do campo (a partir de 0)
+     * @return Conteúdo do campo (vazio se o campo não tinha nada)
+     */
+    public String getCampo(int indice) {
+        if (indice < 0 || indice >= quantidade) {
+            throw new IndexOutOfBoundsException("Campo " + indice + " de " + quantidade);
+        }
+        return campos[indice];
+    }
+
+    /**
+     * Retorna a linha do arquivo em que o registro atual começa
+     * @return Número da linha (a partir de 1)
+     */
+    public long getLinha() {
+        return linhaRegistro;
+    }
+
+    /**
+     * Retorna o problema de formato do registro atual
+     * @return Descrição do problema, ou null se o registro está bem formado
+     */
+    public String getErro() {
+        return erro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    // ========== CAMPOS ==========
+
+    // Lê um campo; retorna true se ele fecha o registro
+    private boolean lerCampo() throws IOException {
+        if (posicao >= limite && !preencher()) {
+            adicionarCampo(""); // Separador no fim do arquivo
+            return true;
+        }
+        if (buffer[posicao] == '"') {
+            posicao++;
+            return lerCampoEntreAspas();
+        }
+
+        campo.setLength(0);
+        boolean emPartes = false;
+        int comeco = posicao;
+        while (true) {
+            if (posicao >= limite) {
+                anexar(comeco, posicao);
+                emPartes = true;
+                if (!preencher()) {
+                    adicionarCampo(campo.toString());
+                    return true;
+                }
+                comeco = posicao;
+            }
+            char c = buffer[posicao];
+            if (c == separador || c == '\n' || c == '\r') {
+                if (emPartes) {
+                    anexar(comeco, posicao);
+                    adicionarCampo(campo.toString());
+                } else {
+                    adicionarCampo(new String(buffer, comeco, posicao - comeco));
+                }
+                posicao++;
+                if (c == separador) {
+                    return false;
+                }
+                terminarLinha(c);
+                return true;
+            }
+            if (c == '"') {
+                marcarErro("Aspas no meio do campo " + (quantidade + 1));
+            }
+            posicao++;
+        }
+    }
+
+    // Campo entre aspas: termina nas aspas que não forem seguidas de outras aspas
+    private boolean lerCampoEntreAspas() throws IOException {
+        campo.setLength(0);
+        int comeco = posicao;
+        while (true) {
+            if (posicao >= limite) {
+                anexar(comeco, posicao);
+                if (!preencher()) {
+                    marcarErro("Aspas não fechadas");
+                    adicionarCampo(campo.toString());
+                    return true;
+                }
+                comeco = posicao;
+            }
+            char c = buffer[posicao];
+            if (c == '\n') {
+                linhaAtual++;
+            } else if (c == '"') {
+                anexar(comeco, posicao);
+                posicao++;
+                if (posicao >= limite && !preencher()) {
+                    adicionarCampo(campo.toString());
+                    return true;
+                }
+                c = buffer[posicao];
+                if (c == '"') {
+                    // Aspas duplicadas: a segunda faz parte do texto
+                    comeco = posicao;
+                    posicao++;
+                    continue;
+                }
+                adicionarCampo(campo.toString());
+                if (c == separador) {
+                    posicao++;
+                    return false;
+                }
+                if (c == '\n' || c == '\r') {
+                    posicao++;
+                    terminarLinha(c);
+                    return true;
+                }
+                // Texto depois das aspas de fechamento: descarta até o fim do campo
+                marcarErro("Texto depois das aspas no campo " + quantidade);
+                return descartarCampo();
+            }
+            posicao++;
+        }
+    }
+
+    // Pula o restante de um campo malformado
+    private boolean descartarCampo() throws IOException {
+        while (true) {
+            if (posicao >= limite && !preencher()) {
+                return true;
+            }
+            char c = buffer[posicao++];
+            if (c == separador) {
+                return false;
+            }
+            if (c == '\n' || c == '\r') {
+                terminarLinha(c);
+                return true;
+            }
+        }
+    }
+
+    private void anexar(int comeco, int fim) {
+        if (campo.length() + (fim - comeco) > TAMANHO_MAXIMO_CAMPO) {
+            marcarErro("Campo " + (quantidade + 1) + " maior que " + TAMANHO_MAXIMO_CAMPO + " caracteres");
+            return;
+        }
+        campo.append(buffer, comeco, fim - comeco);
+    }
+
+    private void adicionarCampo(String valor) {
+        if (quantidade == QUANTIDADE_MAXIMA_CAMPOS) {
+            marcarErro("Registro com mais de " + QUANTIDADE_MAXIMA_CAMPOS + " campos");
+            return;
+        }
+        if (quantidade == campos.length) {
+            campos = Arrays.copyOf(campos, campos.length * 2);
+        }
+        campos[quantidade++] = valor;
+    }
+
+    // O primeiro problema encontrado no registro prevalece
+    private void marcarErro(String mensagem) {
+        if (erro == null) {
+            erro = mensagem;
+        }
+    }
+
+    // ========== BUFFER ==========
+
+    // Conta a linha e consome o \n de um \r\n
+    private void terminarLinha(char c) throws IOException {
+        linhaAtual++;
+        if (c == '\r' && (posicao < limite || preencher()) && buffer[posicao] == '\n') {
+            posicao++;
+        }
+    }
+
+    // Lê o próximo bloco; retorna false no fim do arquivo
+    private boolean preencher() throws IOException {
+        int lidos;
+        do {
+            lidos = entrada.read(buffer, 0, buffer.length);
+        } while (lidos == 0);
+        if (lidos < 0) {
+            posicao = 0;
+            limite = 0;
+            return false;
+        }
+        posicao = 0;
+        limite = lidos;
+        if (inicio) {
+            inicio = false;
+            if (buffer[0] == '\uFEFF') {
+                posicao = 1;
+                return posicao < limite || preencher();
+            }
+        }
+        return true;
+    }
+}
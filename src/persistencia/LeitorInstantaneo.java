@@ -0,0 +1,339 @@
+package persistencia;
+
+import model.Aluno;
+import model.Avaliacao;
+import model.Curso;
+import model.CursoEAD;
+import model.CursoPresencial;
+import model.Professor;
+import model.Turma;
+import repository.AlunoRepository;
+import repository.CursoRepository;
+import repository.ProfessorRepository;
+import repository.ResultadoLote;
+import repository.TurmaRepository;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * Classe LeitorInstantaneo
+ * Carrega nos repositórios um instantâneo gravado pelo GravadorInstantaneo
+ * (formato descrito lá)
+ *
+ * DESEMPENHO:
+ * - O arquivo é mapeado em memória (FileChannel.map): nada de leituras em
+ *   blocos nem cópias intermediárias, o sistema operacional traz as páginas
+ * - Todos os CRCs são conferidos antes de qualquer alteração nos repositórios
+ * - Valores repetidos (curso do aluno, plataforma, descrição da avaliação)
+ *   viram uma única String compartilhada, vinda da tabela de textos
+ * - Professores, cursos, alunos e turmas entram nos repositórios em lote, e os
+ *   índices secundários de alunos e turmas são montados uma vez, no final
+ *   (ou depois do log, quando quem carrega é o DiarioAlteracoes)
+ *
+ * (Fase 9: Persistência)
+ */
+public class LeitorInstantaneo {
+
+    private final Path arquivo;
+    private final ByteBuffer[] secoes = new ByteBuffer[GravadorInstantaneo.QUANTIDADE_SECOES];
+    private long lsn;
+
+    // Reaproveitado na decodificação dos textos
+    private byte[] bytesTexto = new byte[256];
+
+    private LeitorInstantaneo(Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Carrega um instantâneo nos repositórios (que devem estar vazios)
+     * @param arquivo - Arquivo do instantâneo
+     * @param lsnEsperado - Lsn que o instantâneo deve ter (o do nome do arquivo)
+     * @param professorRepository - Repositório de professores
+     * @param cursoRepository - Repositório de cursos
+     * @param alunoRepository - Repositório de alunos
+     * @param turmaRepository - Repositório de turmas
+     * @return Quantidade de itens carregados (entidades, matrículas e avaliações)
+     * @throws IOException se o arquivo não puder ser lido ou estiver corrompido
+     */
+    public static int carregar(Path arquivo, long lsnEsperado, ProfessorRepository professorRepository,
+                               CursoRepository cursoRepository, AlunoRepository alunoRepository,
+                               TurmaRepository turmaRepository) throws IOException {
+        LeitorInstantaneo leitor = new LeitorInstantaneo(arquivo);
+        leitor.mapear();
+        if (leitor.lsn != lsnEsperado) {
+            throw new IOException("O instantâneo " + arquivo + " é do registro " + leitor.lsn
+                                  + ", esperado " + lsnEsperado);
+        }
+        boolean cargaAlunos = alunoRepository.iniciarCarga();
+        boolean cargaTurmas = turmaRepository.iniciarCarga();
+        try {
+            return leitor.aplicar(professorRepository, cursoRepository, alunoRepository, turmaRepository);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            // CRC correto mas conteúdo fora do formato (ex: gravado por outra versão)
+            throw new IOException("O instantâneo " + arquivo + " está em um formato inválido");
+        } finally {
+            if (cargaAlunos) {
+                alunoRepository.concluirCarga();
+            }
+            if (cargaTurmas) {
+                turmaRepository.concluirCarga();
+            }
+        }
+    }
+
+    // ========== ESTRUTURA DO ARQUIVO ==========
+
+    // Mapeia o arquivo, localiza as seções e confere os CRCs
+    private void mapear() throws IOException {
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IOException("O instantâneo " + arquivo + " é grande demais para ser mapeado");
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+
+        if (mapa.remaining() < GravadorInstantaneo.TAMANHO_CABECALHO
+                || mapa.getInt() != GravadorInstantaneo.NUMERO_MAGICO) {
+            throw new IOException("O arquivo " + arquivo + " não é um instantâneo");
+        }
+        short versao = mapa.getShort();
+        if (versao != GravadorInstantaneo.VERSAO_FORMATO) {
+            throw new IOException("Versão " + versao + " do instantâneo não é suportada");
+        }
+        lsn = mapa.getLong();
+
+        CRC32 crc = new CRC32();
+        while (true) {
+            if (mapa.remaining() < GravadorInstantaneo.TAMANHO_CABECALHO_SECAO) {
+                throw new IOException("O instantâneo " + arquivo + " está incompleto");
+            }
+            byte tipo = mapa.get();
+            int tamanho = mapa.getInt();
+            int crcGravado = mapa.getInt();
+            if (tipo < 0 || tipo >= secoes.length || secoes[tipo] != null
+                    || tamanho < 0 || tamanho > mapa.remaining()) {
+                throw new IOException("O instantâneo " + arquivo + " está corrompido");
+            }
+
+            ByteBuffer secao = mapa.slice();
+            secao.limit(tamanho);
+            crc.reset();
+            crc.update(secao.duplicate());
+            if ((int) crc.getValue() != crcGravado) {
+                throw new IOException("O instantâneo " + arquivo + " está corrompido (CRC da seção " + tipo + ")");
+            }
+            secoes[tipo] = secao;
+            mapa.position(mapa.position() + tamanho);
+
+            if (tipo == GravadorInstantaneo.SECAO_FIM) {
+                break;
+            }
+        }
+        if (mapa.hasRemaining()) {
+            throw new IOException("O instantâneo " + arquivo + " tem dados depois do fim");
+        }
+        for (int tipo = 0; tipo < secoes.length; tipo++) {
+            if (secoes[tipo] == null) {
+                throw new IOException("O instantâneo " + arquivo + " não tem a seção " + tipo);
+            }
+        }
+    }
+
+    // ========== CARGA NOS REPOSITÓRIOS ==========
+
+    private int aplicar(ProfessorRepository professorRepository, CursoRepository cursoRepository,
+                        AlunoRepository alunoRepository, TurmaRepository turmaRepository) {
+        String[] textos = lerTextos(secoes[GravadorInstantaneo.SECAO_TEXTOS]);
+
+        // Cada vetor guarda, pela posição na seção, a instância que ficou no repositório
+        Professor[] professores = lerProfessores(secoes[GravadorInstantaneo.SECAO_PROFESSORES], textos);
+        adicionarEmLote(professores, professorRepository::adicionarTodos,
+                        professor -> professorRepository.buscarPorRegistro(professor.getRegistro()));
+
+        Curso[] cursos = lerCursos(secoes[GravadorInstantaneo.SECAO_CURSOS], textos);
+        adicionarEmLote(cursos, cursoRepository::adicionarTodos,
+                        curso -> cursoRepository.buscarPorCodigo(curso.getCodigo()));
+
+        Aluno[] alunos = lerAlunos(secoes[GravadorInstantaneo.SECAO_ALUNOS], textos);
+        adicionarEmLote(alunos, alunoRepository::adicionarTodos,
+                        aluno -> alunoRepository.buscarPorMatricula(aluno.getMatricula()));
+
+        int itens = professores.length + cursos.length + alunos.length;
+        return itens + carregarTurmas(secoes[GravadorInstantaneo.SECAO_TURMAS], textos,
+                                      professores, cursos, alunos, turmaRepository);
+    }
+
+    // Se o lote é recusado (ex: login repetido no arquivo), as linhas sem erro próprio vão
+    // em um novo lote, até um ser aceito: nada entra uma a uma. No final, cada posição
+    // do vetor fica com a instância que está no repositório (null se a linha não entrou)
+    private static <T> void adicionarEmLote(T[] itens, Function<List<T>, ResultadoLote> adicionarTodos,
+                                            UnaryOperator<T> noRepositorio) {
+        List<T> lote = Arrays.asList(itens);
+        ResultadoLote resultado = adicionarTodos.apply(lote);
+        if (resultado.isAplicado()) {
+            return;
+        }
+        // Repete sem as linhas recusadas
+        while (!resultado.isAplicado()) {
+            List<ResultadoLote.Linha> linhas = resultado.getLinhas();
+            List<T> semErro = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                if (!linhas.get(i).isErro()) {
+                    semErro.add(lote.get(i));
+                }
+            }
+            if (semErro.size() == lote.size()) {
+                break; // recusado sem apontar linhas: não há o que tirar
+            }
+            lote = semErro;
+            resultado = adicionarTodos.apply(lote);
+        }
+        for (int i = 0; i < itens.length; i++) {
+            itens[i] = noRepositorio.apply(itens[i]);
+        }
+    }
+
+    private String[] lerTextos(ByteBuffer secao) {
+        String[] textos = new String[lerVarint(secao)];
+        for (int i = 0; i < textos.length; i++) {
+            textos[i] = lerTexto(secao);
+        }
+        return textos;
+    }
+
+    private Professor[] lerProfessores(ByteBuffer secao, String[] textos) {
+        Professor[] professores = new Professor[lerVarint(secao)];
+        for (int i = 0; i < professores.length; i++) {
+            String nome = lerTexto(secao);
+            String login = lerTexto(secao);
+            String senha = lerTexto(secao);
+            String especialidade = lerRef(secao, textos);
+            professores[i] = new Professor(nome, login, senha, especialidade, lerTexto(secao));
+        }
+        return professores;
+    }
+
+    private Curso[] lerCursos(ByteBuffer secao, String[] textos) {
+        Curso[] cursos = new Curso[lerVarint(secao)];
+        for (int i = 0; i < cursos.length; i++) {
+            byte modalidade = secao.get();
+            String nome = lerTexto(secao);
+            String codigo = lerTexto(secao);
+            double cargaHoraria = secao.getDouble();
+            String local = lerRef(secao, textos);
+            cursos[i] = modalidade == GravadorInstantaneo.CURSO_EAD
+                    ? new CursoEAD(nome, codigo, cargaHoraria, local)
+                    : new CursoPresencial(nome, codigo, cargaHoraria, local);
+        }
+        return cursos;
+    }
+
+    private Aluno[] lerAlunos(ByteBuffer secao, String[] textos) {
+        Aluno[] alunos = new Aluno[lerVarint(secao)];
+        for (int i = 0; i < alunos.length; i++) {
+            String nome = lerTexto(secao);
+            String login = lerTexto(secao);
+            String senha = lerTexto(secao);
+            String matricula = lerTexto(secao);
+            alunos[i] = new Aluno(nome, login, senha, matricula, lerRef(secao, textos));
+        }
+        return alunos;
+    }
+
+    // Referências que não ficaram nos repositórios (null nos vetores) são puladas
+    private int carregarTurmas(ByteBuffer secao, String[] textos, Professor[] professores, Curso[] cursos,
+                               Aluno[] alunos, TurmaRepository turmaRepository) {
+        int itens = 0;
+        int quantidade = lerVarint(secao);
+        List<Turma> turmas = new ArrayList<>(Math.max(0, quantidade));
+        for (int i = 0; i < quantidade; i++) {
+            String codigo = lerTexto(secao);
+            Turma turma = new Turma(codigo, professores[lerVarint(secao)], cursos[lerVarint(secao)]);
+
+            int matriculas = lerVarint(secao);
+            for (int j = 0; j < matriculas; j++) {
+                Aluno aluno = alunos[lerVarint(secao)];
+                if (aluno != null && turma.matricular(aluno)) {
+                    itens++;
+                }
+            }
+
+            int avaliacoes = lerVarint(secao);
+            for (int j = 0; j < avaliacoes; j++) {
+                int id = lerVarint(secao);
+                Aluno aluno = alunos[lerVarint(secao)];
+                String descricao = lerRef(secao, textos);
+                double nota = secao.getDouble();
+                if (aluno == null) {
+                    continue;
+                }
+                // Com o id gravado, os registros do log depois do instantâneo acham a avaliação
+                Avaliacao avaliacao = new Avaliacao(descricao, aluno);
+                if (avaliacao.alterarNota(nota) && turma.restaurarAvaliacao(avaliacao, id)) {
+                    itens++;
+                }
+            }
+
+            if (turma.getProfessor() != null && turma.getCurso() != null) {
+                turmas.add(turma);
+            }
+        }
+
+        Turma[] vetor = turmas.toArray(new Turma[0]);
+        adicionarEmLote(vetor, turmaRepository::adicionarTodos,
+                        turma -> turmaRepository.buscarPorCodigo(turma.getCodigo()));
+        for (int i = 0; i < vetor.length; i++) {
+            if (vetor[i] == turmas.get(i)) {
+                itens++;
+            }
+        }
+        return itens;
+    }
+
+    // ========== DECODIFICAÇÃO ==========
+
+    private static int lerVarint(ByteBuffer secao) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = secao.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IndexOutOfBoundsException("Varint longo demais");
+    }
+
+    private String lerTexto(ByteBuffer secao) {
+        int comprimento = lerVarint(secao) - 1;
+        if (comprimento < 0) {
+            return null;
+        }
+        if (comprimento > bytesTexto.length) {
+            bytesTexto = new byte[Math.max(comprimento, bytesTexto.length * 2)];
+        }
+        secao.get(bytesTexto, 0, comprimento);
+        return new String(bytesTexto, 0, comprimento, StandardCharsets.UTF_8);
+    }
+
+    private static String lerRef(ByteBuffer secao, String[] textos) {
+        int posicao = lerVarint(secao) - 1;
+        return posicao < 0 ? null : textos[posicao];
+    }
+}
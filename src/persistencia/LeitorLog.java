@@ -0,0 +1,250 @@
+package persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Classe LeitorLog
+ * Lê em sequência os registros gravados pelo LogEscrita
+ *
+ * A leitura é feita em blocos grandes e um único Registro é reaproveitado,
+ * então a reprodução não aloca nada além dos próprios textos. Textos curtos
+ * que se repetem (códigos de turma, cursos, ids e descrições de avaliação)
+ * voltam como a mesma String, sem uma cópia nova a cada registro
+ *
+ * A leitura para no primeiro registro incompleto ou com CRC errado:
+ * getPosicaoValida() informa onde termina a parte confiável do arquivo
+ *
+ * (Fase 9: Persistência)
+ */
+public class LeitorLog {
+
+    private static final int CAPACIDADE_BUFFER = 1 << 20;
+
+    // Textos repetidos: tabela de espalhamento pelos bytes, só para textos curtos em ASCII
+    private static final int TEXTOS_REPETIDOS = 4096;
+    private static final int COMPRIMENTO_MAXIMO_REPETIDO = 32;
+
+    private final FileChannel canal;
+    private final long tamanhoArquivo;
+    private final CRC32 crc;
+    private ByteBuffer buffer;
+
+    private long posicaoBuffer;  // posição no arquivo do início do buffer
+    private long posicaoValida;  // fim do último registro válido
+    private boolean fimDosDados;
+
+    // Último texto decodificado em cada posição da tabela (substituído quando outro texto cai nela)
+    private final String[] textosRepetidos = new String[TEXTOS_REPETIDOS];
+
+    /**
+     * Construtor do LeitorLog
+     * Abre o arquivo e confere o cabeçalho
+     * @param arquivo - Caminho do log
+     * @throws IOException se o arquivo não puder ser lido ou não for um log deste sistema
+     */
+    public LeitorLog(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.tamanhoArquivo = canal.size();
+        this.crc = new CRC32();
+        this.buffer = ByteBuffer.allocate(CAPACIDADE_BUFFER);
+        this.buffer.limit(0);
+
+        if (!garantir(LogEscrita.TAMANHO_CABECALHO)) {
+            // Queda antes de o cabeçalho ficar completo: nenhum registro válido
+            posicaoValida = 0;
+            fimDosDados = true;
+            return;
+        }
+
+        int magico = buffer.getInt();
+        short versao = buffer.getShort();
+        if (magico != LogEscrita.NUMERO_MAGICO) {
+            canal.close();
+            throw new IOException("O arquivo " + arquivo + " não é um log de alterações");
+        }
+        if (versao != LogEscrita.VERSAO_FORMATO) {
+            canal.close();
+            throw new IOException("Versão " + versao + " do log de alterações não é suportada");
+        }
+        posicaoValida = LogEscrita.TAMANHO_CABECALHO;
+    }
+
+    // ========== LEITURA ==========
+
+    /**
+     * Lê o próximo registro
+     * @param registro - Registro a ser preenchido (reaproveitado entre chamadas)
+     * @return true se leu um registro válido, false no fim dos dados válidos
+     * @throws IOException se a leitura do arquivo falhar
+     */
+    public boolean proximo(Registro registro) throws IOException {
+        if (fimDosDados || !garantir(LogEscrita.TAMANHO_PREFIXO)) {
+            fimDosDados = true;
+            return false;
+        }
+
+        int inicio = buffer.position();
+        int tamanhoRegistro = buffer.getInt(inicio);
+        if (tamanhoRegistro < LogEscrita.TAMANHO_MINIMO || tamanhoRegistro > LogEscrita.TAMANHO_MAXIMO
+                || !garantir(LogEscrita.TAMANHO_PREFIXO + tamanhoRegistro)) {
+            fimDosDados = true;
+            return false;
+        }
+
+        // garantir() pode ter movido os bytes para o início do buffer
+        inicio = buffer.position();
+        int crcGravado = buffer.getInt(inicio + Integer.BYTES);
+        int dados = inicio + LogEscrita.TAMANHO_PREFIXO;
+        int fim = dados + tamanhoRegistro;
+
+        crc.reset();
+        crc.update(buffer.array(), dados, tamanhoRegistro);
+        if ((int) crc.getValue() != crcGravado || !decodificar(registro, dados, fim)) {
+            fimDosDados = true;
+            return false;
+        }
+
+        buffer.position(fim);
+        posicaoValida = posicaoBuffer + fim;
+        return true;
+    }
+
+    /**
+     * Posição no arquivo onde termina o último registro válido lido
+     * (depois do fim da leitura, é o tamanho da parte confiável do log)
+     * @return Posição em bytes
+     */
+    public long getPosicaoValida() {
+        return posicaoValida;
+    }
+
+    /**
+     * Tamanho total do arquivo no momento da abertura
+     * @return Tamanho em bytes
+     */
+    public long getTamanhoArquivo() {
+        return tamanhoArquivo;
+    }
+
+    /**
+     * Fecha o arquivo
+     * @throws IOException se o fechamento falhar
+     */
+    public void fechar() throws IOException {
+        canal.close();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Decodifica os campos de um registro cujo CRC já foi conferido
+    private boolean decodificar(Registro registro, int dados, int fim) {
+        byte[] bytes = buffer.array();
+        int posicao = dados;
+
+        long lsn = buffer.getLong(posicao);
+        posicao += Long.BYTES;
+        TipoRegistro tipo = TipoRegistro.deCodigo(bytes[posicao++]);
+        if (tipo == null) {
+            return false;
+        }
+
+        double numero = 0.0;
+        if (tipo.temNumero()) {
+            if (posicao + Double.BYTES > fim) {
+                return false;
+            }
+            numero = buffer.getDouble(posicao);
+            posicao += Double.BYTES;
+        }
+
+        for (int i = 0; i < tipo.getQuantidadeTextos(); i++) {
+            if (posicao + Integer.BYTES > fim) {
+                return false;
+            }
+            int comprimento = buffer.getInt(posicao);
+            posicao += Integer.BYTES;
+            if (comprimento == -1) {
+                registro.definirTexto(i, null);
+                continue;
+            }
+            if (comprimento < 0 || posicao + comprimento > fim) {
+                return false;
+            }
+            registro.definirTexto(i, lerTexto(bytes, posicao, comprimento));
+            posicao += comprimento;
+        }
+
+        registro.preencher(lsn, tipo, numero);
+        return posicao == fim;
+    }
+
+    // Reaproveita a String da tabela quando os bytes são os mesmos do último texto daquela posição
+    private String lerTexto(byte[] bytes, int inicio, int comprimento) {
+        if (comprimento > COMPRIMENTO_MAXIMO_REPETIDO) {
+            return new String(bytes, inicio, comprimento, StandardCharsets.UTF_8);
+        }
+        int hash = 0;
+        for (int i = inicio; i < inicio + comprimento; i++) {
+            if (bytes[i] < 0) {
+                // Fora do ASCII: decodificado sempre
+                return new String(bytes, inicio, comprimento, StandardCharsets.UTF_8);
+            }
+            hash = 31 * hash + bytes[i];
+        }
+
+        int posicao = (hash ^ (hash >>> 16)) & (TEXTOS_REPETIDOS - 1);
+        String anterior = textosRepetidos[posicao];
+        if (anterior != null && anterior.length() == comprimento) {
+            int i = 0;
+            while (i < comprimento && anterior.charAt(i) == bytes[inicio + i]) {
+                i++;
+            }
+            if (i == comprimento) {
+                return anterior;
+            }
+        }
+        // Em ASCII, cada byte é o próprio caractere
+        String texto = new String(bytes, inicio, comprimento, StandardCharsets.ISO_8859_1);
+        textosRepetidos[posicao] = texto;
+        return texto;
+    }
+
+    /**
+     * Garante que há pelo menos "quantidade" bytes disponíveis no buffer a
+     * partir da posição atual, lendo mais do arquivo se necessário
+     * @return false se o arquivo termina antes disso
+     */
+    private boolean garantir(int quantidade) throws IOException {
+        if (buffer.remaining() >= quantidade) {
+            return true;
+        }
+        if (posicaoBuffer + buffer.position() + quantidade > tamanhoArquivo) {
+            return false;
+        }
+
+        // Registro maior que o buffer: aumenta o buffer
+        if (quantidade > buffer.capacity()) {
+            ByteBuffer maior = ByteBuffer.allocate(quantidade);
+            posicaoBuffer += buffer.position();
+            maior.put(buffer);
+            buffer = maior;
+        } else {
+            posicaoBuffer += buffer.position();
+            buffer.compact();
+        }
+
+        while (buffer.position() < quantidade) {
+            if (canal.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= quantidade;
+    }
+}
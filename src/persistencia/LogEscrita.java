@@ -0,0 +1,324 @@
+package persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Classe LogEscrita
+ * Grava registros no final do log de alterações (somente anexação)
+ *
+ * FORMATO DO ARQUIVO:
+ * - Cabeçalho: número mágico (int) + versão do formato (short)
+ * - Registros, um após o outro:
+ *   [int tamanho][int crc32][long lsn][byte tipo][double número?][textos...]
+ *   tamanho = bytes a partir do lsn; o CRC32 cobre os mesmos bytes
+ *   cada texto = [int comprimento em bytes, -1 para null][bytes UTF-8]
+ *
+ * Um registro só é considerado gravado quando está inteiro e com o CRC
+ * correto: uma queda no meio da escrita deixa uma cauda inválida, que o
+ * LeitorLog ignora e a próxima abertura descarta
+ *
+ * O log pode ser dividido em segmentos (rotacionar): cada segmento é um
+ * arquivo com o mesmo formato, e os números de sequência continuam de um
+ * para o outro
+ *
+ * Seguro para várias threads: os registros são anexados um de cada vez.
+ * anexarEmOrdem() estende a trava à leitura dos valores gravados
+ *
+ * (Fase 9: Persistência)
+ */
+public class LogEscrita {
+
+    // Cabeçalho do arquivo
+    static final int NUMERO_MAGICO = 0x5347454C; // "SGEL"
+    static final short VERSAO_FORMATO = 1;
+    static final int TAMANHO_CABECALHO = 6;
+
+    // Campos fixos de cada registro
+    static final int TAMANHO_PREFIXO = 8;        // tamanho + crc
+    static final int TAMANHO_MINIMO = 9;         // lsn + tipo
+    static final int TAMANHO_MAXIMO = 16 << 20;  // proteção contra tamanhos corrompidos
+
+    private static final int CAPACIDADE_BUFFER = 64 * 1024;
+
+    private FileChannel canal;  // segmento atual
+    private final PoliticaSincronizacao politica;
+    private final ByteBuffer buffer;
+    private final CRC32 crc;
+    private final Thread sincronizador;
+
+    private long proximoLsn;
+    private long tamanho;       // bytes do segmento atual, incluindo os que ainda estão no buffer
+    private boolean fechado;
+
+    // Avisa o sincronizador para parar (sem interrupt: interromper uma thread
+    // no meio de uma operação do FileChannel fecharia o canal)
+    private volatile boolean encerrando;
+
+    /**
+     * Construtor do LogEscrita
+     * Abre (ou cria) o arquivo e posiciona a escrita no fim da parte válida
+     * @param arquivo - Caminho do log
+     * @param tamanhoValido - Bytes válidos já existentes (0 para um log novo);
+     *                        o que vier depois disso é descartado
+     * @param proximoLsn - Número de sequência do próximo registro
+     * @param politica - Quando forçar os dados para o disco
+     * @param intervaloMs - Intervalo entre sincronizações na política PERIODICA
+     * @throws IOException se o arquivo não puder ser aberto
+     */
+    public LogEscrita(Path arquivo, long tamanhoValido, long proximoLsn,
+                      PoliticaSincronizacao politica, long intervaloMs) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.politica = politica;
+        this.buffer = ByteBuffer.allocate(CAPACIDADE_BUFFER);
+        this.crc = new CRC32();
+        this.proximoLsn = proximoLsn;
+
+        if (tamanhoValido < TAMANHO_CABECALHO) {
+            // Log novo (ou sem cabeçalho completo): recomeça do zero
+            canal.truncate(0);
+            iniciarArquivo();
+        } else {
+            // Descarta a cauda incompleta ou corrompida deixada por uma queda
+            canal.truncate(tamanhoValido);
+            tamanho = tamanhoValido;
+        }
+        canal.position(tamanho);
+
+        if (politica == PoliticaSincronizacao.PERIODICA) {
+            long intervaloNs = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+            sincronizador = new Thread(() -> sincronizarPeriodicamente(intervaloNs), "sincronizador-log");
+            sincronizador.setDaemon(true);
+            sincronizador.start();
+        } else {
+            sincronizador = null;
+        }
+    }
+
+    // ========== ESCRITA ==========
+
+    /**
+     * Anexa um registro ao log
+     * @param tipo - Tipo do registro
+     * @param numero - Carga horária ou nota (ignorado nos tipos sem número)
+     * @param textos - Textos na ordem descrita em TipoRegistro
+     * @return Número de sequência atribuído ao registro
+     * @throws IOException se o registro não puder ser gravado
+     */
+    public synchronized long anexar(TipoRegistro tipo, double numero, String... textos) throws IOException {
+        if (fechado) {
+            throw new IOException("Log de alterações já foi fechado");
+        }
+        if (textos.length != tipo.getQuantidadeTextos()) {
+            throw new IllegalArgumentException(tipo + " espera " + tipo.getQuantidadeTextos() + " textos");
+        }
+
+        // Codifica os textos antes para saber o tamanho do registro
+        byte[][] bytes = new byte[textos.length][];
+        int tamanhoRegistro = TAMANHO_MINIMO + (tipo.temNumero() ? Double.BYTES : 0);
+        for (int i = 0; i < textos.length; i++) {
+            if (textos[i] != null) {
+                bytes[i] = textos[i].getBytes(StandardCharsets.UTF_8);
+                tamanhoRegistro += bytes[i].length;
+            }
+            tamanhoRegistro += Integer.BYTES;
+        }
+        if (tamanhoRegistro > TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("Registro grande demais para o log: " + tamanhoRegistro + " bytes");
+        }
+
+        int total = TAMANHO_PREFIXO + tamanhoRegistro;
+        if (buffer.remaining() < total) {
+            descarregar();
+        }
+        ByteBuffer destino = total <= buffer.capacity() ? buffer : ByteBuffer.allocate(total);
+
+        long lsn = proximoLsn;
+        int inicio = destino.position();
+        destino.putInt(tamanhoRegistro);
+        destino.putInt(0); // CRC preenchido depois
+        destino.putLong(lsn);
+        destino.put(tipo.getCodigo());
+        if (tipo.temNumero()) {
+            destino.putDouble(numero);
+        }
+        for (byte[] texto : bytes) {
+            if (texto == null) {
+                destino.putInt(-1);
+            } else {
+                destino.putInt(texto.length);
+                destino.put(texto);
+            }
+        }
+
+        crc.reset();
+        crc.update(destino.array(), inicio + TAMANHO_PREFIXO, tamanhoRegistro);
+        destino.putInt(inicio + Integer.BYTES, (int) crc.getValue());
+
+        if (destino != buffer) {
+            destino.flip();
+            while (destino.hasRemaining()) {
+                canal.write(destino);
+            }
+        }
+
+        proximoLsn++;
+        tamanho += total;
+
+        if (politica == PoliticaSincronizacao.SEMPRE) {
+            descarregar();
+            canal.force(false);
+        } else if (politica == PoliticaSincronizacao.SISTEMA) {
+            descarregar();
+        }
+        return lsn;
+    }
+
+    /**
+     * Executa uma gravação com a trava do log: ler os valores dos registros e
+     * anexá-los acontecem juntos, então duas threads nunca gravam estados na
+     * ordem inversa à que os leram
+     * @param gravacao - Lê os valores e chama anexar() uma ou mais vezes
+     * @throws IOException se algum registro não puder ser gravado
+     */
+    public synchronized void anexarEmOrdem(Gravacao gravacao) throws IOException {
+        gravacao.executar(this);
+    }
+
+    /**
+     * Gravação executada com a trava do log (ver anexarEmOrdem)
+     */
+    @FunctionalInterface
+    public interface Gravacao {
+        void executar(LogEscrita destino) throws IOException;
+    }
+
+    /**
+     * Fecha o segmento atual (já sincronizado) e continua a gravação em um arquivo novo
+     * @param novoSegmento - Nome do novo arquivo a partir do número de sequência do
+     *                       primeiro registro que ele vai receber
+     * @return Número de sequência do primeiro registro do novo segmento
+     * @throws IOException se o segmento atual não puder ser fechado ou o novo criado
+     */
+    public synchronized long rotacionar(LongFunction<Path> novoSegmento) throws IOException {
+        if (fechado) {
+            throw new IOException("Log de alterações já foi fechado");
+        }
+        FileChannel novo = FileChannel.open(novoSegmento.apply(proximoLsn), StandardOpenOption.CREATE,
+                                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            descarregar();
+            canal.force(false);
+        } catch (IOException e) {
+            novo.close();
+            throw e;
+        }
+        canal.close();
+        canal = novo;
+        iniciarArquivo();
+        return proximoLsn;
+    }
+
+    /**
+     * Grava no arquivo o que estiver no buffer e força tudo para o disco
+     * @throws IOException se a gravação falhar
+     */
+    public void sincronizar() throws IOException {
+        FileChannel atual;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            descarregar();
+            atual = canal;
+        }
+        // O fsync acontece fora da trava: os escritores não esperam pelo disco
+        try {
+            atual.force(false);
+        } catch (ClosedChannelException e) {
+            // Segmento rotacionado no meio do caminho: rotacionar() já o sincronizou
+        }
+    }
+
+    /**
+     * Sincroniza e fecha o log (chamadas repetidas não têm efeito)
+     * @throws IOException se a gravação final falhar
+     */
+    public void fechar() throws IOException {
+        encerrando = true;
+        if (sincronizador != null) {
+            LockSupport.unpark(sincronizador);
+        }
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            try {
+                descarregar();
+                canal.force(false);
+            } finally {
+                fechado = true;
+                canal.close();
+            }
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Número de sequência que será atribuído ao próximo registro
+     * @return Próximo número de sequência
+     */
+    public synchronized long getProximoLsn() {
+        return proximoLsn;
+    }
+
+    /**
+     * Tamanho do segmento atual em bytes, incluindo registros ainda não descarregados
+     * @return Tamanho em bytes
+     */
+    public synchronized long getTamanho() {
+        return tamanho;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Chamado com a trava do log (ou no construtor): cabeçalho de um arquivo vazio
+    private void iniciarArquivo() throws IOException {
+        buffer.putInt(NUMERO_MAGICO).putShort(VERSAO_FORMATO);
+        tamanho = TAMANHO_CABECALHO;
+        descarregar();
+        canal.force(true);
+    }
+
+    // Chamado com a trava do log
+    private void descarregar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void sincronizarPeriodicamente(long intervaloNs) {
+        while (!encerrando) {
+            LockSupport.parkNanos(intervaloNs);
+            try {
+                sincronizar();
+            } catch (IOException e) {
+                if (!encerrando) {
+                    System.out.println("❌ Erro ao sincronizar o log de alterações: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
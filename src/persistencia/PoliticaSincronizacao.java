@@ -0,0 +1,15 @@
+package persistencia;
+
+/**
+ * Enum PoliticaSincronizacao
+ * Define quando o log de alterações é forçado para o disco (fsync)
+ *
+ * (Fase 9: Persistência)
+ */
+public enum PoliticaSincronizacao {
+
+    SEMPRE,     // fsync a cada registro: nada confirmado se perde, escrita mais lenta
+    PERIODICA,  // fsync em grupo a cada intervalo: perde no máximo o último intervalo
+    SISTEMA     // grava a cada registro e deixa o fsync para o sistema operacional
+
+}
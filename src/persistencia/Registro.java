@@ -0,0 +1,69 @@
+package persistencia;
+
+/**
+ * Classe Registro
+ * Um registro lido do log de alterações
+ *
+ * O leitor reaproveita a mesma instância a cada registro para não alocar
+ * objetos durante a reprodução: copie os valores se precisar guardá-los
+ *
+ * (Fase 9: Persistência)
+ */
+public class Registro {
+
+    private long lsn;
+    private TipoRegistro tipo;
+    private double numero;
+    private final String[] textos = new String[TipoRegistro.MAXIMO_TEXTOS];
+
+    // ========== GETTERS ==========
+
+    /**
+     * Número de sequência do registro (crescente ao longo do log)
+     * @return Número de sequência
+     */
+    public long getLsn() {
+        return lsn;
+    }
+
+    public TipoRegistro getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Carga horária ou nota (somente nos tipos que carregam número)
+     * @return Número do registro
+     */
+    public double getNumero() {
+        return numero;
+    }
+
+    /**
+     * Retorna um dos textos do registro, na ordem descrita em TipoRegistro
+     * @param indice - Posição do texto
+     * @return Texto (pode ser null)
+     */
+    public String getTexto(int indice) {
+        return textos[indice];
+    }
+
+    // ========== PREENCHIMENTO (LEITOR) ==========
+
+    void preencher(long lsn, TipoRegistro tipo, double numero) {
+        this.lsn = lsn;
+        this.tipo = tipo;
+        this.numero = numero;
+    }
+
+    void definirTexto(int indice, String texto) {
+        textos[indice] = texto;
+    }
+
+    // Cópia para guardar além da leitura do próximo registro
+    Registro copiar() {
+        Registro copia = new Registro();
+        copia.preencher(lsn, tipo, numero);
+        System.arraycopy(textos, 0, copia.textos, 0, textos.length);
+        return copia;
+    }
+}
@@ -0,0 +1,70 @@
+package persistencia;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Classe SaidaTexto
+ * Buffer de caracteres sem sincronização usado pelos escritores de CSV e JSON
+ *
+ * Os escritores fazem muitas escritas pequenas (aspas, vírgulas, nomes de campo);
+ * acumulá-las aqui evita uma chamada sincronizada ao Writer para cada uma
+ *
+ * (Fase 9: Persistência)
+ */
+final class SaidaTexto {
+
+    private static final int CAPACIDADE = 8192;
+
+    private final Writer destino;
+    private final char[] buffer = new char[CAPACIDADE];
+    private int usado;
+
+    SaidaTexto(Writer destino) {
+        this.destino = destino;
+    }
+
+    void write(char c) throws IOException {
+        if (usado == buffer.length) {
+            descarregar();
+        }
+        buffer[usado++] = c;
+    }
+
+    void write(String texto) throws IOException {
+        write(texto, 0, texto.length());
+    }
+
+    void write(String texto, int inicio, int quantidade) throws IOException {
+        if (quantidade > buffer.length - usado) {
+            descarregar();
+            if (quantidade > buffer.length) {
+                destino.write(texto, inicio, quantidade);
+                return;
+            }
+        }
+        texto.getChars(inicio, inicio + quantidade, buffer, usado);
+        usado += quantidade;
+    }
+
+    // Entrega ao Writer o que está acumulado
+    void descarregar() throws IOException {
+        if (usado > 0) {
+            destino.write(buffer, 0, usado);
+            usado = 0;
+        }
+    }
+
+    void flush() throws IOException {
+        descarregar();
+        destino.flush();
+    }
+
+    void close() throws IOException {
+        try {
+            descarregar();
+        } finally {
+            destino.close();
+        }
+    }
+}
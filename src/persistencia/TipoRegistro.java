@@ -0,0 +1,78 @@
+package persistencia;
+
+/**
+ * Enum TipoRegistro
+ * Tipos de registro gravados no log de alterações
+ *
+ * Cada tipo tem um código de 1 byte (gravado no arquivo, NUNCA reutilize um
+ * código já publicado), a quantidade de textos do registro e se ele carrega
+ * um número (carga horária ou nota)
+ *
+ * Os registros "SALVO" guardam a imagem completa da entidade: reaplicar um
+ * registro já aplicado não muda o resultado
+ *
+ * Avaliações são identificadas pelo id que a turma atribuiu (um aluno pode ter
+ * várias com a mesma descrição)
+ *
+ * (Fase 9: Persistência)
+ */
+public enum TipoRegistro {
+
+    ALUNO_SALVO(1, 5, false),             // nome, login, senha, matrícula, curso
+    ALUNO_REMOVIDO(2, 1, false),          // matrícula
+    PROFESSOR_SALVO(3, 5, false),         // nome, login, senha, especialidade, registro
+    PROFESSOR_REMOVIDO(4, 1, false),      // registro
+    CURSO_PRESENCIAL_SALVO(5, 3, true),   // nome, código, sala de aula + carga horária
+    CURSO_EAD_SALVO(6, 3, true),          // nome, código, plataforma virtual + carga horária
+    CURSO_REMOVIDO(7, 1, false),          // código
+    TURMA_SALVA(8, 3, false),             // código, registro do professor, código do curso
+    TURMA_RECODIFICADA(9, 2, false),      // código anterior, código novo
+    TURMA_REMOVIDA(10, 1, false),         // código
+    MATRICULA_ADICIONADA(11, 2, false),   // código da turma, matrícula
+    MATRICULA_REMOVIDA(12, 2, false),     // código da turma, matrícula
+    AVALIACAO_SALVA(13, 4, true),         // código da turma, id da avaliação, matrícula, descrição + nota
+    AVALIACAO_REMOVIDA(14, 2, false);     // código da turma, id da avaliação
+
+    // Maior quantidade de textos de um registro (tamanho do vetor reutilizado na leitura)
+    static final int MAXIMO_TEXTOS = 5;
+
+    // Tabela código -> tipo (decodificação sem busca)
+    private static final TipoRegistro[] POR_CODIGO = new TipoRegistro[128];
+
+    static {
+        for (TipoRegistro tipo : values()) {
+            POR_CODIGO[tipo.codigo] = tipo;
+        }
+    }
+
+    private final byte codigo;
+    private final int quantidadeTextos;
+    private final boolean temNumero;
+
+    TipoRegistro(int codigo, int quantidadeTextos, boolean temNumero) {
+        this.codigo = (byte) codigo;
+        this.quantidadeTextos = quantidadeTextos;
+        this.temNumero = temNumero;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    public int getQuantidadeTextos() {
+        return quantidadeTextos;
+    }
+
+    public boolean temNumero() {
+        return temNumero;
+    }
+
+    /**
+     * Converte o código gravado no arquivo no tipo correspondente
+     * @param codigo - Código lido
+     * @return Tipo do registro, ou null se o código é desconhecido
+     */
+    public static TipoRegistro deCodigo(byte codigo) {
+        return codigo <= 0 ? null : POR_CODIGO[codigo];
+    }
+}
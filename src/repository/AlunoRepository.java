@@ -1,8 +1,16 @@
 package repository;
 
 import model.Aluno;
+import model.ControleVersao;
+import model.ObservadorAlteracao;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Classe AlunoRepository
@@ -13,20 +21,75 @@ import java.util.List;
  * - Buscar aluno por matrícula
  * - Listar todos os alunos
  * - Atualizar aluno
+ * - Listar alunos por curso (índice secundário)
+ * - Buscar alunos pelo início do nome (índice secundário)
+ * - Buscar alunos por nome aproximado (índice de trigramas)
  * 
  * (Fase 7: Arquitetura em Camadas)
+ * (Fase 8: Desempenho e Índices)
  */
 public class AlunoRepository {
     
-    // Lista em memória (temporária) que armazena os alunos
-    private List<Aluno> alunos;
+    // Motor de armazenamento indexado pela chave primária (matrícula)
+    // O tipo de motor (lista, hash, concorrente) é escolhido no Main
+    private Repository<String, Aluno> alunos;
+
+    // Observadores avisados quando alunos entram, mudam ou saem (Fase 9)
+    private final List<ObservadorRepositorio<Aluno>> observadores = new CopyOnWriteArrayList<>();
+
+    // Diretório de logins compartilhado entre todos os perfis
+    private DiretorioLogin diretorioLogin;
+
+    // Índice secundário: nome -> alunos (busca por início do nome)
+    private IndicePrefixo<Aluno> indiceNome;
+
+    // Índice secundário: trigramas do nome -> alunos (busca aproximada)
+    private IndiceTrigrama<Aluno> indiceSimilaridade;
+
+    // Índice secundário: nome do curso -> alunos do curso (por matrícula)
+    // Estruturas concorrentes: o índice é seguro com o motor CONCORRENTE
+    private ConcurrentMap<String, Map<String, Aluno>> alunosPorCurso;
+
+    // Mantém o índice por curso correto quando Aluno.setCurso é chamado
+    private final ObservadorAlteracao observadorCurso = (origem, campo, anterior, novo) -> {
+        if (Aluno.CAMPO_CURSO.equals(campo)) {
+            Aluno aluno = (Aluno) origem;
+            desindexarCurso((String) anterior, aluno);
+            indexarCurso((String) novo, aluno);
+        }
+    };
+    
+    // Carga em andamento: os índices secundários só são montados no final (ver iniciarCarga)
+    private volatile boolean emCarga;
     
     /**
      * Construtor do AlunoRepository
-     * Inicializa a lista de alunos
+     * Inicializa o repositório com o motor hash (padrão)
      */
     public AlunoRepository() {
-        this.alunos = new ArrayList<>();
+        this(Armazenamento.HASH, new DiretorioLogin());
+    }
+    
+    /**
+     * Construtor do AlunoRepository com diretório de logins compartilhado
+     * Permite garantir logins únicos entre alunos, professores e administradores
+     * @param diretorioLogin - Diretório de logins do sistema
+     */
+    public AlunoRepository(DiretorioLogin diretorioLogin) {
+        this(Armazenamento.HASH, diretorioLogin);
+    }
+    
+    /**
+     * Construtor do AlunoRepository com motor de armazenamento escolhido
+     * @param armazenamento - Tipo de motor de armazenamento
+     * @param diretorioLogin - Diretório de logins do sistema
+     */
+    public AlunoRepository(Armazenamento armazenamento, DiretorioLogin diretorioLogin) {
+        this.diretorioLogin = diretorioLogin;
+        this.alunos = armazenamento.criar(Aluno::getMatricula);
+        this.indiceNome = new IndicePrefixo<>(Aluno::getMatricula);
+        this.indiceSimilaridade = new IndiceTrigrama<>(Aluno::getMatricula);
+        this.alunosPorCurso = new ConcurrentHashMap<>();
     }
     
     // ========== MÉTODOS CRUD ==========
@@ -43,35 +106,217 @@ public class AlunoRepository {
         }
         
         // Verifica se já existe um aluno com essa matrícula
-        if (buscarPorMatricula(aluno.getMatricula()) != null) {
+        if (alunos.contem(aluno.getMatricula())) {
             System.out.println("❌ Erro: Aluno com matrícula " + aluno.getMatricula() + " já existe!");
             return false;
         }
         
-        alunos.add(aluno);
+        // Login deve ser único entre todos os perfis do sistema
+        if (!diretorioLogin.registrar(aluno)) {
+            System.out.println("❌ Erro: Login " + aluno.getLogin() + " já está em uso!");
+            return false;
+        }
+        
+        if (!alunos.adicionar(aluno)) {
+            // Outra inserção com a mesma chave venceu a corrida
+            diretorioLogin.remover(aluno);
+            System.out.println("❌ Erro: Aluno com matrícula " + aluno.getMatricula() + " já existe!");
+            return false;
+        }
+        if (!emCarga) {
+            indexar(aluno);
+        }
+        notificarAdicionado(aluno);
         return true;
     }
     
+    /**
+     * CREATE EM LOTE - Adiciona vários alunos de uma vez (tudo ou nada)
+     * Detecta em uma única passada matriculas e logins repetidos no lote ou
+     * já existentes no sistema; não imprime mensagens por aluno
+     * @param novos - Alunos a serem adicionados
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote adicionarTodos(List<Aluno> novos) {
+        return adicionarTodos(novos, new ResultadoLote(novos.size()));
+    }
+    
+    /**
+     * CREATE EM LOTE - Variante que recebe as linhas já rejeitadas pelas regras de negócio
+     * @param novos - Alunos a serem adicionados
+     * @param resultado - Resultado do lote com as validações do service já registradas
+     * @return O mesmo resultado, completo
+     */
+    public ResultadoLote adicionarTodos(List<Aluno> novos, ResultadoLote resultado) {
+        List<String> chaves = new ArrayList<>(novos.size());
+        Map<String, Integer> chavesDoLote = new HashMap<>();
+        Map<String, Integer> loginsDoLote = new HashMap<>();
+        
+        // Passada única: cada verificação é O(1)
+        for (int i = 0; i < novos.size(); i++) {
+            Aluno aluno = novos.get(i);
+            String matricula = aluno == null ? null : aluno.getMatricula();
+            chaves.add(matricula);
+            
+            if (aluno == null || matricula == null || aluno.getLogin() == null) {
+                resultado.rejeitar(i, matricula, ResultadoLote.Situacao.INVALIDO, "Aluno, matrícula e login são obrigatórios!");
+                continue;
+            }
+            
+            Integer repetida = chavesDoLote.putIfAbsent(matricula, i);
+            if (repetida != null) {
+                resultado.rejeitar(i, matricula, ResultadoLote.Situacao.DUPLICADO_NO_LOTE,
+                                   "Matrícula " + matricula + " repetida no lote (linha " + (repetida + 1) + ")!");
+            } else if (alunos.contem(matricula)) {
+                resultado.rejeitar(i, matricula, ResultadoLote.Situacao.JA_EXISTE,
+                                   "Aluno com matrícula " + matricula + " já existe!");
+            }
+            
+            Integer loginRepetido = loginsDoLote.putIfAbsent(aluno.getLogin(), i);
+            if (loginRepetido != null) {
+                resultado.rejeitar(i, matricula, ResultadoLote.Situacao.DUPLICADO_NO_LOTE,
+                                   "Login " + aluno.getLogin() + " repetido no lote (linha " + (loginRepetido + 1) + ")!");
+            } else if (!diretorioLogin.loginDisponivel(aluno.getLogin(), aluno)) {
+                resultado.rejeitar(i, matricula, ResultadoLote.Situacao.LOGIN_EM_USO,
+                                   "Login " + aluno.getLogin() + " já está em uso!");
+            }
+        }
+        
+        if (resultado.temErros()) {
+            resultado.concluir(false, chaves);
+            return resultado;
+        }
+        
+        // Reserva os logins; se outra thread tomou algum no meio do caminho, desfaz as reservas
+        for (int i = 0; i < novos.size(); i++) {
+            if (!diretorioLogin.registrar(novos.get(i))) {
+                for (int j = 0; j < i; j++) {
+                    diretorioLogin.remover(novos.get(j));
+                }
+                resultado.rejeitar(i, chaves.get(i), ResultadoLote.Situacao.LOGIN_EM_USO,
+                                   "Login " + novos.get(i).getLogin() + " já está em uso!");
+                resultado.concluir(false, chaves);
+                return resultado;
+            }
+        }
+        
+        if (!alunos.adicionarTodos(novos)) {
+            // Outra inserção com uma das chaves venceu a corrida
+            for (int i = 0; i < novos.size(); i++) {
+                diretorioLogin.remover(novos.get(i));
+                if (alunos.contem(chaves.get(i))) {
+                    resultado.rejeitar(i, chaves.get(i), ResultadoLote.Situacao.JA_EXISTE,
+                                       "Aluno com matrícula " + chaves.get(i) + " já existe!");
+                }
+            }
+            resultado.concluir(false, chaves);
+            return resultado;
+        }
+        
+        if (!emCarga) {
+            indexarTodos(novos);
+        }
+        for (Aluno aluno : novos) {
+            notificarAdicionado(aluno);
+        }
+        resultado.concluir(true, chaves);
+        return resultado;
+    }
+    
     /**
      * READ - Busca um aluno por matrícula
      * @param matricula - Matrícula do aluno
      * @return Objeto Aluno se encontrado, null caso contrário
      */
     public Aluno buscarPorMatricula(String matricula) {
-        for (Aluno aluno : alunos) {
-            if (aluno.getMatricula().equals(matricula)) {
-                return aluno;
-            }
-        }
-        return null;
+        return alunos.buscar(matricula);
+    }
+    
+    /**
+     * READ - Busca alunos pelo início do nome (autocompletar)
+     * Usa o índice por nome: custo proporcional ao tamanho do resultado
+     * @param prefixo - Início do nome (sem diferenciar maiúsculas nem acentos)
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Alunos em ordem alfabética de nome
+     */
+    public List<Aluno> buscarPorPrefixoNome(String prefixo, int limite) {
+        return indiceNome.buscarPorPrefixo(prefixo, limite);
+    }
+    
+    /**
+     * READ - Busca alunos com nome parecido (tolera acentos e erros de digitação)
+     * Usa o índice de trigramas: não compara o termo com todo o cadastro
+     * @param termo - Nome digitado
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Candidatos com a similaridade, do mais parecido para o menos parecido
+     */
+    public List<Candidato<Aluno>> buscarPorNomeAproximado(String termo, int limite) {
+        return buscarPorNomeAproximado(termo, IndiceTrigrama.SIMILARIDADE_PADRAO, limite);
+    }
+    
+    /**
+     * READ - Busca alunos com nome parecido, exigindo uma similaridade mínima
+     * @param termo - Nome digitado
+     * @param similaridadeMinima - Similaridade mínima aceita (0 a 1)
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Candidatos com a similaridade, do mais parecido para o menos parecido
+     */
+    public List<Candidato<Aluno>> buscarPorNomeAproximado(String termo, double similaridadeMinima, int limite) {
+        return indiceSimilaridade.buscarSimilares(termo, similaridadeMinima, limite);
     }
     
     /**
      * READ - Retorna todos os alunos
-     * @return Lista de alunos
+     * A lista é somente leitura e compartilhada (não é copiada a cada chamada)
+     * @return Lista imutável de alunos
      */
     public List<Aluno> listarTodos() {
-        return new ArrayList<>(alunos); // Retorna uma cópia
+        return alunos.listar();
+    }
+    
+    /**
+     * READ - Retorna uma página de alunos na ordem de cadastro (offset/limite)
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de alunos
+     */
+    public Pagina<String, Aluno> listarPagina(int offset, int limite) {
+        return alunos.listarPagina(offset, limite);
+    }
+    
+    /**
+     * READ - Retorna uma página de alunos ordenada por matrícula (cursor)
+     * Páginas profundas custam o mesmo que a primeira
+     * @param ultimaMatricula - Última matrícula da página anterior (null para a primeira)
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de alunos com o cursor da próxima página
+     */
+    public Pagina<String, Aluno> listarPaginaApos(String ultimaMatricula, int limite) {
+        return alunos.listarPaginaApos(ultimaMatricula, limite);
+    }
+    
+    /**
+     * READ - Retorna os alunos de um curso usando o índice secundário
+     * (custo proporcional à quantidade de alunos retornados, ordenados por matrícula)
+     * @param curso - Nome do curso
+     * @return Lista de alunos do curso (vazia se não houver nenhum)
+     */
+    public List<Aluno> listarPorCurso(String curso) {
+        Map<String, Aluno> doCurso = alunosPorCurso.get(curso);
+        if (doCurso == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(doCurso.values());
+    }
+    
+    /**
+     * Retorna a quantidade de alunos de um curso sem percorrer a lista
+     * @param curso - Nome do curso
+     * @return Número de alunos do curso
+     */
+    public int contarPorCurso(String curso) {
+        Map<String, Aluno> doCurso = alunosPorCurso.get(curso);
+        return doCurso == null ? 0 : doCurso.size();
     }
     
     /**
@@ -88,11 +333,61 @@ public class AlunoRepository {
             return false;
         }
         
-        aluno.setNome(alunoAtualizado.getNome());
-        aluno.setCurso(alunoAtualizado.getCurso());
-        aluno.setLogin(alunoAtualizado.getLogin());
-        aluno.setSenha(alunoAtualizado.getSenha());
-        return true;
+        // Sem versão esperada: usa a versão atual (falha só se outra edição estiver em andamento)
+        return atualizar(matricula, aluno.getVersao(), alunoAtualizado) == ResultadoAtualizacao.ATUALIZADO;
+    }
+
+    /**
+     * UPDATE CONDICIONAL - Atualiza um aluno somente se ninguém o alterou
+     * desde a leitura da versão esperada (controle otimista, Fase 8)
+     * Os atributos são aplicados juntos, sem travas: leitores que usam
+     * lerConsistente/copiarAtributos (instantâneos, exportações, diário e banco)
+     * nunca veem a alteração pela metade
+     * @param matricula - Matrícula do aluno a ser atualizado
+     * @param versaoEsperada - Versão lida com getVersao() antes de preparar a alteração
+     * @param alunoAtualizado - Dados atualizados
+     * @return ATUALIZADO, NAO_ENCONTRADO, CONFLITO ou INVALIDO
+     */
+    public ResultadoAtualizacao atualizar(String matricula, long versaoEsperada, Aluno alunoAtualizado) {
+        Aluno aluno = buscarPorMatricula(matricula);
+        
+        if (aluno == null) {
+            System.out.println("❌ Erro: Aluno com matrícula " + matricula + " não encontrado!");
+            return ResultadoAtualizacao.NAO_ENCONTRADO;
+        }
+        
+        ControleVersao versao = aluno.getControleVersao();
+        if (!versao.iniciarEdicao(versaoEsperada)) {
+            System.out.println("❌ Erro: Aluno " + matricula + " foi alterado por outro usuário! Recarregue os dados e tente novamente.");
+            return ResultadoAtualizacao.CONFLITO;
+        }
+        
+        boolean alterado = false;
+        try {
+            // Reserva atômica do novo login: se outra atualização pediu o mesmo login,
+            // só uma das duas consegue e a outra falha sem alterar nada
+            if (!diretorioLogin.reservar(alunoAtualizado.getLogin(), aluno)) {
+                System.out.println("❌ Erro: Login " + alunoAtualizado.getLogin() + " já está em uso!");
+                return ResultadoAtualizacao.INVALIDO;
+            }
+            
+            alterado = true;
+            aluno.setNome(alunoAtualizado.getNome());
+            aluno.setCurso(alunoAtualizado.getCurso());
+            aluno.setLogin(alunoAtualizado.getLogin());
+            aluno.setSenha(alunoAtualizado.getSenha());
+        } finally {
+            if (alterado) {
+                versao.concluirEdicao();
+            } else {
+                versao.cancelarEdicao();
+            }
+        }
+        
+        // Avisa depois de concluir a edição: os observadores leem a entidade com
+        // lerConsistente, que esperaria para sempre por uma versão ímpar
+        notificarAtualizado(aluno);
+        return ResultadoAtualizacao.ATUALIZADO;
     }
     
     /**
@@ -108,7 +403,17 @@ public class AlunoRepository {
             return false;
         }
         
-        alunos.remove(aluno);
+        // Só quem efetivamente removeu limpa os índices (remoções simultâneas)
+        if (!alunos.remover(matricula)) {
+            System.out.println("❌ Erro: Aluno com matrícula " + matricula + " não encontrado!");
+            return false;
+        }
+        diretorioLogin.remover(aluno);
+        indiceNome.desindexar(aluno);
+        indiceSimilaridade.desindexar(aluno);
+        aluno.removerObservador(observadorCurso);
+        desindexarCurso(aluno.getCurso(), aluno);
+        notificarRemovido(aluno);
         return true;
     }
     
@@ -117,13 +422,130 @@ public class AlunoRepository {
      * @return Número de alunos
      */
     public int contar() {
-        return alunos.size();
+        return alunos.contar();
     }
     
     /**
      * Limpa todos os alunos do repositório
      */
     public void limpar() {
-        alunos.clear();
+        for (Aluno aluno : alunos.listar()) {
+            aluno.removerObservador(observadorCurso);
+            diretorioLogin.remover(aluno);
+        }
+        alunos.limpar();
+        alunosPorCurso.clear();
+        indiceNome.limpar();
+        indiceSimilaridade.limpar();
+    }
+    
+    // ========== CARGA (FASE 9) ==========
+    
+    /**
+     * Suspende os índices secundários (curso, nome e trigramas) até concluirCarga
+     * Usado ao restaurar dados gravados: cada aluno entra só no motor e no diretório
+     * de logins, e os índices são montados uma única vez, em lote, no final
+     * Só tem efeito com o repositório vazio; até o fim da carga, as buscas pelos
+     * índices não encontram os alunos incluídos
+     * @return true se a carga começou nesta chamada (quem a começou deve concluí-la)
+     */
+    public boolean iniciarCarga() {
+        if (emCarga || alunos.contar() > 0) {
+            return false;
+        }
+        emCarga = true;
+        return true;
+    }
+    
+    /**
+     * Encerra a carga: todos os alunos cadastrados entram nos índices secundários
+     */
+    public void concluirCarga() {
+        if (!emCarga) {
+            return;
+        }
+        emCarga = false;
+        indexarTodos(alunos.listar());
+    }
+    
+    // ========== OBSERVADORES (FASE 9) ==========
+    
+    /**
+     * Registra um observador das inclusões, atualizações e remoções de alunos
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorRepositorio<Aluno> observador) {
+        observadores.add(observador);
+    }
+    
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorRepositorio<Aluno> observador) {
+        observadores.remove(observador);
+    }
+    
+    private void notificarAdicionado(Aluno aluno) {
+        for (ObservadorRepositorio<Aluno> observador : observadores) {
+            observador.adicionado(aluno);
+        }
+    }
+    
+    private void notificarAtualizado(Aluno aluno) {
+        for (ObservadorRepositorio<Aluno> observador : observadores) {
+            observador.atualizado(aluno);
+        }
+    }
+    
+    private void notificarRemovido(Aluno aluno) {
+        for (ObservadorRepositorio<Aluno> observador : observadores) {
+            observador.removido(aluno);
+        }
+    }
+    
+    // ========== ÍNDICES ==========
+    
+    // Inclui um aluno recém-armazenado nos índices secundários
+    private void indexar(Aluno aluno) {
+        indexarCurso(aluno.getCurso(), aluno);
+        aluno.adicionarObservador(observadorCurso);
+        indiceNome.indexar(aluno);
+        indiceSimilaridade.indexar(aluno);
+    }
+    
+    // Lote: o índice de trigramas recebe os alunos de uma vez
+    private void indexarTodos(List<Aluno> novos) {
+        for (Aluno aluno : novos) {
+            indexarCurso(aluno.getCurso(), aluno);
+            aluno.adicionarObservador(observadorCurso);
+            indiceNome.indexar(aluno);
+        }
+        indiceSimilaridade.indexarTodos(novos);
+    }
+    
+    // ========== ÍNDICE POR CURSO ==========
+    
+    // compute/computeIfPresent tornam atômica a criação e a remoção do grupo do curso
+    
+    private void indexarCurso(String curso, Aluno aluno) {
+        if (curso == null) {
+            return;
+        }
+        alunosPorCurso.compute(curso, (c, doCurso) -> {
+            Map<String, Aluno> grupo = doCurso != null ? doCurso : new ConcurrentSkipListMap<>();
+            grupo.put(aluno.getMatricula(), aluno);
+            return grupo;
+        });
+    }
+    
+    private void desindexarCurso(String curso, Aluno aluno) {
+        if (curso == null) {
+            return;
+        }
+        alunosPorCurso.computeIfPresent(curso, (c, doCurso) -> {
+            doCurso.remove(aluno.getMatricula(), aluno);
+            return doCurso.isEmpty() ? null : doCurso;
+        });
     }
 }
\ No newline at end of file
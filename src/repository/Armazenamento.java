@@ -0,0 +1,34 @@
+package repository;
+
+import java.util.function.Function;
+
+/**
+ * Enum Armazenamento
+ * Tipos de motor de armazenamento disponíveis para os repositórios
+ * O motor é escolhido na montagem do sistema (Main), por tipo de entidade
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public enum Armazenamento {
+
+    LISTA,        // ArrayList com busca linear (comportamento original)
+    HASH,         // LinkedHashMap indexado pela chave primária
+    CONCORRENTE;  // ConcurrentHashMap para acesso simultâneo
+
+    /**
+     * Cria um motor de armazenamento deste tipo
+     * @param extratorChave - Função que obtém a chave primária da entidade
+     * @return Novo repositório genérico vazio
+     */
+    public <K extends Comparable<? super K>, V> Repository<K, V> criar(Function<V, K> extratorChave) {
+        switch (this) {
+            case LISTA:
+                return new ListRepository<>(extratorChave);
+            case CONCORRENTE:
+                return new ConcurrentRepository<>(extratorChave);
+            case HASH:
+            default:
+                return new HashRepository<>(extratorChave);
+        }
+    }
+}
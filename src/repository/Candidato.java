@@ -0,0 +1,42 @@
+package repository;
+
+/**
+ * Classe Candidato
+ * Resultado de uma busca aproximada: o item encontrado e sua similaridade
+ * com o termo pesquisado
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class Candidato<V> {
+
+    private final V item;
+    private final double similaridade;
+
+    /**
+     * Construtor do Candidato
+     * @param item - Item encontrado
+     * @param similaridade - Similaridade com o termo (0 a 1, sendo 1 idêntico)
+     */
+    public Candidato(V item, double similaridade) {
+        this.item = item;
+        this.similaridade = similaridade;
+    }
+
+    // ========== GETTERS ==========
+
+    public V getItem() {
+        return item;
+    }
+
+    public double getSimilaridade() {
+        return similaridade;
+    }
+
+    @Override
+    public String toString() {
+        return "Candidato{" +
+                "item=" + item +
+                ", similaridade=" + similaridade +
+                '}';
+    }
+}
@@ -0,0 +1,267 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Classe ConcurrentRepository
+ * Motor de armazenamento para acesso simultâneo por várias threads
+ * - ConcurrentHashMap indexa pela chave primária
+ * - ConcurrentSkipListMap guarda a ordem de inserção para as listagens
+ * - ConcurrentSkipListMap guarda a ordem das chaves para a paginação por cursor
+ *
+ * Escritas na mesma chave são atômicas: os três índices são alterados dentro
+ * de computeIfAbsent/computeIfPresent, que só bloqueiam outras ESCRITAS
+ * daquela chave. Buscas por chave nunca bloqueiam e listagens não lançam
+ * ConcurrentModificationException
+ * listar() devolve um snapshot imutável compartilhado (ver SnapshotRepository)
+ *
+ * A troca de chave (atualizar com chave nova) mexe em duas chaves e nos três
+ * índices; ela segura a trava de escrita de trocaChave, enquanto as demais
+ * escritas seguram a de leitura (compartilhada entre elas). Assim nenhuma
+ * outra escrita encontra os índices pela metade
+ *
+ * As leituras não seguram trava nenhuma, nem durante uma troca de chave:
+ * - listar() percorre a ordem de inserção, cuja posição não muda com a chave
+ * - A página por cursor só aceita uma chave cuja entrada atual ainda aponta
+ *   para a mesma entidade; a chave antiga some assim que a troca a remove.
+ *   Uma página percorrida durante a troca pode trazer a entidade nas duas
+ *   chaves ou em nenhuma; a página seguinte já vê só a chave nova
+ *
+ * O lote (adicionarTodos) também segura a trava de escrita: as chaves são
+ * verificadas antes de qualquer inserção, então nada é desfeito e nenhuma
+ * escrita simultânea falha por causa de uma chave que o lote depois solta.
+ * Leitores sem trava podem ver o lote aparecer item a item enquanto é publicado
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class ConcurrentRepository<K extends Comparable<? super K>, V> extends SnapshotRepository<K, V> {
+
+    // Entrada do índice: posição na ordem de inserção + entidade
+    private static final class Entrada<V> {
+        private final long ordem;
+        private final V valor;
+
+        private Entrada(long ordem, V valor) {
+            this.ordem = ordem;
+            this.valor = valor;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Entrada<V>> valores;
+    private final ConcurrentNavigableMap<Long, V> ordemInsercao;
+    private final ConcurrentNavigableMap<K, V> ordenados; // Índice ordenado para a paginação por cursor
+    private final AtomicLong proximaOrdem;
+    private final Function<V, K> extratorChave;
+    private final ReentrantReadWriteLock trocaChave = new ReentrantReadWriteLock();
+
+    /**
+     * Construtor do ConcurrentRepository
+     * @param extratorChave - Função que obtém a chave primária da entidade
+     */
+    public ConcurrentRepository(Function<V, K> extratorChave) {
+        this.valores = new ConcurrentHashMap<>();
+        this.ordemInsercao = new ConcurrentSkipListMap<>();
+        this.ordenados = new ConcurrentSkipListMap<>();
+        this.proximaOrdem = new AtomicLong();
+        this.extratorChave = extratorChave;
+    }
+
+    /**
+     * CREATE - Inserção atômica "se ausente": entre várias threads
+     * adicionando a mesma chave, exatamente uma vence
+     */
+    @Override
+    public boolean adicionar(V valor) {
+        Entrada<V> nova = new Entrada<>(proximaOrdem.incrementAndGet(), valor);
+        K chave = extratorChave.apply(valor);
+
+        Entrada<V> resultado;
+        trocaChave.readLock().lock();
+        try {
+            resultado = valores.computeIfAbsent(chave, k -> {
+                ordemInsercao.put(nova.ordem, valor);
+                ordenados.put(k, valor);
+                return nova;
+            });
+        } finally {
+            trocaChave.readLock().unlock();
+        }
+
+        if (resultado != nova) {
+            return false;
+        }
+        registrarAlteracao();
+        return true;
+    }
+
+    /**
+     * CREATE EM LOTE - Com a trava de escrita, verifica todas as chaves e só
+     * então publica o lote; nenhuma outra escrita acontece no meio
+     */
+    @Override
+    public boolean adicionarTodos(List<V> novos) {
+        trocaChave.writeLock().lock();
+        try {
+            List<K> chaves = verificarLote(novos);
+            if (chaves == null) {
+                return false;
+            }
+            for (int i = 0; i < novos.size(); i++) {
+                V valor = novos.get(i);
+                Entrada<V> nova = new Entrada<>(proximaOrdem.incrementAndGet(), valor);
+                ordemInsercao.put(nova.ordem, valor);
+                ordenados.put(chaves.get(i), valor);
+                valores.put(chaves.get(i), nova);
+            }
+        } finally {
+            trocaChave.writeLock().unlock();
+        }
+        registrarAlteracao(); // Um único snapshot invalidado para o lote inteiro
+        return true;
+    }
+
+    @Override
+    public V buscar(K chave) {
+        Entrada<V> entrada = valores.get(chave);
+        return entrada == null ? null : entrada.valor;
+    }
+
+    @Override
+    public boolean contem(K chave) {
+        return valores.containsKey(chave);
+    }
+
+    @Override
+    protected Collection<V> valoresAtuais() {
+        return ordemInsercao.values();
+    }
+
+    @Override
+    public Pagina<K, V> listarPaginaApos(K cursor, int limite) {
+        // Durante uma troca de chave as duas chaves estão no índice ordenado por um instante
+        return Pagina.porCursor(ordenados, cursor, Pagina.ajustarLimite(limite), (chave, valor) -> {
+            Entrada<V> atual = valores.get(chave);
+            return atual != null && atual.valor == valor;
+        });
+    }
+
+    @Override
+    public boolean atualizar(K chave, V valor) {
+        K novaChave = extratorChave.apply(valor);
+        boolean atualizado = Objects.equals(chave, novaChave)
+                ? substituir(chave, valor)
+                : reindexar(chave, novaChave, valor);
+
+        if (atualizado) {
+            registrarAlteracao();
+        }
+        return atualizado;
+    }
+
+    @Override
+    public boolean remover(K chave) {
+        boolean[] removido = new boolean[1];
+
+        trocaChave.readLock().lock();
+        try {
+            valores.computeIfPresent(chave, (k, entrada) -> {
+                ordemInsercao.remove(entrada.ordem);
+                ordenados.remove(k);
+                removido[0] = true;
+                return null;
+            });
+        } finally {
+            trocaChave.readLock().unlock();
+        }
+
+        if (removido[0]) {
+            registrarAlteracao();
+        }
+        return removido[0];
+    }
+
+    @Override
+    public int contar() {
+        return valores.size();
+    }
+
+    @Override
+    public void limpar() {
+        for (K chave : valores.keySet()) {
+            remover(chave);
+        }
+        registrarAlteracao();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Chaves do lote, ou null se alguma já existe ou se repete dentro dele
+     * Chamado com a trava de escrita
+     */
+    private List<K> verificarLote(List<V> novos) {
+        List<K> chaves = new ArrayList<>(novos.size());
+        Set<K> chavesDoLote = new HashSet<>();
+        for (V valor : novos) {
+            K chave = extratorChave.apply(valor);
+            if (valores.containsKey(chave) || !chavesDoLote.add(chave)) {
+                return null;
+            }
+            chaves.add(chave);
+        }
+        return chaves;
+    }
+
+    private boolean substituir(K chave, V valor) {
+        boolean[] substituido = new boolean[1];
+
+        trocaChave.readLock().lock();
+        try {
+            valores.computeIfPresent(chave, (k, atual) -> {
+                ordemInsercao.put(atual.ordem, valor);
+                ordenados.put(k, valor);
+                substituido[0] = true;
+                return new Entrada<>(atual.ordem, valor);
+            });
+        } finally {
+            trocaChave.readLock().unlock();
+        }
+
+        return substituido[0];
+    }
+
+    /**
+     * Troca a chave de uma entidade com a trava de escrita: nenhuma outra escrita
+     * acontece no meio, então os três índices mudam juntos
+     * A posição na ordem de inserção é mantida
+     */
+    private boolean reindexar(K chaveAntiga, K novaChave, V valor) {
+        trocaChave.writeLock().lock();
+        try {
+            Entrada<V> atual = valores.get(chaveAntiga);
+            if (atual == null || valores.containsKey(novaChave)) {
+                return false;
+            }
+
+            valores.put(novaChave, new Entrada<>(atual.ordem, valor));
+            ordenados.put(novaChave, valor);
+            ordemInsercao.put(atual.ordem, valor);
+            valores.remove(chaveAntiga);
+            ordenados.remove(chaveAntiga);
+            return true;
+        } finally {
+            trocaChave.writeLock().unlock();
+        }
+    }
+}
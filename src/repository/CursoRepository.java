@@ -1,8 +1,12 @@
 package repository;
 
+import model.ControleVersao;
 import model.Curso;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Classe CursoRepository
@@ -18,15 +22,27 @@ import java.util.List;
  */
 public class CursoRepository {
     
-    // Lista em memória (temporária) que armazena os cursos
-    private List<Curso> cursos;
+    // Motor de armazenamento indexado pela chave primária (código)
+    // O tipo de motor (lista, hash, concorrente) é escolhido no Main
+    private Repository<String, Curso> cursos;
+
+    // Observadores avisados quando cursos entram, mudam ou saem (Fase 9)
+    private final List<ObservadorRepositorio<Curso>> observadores = new CopyOnWriteArrayList<>();
     
     /**
      * Construtor do CursoRepository
-     * Inicializa a lista de cursos
+     * Inicializa o repositório com o motor hash (padrão)
      */
     public CursoRepository() {
-        this.cursos = new ArrayList<>();
+        this(Armazenamento.HASH);
+    }
+    
+    /**
+     * Construtor do CursoRepository com motor de armazenamento escolhido
+     * @param armazenamento - Tipo de motor de armazenamento
+     */
+    public CursoRepository(Armazenamento armazenamento) {
+        this.cursos = armazenamento.criar(Curso::getCodigo);
     }
     
     // ========== MÉTODOS CRUD ==========
@@ -42,36 +58,118 @@ public class CursoRepository {
             return false;
         }
         
-        // Verifica se já existe um curso com esse código
-        if (buscarPorCodigo(curso.getCodigo()) != null) {
+        // Verifica se já existe um curso com esse código (inserção atômica no motor)
+        if (!cursos.adicionar(curso)) {
             System.out.println("❌ Erro: Curso com código " + curso.getCodigo() + " já existe!");
             return false;
         }
-        
-        cursos.add(curso);
+        notificarAdicionado(curso);
         return true;
     }
     
+    /**
+     * CREATE EM LOTE - Adiciona vários cursos de uma vez (tudo ou nada)
+     * Detecta em uma única passada códigos repetidos no lote ou já existentes;
+     * não imprime mensagens por curso
+     * @param novos - Cursos a serem adicionados
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote adicionarTodos(List<Curso> novos) {
+        return adicionarTodos(novos, new ResultadoLote(novos.size()));
+    }
+    
+    /**
+     * CREATE EM LOTE - Variante que recebe as linhas já rejeitadas pelas regras de negócio
+     * @param novos - Cursos a serem adicionados
+     * @param resultado - Resultado do lote com as validações do service já registradas
+     * @return O mesmo resultado, completo
+     */
+    public ResultadoLote adicionarTodos(List<Curso> novos, ResultadoLote resultado) {
+        List<String> codigos = new ArrayList<>(novos.size());
+        Map<String, Integer> codigosDoLote = new HashMap<>();
+        
+        // Passada única: cada verificação é O(1)
+        for (int i = 0; i < novos.size(); i++) {
+            Curso curso = novos.get(i);
+            String codigo = curso == null ? null : curso.getCodigo();
+            codigos.add(codigo);
+            
+            if (codigo == null) {
+                resultado.rejeitar(i, null, ResultadoLote.Situacao.INVALIDO, "Curso e código são obrigatórios!");
+                continue;
+            }
+            
+            Integer repetido = codigosDoLote.putIfAbsent(codigo, i);
+            if (repetido != null) {
+                resultado.rejeitar(i, codigo, ResultadoLote.Situacao.DUPLICADO_NO_LOTE,
+                                   "Código " + codigo + " repetido no lote (linha " + (repetido + 1) + ")!");
+            } else if (cursos.contem(codigo)) {
+                resultado.rejeitar(i, codigo, ResultadoLote.Situacao.JA_EXISTE,
+                                   "Curso com código " + codigo + " já existe!");
+            }
+        }
+        
+        if (resultado.temErros()) {
+            resultado.concluir(false, codigos);
+            return resultado;
+        }
+        
+        if (!cursos.adicionarTodos(novos)) {
+            // Outra inserção com um dos códigos venceu a corrida
+            for (int i = 0; i < novos.size(); i++) {
+                if (cursos.contem(codigos.get(i))) {
+                    resultado.rejeitar(i, codigos.get(i), ResultadoLote.Situacao.JA_EXISTE,
+                                       "Curso com código " + codigos.get(i) + " já existe!");
+                }
+            }
+            resultado.concluir(false, codigos);
+            return resultado;
+        }
+        
+        for (Curso curso : novos) {
+            notificarAdicionado(curso);
+        }
+        resultado.concluir(true, codigos);
+        return resultado;
+    }
+    
     /**
      * READ - Busca um curso por código
      * @param codigo - Código do curso
      * @return Objeto Curso se encontrado, null caso contrário
      */
     public Curso buscarPorCodigo(String codigo) {
-        for (Curso curso : cursos) {
-            if (curso.getCodigo().equals(codigo)) {
-                return curso;
-            }
-        }
-        return null;
+        return cursos.buscar(codigo);
     }
     
     /**
      * READ - Retorna todos os cursos
-     * @return Lista de cursos
+     * A lista é somente leitura e compartilhada (não é copiada a cada chamada)
+     * @return Lista imutável de cursos
      */
     public List<Curso> listarTodos() {
-        return new ArrayList<>(cursos); // Retorna uma cópia
+        return cursos.listar();
+    }
+    
+    /**
+     * READ - Retorna uma página de cursos na ordem de cadastro (offset/limite)
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de cursos
+     */
+    public Pagina<String, Curso> listarPagina(int offset, int limite) {
+        return cursos.listarPagina(offset, limite);
+    }
+    
+    /**
+     * READ - Retorna uma página de cursos ordenada por código (cursor)
+     * Páginas profundas custam o mesmo que a primeira
+     * @param ultimoCodigo - Último código da página anterior (null para a primeira)
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de cursos com o cursor da próxima página
+     */
+    public Pagina<String, Curso> listarPaginaApos(String ultimoCodigo, int limite) {
+        return cursos.listarPaginaApos(ultimoCodigo, limite);
     }
     
     /**
@@ -88,9 +186,52 @@ public class CursoRepository {
             return false;
         }
         
-        curso.setNome(cursoAtualizado.getNome());
-        curso.setCargaHoraria(cursoAtualizado.getCargaHoraria());
-        return true;
+        // Sem versão esperada: usa a versão atual (falha só se outra edição estiver em andamento)
+        return atualizar(codigo, curso.getVersao(), cursoAtualizado) == ResultadoAtualizacao.ATUALIZADO;
+    }
+
+    /**
+     * UPDATE CONDICIONAL - Atualiza um curso somente se ninguém o alterou
+     * desde a leitura da versão esperada (controle otimista, Fase 8)
+     * Os atributos são aplicados juntos, sem travas: leitores que usam
+     * lerConsistente/copiarAtributos (instantâneos, exportações, diário e banco)
+     * nunca veem a alteração pela metade
+     * @param codigo - Código do curso a ser atualizado
+     * @param versaoEsperada - Versão lida com getVersao() antes de preparar a alteração
+     * @param cursoAtualizado - Dados atualizados
+     * @return ATUALIZADO, NAO_ENCONTRADO, CONFLITO ou INVALIDO
+     */
+    public ResultadoAtualizacao atualizar(String codigo, long versaoEsperada, Curso cursoAtualizado) {
+        Curso curso = buscarPorCodigo(codigo);
+        
+        if (curso == null) {
+            System.out.println("❌ Erro: Curso com código " + codigo + " não encontrado!");
+            return ResultadoAtualizacao.NAO_ENCONTRADO;
+        }
+        
+        ControleVersao versao = curso.getControleVersao();
+        if (!versao.iniciarEdicao(versaoEsperada)) {
+            System.out.println("❌ Erro: Curso " + codigo + " foi alterado por outro usuário! Recarregue os dados e tente novamente.");
+            return ResultadoAtualizacao.CONFLITO;
+        }
+        
+        boolean alterado = false;
+        try {
+            alterado = true;
+            curso.setNome(cursoAtualizado.getNome());
+            curso.setCargaHoraria(cursoAtualizado.getCargaHoraria());
+        } finally {
+            if (alterado) {
+                versao.concluirEdicao();
+            } else {
+                versao.cancelarEdicao();
+            }
+        }
+        
+        // Avisa depois de concluir a edição: os observadores leem a entidade com
+        // lerConsistente, que esperaria para sempre por uma versão ímpar
+        notificarAtualizado(curso);
+        return ResultadoAtualizacao.ATUALIZADO;
     }
     
     /**
@@ -106,7 +247,12 @@ public class CursoRepository {
             return false;
         }
         
-        cursos.remove(curso);
+        // Só quem efetivamente removeu limpa os índices (remoções simultâneas)
+        if (!cursos.remover(codigo)) {
+            System.out.println("❌ Erro: Curso com código " + codigo + " não encontrado!");
+            return false;
+        }
+        notificarRemovido(curso);
         return true;
     }
     
@@ -115,13 +261,49 @@ public class CursoRepository {
      * @return Número de cursos
      */
     public int contar() {
-        return cursos.size();
+        return cursos.contar();
     }
     
     /**
      * Limpa todos os cursos do repositório
      */
     public void limpar() {
-        cursos.clear();
+        cursos.limpar();
+    }
+    
+    // ========== OBSERVADORES (FASE 9) ==========
+    
+    /**
+     * Registra um observador das inclusões, atualizações e remoções de cursos
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorRepositorio<Curso> observador) {
+        observadores.add(observador);
+    }
+    
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorRepositorio<Curso> observador) {
+        observadores.remove(observador);
+    }
+    
+    private void notificarAdicionado(Curso curso) {
+        for (ObservadorRepositorio<Curso> observador : observadores) {
+            observador.adicionado(curso);
+        }
+    }
+    
+    private void notificarAtualizado(Curso curso) {
+        for (ObservadorRepositorio<Curso> observador : observadores) {
+            observador.atualizado(curso);
+        }
+    }
+    
+    private void notificarRemovido(Curso curso) {
+        for (ObservadorRepositorio<Curso> observador : observadores) {
+            observador.removido(curso);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package repository;
+
+import model.ObservadorAlteracao;
+import model.Usuario;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Classe DiretorioLogin
+ * Camada REPOSITORY - Índice único de logins de TODOS os perfis
+ * (Aluno, Professor e Administrador)
+ * RESPONSABILIDADES:
+ * - Garantir que um login pertence a um único usuário no sistema
+ * - Resolver um login para o seu usuário em tempo constante
+ * - Acompanhar alterações de login feitas com Usuario.setLogin
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class DiretorioLogin {
+
+    // Mapa login -> usuário dono do login (concorrente: vários logins simultâneos)
+    private ConcurrentMap<String, Usuario> usuariosPorLogin;
+
+    // Reindexa o usuário quando o login é alterado
+    private final ObservadorAlteracao observadorLogin = (origem, campo, anterior, novo) -> {
+        if (Usuario.CAMPO_LOGIN.equals(campo)) {
+            reindexar((Usuario) origem, (String) anterior, (String) novo);
+        }
+    };
+
+    /**
+     * Construtor do DiretorioLogin
+     * Inicializa o mapa de logins
+     */
+    public DiretorioLogin() {
+        this.usuariosPorLogin = new ConcurrentHashMap<>();
+    }
+
+    // ========== MÉTODOS ==========
+
+    /**
+     * Registra o login de um usuário
+     * @param usuario - Usuário a ser registrado
+     * @return true se registrado, false se o login já pertence a outro usuário
+     */
+    public boolean registrar(Usuario usuario) {
+        if (usuario == null || usuario.getLogin() == null) {
+            return false;
+        }
+
+        // putIfAbsent reserva o login atomicamente entre threads concorrentes
+        Usuario dono = usuariosPorLogin.putIfAbsent(usuario.getLogin(), usuario);
+        if (dono != null) {
+            return dono == usuario; // já registrado pelo próprio usuário
+        }
+
+        usuario.adicionarObservador(observadorLogin);
+        return true;
+    }
+
+    /**
+     * Remove o login de um usuário do diretório
+     * @param usuario - Usuário a ser removido
+     */
+    public void remover(Usuario usuario) {
+        if (usuario == null) {
+            return;
+        }
+        usuario.removerObservador(observadorLogin);
+        if (usuario.getLogin() != null) {
+            usuariosPorLogin.remove(usuario.getLogin(), usuario);
+        }
+    }
+
+    /**
+     * Reserva um login para um usuário antes de alterá-lo (putIfAbsent)
+     * Entre atualizações simultâneas que pedem o mesmo login, só uma consegue;
+     * o login anterior continua no diretório até setLogin confirmar a troca
+     * @param login - Login desejado
+     * @param usuario - Usuário que vai usar o login
+     * @return true se o login foi reservado ou já pertence ao usuário
+     */
+    public boolean reservar(String login, Usuario usuario) {
+        if (login == null || usuario == null) {
+            return false;
+        }
+        Usuario dono = usuariosPorLogin.putIfAbsent(login, usuario);
+        return dono == null || dono == usuario;
+    }
+
+    /**
+     * Resolve um login para o usuário correspondente
+     * @param login - Login procurado
+     * @return Usuário dono do login, ou null se não existir
+     */
+    public Usuario buscarPorLogin(String login) {
+        return login == null ? null : usuariosPorLogin.get(login);
+    }
+
+    /**
+     * Verifica se um login pode ser usado por um usuário
+     * @param login - Login desejado
+     * @param usuario - Usuário que deseja usar o login (pode ser null)
+     * @return true se o login está livre ou já pertence ao próprio usuário
+     */
+    public boolean loginDisponivel(String login, Usuario usuario) {
+        if (login == null) {
+            return false;
+        }
+        Usuario dono = usuariosPorLogin.get(login);
+        return dono == null || dono == usuario;
+    }
+
+    /**
+     * Retorna a quantidade de logins registrados
+     * @return Número de logins
+     */
+    public int contar() {
+        return usuariosPorLogin.size();
+    }
+
+    /**
+     * Limpa todos os logins do diretório
+     */
+    public void limpar() {
+        for (Usuario usuario : usuariosPorLogin.values()) {
+            usuario.removerObservador(observadorLogin);
+        }
+        usuariosPorLogin.clear();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // O novo login é reservado ANTES de liberar o anterior: se a reserva falha, o
+    // usuário continua encontrável pelo login anterior em vez de ficar fora do diretório
+    private void reindexar(Usuario usuario, String loginAnterior, String loginNovo) {
+        if (!reservar(loginNovo, usuario)) {
+            // Os repositórios reservam o login antes de atualizar; aqui só chega
+            // uma alteração direta feita com setLogin sem essa reserva
+            System.out.println("❌ Erro: Login " + loginNovo + " já está em uso! Usuário "
+                             + usuario.getNome() + " continua registrado com o login " + loginAnterior + ".");
+            return;
+        }
+        if (loginAnterior != null) {
+            usuariosPorLogin.remove(loginAnterior, usuario);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Classe HashRepository
+ * Motor de armazenamento com índice hash pela chave primária
+ * LinkedHashMap garante busca O(1) e mantém a ordem de inserção
+ * listar() devolve um snapshot imutável compartilhado (ver SnapshotRepository)
+ * Não é thread-safe (use ConcurrentRepository para acesso concorrente)
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class HashRepository<K extends Comparable<? super K>, V> extends SnapshotRepository<K, V> {
+
+    private Map<K, V> valores;
+    private NavigableMap<K, V> ordenados; // Índice ordenado para a paginação por cursor
+    private Function<V, K> extratorChave;
+
+    /**
+     * Construtor do HashRepository
+     * @param extratorChave - Função que obtém a chave primária da entidade
+     */
+    public HashRepository(Function<V, K> extratorChave) {
+        this.valores = new LinkedHashMap<>();
+        this.ordenados = new TreeMap<>();
+        this.extratorChave = extratorChave;
+    }
+
+    @Override
+    public boolean adicionar(V valor) {
+        K chave = extratorChave.apply(valor);
+        if (valores.putIfAbsent(chave, valor) != null) {
+            return false;
+        }
+        ordenados.put(chave, valor);
+        registrarAlteracao();
+        return true;
+    }
+
+    @Override
+    public boolean adicionarTodos(List<V> novos) {
+        Set<K> chavesDoLote = new HashSet<>();
+        for (V valor : novos) {
+            K chave = extratorChave.apply(valor);
+            if (valores.containsKey(chave) || !chavesDoLote.add(chave)) {
+                return false;
+            }
+        }
+        for (V valor : novos) {
+            K chave = extratorChave.apply(valor);
+            valores.put(chave, valor);
+            ordenados.put(chave, valor);
+        }
+        registrarAlteracao(); // Um único snapshot invalidado para o lote inteiro
+        return true;
+    }
+
+    @Override
+    public V buscar(K chave) {
+        return valores.get(chave);
+    }
+
+    @Override
+    public boolean contem(K chave) {
+        return valores.containsKey(chave);
+    }
+
+    @Override
+    protected Collection<V> valoresAtuais() {
+        return valores.values();
+    }
+
+    @Override
+    public Pagina<K, V> listarPaginaApos(K cursor, int limite) {
+        return Pagina.porCursor(ordenados, cursor, Pagina.ajustarLimite(limite));
+    }
+
+    @Override
+    public boolean atualizar(K chave, V valor) {
+        if (!valores.containsKey(chave)) {
+            return false;
+        }
+
+        K novaChave = extratorChave.apply(valor);
+        if (Objects.equals(chave, novaChave)) {
+            valores.put(chave, valor);
+            ordenados.put(chave, valor);
+            registrarAlteracao();
+            return true;
+        }
+
+        if (valores.containsKey(novaChave)) {
+            return false;
+        }
+
+        reindexar(chave, novaChave, valor);
+        ordenados.remove(chave);
+        ordenados.put(novaChave, valor);
+        registrarAlteracao();
+        return true;
+    }
+
+    @Override
+    public boolean remover(K chave) {
+        if (!valores.containsKey(chave)) {
+            return false;
+        }
+        valores.remove(chave);
+        ordenados.remove(chave);
+        registrarAlteracao();
+        return true;
+    }
+
+    @Override
+    public int contar() {
+        return valores.size();
+    }
+
+    @Override
+    public void limpar() {
+        valores.clear();
+        ordenados.clear();
+        registrarAlteracao();
+    }
+
+    /**
+     * Troca a chave de uma entidade mantendo sua posição na ordem de inserção
+     * (alteração de chave é rara, por isso o custo linear é aceitável)
+     */
+    private void reindexar(K chaveAntiga, K novaChave, V valor) {
+        Map<K, V> reindexado = new LinkedHashMap<>();
+        for (Map.Entry<K, V> entrada : valores.entrySet()) {
+            if (Objects.equals(entrada.getKey(), chaveAntiga)) {
+                reindexado.put(novaChave, valor);
+            } else {
+                reindexado.put(entrada.getKey(), entrada.getValue());
+            }
+        }
+        valores = reindexado;
+    }
+}
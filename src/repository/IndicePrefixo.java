@@ -0,0 +1,134 @@
+package repository;
+
+import model.ObservadorAlteracao;
+import model.Usuario;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Classe IndicePrefixo
+ * Índice ordenado pelo nome dos usuários para busca por início do nome
+ * ("Mar" -> Maria Santos, Mariana Lima...)
+ *
+ * FUNCIONAMENTO:
+ * - Cada usuário é guardado sob a chave "nome normalizado + separador + chave primária"
+ *   (nome sem acentos e em minúsculas, ver Normalizador)
+ *   (a chave primária desempata homônimos)
+ * - Todos os nomes que começam com um prefixo ficam CONTÍGUOS no mapa ordenado,
+ *   então a busca custa O(log n + tamanho do resultado), sem percorrer a lista
+ * - Alterações feitas com Usuario.setNome reindexam o usuário automaticamente
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class IndicePrefixo<V extends Usuario> {
+
+    // Separa o nome da chave primária; menor que qualquer caractere de um nome
+    private static final char SEPARADOR = '\u0000';
+
+    // Maior caractere possível: fecha o intervalo de chaves de um prefixo
+    private static final char FIM_INTERVALO = '\uffff';
+
+    private final ConcurrentNavigableMap<String, V> porNome;
+    private final Function<V, String> extratorChave;
+
+    // Reindexa o usuário quando o nome é alterado
+    private final ObservadorAlteracao observadorNome = (origem, campo, anterior, novo) -> {
+        if (Usuario.CAMPO_NOME.equals(campo)) {
+            @SuppressWarnings("unchecked")
+            V usuario = (V) origem;
+            reindexar(usuario, (String) anterior, (String) novo);
+        }
+    };
+
+    /**
+     * Construtor do IndicePrefixo
+     * @param extratorChave - Função que obtém a chave primária do usuário
+     */
+    public IndicePrefixo(Function<V, String> extratorChave) {
+        this.porNome = new ConcurrentSkipListMap<>();
+        this.extratorChave = extratorChave;
+    }
+
+    // ========== MÉTODOS ==========
+
+    /**
+     * Inclui um usuário no índice e passa a acompanhar seu nome
+     * @param usuario - Usuário a ser indexado
+     */
+    public void indexar(V usuario) {
+        if (usuario.getNome() != null) {
+            porNome.put(chaveIndice(usuario.getNome(), usuario), usuario);
+        }
+        usuario.adicionarObservador(observadorNome);
+    }
+
+    /**
+     * Retira um usuário do índice
+     * @param usuario - Usuário a ser retirado
+     */
+    public void desindexar(V usuario) {
+        usuario.removerObservador(observadorNome);
+        if (usuario.getNome() != null) {
+            porNome.remove(chaveIndice(usuario.getNome(), usuario), usuario);
+        }
+    }
+
+    /**
+     * Busca usuários cujo nome começa com o prefixo (sem diferenciar maiúsculas nem acentos)
+     * @param prefixo - Início do nome
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Usuários em ordem alfabética de nome
+     */
+    public List<V> buscarPorPrefixo(String prefixo, int limite) {
+        List<V> resultado = new ArrayList<>();
+        if (prefixo == null) {
+            return resultado;
+        }
+
+        String inicio = Normalizador.normalizar(prefixo);
+        int maximo = Pagina.ajustarLimite(limite);
+        for (V usuario : porNome.subMap(inicio, true, inicio + FIM_INTERVALO, false).values()) {
+            if (resultado.size() == maximo) {
+                break;
+            }
+            resultado.add(usuario);
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna a quantidade de usuários indexados
+     * @return Número de usuários
+     */
+    public int contar() {
+        return porNome.size();
+    }
+
+    /**
+     * Limpa o índice e deixa de acompanhar os usuários
+     */
+    public void limpar() {
+        for (V usuario : porNome.values()) {
+            usuario.removerObservador(observadorNome);
+        }
+        porNome.clear();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void reindexar(V usuario, String nomeAnterior, String nomeNovo) {
+        if (nomeAnterior != null) {
+            porNome.remove(chaveIndice(nomeAnterior, usuario), usuario);
+        }
+        if (nomeNovo != null) {
+            porNome.put(chaveIndice(nomeNovo, usuario), usuario);
+        }
+    }
+
+    private String chaveIndice(String nome, V usuario) {
+        return Normalizador.normalizar(nome) + SEPARADOR + extratorChave.apply(usuario);
+    }
+}
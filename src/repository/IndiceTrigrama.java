@@ -0,0 +1,495 @@
+package repository;
+
+import model.ObservadorAlteracao;
+import model.Usuario;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Classe IndiceTrigrama
+ * Índice invertido de trigramas do nome para busca APROXIMADA
+ * ("Joao Conceicao" encontra "João Conceição", "Mria" encontra "Maria")
+ *
+ * FUNCIONAMENTO:
+ * - O nome é normalizado (sem acentos, minúsculas) e cada palavra é quebrada
+ *   em trigramas ("joao" -> "  j", " jo", "joa", "oao", "ao ")
+ * - Cada trigrama aponta para os identificadores internos dos usuários que o contêm
+ * - A similaridade é o coeficiente de Dice: 2 x comuns / (trigramas do termo + do nome)
+ *
+ * DESEMPENHO:
+ * - A busca só percorre as listas dos trigramas do termo, somando os trigramas
+ *   em comum em um vetor de inteiros (sem calcular distância de edição contra
+ *   todo o cadastro e sem criar objetos por candidato)
+ * - Apenas os melhores resultados viram objetos Candidato
+ * - Inclusões em lote (indexarTodos) agrupam os ids por trigrama e publicam
+ *   cada lista uma vez por lote, em vez de uma vez por usuário
+ *
+ * - Remover (ou renomear) não mexe nas listas: o id só é marcado como livre
+ *   e ignorado nas buscas. Quando os ids livres passam dos ocupados, as listas
+ *   são refeitas de uma vez (custo amortizado constante por remoção, em vez de
+ *   copiar listas com milhares de ids a cada alteração de nome)
+ *
+ * CONCORRÊNCIA:
+ * - Leitores não bloqueiam: as listas publicadas nunca são alteradas
+ *   (novas inserções escrevem após o fim da versão publicada, reconstruções
+ *   publicam listas e tabela novas)
+ * - Escritas são serializadas no próprio índice
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class IndiceTrigrama<V extends Usuario> {
+
+    // Similaridade usada quando nenhuma é informada
+    public static final double SIMILARIDADE_PADRAO = 0.4;
+
+    // Versão publicada de uma lista invertida: ids[0..tamanho) nunca mudam
+    private static final class ListaIds {
+        private final int[] ids;
+        private final int tamanho;
+
+        private ListaIds(int[] ids, int tamanho) {
+            this.ids = ids;
+            this.tamanho = tamanho;
+        }
+    }
+
+    // Ids de um trigrama acumulados durante um lote (ainda não publicados)
+    private static final class IdsDoLote {
+        private int[] ids = new int[4];
+        private int tamanho;
+
+        private void anexar(int id) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            ids[tamanho++] = id;
+        }
+    }
+
+    // Agrupa os ids de um lote por trigrama: espalhamento aberto com chaves long,
+    // sem criar um Long e um nó de mapa para cada trigrama de cada nome
+    private static final class IdsPorTrigrama {
+        private long[] trigramas = new long[256];
+        private IdsDoLote[] ids = new IdsDoLote[256];
+        private int quantidade;
+
+        private void anexar(long trigrama, int id) {
+            int posicao = posicao(trigramas, ids, trigrama);
+            if (ids[posicao] == null) {
+                if ((quantidade + 1) * 2 > trigramas.length) {
+                    ampliar();
+                    posicao = posicao(trigramas, ids, trigrama);
+                }
+                trigramas[posicao] = trigrama;
+                ids[posicao] = new IdsDoLote();
+                quantidade++;
+            }
+            ids[posicao].anexar(id);
+        }
+
+        // Posição do trigrama, ou a posição vazia onde ele deve entrar
+        private static int posicao(long[] trigramas, IdsDoLote[] ids, long trigrama) {
+            int mascara = trigramas.length - 1;
+            int h = (int) (trigrama ^ (trigrama >>> 32)) * 0x9E3779B9;
+            int posicao = (h ^ (h >>> 16)) & mascara;
+            while (ids[posicao] != null && trigramas[posicao] != trigrama) {
+                posicao = (posicao + 1) & mascara;
+            }
+            return posicao;
+        }
+
+        private void ampliar() {
+            long[] antigosTrigramas = trigramas;
+            IdsDoLote[] antigosIds = ids;
+            trigramas = new long[antigosTrigramas.length * 2];
+            ids = new IdsDoLote[antigosIds.length * 2];
+            for (int i = 0; i < antigosIds.length; i++) {
+                if (antigosIds[i] != null) {
+                    int posicao = posicao(trigramas, ids, antigosTrigramas[i]);
+                    trigramas[posicao] = antigosTrigramas[i];
+                    ids[posicao] = antigosIds[i];
+                }
+            }
+        }
+    }
+
+    // Dados por identificador interno (posições livres ficam com usuário null e quantidade 0)
+    private static final class Tabela {
+        private final Object[] usuarios;
+        private final String[] nomes;      // Nome usado na indexação
+        private final int[] quantidades;   // Trigramas distintos do nome
+
+        // Trigrama (3 caracteres codificados em um long) -> ids dos usuários que o contêm
+        // (compartilhado quando a tabela só é ampliada; novo quando os ids são renumerados)
+        private final ConcurrentMap<Long, ListaIds> listas;
+
+        private Tabela(int capacidade, ConcurrentMap<Long, ListaIds> listas) {
+            this.usuarios = new Object[capacidade];
+            this.nomes = new String[capacidade];
+            this.quantidades = new int[capacidade];
+            this.listas = listas;
+        }
+    }
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    // Chave primária -> id interno (acessado só pelos escritores)
+    private final Map<String, Integer> idPorChave;
+
+    private volatile Tabela tabela;
+    private int proximoId;
+    private int idsLivres;  // ids já removidos que ainda aparecem nas listas
+    private final Function<V, String> extratorChave;
+
+    // Reindexa o usuário quando o nome é alterado
+    private final ObservadorAlteracao observadorNome = (origem, campo, anterior, novo) -> {
+        if (Usuario.CAMPO_NOME.equals(campo)) {
+            @SuppressWarnings("unchecked")
+            V usuario = (V) origem;
+            reindexar(usuario);
+        }
+    };
+
+    /**
+     * Construtor do IndiceTrigrama
+     * @param extratorChave - Função que obtém a chave primária do usuário
+     */
+    public IndiceTrigrama(Function<V, String> extratorChave) {
+        this.idPorChave = new HashMap<>();
+        this.tabela = new Tabela(CAPACIDADE_INICIAL, new ConcurrentHashMap<>());
+        this.extratorChave = extratorChave;
+    }
+
+    // ========== MÉTODOS ==========
+
+    /**
+     * Inclui um usuário no índice e passa a acompanhar seu nome
+     * @param usuario - Usuário a ser indexado
+     */
+    public void indexar(V usuario) {
+        synchronized (this) {
+            indexarNome(usuario);
+        }
+        usuario.adicionarObservador(observadorNome);
+    }
+
+    /**
+     * Inclui vários usuários de uma vez (ex: cadastro em lote)
+     * @param usuarios - Usuários a serem indexados
+     */
+    public void indexarTodos(Collection<? extends V> usuarios) {
+        synchronized (this) {
+            IdsPorTrigrama doLote = new IdsPorTrigrama();
+            for (V usuario : usuarios) {
+                long[] doNome = trigramas(usuario.getNome());
+                int id = registrarId(usuario, doNome);
+                for (long trigrama : doNome) {
+                    doLote.anexar(trigrama, id);
+                }
+            }
+            // Todos os ids do lote já estão na tabela: agora são publicados, uma lista por trigrama
+            ConcurrentMap<Long, ListaIds> listas = tabela.listas;
+            for (int i = 0; i < doLote.trigramas.length; i++) {
+                if (doLote.ids[i] != null) {
+                    juntarIds(listas, doLote.trigramas[i], doLote.ids[i]);
+                }
+            }
+        }
+        for (V usuario : usuarios) {
+            usuario.adicionarObservador(observadorNome);
+        }
+    }
+
+    /**
+     * Retira um usuário do índice
+     * @param usuario - Usuário a ser retirado
+     */
+    public void desindexar(V usuario) {
+        usuario.removerObservador(observadorNome);
+        synchronized (this) {
+            desindexarNome(usuario);
+        }
+    }
+
+    /**
+     * Busca usuários com nome parecido com o termo (sem diferenciar acentos e maiúsculas)
+     * @param termo - Nome (ou parte do nome) digitado
+     * @param similaridadeMinima - Similaridade mínima aceita (0 a 1)
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Candidatos do mais parecido para o menos parecido
+     */
+    public List<Candidato<V>> buscarSimilares(String termo, double similaridadeMinima, int limite) {
+        long[] doTermo = trigramas(termo);
+        if (doTermo.length == 0) {
+            return new ArrayList<>();
+        }
+
+        double minima = Math.max(0.01, Math.min(1.0, similaridadeMinima));
+        int maximo = Pagina.ajustarLimite(limite);
+
+        // Dice >= s exige pelo menos s * |termo| / (2 - s) trigramas em comum
+        int minimoComuns = Math.max(1, (int) Math.ceil(minima * doTermo.length / (2 - minima)));
+
+        // Soma os trigramas em comum de cada id encontrado nas listas do termo
+        int[] comuns;
+        int[] tocados;
+        int totalTocados;
+        Tabela atual;
+        ConcurrentMap<Long, ListaIds> listas;
+        do {
+            listas = tabela.listas;
+            comuns = new int[tabela.quantidades.length];
+            tocados = new int[256];
+            totalTocados = 0;
+            for (long trigrama : doTermo) {
+                ListaIds lista = listas.get(trigrama);
+                if (lista == null) {
+                    continue;
+                }
+                for (int i = 0; i < lista.tamanho; i++) {
+                    int id = lista.ids[i];
+                    if (id >= comuns.length) {
+                        comuns = Arrays.copyOf(comuns, Math.max(id + 1, comuns.length * 2));
+                    }
+                    if (comuns[id]++ == 0) {
+                        if (totalTocados == tocados.length) {
+                            tocados = Arrays.copyOf(tocados, tocados.length * 2);
+                        }
+                        tocados[totalTocados++] = id;
+                    }
+                }
+            }
+
+            // Lida DEPOIS das listas: contém todo id que apareceu nelas
+            atual = tabela;
+            // Se as listas foram refeitas no meio da busca, os ids mudaram: recomeça
+        } while (atual.listas != listas);
+
+        // Mantém apenas os melhores (heap de tamanho "maximo")
+        PriorityQueue<Candidato<V>> melhores = new PriorityQueue<>(
+                Comparator.comparingDouble((Candidato<V> c) -> c.getSimilaridade()));
+        for (int i = 0; i < totalTocados; i++) {
+            int id = tocados[i];
+            int quantidade = atual.quantidades[id];
+            if (comuns[id] < minimoComuns || quantidade == 0) {
+                continue;
+            }
+
+            double similaridade = 2.0 * comuns[id] / (doTermo.length + quantidade);
+            if (similaridade < minima
+                    || (melhores.size() == maximo && similaridade <= melhores.peek().getSimilaridade())) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            V usuario = (V) atual.usuarios[id];
+            if (usuario == null) {
+                continue; // removido durante a busca
+            }
+            if (melhores.size() == maximo) {
+                melhores.poll();
+            }
+            melhores.add(new Candidato<>(usuario, similaridade));
+        }
+
+        List<Candidato<V>> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble((Candidato<V> c) -> c.getSimilaridade()).reversed()
+                .thenComparing(c -> Normalizador.normalizar(c.getItem().getNome())));
+        return resultado;
+    }
+
+    /**
+     * Retorna a quantidade de usuários indexados
+     * @return Número de usuários
+     */
+    public synchronized int contar() {
+        return idPorChave.size();
+    }
+
+    /**
+     * Limpa o índice e deixa de acompanhar os usuários
+     */
+    public synchronized void limpar() {
+        Tabela atual = tabela;
+        for (int id : idPorChave.values()) {
+            ((Usuario) atual.usuarios[id]).removerObservador(observadorNome);
+        }
+        idPorChave.clear();
+        tabela = new Tabela(CAPACIDADE_INICIAL, new ConcurrentHashMap<>());
+        proximoId = 0;
+        idsLivres = 0;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private synchronized void reindexar(V usuario) {
+        desindexarNome(usuario);
+        indexarNome(usuario);
+    }
+
+    // Chamado com o monitor do índice: um id novo a cada indexação (ids não são reaproveitados)
+    private void indexarNome(V usuario) {
+        long[] doNome = trigramas(usuario.getNome());
+        int id = registrarId(usuario, doNome);
+
+        // Publicar nas listas por último torna os dados do id visíveis aos leitores
+        for (long trigrama : doNome) {
+            anexarId(tabela.listas, trigrama, id);
+        }
+    }
+
+    // Chamado com o monitor do índice: ocupa um id na tabela (ainda fora das listas)
+    private int registrarId(V usuario, long[] doNome) {
+        int id = proximoId++;
+        Tabela atual = tabela;
+        if (id == atual.quantidades.length) {
+            atual = ampliar(atual);
+        }
+        atual.usuarios[id] = usuario;
+        atual.nomes[id] = usuario.getNome();
+        atual.quantidades[id] = doNome.length;
+        idPorChave.put(extratorChave.apply(usuario), id);
+        return id;
+    }
+
+    private static void anexarId(ConcurrentMap<Long, ListaIds> listas, long trigrama, int id) {
+        ListaIds lista = listas.get(trigrama);
+        if (lista == null) {
+            listas.put(trigrama, new ListaIds(new int[] { id }, 1));
+            return;
+        }
+        int[] ids = lista.ids;
+        if (lista.tamanho == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[lista.tamanho] = id;
+        listas.put(trigrama, new ListaIds(ids, lista.tamanho + 1));
+    }
+
+    // Acrescenta de uma vez os ids de um lote (maiores que todos os já publicados)
+    private static void juntarIds(ConcurrentMap<Long, ListaIds> listas, long trigrama, IdsDoLote novos) {
+        ListaIds lista = listas.get(trigrama);
+        if (lista == null) {
+            listas.put(trigrama, new ListaIds(novos.ids, novos.tamanho));
+            return;
+        }
+        int[] ids = lista.ids;
+        int tamanho = lista.tamanho + novos.tamanho;
+        if (tamanho > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(tamanho, ids.length * 2));
+        }
+        System.arraycopy(novos.ids, 0, ids, lista.tamanho, novos.tamanho);
+        listas.put(trigrama, new ListaIds(ids, tamanho));
+    }
+
+    // Chamado com o monitor do índice: o id fica nas listas, mas sem usuário
+    private void desindexarNome(V usuario) {
+        String chave = extratorChave.apply(usuario);
+        Integer id = idPorChave.get(chave);
+        Tabela atual = tabela;
+        if (id == null || atual.usuarios[id] != usuario) {
+            return;
+        }
+        idPorChave.remove(chave);
+        atual.quantidades[id] = 0;
+        atual.usuarios[id] = null;
+        atual.nomes[id] = null;
+
+        idsLivres++;
+        if (idsLivres > Math.max(CAPACIDADE_INICIAL, idPorChave.size())) {
+            reconstruir();
+        }
+    }
+
+    // Renumera os usuários indexados e refaz as listas sem os ids livres.
+    // Tudo é montado à parte e publicado de uma vez: buscas em andamento
+    // continuam vendo a versão anterior, que segue consistente
+    private void reconstruir() {
+        Tabela antiga = tabela;
+        Tabela nova = new Tabela(Math.max(CAPACIDADE_INICIAL, idPorChave.size() * 2), new ConcurrentHashMap<>());
+        int novoId = 0;
+        for (int id = 0; id < proximoId; id++) {
+            @SuppressWarnings("unchecked")
+            V usuario = (V) antiga.usuarios[id];
+            if (usuario == null) {
+                continue;
+            }
+            long[] doNome = trigramas(antiga.nomes[id]);
+            nova.usuarios[novoId] = usuario;
+            nova.nomes[novoId] = antiga.nomes[id];
+            nova.quantidades[novoId] = doNome.length;
+            idPorChave.put(extratorChave.apply(usuario), novoId);
+            for (long trigrama : doNome) {
+                anexarId(nova.listas, trigrama, novoId);
+            }
+            novoId++;
+        }
+        proximoId = novoId;
+        idsLivres = 0;
+        tabela = nova;
+    }
+
+    private Tabela ampliar(Tabela atual) {
+        Tabela maior = new Tabela(atual.quantidades.length * 2, atual.listas);
+        System.arraycopy(atual.usuarios, 0, maior.usuarios, 0, atual.usuarios.length);
+        System.arraycopy(atual.nomes, 0, maior.nomes, 0, atual.nomes.length);
+        System.arraycopy(atual.quantidades, 0, maior.quantidades, 0, atual.quantidades.length);
+        tabela = maior;
+        return maior;
+    }
+
+    /**
+     * Quebra o nome normalizado em trigramas por palavra ("  a", " ab", "abc", "bc ")
+     * @return Trigramas ordenados e sem repetição
+     */
+    static long[] trigramas(String texto) {
+        String normalizado = Normalizador.normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return new long[0];
+        }
+
+        // Cada palavra de tamanho n (já separadas por um único espaço) gera n + 1 trigramas
+        long[] todos = new long[normalizado.length() * 2 + 1];
+        int total = 0;
+        int inicio = 0;
+        while (inicio < normalizado.length()) {
+            int fim = normalizado.indexOf(' ', inicio);
+            if (fim < 0) {
+                fim = normalizado.length();
+            }
+            // Palavra lida como "  palavra ", sem montar a String preenchida
+            char a = ' ';
+            char b = ' ';
+            for (int i = inicio; i <= fim; i++) {
+                char c = i < fim ? normalizado.charAt(i) : ' ';
+                todos[total++] = codificar(a, b, c);
+                a = b;
+                b = c;
+            }
+            inicio = fim + 1;
+        }
+        Arrays.sort(todos, 0, total);
+        int distintos = 0;
+        for (int i = 0; i < total; i++) {
+            if (distintos == 0 || todos[i] != todos[distintos - 1]) {
+                todos[distintos++] = todos[i];
+            }
+        }
+        return Arrays.copyOf(todos, distintos);
+    }
+
+    // Campos de 21 bits: Long.hashCode (metade alta XOR metade baixa) não colide
+    // para caracteres abaixo de U+0400, então o mapa de listas não degenera em árvores
+    private static long codificar(char a, char b, char c) {
+        return ((long) a << 42) | ((long) b << 21) | c;
+    }
+}
@@ -0,0 +1,129 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Classe ListRepository
+ * Motor de armazenamento baseado em ArrayList (comportamento original do sistema)
+ * Toda busca percorre a lista: simples, porém O(n) por operação
+ * Útil como referência nos comparativos de desempenho
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class ListRepository<K extends Comparable<? super K>, V> implements Repository<K, V> {
+
+    private List<V> valores;
+    private Function<V, K> extratorChave;
+
+    /**
+     * Construtor do ListRepository
+     * @param extratorChave - Função que obtém a chave primária da entidade
+     */
+    public ListRepository(Function<V, K> extratorChave) {
+        this.valores = new ArrayList<>();
+        this.extratorChave = extratorChave;
+    }
+
+    @Override
+    public boolean adicionar(V valor) {
+        if (posicao(extratorChave.apply(valor)) >= 0) {
+            return false;
+        }
+        valores.add(valor);
+        return true;
+    }
+
+    @Override
+    public boolean adicionarTodos(List<V> novos) {
+        // Uma passada sobre o cadastro e outra sobre o lote (em vez de uma busca linear por item)
+        Set<K> chaves = new HashSet<>();
+        for (V valor : valores) {
+            chaves.add(extratorChave.apply(valor));
+        }
+        for (V valor : novos) {
+            if (!chaves.add(extratorChave.apply(valor))) {
+                return false;
+            }
+        }
+        valores.addAll(novos);
+        return true;
+    }
+
+    @Override
+    public V buscar(K chave) {
+        int i = posicao(chave);
+        return i < 0 ? null : valores.get(i);
+    }
+
+    @Override
+    public boolean contem(K chave) {
+        return posicao(chave) >= 0;
+    }
+
+    @Override
+    public List<V> listar() {
+        return new ArrayList<>(valores); // Retorna uma cópia
+    }
+
+    @Override
+    public Pagina<K, V> listarPaginaApos(K cursor, int limite) {
+        // Sem índice ordenado: ordena tudo a cada chamada (referência O(n log n))
+        NavigableMap<K, V> ordenados = new TreeMap<>();
+        for (V valor : valores) {
+            ordenados.put(extratorChave.apply(valor), valor);
+        }
+        return Pagina.porCursor(ordenados, cursor, Pagina.ajustarLimite(limite));
+    }
+
+    @Override
+    public boolean atualizar(K chave, V valor) {
+        int i = posicao(chave);
+        if (i < 0) {
+            return false;
+        }
+
+        K novaChave = extratorChave.apply(valor);
+        if (!Objects.equals(chave, novaChave) && posicao(novaChave) >= 0) {
+            return false;
+        }
+
+        valores.set(i, valor);
+        return true;
+    }
+
+    @Override
+    public boolean remover(K chave) {
+        int i = posicao(chave);
+        if (i < 0) {
+            return false;
+        }
+        valores.remove(i);
+        return true;
+    }
+
+    @Override
+    public int contar() {
+        return valores.size();
+    }
+
+    @Override
+    public void limpar() {
+        valores.clear();
+    }
+
+    private int posicao(K chave) {
+        for (int i = 0; i < valores.size(); i++) {
+            if (Objects.equals(extratorChave.apply(valores.get(i)), chave)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
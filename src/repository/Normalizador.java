@@ -0,0 +1,113 @@
+package repository;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Classe Normalizador
+ * Normaliza textos para comparação nas buscas por nome
+ * - Remove acentos ("João" -> "joao", "Conceição" -> "conceicao")
+ * - Ignora maiúsculas e minúsculas
+ * - Junta espaços repetidos
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public final class Normalizador {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    
+    // Letras de U+0000 a U+00FF (ASCII + Latin-1, onde estão os acentos do português)
+    // já sem acento, calculadas uma vez com a mesma decomposição usada no caso geral
+    private static final char[] SEM_ACENTO_LATIN1 = new char[0x100];
+    
+    static {
+        for (char c = 0; c < SEM_ACENTO_LATIN1.length; c++) {
+            String decomposto = ACENTOS.matcher(Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD)).replaceAll("");
+            SEM_ACENTO_LATIN1[c] = decomposto.length() == 1 ? decomposto.charAt(0) : c;
+        }
+    }
+
+    private Normalizador() {
+        // Classe utilitária: não deve ser instanciada
+    }
+
+    /**
+     * Normaliza um texto para comparação
+     * @param texto - Texto original
+     * @return Texto sem acentos, em minúsculas e com espaços simples (vazio se null)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        // Texto só com letras Latin-1 (o caso comum) dispensa a decomposição e a expressão regular
+        String semAcentos = removerAcentosLatin1(texto);
+        if (semAcentos == null) {
+            semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return juntarEspacos(semAcentos.toLowerCase(Locale.ROOT).trim());
+    }
+    
+    // ========== MÉTODOS AUXILIARES ==========
+    
+    // Retorna null se o texto tem algum caractere fora do Latin-1
+    private static String removerAcentosLatin1(String texto) {
+        char[] letras = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= SEM_ACENTO_LATIN1.length) {
+                return null;
+            }
+            char semAcento = SEM_ACENTO_LATIN1[c];
+            if (semAcento != c) {
+                if (letras == null) {
+                    letras = texto.toCharArray();
+                }
+                letras[i] = semAcento;
+            }
+        }
+        return letras == null ? texto : new String(letras);
+    }
+    
+    // Troca cada sequência de espaços em branco por um único espaço (texto já sem espaços nas pontas)
+    private static String juntarEspacos(String texto) {
+        if (espacosSimples(texto)) {
+            return texto; // Caso comum: nada a juntar, sem cópia
+        }
+        StringBuilder resultado = new StringBuilder(texto.length());
+        boolean emEspaco = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                emEspaco = true;
+                continue;
+            }
+            if (emEspaco) {
+                resultado.append(' ');
+                emEspaco = false;
+            }
+            resultado.append(c);
+        }
+        return resultado.toString();
+    }
+    
+    // Indica se o único espaço em branco do texto é ' ', sem repetição
+    private static boolean espacosSimples(String texto) {
+        boolean anteriorEspaco = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == ' ') {
+                if (anteriorEspaco) {
+                    return false;
+                }
+                anteriorEspaco = true;
+            } else if (c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                return false;
+            } else {
+                anteriorEspaco = false;
+            }
+        }
+        return true;
+    }
+}
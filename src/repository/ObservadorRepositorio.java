@@ -0,0 +1,33 @@
+package repository;
+
+/**
+ * Interface ObservadorRepositorio
+ * Define o contrato para quem precisa ser avisado quando uma entidade
+ * entra, muda ou sai de um repositório (ex: o log de alterações)
+ *
+ * As chamadas acontecem logo após a operação ter sido aplicada, na mesma
+ * thread que a executou
+ *
+ * (Fase 9: Persistência)
+ */
+public interface ObservadorRepositorio<V> {
+
+    /**
+     * Chamado quando uma entidade é adicionada (inclusive em lote)
+     * @param entidade - Entidade adicionada
+     */
+    void adicionado(V entidade);
+
+    /**
+     * Chamado quando os atributos de uma entidade são atualizados pelo repositório
+     * @param entidade - Entidade já com os novos atributos
+     */
+    void atualizado(V entidade);
+
+    /**
+     * Chamado quando uma entidade é removida
+     * @param entidade - Entidade removida
+     */
+    void removido(V entidade);
+
+}
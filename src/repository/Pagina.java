@@ -0,0 +1,140 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Classe Pagina
+ * Resultado de uma listagem paginada dos repositórios
+ * Suporta dois modos de navegação:
+ * - Por deslocamento (offset/limite), na ordem de inserção
+ * - Por cursor (keyset), na ordem da chave primária: a próxima página
+ *   começa logo após a última chave retornada, com o mesmo custo da primeira
+ *
+ * O tamanho de página é sempre limitado a TAMANHO_MAXIMO para proteger
+ * o sistema de listagens completas acidentais
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class Pagina<K, V> {
+
+    // Tamanho usado quando o limite informado é inválido
+    public static final int TAMANHO_PADRAO = 20;
+
+    // Maior quantidade de itens que uma página pode conter
+    public static final int TAMANHO_MAXIMO = 500;
+
+    private final List<V> itens;
+    private final K proximaChave;
+    private final int proximoOffset;
+
+    /**
+     * Construtor da Pagina
+     * @param itens - Itens desta página
+     * @param proximaChave - Cursor para a próxima página (keyset), ou null
+     * @param proximoOffset - Deslocamento da próxima página, ou -1 se não houver
+     */
+    public Pagina(List<V> itens, K proximaChave, int proximoOffset) {
+        this.itens = itens;
+        this.proximaChave = proximaChave;
+        this.proximoOffset = proximoOffset;
+    }
+
+    // ========== GETTERS ==========
+
+    public List<V> getItens() {
+        return itens;
+    }
+
+    /**
+     * Cursor a ser passado em listarPaginaApos para obter a próxima página
+     * @return Última chave desta página, ou null se esta é a última página
+     */
+    public K getProximaChave() {
+        return proximaChave;
+    }
+
+    /**
+     * Deslocamento a ser passado em listarPagina para obter a próxima página
+     * @return Deslocamento, ou -1 se esta é a última página
+     */
+    public int getProximoOffset() {
+        return proximoOffset;
+    }
+
+    /**
+     * Indica se existe uma página seguinte
+     * @return true se há mais itens após esta página
+     */
+    public boolean temProxima() {
+        return proximaChave != null || proximoOffset >= 0;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Ajusta o tamanho de página pedido ao intervalo permitido
+     * @param limite - Tamanho pedido
+     * @return Tamanho entre 1 e TAMANHO_MAXIMO
+     */
+    public static int ajustarLimite(int limite) {
+        if (limite <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(limite, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Monta uma página por deslocamento a partir de uma lista completa
+     * @param todos - Lista completa (não é modificada)
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página (já ajustado)
+     */
+    public static <K, V> Pagina<K, V> porOffset(List<V> todos, int offset, int limite) {
+        int inicio = Math.max(0, Math.min(offset, todos.size()));
+        int fim = Math.min(todos.size(), inicio + limite);
+        int proximo = fim < todos.size() ? fim : -1;
+        return new Pagina<>(List.copyOf(todos.subList(inicio, fim)), null, proximo);
+    }
+
+    /**
+     * Monta uma página por cursor (keyset) a partir de um índice ordenado
+     * Custo O(log n + limite), independente da profundidade da página
+     * @param ordenados - Índice ordenado pela chave primária
+     * @param cursor - Última chave da página anterior, ou null para a primeira
+     * @param limite - Tamanho da página (já ajustado)
+     */
+    public static <K, V> Pagina<K, V> porCursor(NavigableMap<K, V> ordenados, K cursor, int limite) {
+        return porCursor(ordenados, cursor, limite, (chave, valor) -> true);
+    }
+
+    /**
+     * Monta uma página por cursor ignorando as entradas que o motor não reconhece
+     * como atuais (ex: a chave antiga durante uma troca de chave)
+     * @param valida - Diz se a entrada (chave, entidade) ainda é a atual
+     */
+    public static <K, V> Pagina<K, V> porCursor(NavigableMap<K, V> ordenados, K cursor, int limite,
+                                                 BiPredicate<K, V> valida) {
+        NavigableMap<K, V> restante = cursor == null ? ordenados : ordenados.tailMap(cursor, false);
+        List<V> itens = new ArrayList<>(Math.min(limite, 64));
+        K ultimaChave = null;
+        boolean temMais = false;
+
+        for (Map.Entry<K, V> entrada : restante.entrySet()) {
+            if (!valida.test(entrada.getKey(), entrada.getValue())) {
+                continue;
+            }
+            if (itens.size() == limite) {
+                temMais = true;
+                break;
+            }
+            itens.add(entrada.getValue());
+            ultimaChave = entrada.getKey();
+        }
+
+        return new Pagina<>(itens, temMais ? ultimaChave : null, -1);
+    }
+}
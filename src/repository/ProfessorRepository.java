@@ -1,8 +1,12 @@
 package repository;
 
+import model.ControleVersao;
 import model.Professor;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Classe ProfessorRepository
@@ -13,20 +17,57 @@ import java.util.List;
  * - Buscar professor por registro
  * - Listar todos os professores
  * - Atualizar professor
+ * - Buscar professores pelo início do nome (índice secundário)
+ * - Buscar professores por nome aproximado (índice de trigramas)
  * 
  * (Fase 7: Arquitetura em Camadas)
+ * (Fase 8: Desempenho e Índices)
  */
 public class ProfessorRepository {
     
-    // Lista em memória (temporária) que armazena os professores
-    private List<Professor> professores;
+    // Motor de armazenamento indexado pela chave primária (registro)
+    // O tipo de motor (lista, hash, concorrente) é escolhido no Main
+    private Repository<String, Professor> professores;
+
+    // Observadores avisados quando professores entram, mudam ou saem (Fase 9)
+    private final List<ObservadorRepositorio<Professor>> observadores = new CopyOnWriteArrayList<>();
+
+    // Diretório de logins compartilhado entre todos os perfis
+    private DiretorioLogin diretorioLogin;
+
+    // Índice secundário: nome -> professores (busca por início do nome)
+    private IndicePrefixo<Professor> indiceNome;
+
+    // Índice secundário: trigramas do nome -> professores (busca aproximada)
+    private IndiceTrigrama<Professor> indiceSimilaridade;
     
     /**
      * Construtor do ProfessorRepository
-     * Inicializa a lista de professores
+     * Inicializa o repositório com o motor hash (padrão)
      */
     public ProfessorRepository() {
-        this.professores = new ArrayList<>();
+        this(Armazenamento.HASH, new DiretorioLogin());
+    }
+    
+    /**
+     * Construtor do ProfessorRepository com diretório de logins compartilhado
+     * Permite garantir logins únicos entre alunos, professores e administradores
+     * @param diretorioLogin - Diretório de logins do sistema
+     */
+    public ProfessorRepository(DiretorioLogin diretorioLogin) {
+        this(Armazenamento.HASH, diretorioLogin);
+    }
+    
+    /**
+     * Construtor do ProfessorRepository com motor de armazenamento escolhido
+     * @param armazenamento - Tipo de motor de armazenamento
+     * @param diretorioLogin - Diretório de logins do sistema
+     */
+    public ProfessorRepository(Armazenamento armazenamento, DiretorioLogin diretorioLogin) {
+        this.diretorioLogin = diretorioLogin;
+        this.professores = armazenamento.criar(Professor::getRegistro);
+        this.indiceNome = new IndicePrefixo<>(Professor::getRegistro);
+        this.indiceSimilaridade = new IndiceTrigrama<>(Professor::getRegistro);
     }
     
     // ========== MÉTODOS CRUD ==========
@@ -43,35 +84,189 @@ public class ProfessorRepository {
         }
         
         // Verifica se já existe um professor com esse registro
-        if (buscarPorRegistro(professor.getRegistro()) != null) {
+        if (professores.contem(professor.getRegistro())) {
             System.out.println("❌ Erro: Professor com registro " + professor.getRegistro() + " já existe!");
             return false;
         }
         
-        professores.add(professor);
+        // Login deve ser único entre todos os perfis do sistema
+        if (!diretorioLogin.registrar(professor)) {
+            System.out.println("❌ Erro: Login " + professor.getLogin() + " já está em uso!");
+            return false;
+        }
+        
+        if (!professores.adicionar(professor)) {
+            // Outra inserção com a mesma chave venceu a corrida
+            diretorioLogin.remover(professor);
+            System.out.println("❌ Erro: Professor com registro " + professor.getRegistro() + " já existe!");
+            return false;
+        }
+        indexar(professor);
+        notificarAdicionado(professor);
         return true;
     }
     
+    /**
+     * CREATE EM LOTE - Adiciona vários professores de uma vez (tudo ou nada)
+     * Detecta em uma única passada registros e logins repetidos no lote ou
+     * já existentes no sistema; não imprime mensagens por professor
+     * @param novos - Professores a serem adicionados
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote adicionarTodos(List<Professor> novos) {
+        return adicionarTodos(novos, new ResultadoLote(novos.size()));
+    }
+    
+    /**
+     * CREATE EM LOTE - Variante que recebe as linhas já rejeitadas pelas regras de negócio
+     * @param novos - Professores a serem adicionados
+     * @param resultado - Resultado do lote com as validações do service já registradas
+     * @return O mesmo resultado, completo
+     */
+    public ResultadoLote adicionarTodos(List<Professor> novos, ResultadoLote resultado) {
+        List<String> chaves = new ArrayList<>(novos.size());
+        Map<String, Integer> chavesDoLote = new HashMap<>();
+        Map<String, Integer> loginsDoLote = new HashMap<>();
+        
+        // Passada única: cada verificação é O(1)
+        for (int i = 0; i < novos.size(); i++) {
+            Professor professor = novos.get(i);
+            String registro = professor == null ? null : professor.getRegistro();
+            chaves.add(registro);
+            
+            if (professor == null || registro == null || professor.getLogin() == null) {
+                resultado.rejeitar(i, registro, ResultadoLote.Situacao.INVALIDO, "Professor, registro e login são obrigatórios!");
+                continue;
+            }
+            
+            Integer repetida = chavesDoLote.putIfAbsent(registro, i);
+            if (repetida != null) {
+                resultado.rejeitar(i, registro, ResultadoLote.Situacao.DUPLICADO_NO_LOTE,
+                                   "Registro " + registro + " repetido no lote (linha " + (repetida + 1) + ")!");
+            } else if (professores.contem(registro)) {
+                resultado.rejeitar(i, registro, ResultadoLote.Situacao.JA_EXISTE,
+                                   "Professor com registro " + registro + " já existe!");
+            }
+            
+            Integer loginRepetido = loginsDoLote.putIfAbsent(professor.getLogin(), i);
+            if (loginRepetido != null) {
+                resultado.rejeitar(i, registro, ResultadoLote.Situacao.DUPLICADO_NO_LOTE,
+                                   "Login " + professor.getLogin() + " repetido no lote (linha " + (loginRepetido + 1) + ")!");
+            } else if (!diretorioLogin.loginDisponivel(professor.getLogin(), professor)) {
+                resultado.rejeitar(i, registro, ResultadoLote.Situacao.LOGIN_EM_USO,
+                                   "Login " + professor.getLogin() + " já está em uso!");
+            }
+        }
+        
+        if (resultado.temErros()) {
+            resultado.concluir(false, chaves);
+            return resultado;
+        }
+        
+        // Reserva os logins; se outra thread tomou algum no meio do caminho, desfaz as reservas
+        for (int i = 0; i < novos.size(); i++) {
+            if (!diretorioLogin.registrar(novos.get(i))) {
+                for (int j = 0; j < i; j++) {
+                    diretorioLogin.remover(novos.get(j));
+                }
+                resultado.rejeitar(i, chaves.get(i), ResultadoLote.Situacao.LOGIN_EM_USO,
+                                   "Login " + novos.get(i).getLogin() + " já está em uso!");
+                resultado.concluir(false, chaves);
+                return resultado;
+            }
+        }
+        
+        if (!professores.adicionarTodos(novos)) {
+            // Outra inserção com uma das chaves venceu a corrida
+            for (int i = 0; i < novos.size(); i++) {
+                diretorioLogin.remover(novos.get(i));
+                if (professores.contem(chaves.get(i))) {
+                    resultado.rejeitar(i, chaves.get(i), ResultadoLote.Situacao.JA_EXISTE,
+                                       "Professor com registro " + chaves.get(i) + " já existe!");
+                }
+            }
+            resultado.concluir(false, chaves);
+            return resultado;
+        }
+        
+        indexarTodos(novos);
+        for (Professor professor : novos) {
+            notificarAdicionado(professor);
+        }
+        resultado.concluir(true, chaves);
+        return resultado;
+    }
+    
     /**
      * READ - Busca um professor por registro
      * @param registro - Registro do professor
      * @return Objeto Professor se encontrado, null caso contrário
      */
     public Professor buscarPorRegistro(String registro) {
-        for (Professor professor : professores) {
-            if (professor.getRegistro().equals(registro)) {
-                return professor;
-            }
-        }
-        return null;
+        return professores.buscar(registro);
+    }
+    
+    /**
+     * READ - Busca professores pelo início do nome (autocompletar)
+     * Usa o índice por nome: custo proporcional ao tamanho do resultado
+     * @param prefixo - Início do nome (sem diferenciar maiúsculas nem acentos)
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Professores em ordem alfabética de nome
+     */
+    public List<Professor> buscarPorPrefixoNome(String prefixo, int limite) {
+        return indiceNome.buscarPorPrefixo(prefixo, limite);
+    }
+    
+    /**
+     * READ - Busca professores com nome parecido (tolera acentos e erros de digitação)
+     * Usa o índice de trigramas: não compara o termo com todo o cadastro
+     * @param termo - Nome digitado
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Candidatos com a similaridade, do mais parecido para o menos parecido
+     */
+    public List<Candidato<Professor>> buscarPorNomeAproximado(String termo, int limite) {
+        return buscarPorNomeAproximado(termo, IndiceTrigrama.SIMILARIDADE_PADRAO, limite);
+    }
+    
+    /**
+     * READ - Busca professores com nome parecido, exigindo uma similaridade mínima
+     * @param termo - Nome digitado
+     * @param similaridadeMinima - Similaridade mínima aceita (0 a 1)
+     * @param limite - Quantidade máxima de resultados (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Candidatos com a similaridade, do mais parecido para o menos parecido
+     */
+    public List<Candidato<Professor>> buscarPorNomeAproximado(String termo, double similaridadeMinima, int limite) {
+        return indiceSimilaridade.buscarSimilares(termo, similaridadeMinima, limite);
     }
     
     /**
      * READ - Retorna todos os professores
-     * @return Lista de professores
+     * A lista é somente leitura e compartilhada (não é copiada a cada chamada)
+     * @return Lista imutável de professores
      */
     public List<Professor> listarTodos() {
-        return new ArrayList<>(professores); // Retorna uma cópia
+        return professores.listar();
+    }
+    
+    /**
+     * READ - Retorna uma página de professores na ordem de cadastro (offset/limite)
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de professores
+     */
+    public Pagina<String, Professor> listarPagina(int offset, int limite) {
+        return professores.listarPagina(offset, limite);
+    }
+    
+    /**
+     * READ - Retorna uma página de professores ordenada por registro (cursor)
+     * Páginas profundas custam o mesmo que a primeira
+     * @param ultimoRegistro - Último registro da página anterior (null para a primeira)
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de professores com o cursor da próxima página
+     */
+    public Pagina<String, Professor> listarPaginaApos(String ultimoRegistro, int limite) {
+        return professores.listarPaginaApos(ultimoRegistro, limite);
     }
     
     /**
@@ -88,11 +283,61 @@ public class ProfessorRepository {
             return false;
         }
         
-        professor.setNome(professorAtualizado.getNome());
-        professor.setEspecialidade(professorAtualizado.getEspecialidade());
-        professor.setLogin(professorAtualizado.getLogin());
-        professor.setSenha(professorAtualizado.getSenha());
-        return true;
+        // Sem versão esperada: usa a versão atual (falha só se outra edição estiver em andamento)
+        return atualizar(registro, professor.getVersao(), professorAtualizado) == ResultadoAtualizacao.ATUALIZADO;
+    }
+
+    /**
+     * UPDATE CONDICIONAL - Atualiza um professor somente se ninguém o alterou
+     * desde a leitura da versão esperada (controle otimista, Fase 8)
+     * Os atributos são aplicados juntos, sem travas: leitores que usam
+     * lerConsistente/copiarAtributos (instantâneos, exportações, diário e banco)
+     * nunca veem a alteração pela metade
+     * @param registro - Registro do professor a ser atualizado
+     * @param versaoEsperada - Versão lida com getVersao() antes de preparar a alteração
+     * @param professorAtualizado - Dados atualizados
+     * @return ATUALIZADO, NAO_ENCONTRADO, CONFLITO ou INVALIDO
+     */
+    public ResultadoAtualizacao atualizar(String registro, long versaoEsperada, Professor professorAtualizado) {
+        Professor professor = buscarPorRegistro(registro);
+        
+        if (professor == null) {
+            System.out.println("❌ Erro: Professor com registro " + registro + " não encontrado!");
+            return ResultadoAtualizacao.NAO_ENCONTRADO;
+        }
+        
+        ControleVersao versao = professor.getControleVersao();
+        if (!versao.iniciarEdicao(versaoEsperada)) {
+            System.out.println("❌ Erro: Professor " + registro + " foi alterado por outro usuário! Recarregue os dados e tente novamente.");
+            return ResultadoAtualizacao.CONFLITO;
+        }
+        
+        boolean alterado = false;
+        try {
+            // Reserva atômica do novo login: se outra atualização pediu o mesmo login,
+            // só uma das duas consegue e a outra falha sem alterar nada
+            if (!diretorioLogin.reservar(professorAtualizado.getLogin(), professor)) {
+                System.out.println("❌ Erro: Login " + professorAtualizado.getLogin() + " já está em uso!");
+                return ResultadoAtualizacao.INVALIDO;
+            }
+            
+            alterado = true;
+            professor.setNome(professorAtualizado.getNome());
+            professor.setEspecialidade(professorAtualizado.getEspecialidade());
+            professor.setLogin(professorAtualizado.getLogin());
+            professor.setSenha(professorAtualizado.getSenha());
+        } finally {
+            if (alterado) {
+                versao.concluirEdicao();
+            } else {
+                versao.cancelarEdicao();
+            }
+        }
+        
+        // Avisa depois de concluir a edição: os observadores leem a entidade com
+        // lerConsistente, que esperaria para sempre por uma versão ímpar
+        notificarAtualizado(professor);
+        return ResultadoAtualizacao.ATUALIZADO;
     }
     
     /**
@@ -108,7 +353,15 @@ public class ProfessorRepository {
             return false;
         }
         
-        professores.remove(professor);
+        // Só quem efetivamente removeu limpa os índices (remoções simultâneas)
+        if (!professores.remover(registro)) {
+            System.out.println("❌ Erro: Professor com registro " + registro + " não encontrado!");
+            return false;
+        }
+        diretorioLogin.remover(professor);
+        indiceNome.desindexar(professor);
+        indiceSimilaridade.desindexar(professor);
+        notificarRemovido(professor);
         return true;
     }
     
@@ -117,13 +370,70 @@ public class ProfessorRepository {
      * @return Número de professores
      */
     public int contar() {
-        return professores.size();
+        return professores.contar();
     }
     
     /**
      * Limpa todos os professores do repositório
      */
     public void limpar() {
-        professores.clear();
+        for (Professor professor : professores.listar()) {
+            diretorioLogin.remover(professor);
+        }
+        professores.limpar();
+        indiceNome.limpar();
+        indiceSimilaridade.limpar();
+    }
+    
+    // ========== OBSERVADORES (FASE 9) ==========
+    
+    /**
+     * Registra um observador das inclusões, atualizações e remoções de professores
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorRepositorio<Professor> observador) {
+        observadores.add(observador);
+    }
+    
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorRepositorio<Professor> observador) {
+        observadores.remove(observador);
+    }
+    
+    private void notificarAdicionado(Professor professor) {
+        for (ObservadorRepositorio<Professor> observador : observadores) {
+            observador.adicionado(professor);
+        }
+    }
+    
+    private void notificarAtualizado(Professor professor) {
+        for (ObservadorRepositorio<Professor> observador : observadores) {
+            observador.atualizado(professor);
+        }
+    }
+    
+    private void notificarRemovido(Professor professor) {
+        for (ObservadorRepositorio<Professor> observador : observadores) {
+            observador.removido(professor);
+        }
+    }
+    
+    // ========== ÍNDICES ==========
+    
+    // Inclui um professor recém-armazenado nos índices secundários
+    private void indexar(Professor professor) {
+        indiceNome.indexar(professor);
+        indiceSimilaridade.indexar(professor);
+    }
+    
+    // Lote: o índice de trigramas recebe os professores de uma vez
+    private void indexarTodos(List<Professor> novos) {
+        for (Professor professor : novos) {
+            indiceNome.indexar(professor);
+        }
+        indiceSimilaridade.indexarTodos(novos);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * Interface Repository
+ * Contrato genérico de armazenamento usado pelos repositórios de entidades
+ * Cada implementação é um "motor" de armazenamento intercambiável
+ * (lista, hash ou concorrente), escolhido na montagem do sistema (Main)
+ *
+ * Os motores NÃO imprimem mensagens: apenas indicam sucesso ou falha,
+ * e os repositórios de entidades decidem o que informar ao usuário.
+ *
+ * @param <K> - Tipo da chave primária (ex: matrícula), ordenável para a paginação por cursor
+ * @param <V> - Tipo da entidade armazenada
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public interface Repository<K extends Comparable<? super K>, V> {
+
+    /**
+     * CREATE - Adiciona uma entidade se a chave ainda não existir
+     * @param valor - Entidade a ser adicionada
+     * @return true se adicionada, false se a chave já existe
+     */
+    boolean adicionar(V valor);
+
+    /**
+     * CREATE EM LOTE - Adiciona várias entidades de uma só vez (tudo ou nada)
+     * Se alguma chave já existir ou se repetir dentro do lote, nada é adicionado
+     * O lote não é isolado: enquanto é publicado, leitores simultâneos podem ver
+     * só parte dele (nunca um item que depois é retirado)
+     * @param valores - Entidades a serem adicionadas
+     * @return true se todas foram adicionadas, false se nenhuma foi
+     */
+    boolean adicionarTodos(List<V> valores);
+
+    /**
+     * READ - Busca uma entidade pela chave
+     * @param chave - Chave primária
+     * @return Entidade encontrada ou null
+     */
+    V buscar(K chave);
+
+    /**
+     * Verifica se existe uma entidade com a chave informada
+     * @param chave - Chave primária
+     * @return true se existir
+     */
+    boolean contem(K chave);
+
+    /**
+     * READ - Retorna todas as entidades na ordem de inserção
+     * A lista retornada NÃO deve ser modificada: os motores hash e
+     * concorrente devolvem um snapshot imutável compartilhado entre leitores
+     * @return Lista de entidades
+     */
+    List<V> listar();
+
+    /**
+     * READ - Retorna uma página na ordem de inserção (offset/limite)
+     * Páginas profundas custam mais; prefira listarPaginaApos para navegar tudo
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página (limitado a Pagina.TAMANHO_MAXIMO)
+     * @return Página de entidades
+     */
+    default Pagina<K, V> listarPagina(int offset, int limite) {
+        return Pagina.porOffset(listar(), offset, Pagina.ajustarLimite(limite));
+    }
+
+    /**
+     * READ - Retorna uma página na ordem da chave primária (cursor/keyset)
+     * Cada página custa o mesmo, não importa quão longe esteja do início
+     * @param cursor - Última chave da página anterior (null para a primeira página)
+     * @param limite - Tamanho da página (limitado a Pagina.TAMANHO_MAXIMO)
+     * @return Página de entidades com o cursor da próxima página
+     */
+    Pagina<K, V> listarPaginaApos(K cursor, int limite);
+
+    /**
+     * UPDATE - Substitui a entidade armazenada sob uma chave
+     * Se a chave da nova entidade for diferente, ela é reindexada
+     * mantendo a posição original na ordem de inserção
+     * @param chave - Chave atual
+     * @param valor - Entidade (possivelmente com nova chave)
+     * @return true se atualizada, false se a chave não existe ou a nova chave já está em uso
+     */
+    boolean atualizar(K chave, V valor);
+
+    /**
+     * DELETE - Remove a entidade de uma chave
+     * @param chave - Chave primária
+     * @return true se removida, false se não existia
+     */
+    boolean remover(K chave);
+
+    /**
+     * Retorna a quantidade de entidades armazenadas
+     * @return Número de entidades
+     */
+    int contar();
+
+    /**
+     * Remove todas as entidades
+     */
+    void limpar();
+
+}
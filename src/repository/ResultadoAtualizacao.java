@@ -0,0 +1,16 @@
+package repository;
+
+/**
+ * Enum ResultadoAtualizacao
+ * Resultado de uma atualização condicional (por versão) nos repositórios
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public enum ResultadoAtualizacao {
+
+    ATUALIZADO,      // Alteração aplicada por completo
+    NAO_ENCONTRADO,  // Não existe entidade com a chave informada
+    CONFLITO,        // Outro editor alterou a entidade depois da versão esperada
+    INVALIDO         // Os novos dados violam uma regra (ex: chave ou login já em uso)
+
+}
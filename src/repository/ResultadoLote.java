@@ -0,0 +1,199 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe ResultadoLote
+ * Resultado estruturado de um cadastro em lote: uma linha por item enviado
+ * O lote é TUDO OU NADA: se alguma linha tiver erro, nenhuma é cadastrada
+ * e as demais ficam como NAO_CADASTRADO
+ *
+ * Não imprime nada: quem chamou decide como apresentar os erros
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class ResultadoLote {
+
+    /**
+     * Situação final de cada linha do lote
+     */
+    public enum Situacao {
+        CADASTRADO,         // Linha cadastrada
+        INVALIDO,           // Dados obrigatórios ausentes ou inválidos
+        DUPLICADO_NO_LOTE,  // Chave ou login repetido dentro do próprio lote
+        JA_EXISTE,          // Chave já cadastrada no sistema
+        LOGIN_EM_USO,       // Login já pertence a outro usuário do sistema
+        NAO_CADASTRADO      // Linha válida, mas o lote foi rejeitado por erros em outras linhas
+    }
+
+    /**
+     * Resultado de uma linha do lote
+     */
+    public static class Linha {
+        private final int indice;
+        private final String chave;
+        private final Situacao situacao;
+        private final String mensagem;
+
+        private Linha(int indice, String chave, Situacao situacao, String mensagem) {
+            this.indice = indice;
+            this.chave = chave;
+            this.situacao = situacao;
+            this.mensagem = mensagem;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public Situacao getSituacao() {
+            return situacao;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        /**
+         * Indica se a linha tem um erro próprio (não apenas rejeitada junto com o lote)
+         * @return true se a linha precisa ser corrigida
+         */
+        public boolean isErro() {
+            return situacao != Situacao.CADASTRADO && situacao != Situacao.NAO_CADASTRADO;
+        }
+
+        @Override
+        public String toString() {
+            return "Linha{" +
+                    "indice=" + indice +
+                    ", chave='" + chave + '\'' +
+                    ", situacao=" + situacao +
+                    (mensagem != null ? ", mensagem='" + mensagem + '\'' : "") +
+                    '}';
+        }
+    }
+
+    private final Linha[] linhas;
+    private int totalErros;
+    private boolean aplicado;
+
+    /**
+     * Construtor do ResultadoLote
+     * @param tamanho - Quantidade de itens do lote
+     */
+    public ResultadoLote(int tamanho) {
+        this.linhas = new Linha[tamanho];
+    }
+
+    // ========== REGISTRO (usado pelos services e repositórios) ==========
+
+    /**
+     * Marca uma linha com erro; o primeiro erro encontrado na linha prevalece
+     * @param indice - Posição do item no lote
+     * @param chave - Chave do item (matrícula, registro, código)
+     * @param situacao - Tipo do erro
+     * @param mensagem - Descrição do erro
+     */
+    public void rejeitar(int indice, String chave, Situacao situacao, String mensagem) {
+        if (linhas[indice] == null) {
+            linhas[indice] = new Linha(indice, chave, situacao, mensagem);
+            totalErros++;
+        }
+    }
+
+    /**
+     * Verifica se a linha já foi marcada com erro
+     * @param indice - Posição do item no lote
+     * @return true se a linha tem erro
+     */
+    public boolean isRejeitada(int indice) {
+        return linhas[indice] != null;
+    }
+
+    /**
+     * Indica se alguma linha tem erro
+     * @return true se o lote não pode ser aplicado
+     */
+    public boolean temErros() {
+        return totalErros > 0;
+    }
+
+    /**
+     * Preenche as linhas sem erro ao final do processamento
+     * @param aplicado - true se o lote foi cadastrado
+     * @param chaves - Chave de cada item, na ordem do lote
+     */
+    public void concluir(boolean aplicado, List<String> chaves) {
+        this.aplicado = aplicado;
+        Situacao situacao = aplicado ? Situacao.CADASTRADO : Situacao.NAO_CADASTRADO;
+        for (int i = 0; i < linhas.length; i++) {
+            if (linhas[i] == null) {
+                linhas[i] = new Linha(i, chaves.get(i), situacao, null);
+            }
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Indica se o lote inteiro foi cadastrado
+     * @return true se todas as linhas foram cadastradas
+     */
+    public boolean isAplicado() {
+        return aplicado;
+    }
+
+    /**
+     * Retorna o resultado de todas as linhas, na ordem do lote
+     * @return Lista somente leitura de linhas
+     */
+    public List<Linha> getLinhas() {
+        return Collections.unmodifiableList(Arrays.asList(linhas));
+    }
+
+    /**
+     * Retorna apenas as linhas com erro próprio
+     * @return Linhas que precisam ser corrigidas
+     */
+    public List<Linha> getErros() {
+        List<Linha> erros = new ArrayList<>();
+        for (Linha linha : linhas) {
+            if (linha != null && linha.isErro()) {
+                erros.add(linha);
+            }
+        }
+        return erros;
+    }
+
+    /**
+     * Retorna a quantidade de itens cadastrados
+     * @return Número de linhas cadastradas
+     */
+    public int getTotalCadastrados() {
+        return aplicado ? linhas.length : 0;
+    }
+
+    /**
+     * Retorna a quantidade de itens do lote
+     * @return Número de linhas
+     */
+    public int getTotal() {
+        return linhas.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{" +
+                "total=" + linhas.length +
+                ", aplicado=" + aplicado +
+                ", erros=" + totalErros +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe abstrata SnapshotRepository
+ * Base dos motores que devolvem listagens SEM cópia a cada chamada
+ * listar() retorna uma lista imutável (snapshot) compartilhada entre os leitores;
+ * ela só é reconstruída na primeira leitura após uma alteração (copy-on-write)
+ * Leituras repetidas sem alterações no meio não alocam nada
+ *
+ * As subclasses devem chamar registrarAlteracao() DEPOIS de cada mutação
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public abstract class SnapshotRepository<K extends Comparable<? super K>, V> implements Repository<K, V> {
+
+    // Snapshot associado ao número de alterações em que foi gerado
+    private static final class Snapshot<V> {
+        private final long versao;
+        private final List<V> valores;
+
+        private Snapshot(long versao, List<V> valores) {
+            this.versao = versao;
+            this.valores = valores;
+        }
+    }
+
+    private final AtomicLong alteracoes = new AtomicLong();
+    private volatile Snapshot<V> snapshot;
+
+    /**
+     * READ - Retorna todas as entidades como lista imutável compartilhada
+     * @return Snapshot imutável na ordem de inserção
+     */
+    @Override
+    public List<V> listar() {
+        long versao = alteracoes.get();
+        Snapshot<V> atual = snapshot;
+
+        if (atual != null && atual.versao == versao) {
+            return atual.valores;
+        }
+
+        List<V> valores = List.copyOf(valoresAtuais());
+
+        // Só guarda se nenhuma alteração aconteceu durante a cópia
+        if (alteracoes.get() == versao) {
+            snapshot = new Snapshot<>(versao, valores);
+        }
+        return valores;
+    }
+
+    /**
+     * Invalida o snapshot atual; deve ser chamado após cada alteração
+     */
+    protected void registrarAlteracao() {
+        alteracoes.incrementAndGet();
+    }
+
+    /**
+     * Retorna uma visão dos valores atuais na ordem de inserção
+     * Usada apenas para reconstruir o snapshot
+     */
+    protected abstract Collection<V> valoresAtuais();
+}
@@ -1,8 +1,22 @@
 package repository;
 
+import model.Aluno;
+import model.Avaliacao;
+import model.ControleVersao;
+import model.Curso;
+import model.ObservadorAlteracao;
+import model.Professor;
 import model.Turma;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Classe TurmaRepository
@@ -13,20 +27,78 @@ import java.util.List;
  * - Buscar turma por código
  * - Listar todas as turmas
  * - Atualizar turma
+ * - Listar turmas por professor e por curso (índices reversos)
+ * - Listar turmas de um aluno (índice de matrículas)
+ * - Listar turmas com avaliações de um aluno (índice de avaliações)
  * 
  * (Fase 7: Arquitetura em Camadas)
+ * (Fase 8: Desempenho e Índices)
  */
 public class TurmaRepository {
     
-    // Lista em memória (temporária) que armazena as turmas
-    private List<Turma> turmas;
+    // Motor de armazenamento indexado pela chave primária (código)
+    // O tipo de motor (lista, hash, concorrente) é escolhido no Main
+    private Repository<String, Turma> turmas;
+
+    // Observadores avisados quando turmas entram, mudam ou saem (Fase 9)
+    private final List<ObservadorRepositorio<Turma>> observadores = new CopyOnWriteArrayList<>();
+
+    // Índices reversos: registro do professor / código do curso -> turmas (por código)
+    // Estruturas concorrentes: os índices são seguros com o motor CONCORRENTE
+    private ConcurrentMap<String, Map<String, Turma>> turmasPorProfessor;
+    private ConcurrentMap<String, Map<String, Turma>> turmasPorCurso;
+
+    // Índice de matrículas: matrícula do aluno -> turmas em que está matriculado (por código)
+    private ConcurrentMap<String, Map<String, Turma>> turmasPorAluno;
+
+    // Índice de avaliações: matrícula do aluno -> turmas com avaliações dele (por código)
+    // Inclui turmas de onde o aluno já saiu: desmatricular mantém as avaliações
+    private ConcurrentMap<String, Map<String, Turma>> turmasAvaliadasPorAluno;
+    
+    // Os grupos por aluno são mapas imutáveis, trocados inteiros (ver comTurma)
+
+    // Mantém os índices reversos corretos quando professor, curso ou código da turma mudam
+    private final ObservadorAlteracao observadorTurma = (origem, campo, anterior, novo) -> {
+        Turma turma = (Turma) origem;
+        if (Turma.CAMPO_PROFESSOR.equals(campo)) {
+            desindexar(turmasPorProfessor, registroDe((Professor) anterior), turma.getCodigo(), turma);
+            indexar(turmasPorProfessor, registroDe((Professor) novo), turma.getCodigo(), turma);
+        } else if (Turma.CAMPO_CURSO.equals(campo)) {
+            desindexar(turmasPorCurso, codigoDe((Curso) anterior), turma.getCodigo(), turma);
+            indexar(turmasPorCurso, codigoDe((Curso) novo), turma.getCodigo(), turma);
+        } else if (Turma.CAMPO_ALUNOS.equals(campo)) {
+            desindexarAluno(turmasPorAluno, matriculaDe((Aluno) anterior), turma.getCodigo(), turma);
+            indexarAluno(turmasPorAluno, matriculaDe((Aluno) novo), turma.getCodigo(), turma);
+        } else if (Turma.CAMPO_AVALIACOES.equals(campo)) {
+            Avaliacao avaliacao = (Avaliacao) (novo != null ? novo : anterior);
+            reindexarAvaliacoes(turma, avaliacao.getAluno().getMatricula(), turma.getCodigo());
+        } else if (Turma.CAMPO_CODIGO.equals(campo)) {
+            desindexarTurma(turma, (String) anterior);
+            indexarTurma(turma, (String) novo);
+        }
+    };
+    
+    // Carga em andamento: os índices reversos só são montados no final (ver iniciarCarga)
+    private volatile boolean emCarga;
     
     /**
      * Construtor do TurmaRepository
-     * Inicializa a lista de turmas
+     * Inicializa o repositório com o motor hash (padrão)
      */
     public TurmaRepository() {
-        this.turmas = new ArrayList<>();
+        this(Armazenamento.HASH);
+    }
+    
+    /**
+     * Construtor do TurmaRepository com motor de armazenamento escolhido
+     * @param armazenamento - Tipo de motor de armazenamento
+     */
+    public TurmaRepository(Armazenamento armazenamento) {
+        this.turmas = armazenamento.criar(Turma::getCodigo);
+        this.turmasPorProfessor = new ConcurrentHashMap<>();
+        this.turmasPorCurso = new ConcurrentHashMap<>();
+        this.turmasPorAluno = new ConcurrentHashMap<>();
+        this.turmasAvaliadasPorAluno = new ConcurrentHashMap<>();
     }
     
     // ========== MÉTODOS CRUD ==========
@@ -42,36 +114,197 @@ public class TurmaRepository {
             return false;
         }
         
-        // Verifica se já existe uma turma com esse código
-        if (buscarPorCodigo(turma.getCodigo()) != null) {
+        // Verifica se já existe uma turma com esse código (inserção atômica no motor)
+        if (!turmas.adicionar(turma)) {
             System.out.println("❌ Erro: Turma com código " + turma.getCodigo() + " já existe!");
             return false;
         }
-        
-        turmas.add(turma);
+        if (!emCarga) {
+            indexarTurma(turma, turma.getCodigo());
+            turma.adicionarObservador(observadorTurma);
+        }
+        notificarAdicionado(turma);
         return true;
     }
     
+    /**
+     * CREATE EM LOTE - Adiciona várias turmas de uma vez (tudo ou nada)
+     * Detecta em uma única passada códigos repetidos no lote ou já existentes;
+     * não imprime mensagens por turma
+     * @param novas - Turmas a serem adicionadas (já com matrículas e avaliações)
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote adicionarTodos(List<Turma> novas) {
+        ResultadoLote resultado = new ResultadoLote(novas.size());
+        List<String> codigos = new ArrayList<>(novas.size());
+        Map<String, Integer> codigosDoLote = new HashMap<>();
+        
+        // Passada única: cada verificação é O(1)
+        for (int i = 0; i < novas.size(); i++) {
+            Turma turma = novas.get(i);
+            String codigo = turma == null ? null : turma.getCodigo();
+            codigos.add(codigo);
+            
+            if (codigo == null) {
+                resultado.rejeitar(i, null, ResultadoLote.Situacao.INVALIDO, "Turma e código são obrigatórios!");
+                continue;
+            }
+            
+            Integer repetido = codigosDoLote.putIfAbsent(codigo, i);
+            if (repetido != null) {
+                resultado.rejeitar(i, codigo, ResultadoLote.Situacao.DUPLICADO_NO_LOTE,
+                                   "Código " + codigo + " repetido no lote (linha " + (repetido + 1) + ")!");
+            } else if (turmas.contem(codigo)) {
+                resultado.rejeitar(i, codigo, ResultadoLote.Situacao.JA_EXISTE,
+                                   "Turma com código " + codigo + " já existe!");
+            }
+        }
+        
+        if (resultado.temErros()) {
+            resultado.concluir(false, codigos);
+            return resultado;
+        }
+        
+        if (!turmas.adicionarTodos(novas)) {
+            // Outra inserção com um dos códigos venceu a corrida
+            for (int i = 0; i < novas.size(); i++) {
+                if (turmas.contem(codigos.get(i))) {
+                    resultado.rejeitar(i, codigos.get(i), ResultadoLote.Situacao.JA_EXISTE,
+                                       "Turma com código " + codigos.get(i) + " já existe!");
+                }
+            }
+            resultado.concluir(false, codigos);
+            return resultado;
+        }
+        
+        for (Turma turma : novas) {
+            if (!emCarga) {
+                indexarTurma(turma, turma.getCodigo());
+                turma.adicionarObservador(observadorTurma);
+            }
+            notificarAdicionado(turma);
+        }
+        resultado.concluir(true, codigos);
+        return resultado;
+    }
+    
     /**
      * READ - Busca uma turma por código
      * @param codigo - Código da turma
      * @return Objeto Turma se encontrado, null caso contrário
      */
     public Turma buscarPorCodigo(String codigo) {
-        for (Turma turma : turmas) {
-            if (turma.getCodigo().equals(codigo)) {
-                return turma;
-            }
-        }
-        return null;
+        return turmas.buscar(codigo);
     }
     
     /**
      * READ - Retorna todas as turmas
-     * @return Lista de turmas
+     * A lista é somente leitura e compartilhada (não é copiada a cada chamada)
+     * @return Lista imutável de turmas
      */
     public List<Turma> listarTodas() {
-        return new ArrayList<>(turmas); // Retorna uma cópia
+        return turmas.listar();
+    }
+    
+    /**
+     * READ - Retorna uma página de turmas na ordem de cadastro (offset/limite)
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de turmas
+     */
+    public Pagina<String, Turma> listarPagina(int offset, int limite) {
+        return turmas.listarPagina(offset, limite);
+    }
+    
+    /**
+     * READ - Retorna uma página de turmas ordenada por código (cursor)
+     * Páginas profundas custam o mesmo que a primeira
+     * @param ultimoCodigo - Último código da página anterior (null para a primeira)
+     * @param limite - Tamanho da página (máximo Pagina.TAMANHO_MAXIMO)
+     * @return Página de turmas com o cursor da próxima página
+     */
+    public Pagina<String, Turma> listarPaginaApos(String ultimoCodigo, int limite) {
+        return turmas.listarPaginaApos(ultimoCodigo, limite);
+    }
+    
+    /**
+     * READ - Retorna as turmas de um professor usando o índice reverso
+     * (custo proporcional à quantidade de turmas retornadas, ordenadas por código)
+     * @param registro - Registro do professor
+     * @return Lista de turmas do professor (vazia se não houver nenhuma)
+     */
+    public List<Turma> listarPorProfessor(String registro) {
+        return listar(turmasPorProfessor, registro);
+    }
+    
+    /**
+     * READ - Retorna as turmas de um curso usando o índice reverso
+     * (custo proporcional à quantidade de turmas retornadas, ordenadas por código)
+     * @param codigoCurso - Código do curso
+     * @return Lista de turmas do curso (vazia se não houver nenhuma)
+     */
+    public List<Turma> listarPorCurso(String codigoCurso) {
+        return listar(turmasPorCurso, codigoCurso);
+    }
+    
+    /**
+     * READ - Retorna as turmas em que um aluno está matriculado usando o índice
+     * de matrículas (custo proporcional às turmas do aluno, não ao total de matrículas)
+     * @param matricula - Matrícula do aluno
+     * @return Lista de turmas do aluno, ordenadas por código (vazia se não houver nenhuma)
+     */
+    public List<Turma> listarPorAluno(String matricula) {
+        return listar(turmasPorAluno, matricula);
+    }
+    
+    /**
+     * READ - Retorna as turmas que referenciam um aluno: as que ele está matriculado
+     * e as que guardam avaliações dele (mesmo depois de desmatriculado)
+     * Usa os índices de matrículas e de avaliações (custo proporcional às turmas do aluno)
+     * @param matricula - Matrícula do aluno
+     * @return Lista de turmas, ordenadas por código, sem repetição (vazia se não houver nenhuma)
+     */
+    public List<Turma> listarVinculadasAoAluno(String matricula) {
+        Map<String, Turma> vinculadas = new TreeMap<>();
+        Map<String, Turma> matriculadas = matricula == null ? null : turmasPorAluno.get(matricula);
+        Map<String, Turma> avaliadas = matricula == null ? null : turmasAvaliadasPorAluno.get(matricula);
+        if (matriculadas != null) {
+            vinculadas.putAll(matriculadas);
+        }
+        if (avaliadas != null) {
+            vinculadas.putAll(avaliadas);
+        }
+        return new ArrayList<>(vinculadas.values());
+    }
+    
+    /**
+     * Retorna a quantidade de turmas de um aluno sem percorrer as turmas
+     * @param matricula - Matrícula do aluno
+     * @return Número de turmas em que o aluno está matriculado
+     */
+    public int contarPorAluno(String matricula) {
+        Map<String, Turma> doAluno = matricula == null ? null : turmasPorAluno.get(matricula);
+        return doAluno == null ? 0 : doAluno.size();
+    }
+    
+    /**
+     * Retorna a quantidade de turmas de um professor sem percorrer a lista
+     * @param registro - Registro do professor
+     * @return Número de turmas do professor
+     */
+    public int contarPorProfessor(String registro) {
+        Map<String, Turma> doProfessor = registro == null ? null : turmasPorProfessor.get(registro);
+        return doProfessor == null ? 0 : doProfessor.size();
+    }
+    
+    /**
+     * Retorna a quantidade de turmas de um curso sem percorrer a lista
+     * @param codigoCurso - Código do curso
+     * @return Número de turmas do curso
+     */
+    public int contarPorCurso(String codigoCurso) {
+        Map<String, Turma> doCurso = codigoCurso == null ? null : turmasPorCurso.get(codigoCurso);
+        return doCurso == null ? 0 : doCurso.size();
     }
     
     /**
@@ -88,10 +321,71 @@ public class TurmaRepository {
             return false;
         }
         
-        turma.setCodigo(turmaAtualizada.getCodigo());
-        turma.setProfessor(turmaAtualizada.getProfessor());
-        turma.setCurso(turmaAtualizada.getCurso());
-        return true;
+        // Sem versão esperada: usa a versão atual (falha só se outra edição estiver em andamento)
+        return atualizar(codigo, turma.getVersao(), turmaAtualizada) == ResultadoAtualizacao.ATUALIZADO;
+    }
+
+    /**
+     * UPDATE CONDICIONAL - Atualiza uma turma somente se ninguém a alterou
+     * desde a leitura da versão esperada (controle otimista, Fase 8)
+     * Os atributos são aplicados juntos, sem travas: leitores que usam
+     * lerConsistente/copiarAtributos (instantâneos e exportações) nunca veem a
+     * alteração pela metade; o diário e o banco gravam cada atributo alterado
+     * @param codigo - Código da turma a ser atualizada
+     * @param versaoEsperada - Versão lida com getVersao() antes de preparar a alteração
+     * @param turmaAtualizada - Dados atualizados
+     * @return ATUALIZADO, NAO_ENCONTRADO, CONFLITO ou INVALIDO
+     */
+    public ResultadoAtualizacao atualizar(String codigo, long versaoEsperada, Turma turmaAtualizada) {
+        Turma turma = buscarPorCodigo(codigo);
+        
+        if (turma == null) {
+            System.out.println("❌ Erro: Turma com código " + codigo + " não encontrada!");
+            return ResultadoAtualizacao.NAO_ENCONTRADO;
+        }
+        
+        ControleVersao versao = turma.getControleVersao();
+        if (!versao.iniciarEdicao(versaoEsperada)) {
+            System.out.println("❌ Erro: Turma " + codigo + " foi alterada por outro usuário! Recarregue os dados e tente novamente.");
+            return ResultadoAtualizacao.CONFLITO;
+        }
+        
+        boolean alterado = false;
+        try {
+            String novoCodigo = turmaAtualizada.getCodigo();
+            boolean codigoAlterado = !codigo.equals(novoCodigo);
+            
+            // O novo código não pode colidir com outra turma já cadastrada
+            if (codigoAlterado && turmas.contem(novoCodigo)) {
+                System.out.println("❌ Erro: Turma com código " + novoCodigo + " já existe!");
+                return ResultadoAtualizacao.INVALIDO;
+            }
+            
+            alterado = true;
+            turma.setCodigo(novoCodigo);
+            
+            // Reindexa a turma sob o novo código, mantendo sua posição
+            if (codigoAlterado && !turmas.atualizar(codigo, turma)) {
+                // Outra thread ocupou o código entre a verificação e a reindexação
+                turma.setCodigo(codigo);
+                System.out.println("❌ Erro: Turma com código " + novoCodigo + " já existe!");
+                return ResultadoAtualizacao.INVALIDO;
+            }
+            
+            turma.setProfessor(turmaAtualizada.getProfessor());
+            turma.setCurso(turmaAtualizada.getCurso());
+        } finally {
+            if (alterado) {
+                versao.concluirEdicao();
+            } else {
+                versao.cancelarEdicao();
+            }
+        }
+        
+        // Avisa depois de concluir a edição: os observadores leem a entidade com
+        // lerConsistente, que esperaria para sempre por uma versão ímpar
+        notificarAtualizado(turma);
+        return ResultadoAtualizacao.ATUALIZADO;
     }
     
     /**
@@ -107,7 +401,14 @@ public class TurmaRepository {
             return false;
         }
         
-        turmas.remove(turma);
+        // Só quem efetivamente removeu limpa os índices (remoções simultâneas)
+        if (!turmas.remover(codigo)) {
+            System.out.println("❌ Erro: Turma com código " + codigo + " não encontrada!");
+            return false;
+        }
+        turma.removerObservador(observadorTurma);
+        desindexarTurma(turma, turma.getCodigo());
+        notificarRemovido(turma);
         return true;
     }
     
@@ -116,13 +417,221 @@ public class TurmaRepository {
      * @return Número de turmas
      */
     public int contar() {
-        return turmas.size();
+        return turmas.contar();
     }
     
     /**
      * Limpa todas as turmas do repositório
      */
     public void limpar() {
-        turmas.clear();
+        for (Turma turma : turmas.listar()) {
+            turma.removerObservador(observadorTurma);
+        }
+        turmas.limpar();
+        turmasPorProfessor.clear();
+        turmasPorCurso.clear();
+        turmasPorAluno.clear();
+        turmasAvaliadasPorAluno.clear();
+    }
+    
+    // ========== CARGA (FASE 9) ==========
+    
+    /**
+     * Suspende os índices reversos (professor, curso, alunos e avaliações) até concluirCarga
+     * Usado ao restaurar dados gravados: matrículas e avaliações restauradas não
+     * passam pelos índices uma a uma, que são montados uma única vez no final
+     * Só tem efeito com o repositório vazio; até o fim da carga, as consultas pelos
+     * índices não encontram as turmas incluídas
+     * @return true se a carga começou nesta chamada (quem a começou deve concluí-la)
+     */
+    public boolean iniciarCarga() {
+        if (emCarga || turmas.contar() > 0) {
+            return false;
+        }
+        emCarga = true;
+        return true;
+    }
+    
+    /**
+     * Encerra a carga: todas as turmas cadastradas entram nos índices reversos
+     * e passam a ser acompanhadas
+     */
+    public void concluirCarga() {
+        if (!emCarga) {
+            return;
+        }
+        emCarga = false;
+        for (Turma turma : turmas.listar()) {
+            indexarTurma(turma, turma.getCodigo());
+            turma.adicionarObservador(observadorTurma);
+        }
+    }
+    
+    // ========== OBSERVADORES (FASE 9) ==========
+    
+    /**
+     * Registra um observador das inclusões, atualizações e remoções de turmas
+     * @param observador - Observador a ser avisado
+     */
+    public void adicionarObservador(ObservadorRepositorio<Turma> observador) {
+        observadores.add(observador);
+    }
+    
+    /**
+     * Remove um observador previamente registrado
+     * @param observador - Observador a ser removido
+     */
+    public void removerObservador(ObservadorRepositorio<Turma> observador) {
+        observadores.remove(observador);
+    }
+    
+    private void notificarAdicionado(Turma turma) {
+        for (ObservadorRepositorio<Turma> observador : observadores) {
+            observador.adicionado(turma);
+        }
+    }
+    
+    private void notificarAtualizado(Turma turma) {
+        for (ObservadorRepositorio<Turma> observador : observadores) {
+            observador.atualizado(turma);
+        }
+    }
+    
+    private void notificarRemovido(Turma turma) {
+        for (ObservadorRepositorio<Turma> observador : observadores) {
+            observador.removido(turma);
+        }
+    }
+    
+    // ========== ÍNDICES REVERSOS ==========
+    
+    // Obs: o registro do professor, o código do curso e a matrícula do aluno são tratados
+    // como imutáveis (são as chaves primárias dos respectivos repositórios)
+    
+    private void indexarTurma(Turma turma, String codigo) {
+        indexar(turmasPorProfessor, registroDe(turma.getProfessor()), codigo, turma);
+        indexar(turmasPorCurso, codigoDe(turma.getCurso()), codigo, turma);
+        for (Aluno aluno : turma.getListaAlunos()) {
+            indexarAluno(turmasPorAluno, aluno.getMatricula(), codigo, turma);
+        }
+        for (String matricula : turma.listarMatriculasAvaliadas()) {
+            indexarAluno(turmasAvaliadasPorAluno, matricula, codigo, turma);
+        }
+    }
+    
+    private void desindexarTurma(Turma turma, String codigo) {
+        desindexar(turmasPorProfessor, registroDe(turma.getProfessor()), codigo, turma);
+        desindexar(turmasPorCurso, codigoDe(turma.getCurso()), codigo, turma);
+        for (Aluno aluno : turma.getListaAlunos()) {
+            desindexarAluno(turmasPorAluno, aluno.getMatricula(), codigo, turma);
+        }
+        for (String matricula : turma.listarMatriculasAvaliadas()) {
+            desindexarAluno(turmasAvaliadasPorAluno, matricula, codigo, turma);
+        }
+    }
+    
+    // A turma fica no grupo do aluno enquanto tiver avaliações dele; a contagem é lida
+    // dentro do compute, então avisos fora de ordem terminam no estado atual da turma
+    private void reindexarAvaliacoes(Turma turma, String matricula, String codigo) {
+        if (matricula == null || codigo == null) {
+            return;
+        }
+        turmasAvaliadasPorAluno.compute(matricula, (m, grupo) -> {
+            if (turma.contarAvaliacoesAluno(m) > 0) {
+                return comTurma(grupo, codigo, turma);
+            }
+            return grupo == null ? null : semTurma(grupo, codigo, turma);
+        });
+    }
+    
+    // compute/computeIfPresent tornam atômica a criação e a remoção do grupo
+    
+    private static void indexar(ConcurrentMap<String, Map<String, Turma>> indice, String chave,
+                                String codigo, Turma turma) {
+        if (chave == null || codigo == null) {
+            return;
+        }
+        indice.compute(chave, (c, grupo) -> {
+            Map<String, Turma> turmasDoGrupo = grupo != null ? grupo : new ConcurrentSkipListMap<>();
+            turmasDoGrupo.put(codigo, turma);
+            return turmasDoGrupo;
+        });
+    }
+    
+    private static void desindexar(ConcurrentMap<String, Map<String, Turma>> indice, String chave,
+                                   String codigo, Turma turma) {
+        if (chave == null || codigo == null) {
+            return;
+        }
+        indice.computeIfPresent(chave, (c, grupo) -> {
+            grupo.remove(codigo, turma);
+            return grupo.isEmpty() ? null : grupo;
+        });
+    }
+    
+    // Um aluno está em poucas turmas, e há um grupo por aluno em cada índice: em vez de
+    // um ConcurrentSkipListMap por grupo, cada alteração publica um mapa imutável novo
+    // (um singletonMap no caso comum). Leitores sempre recebem uma versão inteira
+    
+    private static void indexarAluno(ConcurrentMap<String, Map<String, Turma>> indice, String matricula,
+                                     String codigo, Turma turma) {
+        if (matricula == null || codigo == null) {
+            return;
+        }
+        indice.compute(matricula, (m, grupo) -> comTurma(grupo, codigo, turma));
+    }
+    
+    private static void desindexarAluno(ConcurrentMap<String, Map<String, Turma>> indice, String matricula,
+                                        String codigo, Turma turma) {
+        if (matricula == null || codigo == null) {
+            return;
+        }
+        indice.computeIfPresent(matricula, (m, grupo) -> semTurma(grupo, codigo, turma));
+    }
+    
+    private static Map<String, Turma> comTurma(Map<String, Turma> grupo, String codigo, Turma turma) {
+        if (grupo == null || (grupo.size() == 1 && grupo.containsKey(codigo))) {
+            return Collections.singletonMap(codigo, turma);
+        }
+        TreeMap<String, Turma> novo = new TreeMap<>(grupo);
+        novo.put(codigo, turma);
+        return Collections.unmodifiableSortedMap(novo);
+    }
+    
+    // null quando o grupo fica vazio (o compute retira a chave)
+    private static Map<String, Turma> semTurma(Map<String, Turma> grupo, String codigo, Turma turma) {
+        if (!turma.equals(grupo.get(codigo))) {
+            return grupo;
+        }
+        if (grupo.size() == 1) {
+            return null;
+        }
+        TreeMap<String, Turma> novo = new TreeMap<>(grupo);
+        novo.remove(codigo);
+        if (novo.size() == 1) {
+            Map.Entry<String, Turma> restante = novo.firstEntry();
+            return Collections.singletonMap(restante.getKey(), restante.getValue());
+        }
+        return Collections.unmodifiableSortedMap(novo);
+    }
+    
+    private static List<Turma> listar(ConcurrentMap<String, Map<String, Turma>> indice, String chave) {
+        Map<String, Turma> grupo = chave == null ? null : indice.get(chave);
+        if (grupo == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(grupo.values());
+    }
+    
+    private static String matriculaDe(Aluno aluno) {
+        return aluno == null ? null : aluno.getMatricula();
+    }
+    
+    private static String registroDe(Professor professor) {
+        return professor == null ? null : professor.getRegistro();
+    }
+    
+    private static String codigoDe(Curso curso) {
+        return curso == null ? null : curso.getCodigo();
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,12 @@
 package service;
 
 import model.Aluno;
+import model.Turma;
+import repository.Candidato;
+import repository.Pagina;
+import repository.ResultadoLote;
 import repository.AlunoRepository;
+import repository.TurmaRepository;
 import java.util.List;
 
 /**
@@ -20,12 +25,29 @@ public class AlunoService {
     // Dependência do Repository
     private AlunoRepository alunoRepository;
     
+    // Turmas que referenciam alunos (null = remoção sem verificar turmas)
+    private TurmaRepository turmaRepository;
+    private PoliticaRemocao politicaRemocao;
+    
     /**
      * Construtor do AlunoService
      * @param alunoRepository - Repositório de alunos
      */
     public AlunoService(AlunoRepository alunoRepository) {
+        this(alunoRepository, null, PoliticaRemocao.CASCATA);
+    }
+    
+    /**
+     * Construtor do AlunoService com integridade referencial nas turmas
+     * @param alunoRepository - Repositório de alunos
+     * @param turmaRepository - Repositório de turmas (índice de matrículas)
+     * @param politicaRemocao - O que fazer com matrículas e avaliações do aluno removido
+     */
+    public AlunoService(AlunoRepository alunoRepository, TurmaRepository turmaRepository,
+                        PoliticaRemocao politicaRemocao) {
         this.alunoRepository = alunoRepository;
+        this.turmaRepository = turmaRepository;
+        this.politicaRemocao = politicaRemocao;
     }
     
     // ========== MÉTODOS DE NEGÓCIO ==========
@@ -58,6 +80,35 @@ public class AlunoService {
         return resultado;
     }
     
+    /**
+     * Cadastra vários alunos de uma vez (ex: ingresso do semestre)
+     * Valida o lote inteiro, detecta matrículas e logins repetidos no lote e no
+     * sistema em uma única passada e cadastra TUDO OU NADA
+     * Consultas simultâneas podem ver o lote aparecendo aos poucos, e um cadastro
+     * simultâneo pode ser recusado por um login reservado por um lote que acaba
+     * rejeitado (ver Repository.adicionarTodos)
+     * Não imprime uma linha por aluno: o resultado informa a situação de cada um
+     * @param alunos - Alunos a cadastrar
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote cadastrarAlunosEmLote(List<Aluno> alunos) {
+        ResultadoLote resultado = new ResultadoLote(alunos.size());
+        
+        for (int i = 0; i < alunos.size(); i++) {
+            Aluno aluno = alunos.get(i);
+            if (aluno == null) {
+                continue; // O repository rejeita linhas nulas
+            }
+            String erro = verificarDados(aluno.getNome(), aluno.getLogin(), aluno.getSenha(),
+                                         aluno.getMatricula(), aluno.getCurso());
+            if (erro != null) {
+                resultado.rejeitar(i, aluno.getMatricula(), ResultadoLote.Situacao.INVALIDO, erro);
+            }
+        }
+        
+        return alunoRepository.adicionarTodos(alunos, resultado);
+    }
+    
     /**
      * Busca um aluno por matrícula
      * @param matricula - Matrícula do aluno
@@ -67,6 +118,26 @@ public class AlunoService {
         return alunoRepository.buscarPorMatricula(matricula);
     }
     
+    /**
+     * Busca alunos pelo início do nome (autocompletar)
+     * @param prefixo - Início do nome
+     * @param limite - Quantidade máxima de resultados
+     * @return Alunos em ordem alfabética de nome
+     */
+    public List<Aluno> buscarPorPrefixoNome(String prefixo, int limite) {
+        return alunoRepository.buscarPorPrefixoNome(prefixo, limite);
+    }
+    
+    /**
+     * Busca alunos com nome parecido (sem diferenciar acentos, tolera erros de digitação)
+     * @param termo - Nome digitado
+     * @param limite - Quantidade máxima de resultados
+     * @return Candidatos com a similaridade, do mais parecido para o menos parecido
+     */
+    public List<Candidato<Aluno>> buscarPorNomeAproximado(String termo, int limite) {
+        return alunoRepository.buscarPorNomeAproximado(termo, limite);
+    }
+    
     /**
      * Lista todos os alunos
      * @return Lista de alunos
@@ -75,6 +146,44 @@ public class AlunoService {
         return alunoRepository.listarTodos();
     }
     
+    /**
+     * Lista uma página de alunos na ordem de cadastro
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página
+     * @return Página de alunos
+     */
+    public Pagina<String, Aluno> listarPagina(int offset, int limite) {
+        return alunoRepository.listarPagina(offset, limite);
+    }
+    
+    /**
+     * Lista uma página de alunos ordenada por matrícula, a partir de um cursor
+     * @param ultimaMatricula - Cursor devolvido pela página anterior (null para a primeira)
+     * @param limite - Tamanho da página
+     * @return Página de alunos
+     */
+    public Pagina<String, Aluno> listarPaginaApos(String ultimaMatricula, int limite) {
+        return alunoRepository.listarPaginaApos(ultimaMatricula, limite);
+    }
+    
+    /**
+     * Lista os alunos de um curso
+     * @param curso - Nome do curso
+     * @return Lista de alunos do curso
+     */
+    public List<Aluno> listarPorCurso(String curso) {
+        return alunoRepository.listarPorCurso(curso);
+    }
+    
+    /**
+     * Retorna a quantidade de alunos de um curso
+     * @param curso - Nome do curso
+     * @return Número de alunos do curso
+     */
+    public int contarPorCurso(String curso) {
+        return alunoRepository.contarPorCurso(curso);
+    }
+    
     /**
      * Remove um aluno
      * @param matricula - Matrícula do aluno a remover
@@ -88,10 +197,27 @@ public class AlunoService {
             return false;
         }
         
+        // Índices de matrículas e de avaliações: só as turmas que referenciam o aluno são
+        // consultadas, inclusive as que ele já deixou mas que guardam avaliações dele
+        List<Turma> turmas = turmaRepository == null ? List.of() : turmaRepository.listarVinculadasAoAluno(matricula);
+        if (politicaRemocao == PoliticaRemocao.RESTRINGIR && !turmas.isEmpty()) {
+            System.out.println("❌ Aluno " + aluno.getNome() + " está matriculado ou tem avaliações em " + turmas.size()
+                             + " turma(s)! Remova as matrículas e avaliações antes.");
+            return false;
+        }
+        
         boolean resultado = alunoRepository.remover(matricula);
         
         if (resultado) {
+            int avaliacoes = 0;
+            for (Turma turma : turmas) {
+                avaliacoes += turma.desvincularAluno(matricula);
+            }
             System.out.println("✓ Aluno " + aluno.getNome() + " removido com sucesso!");
+            if (!turmas.isEmpty()) {
+                System.out.println("✓ Removido também de " + turmas.size() + " turma(s) e "
+                                 + avaliacoes + " avaliação(ões)");
+            }
         }
         
         return resultado;
@@ -131,34 +257,43 @@ public class AlunoService {
     
     /**
      * Valida os dados do aluno
+     * Imprime o erro encontrado (cadastro individual)
      * @return true se válido, false caso contrário
      */
     private boolean validarDados(String nome, String login, String senha, String matricula, String curso) {
-        if (nome == null || nome.trim().isEmpty()) {
-            System.out.println("❌ Nome não pode estar vazio!");
+        String erro = verificarDados(nome, login, senha, matricula, curso);
+        if (erro != null) {
+            System.out.println("❌ " + erro);
             return false;
         }
+        return true;
+    }
+    
+    /**
+     * Verifica os dados sem imprimir nada (usado também no cadastro em lote)
+     * @return Mensagem do primeiro erro encontrado, ou null se válido
+     */
+    private String verificarDados(String nome, String login, String senha, String matricula, String curso) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return "Nome não pode estar vazio!";
+        }
         
         if (login == null || login.trim().isEmpty()) {
-            System.out.println("❌ Login não pode estar vazio!");
-            return false;
+            return "Login não pode estar vazio!";
         }
         
         if (senha == null || senha.trim().isEmpty()) {
-            System.out.println("❌ Senha não pode estar vazia!");
-            return false;
+            return "Senha não pode estar vazia!";
         }
         
         if (matricula == null || matricula.trim().isEmpty()) {
-            System.out.println("❌ Matrícula não pode estar vazia!");
-            return false;
+            return "Matrícula não pode estar vazia!";
         }
         
         if (curso == null || curso.trim().isEmpty()) {
-            System.out.println("❌ Curso não pode estar vazio!");
-            return false;
+            return "Curso não pode estar vazio!";
         }
         
-        return true;
+        return null;
     }
 }
\ No newline at end of file
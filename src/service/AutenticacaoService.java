@@ -0,0 +1,95 @@
+package service;
+
+import model.Administrador;
+import model.Usuario;
+import repository.DiretorioLogin;
+
+/**
+ * Classe AutenticacaoService
+ * Camada SERVICE - Ponto único de autenticação para todos os perfis
+ * RESPONSABILIDADES:
+ * - Resolver o login para o usuário correto (Aluno, Professor ou Administrador)
+ * - Validar a senha usando a regra de cada perfil (Autenticavel)
+ * - Registrar administradores no diretório de logins
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class AutenticacaoService {
+
+    // Dependência do diretório de logins
+    private DiretorioLogin diretorioLogin;
+
+    /**
+     * Construtor do AutenticacaoService
+     * @param diretorioLogin - Diretório compartilhado com os repositórios
+     */
+    public AutenticacaoService(DiretorioLogin diretorioLogin) {
+        this.diretorioLogin = diretorioLogin;
+    }
+
+    // ========== MÉTODOS DE NEGÓCIO ==========
+
+    /**
+     * Autentica um usuário de qualquer perfil apenas com login e senha
+     * O usuário é encontrado em tempo constante pelo diretório de logins
+     * @param login - Login informado
+     * @param senha - Senha informada
+     * @return Usuário autenticado (use obterPerfil() para saber o perfil), ou null
+     */
+    public Usuario autenticar(String login, String senha) {
+        if (login == null || login.trim().isEmpty()) {
+            System.out.println("❌ Login não pode estar vazio!");
+            return null;
+        }
+
+        Usuario usuario = diretorioLogin.buscarPorLogin(login);
+
+        if (usuario == null) {
+            System.out.println("❌ Usuário não encontrado!");
+            return null;
+        }
+
+        // Cada perfil aplica a sua própria regra de autenticação
+        return usuario.autenticar(login, senha) ? usuario : null;
+    }
+
+    /**
+     * Retorna o perfil do usuário dono de um login
+     * @param login - Login do usuário
+     * @return Perfil (ALUNO, PROFESSOR, ADMINISTRADOR) ou null se não existir
+     */
+    public String obterPerfil(String login) {
+        Usuario usuario = diretorioLogin.buscarPorLogin(login);
+        return usuario == null ? null : usuario.obterPerfil();
+    }
+
+    /**
+     * Registra um administrador no diretório de logins
+     * @param administrador - Administrador a ser registrado
+     * @return true se registrado com sucesso, false caso contrário
+     */
+    public boolean registrarAdministrador(Administrador administrador) {
+        if (administrador == null) {
+            System.out.println("❌ Administrador não pode ser nulo!");
+            return false;
+        }
+
+        boolean resultado = diretorioLogin.registrar(administrador);
+
+        if (resultado) {
+            System.out.println("✓ Administrador " + administrador.getNome() + " registrado com sucesso!");
+        } else {
+            System.out.println("❌ Erro: Login " + administrador.getLogin() + " já está em uso!");
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Retorna a quantidade de logins registrados em todos os perfis
+     * @return Número de logins
+     */
+    public int contarLogins() {
+        return diretorioLogin.contar();
+    }
+}
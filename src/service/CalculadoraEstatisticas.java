@@ -0,0 +1,217 @@
+package service;
+
+import model.Turma;
+import java.util.Arrays;
+
+/**
+ * Classe CalculadoraEstatisticas
+ * Calcula estatísticas de notas sobre um buffer de double, sem objetos intermediários
+ *
+ * USO:
+ * - adicionarNotas(turma) / adicionar(nota) copiam as notas para o buffer
+ * - calcular() faz uma única passada para média, desvio padrão, mínimo e máximo
+ *   e acha os percentis por seleção (quickselect), sem ordenar o buffer inteiro
+ * - limpar() esvazia o buffer para reaproveitá-lo em outro grupo
+ *
+ * A seleção reordena as notas do buffer; a calculadora não é segura para
+ * uso simultâneo por várias threads (cada cálculo usa a sua)
+ *
+ * (Fase 6: Relatórios e Estatísticas)
+ */
+public class CalculadoraEstatisticas {
+
+    // Percentis calculados quando nenhum é pedido
+    private static final double[] PERCENTIS_PADRAO = {25, 50, 75, 90};
+
+    private double[] notas;
+    private int quantidade;
+
+    /**
+     * Construtor da CalculadoraEstatisticas
+     */
+    public CalculadoraEstatisticas() {
+        this(64);
+    }
+
+    /**
+     * Construtor da CalculadoraEstatisticas
+     * @param capacidadeInicial - Quantidade de notas esperada (o buffer cresce se preciso)
+     */
+    public CalculadoraEstatisticas(int capacidadeInicial) {
+        this.notas = new double[Math.max(capacidadeInicial, 1)];
+    }
+
+    // ========== COLETA ==========
+
+    /**
+     * Adiciona uma nota ao buffer
+     * @param nota - Nota
+     */
+    public void adicionar(double nota) {
+        if (quantidade == notas.length) {
+            notas = Arrays.copyOf(notas, quantidade * 2);
+        }
+        notas[quantidade++] = nota;
+    }
+
+    /**
+     * Adiciona ao buffer as notas de todas as avaliações de uma turma
+     * @param turma - Turma
+     */
+    public void adicionarNotas(Turma turma) {
+        // Cópia direta da coluna de notas da turma, sem passar por objetos Avaliacao
+        double[] daTurma = turma.copiarNotas();
+        garantirCapacidade(quantidade + daTurma.length);
+        System.arraycopy(daTurma, 0, notas, quantidade, daTurma.length);
+        quantidade += daTurma.length;
+    }
+
+    /**
+     * Retorna a quantidade de notas no buffer
+     * @return Número de notas
+     */
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Esvazia o buffer (a capacidade é mantida)
+     */
+    public void limpar() {
+        quantidade = 0;
+    }
+
+    // ========== CÁLCULO ==========
+
+    /**
+     * Calcula as estatísticas com os percentis padrão (25, 50, 75 e 90)
+     * @return Estatísticas das notas do buffer
+     */
+    public EstatisticasNotas calcular() {
+        return calcular(PERCENTIS_PADRAO);
+    }
+
+    /**
+     * Calcula as estatísticas das notas do buffer
+     * A mediana (percentil 50) é sempre calculada, mesmo se não for pedida
+     * @param percentis - Percentis desejados, de 0 a 100
+     * @return Estatísticas das notas do buffer
+     * @throws IllegalArgumentException se algum percentil estiver fora de 0 a 100
+     */
+    public EstatisticasNotas calcular(double... percentis) {
+        double[] pedidos = normalizarPercentis(percentis);
+        double[] valores = new double[pedidos.length];
+        if (quantidade == 0) {
+            return new EstatisticasNotas(0, 0.0, 0.0, 0.0, 0.0, pedidos, valores);
+        }
+
+        // Uma passada: média e variância pelo método de Welford (estável, sem somar
+        // os quadrados), mínimo e máximo
+        double media = 0.0;
+        double somaQuadrados = 0.0;
+        double minimo = notas[0];
+        double maximo = notas[0];
+        for (int i = 0; i < quantidade; i++) {
+            double nota = notas[i];
+            double desvio = nota - media;
+            media += desvio / (i + 1);
+            somaQuadrados += desvio * (nota - media);
+            if (nota < minimo) {
+                minimo = nota;
+            } else if (nota > maximo) {
+                maximo = nota;
+            }
+        }
+        double desvioPadrao = Math.sqrt(somaQuadrados / quantidade);
+
+        // Percentis em ordem crescente: cada seleção deixa à direita só notas maiores
+        // ou iguais, então a próxima procura apenas dali em diante
+        int inicio = 0;
+        for (int p = 0; p < pedidos.length; p++) {
+            double posicao = (quantidade - 1) * pedidos[p] / 100.0;
+            int abaixo = (int) posicao;
+            double fracao = posicao - abaixo;
+            double valor = selecionar(abaixo, inicio);
+            if (fracao > 0) {
+                double acima = selecionar(abaixo + 1, abaixo + 1);
+                valor += fracao * (acima - valor);
+            }
+            valores[p] = valor;
+            inicio = abaixo;
+        }
+
+        return new EstatisticasNotas(quantidade, media, desvioPadrao, minimo, maximo, pedidos, valores);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void garantirCapacidade(int capacidade) {
+        if (capacidade > notas.length) {
+            notas = Arrays.copyOf(notas, Math.max(capacidade, notas.length * 2));
+        }
+    }
+
+    // Percentis validados, em ordem crescente, sem repetição e com a mediana
+    private static double[] normalizarPercentis(double[] percentis) {
+        double[] pedidos = Arrays.copyOf(percentis, percentis.length + 1);
+        pedidos[percentis.length] = 50;
+        for (double percentil : pedidos) {
+            if (!(percentil >= 0 && percentil <= 100)) {
+                throw new IllegalArgumentException("Percentil deve estar entre 0 e 100: " + percentil);
+            }
+        }
+        Arrays.sort(pedidos);
+        int unicos = 0;
+        for (int i = 0; i < pedidos.length; i++) {
+            if (i == 0 || pedidos[i] != pedidos[unicos - 1]) {
+                pedidos[unicos++] = pedidos[i];
+            }
+        }
+        return Arrays.copyOf(pedidos, unicos);
+    }
+
+    /**
+     * Quickselect: deixa na posição k a nota que estaria lá com o buffer ordenado,
+     * as menores ou iguais antes e as maiores ou iguais depois. O(n) em média
+     * A partição é em três faixas (menores, iguais, maiores) porque as notas
+     * se repetem muito (0 a 10, em geral com uma casa decimal)
+     */
+    private double selecionar(int k, int inicio) {
+        double[] a = notas;
+        int esquerda = inicio;
+        int direita = quantidade - 1;
+        while (esquerda < direita) {
+            double pivo = medianaDeTres(a[esquerda], a[(esquerda + direita) >>> 1], a[direita]);
+            int menores = esquerda;
+            int i = esquerda;
+            int maiores = direita;
+            while (i <= maiores) {
+                double nota = a[i];
+                if (nota < pivo) {
+                    a[i++] = a[menores];
+                    a[menores++] = nota;
+                } else if (nota > pivo) {
+                    a[i] = a[maiores];
+                    a[maiores--] = nota;
+                } else {
+                    i++;
+                }
+            }
+            if (k < menores) {
+                direita = menores - 1;
+            } else if (k > maiores) {
+                esquerda = maiores + 1;
+            } else {
+                return pivo;
+            }
+        }
+        return a[k];
+    }
+
+    private static double medianaDeTres(double a, double b, double c) {
+        if (a < b) {
+            return b < c ? b : Math.max(a, c);
+        }
+        return a < c ? a : Math.max(b, c);
+    }
+}
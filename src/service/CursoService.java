@@ -1,9 +1,13 @@
 package service;
 
 import model.Curso;
+import model.Turma;
 import model.CursoPresencial;
 import model.CursoEAD;
+import repository.Pagina;
+import repository.ResultadoLote;
 import repository.CursoRepository;
+import repository.TurmaRepository;
 import java.util.List;
 
 /**
@@ -23,12 +27,29 @@ public class CursoService {
     // Dependência do Repository
     private CursoRepository cursoRepository;
     
+    // Turmas que referenciam cursos (null = remoção sem verificar turmas)
+    private TurmaRepository turmaRepository;
+    private PoliticaRemocao politicaRemocao;
+    
     /**
      * Construtor do CursoService
      * @param cursoRepository - Repositório de cursos
      */
     public CursoService(CursoRepository cursoRepository) {
+        this(cursoRepository, null, PoliticaRemocao.RESTRINGIR);
+    }
+    
+    /**
+     * Construtor do CursoService com integridade referencial nas turmas
+     * @param cursoRepository - Repositório de cursos
+     * @param turmaRepository - Repositório de turmas (índice reverso)
+     * @param politicaRemocao - RESTRINGIR recusa a remoção se houver turmas; CASCATA remove as turmas
+     */
+    public CursoService(CursoRepository cursoRepository, TurmaRepository turmaRepository,
+                        PoliticaRemocao politicaRemocao) {
         this.cursoRepository = cursoRepository;
+        this.turmaRepository = turmaRepository;
+        this.politicaRemocao = politicaRemocao;
     }
     
     // ========== MÉTODOS DE NEGÓCIO ==========
@@ -89,6 +110,32 @@ public class CursoService {
         return resultado;
     }
     
+    /**
+     * Cadastra vários cursos (presenciais e EAD) de uma vez
+     * Valida o lote inteiro, detecta códigos repetidos no lote e no sistema
+     * em uma única passada e cadastra TUDO OU NADA
+     * Consultas simultâneas podem ver o lote aparecendo aos poucos (ver Repository.adicionarTodos)
+     * Não imprime uma linha por curso: o resultado informa a situação de cada um
+     * @param cursos - Cursos a cadastrar
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote cadastrarCursosEmLote(List<Curso> cursos) {
+        ResultadoLote resultado = new ResultadoLote(cursos.size());
+        
+        for (int i = 0; i < cursos.size(); i++) {
+            Curso curso = cursos.get(i);
+            if (curso == null) {
+                continue; // O repository rejeita linhas nulas
+            }
+            String erro = verificarCurso(curso);
+            if (erro != null) {
+                resultado.rejeitar(i, curso.getCodigo(), ResultadoLote.Situacao.INVALIDO, erro);
+            }
+        }
+        
+        return cursoRepository.adicionarTodos(cursos, resultado);
+    }
+    
     /**
      * Busca um curso por código
      * @param codigo - Código do curso
@@ -106,6 +153,26 @@ public class CursoService {
         return cursoRepository.listarTodos();
     }
     
+    /**
+     * Lista uma página de cursos na ordem de cadastro
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página
+     * @return Página de cursos
+     */
+    public Pagina<String, Curso> listarPagina(int offset, int limite) {
+        return cursoRepository.listarPagina(offset, limite);
+    }
+    
+    /**
+     * Lista uma página de cursos ordenada por código, a partir de um cursor
+     * @param ultimoCodigo - Cursor devolvido pela página anterior (null para a primeira)
+     * @param limite - Tamanho da página
+     * @return Página de cursos
+     */
+    public Pagina<String, Curso> listarPaginaApos(String ultimoCodigo, int limite) {
+        return cursoRepository.listarPaginaApos(ultimoCodigo, limite);
+    }
+    
     /**
      * Remove um curso
      * @param codigo - Código do curso a remover
@@ -119,10 +186,25 @@ public class CursoService {
             return false;
         }
         
+        // Índice reverso: só as turmas que referenciam o curso são consultadas
+        List<Turma> turmas = turmaRepository == null ? List.of() : turmaRepository.listarPorCurso(codigo);
+        if (politicaRemocao == PoliticaRemocao.RESTRINGIR && !turmas.isEmpty()) {
+            System.out.println("❌ Curso " + curso.getNome() + " é oferecido em " + turmas.size()
+                             + " turma(s)! Remova ou reatribua as turmas antes.");
+            return false;
+        }
+        
         boolean resultado = cursoRepository.remover(codigo);
         
         if (resultado) {
+            // Turmas sem curso não são válidas: saem junto com ele
+            for (Turma turma : turmas) {
+                turmaRepository.remover(turma.getCodigo());
+            }
             System.out.println("✓ Curso " + curso.getNome() + " removido com sucesso!");
+            if (!turmas.isEmpty()) {
+                System.out.println("✓ " + turmas.size() + " turma(s) removida(s) em cascata");
+            }
         }
         
         return resultado;
@@ -172,24 +254,60 @@ public class CursoService {
     
     /**
      * Valida os dados do curso
+     * Imprime o erro encontrado (cadastro individual)
      * @return true se válido, false caso contrário
      */
     private boolean validarDados(String nome, String codigo, double cargaHoraria) {
-        if (nome == null || nome.trim().isEmpty()) {
-            System.out.println("❌ Nome do curso não pode estar vazio!");
+        String erro = verificarDados(nome, codigo, cargaHoraria);
+        if (erro != null) {
+            System.out.println("❌ " + erro);
             return false;
         }
+        return true;
+    }
+    
+    /**
+     * Verifica os dados sem imprimir nada (usado também no cadastro em lote)
+     * @return Mensagem do primeiro erro encontrado, ou null se válido
+     */
+    private String verificarDados(String nome, String codigo, double cargaHoraria) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return "Nome do curso não pode estar vazio!";
+        }
         
         if (codigo == null || codigo.trim().isEmpty()) {
-            System.out.println("❌ Código do curso não pode estar vazio!");
-            return false;
+            return "Código do curso não pode estar vazio!";
         }
         
         if (cargaHoraria <= 0) {
-            System.out.println("❌ Carga horária deve ser maior que 0!");
-            return false;
+            return "Carga horária deve ser maior que 0!";
         }
         
-        return true;
+        return null;
+    }
+    
+    /**
+     * Verifica os dados do curso, incluindo os atributos do tipo (presencial ou EAD)
+     * @return Mensagem do primeiro erro encontrado, ou null se válido
+     */
+    private String verificarCurso(Curso curso) {
+        String erro = verificarDados(curso.getNome(), curso.getCodigo(), curso.getCargaHoraria());
+        if (erro != null) {
+            return erro;
+        }
+        
+        if (curso instanceof CursoPresencial) {
+            String sala = ((CursoPresencial) curso).getSalaDeAula();
+            if (sala == null || sala.trim().isEmpty()) {
+                return "Sala de aula não pode estar vazia!";
+            }
+        } else if (curso instanceof CursoEAD) {
+            String plataforma = ((CursoEAD) curso).getPlataformaVirtual();
+            if (plataforma == null || plataforma.trim().isEmpty()) {
+                return "Plataforma virtual não pode estar vazia!";
+            }
+        }
+        
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * Classe EstatisticasNotas
+ * Resultado de um cálculo de estatísticas de notas: média, desvio padrão,
+ * mínimo, máximo, mediana e os percentis pedidos
+ *
+ * Imutável; sem notas, todos os valores são 0.0 (como as médias da Turma)
+ *
+ * (Fase 6: Relatórios e Estatísticas)
+ */
+public class EstatisticasNotas {
+
+    private final int quantidade;
+    private final double media;
+    private final double desvioPadrao;
+    private final double minimo;
+    private final double maximo;
+
+    // Percentis calculados (0 a 100, em ordem crescente e sem repetição) e seus valores
+    private final double[] percentis;
+    private final double[] valores;
+
+    EstatisticasNotas(int quantidade, double media, double desvioPadrao, double minimo, double maximo,
+                      double[] percentis, double[] valores) {
+        this.quantidade = quantidade;
+        this.media = media;
+        this.desvioPadrao = desvioPadrao;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.percentis = percentis;
+        this.valores = valores;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Retorna a quantidade de notas consideradas
+     * @return Número de notas
+     */
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    /**
+     * Retorna o desvio padrão populacional (todas as notas do grupo, não uma amostra)
+     * @return Desvio padrão
+     */
+    public double getDesvioPadrao() {
+        return desvioPadrao;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    public double getMediana() {
+        return getPercentil(50);
+    }
+
+    /**
+     * Retorna um dos percentis calculados (interpolação linear entre as notas vizinhas)
+     * @param percentil - Percentil de 0 a 100 (ex: 90)
+     * @return Valor do percentil
+     * @throws IllegalArgumentException se o percentil não foi pedido no cálculo
+     */
+    public double getPercentil(double percentil) {
+        int posicao = Arrays.binarySearch(percentis, percentil);
+        if (posicao < 0) {
+            throw new IllegalArgumentException("Percentil não calculado: " + percentil);
+        }
+        return valores[posicao];
+    }
+
+    /**
+     * Retorna os percentis calculados, em ordem crescente
+     * @return Cópia da lista de percentis (0 a 100)
+     */
+    public double[] getPercentis() {
+        return percentis.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticasNotas{" +
+                "quantidade=" + quantidade +
+                ", media=" + media +
+                ", desvioPadrao=" + desvioPadrao +
+                ", minimo=" + minimo +
+                ", mediana=" + getMediana() +
+                ", maximo=" + maximo +
+                '}';
+    }
+}
@@ -0,0 +1,411 @@
+package service;
+
+import model.Aluno;
+import model.Avaliacao;
+import model.Curso;
+import model.CursoEAD;
+import model.CursoPresencial;
+import model.Professor;
+import model.Turma;
+import persistencia.EscritorCsv;
+import persistencia.EscritorJson;
+import repository.Pagina;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Classe ExportadorRelatorios
+ * Exporta alunos, professores, cursos e turmas (com alunos e notas) para
+ * arquivos CSV ou JSON que outros sistemas conseguem ler
+ *
+ * CONTEÚDO:
+ * - Alunos:      matricula, nome, login, curso
+ * - Professores: registro, nome, login, especialidade
+ * - Cursos:      tipo, nome, codigo, cargaHoraria, local (mesmas colunas da importação)
+ * - Turmas:      uma linha por avaliação de cada aluno matriculado
+ *                (alunos sem avaliação aparecem uma vez, sem nota); no JSON,
+ *                cada turma traz a lista de alunos com suas avaliações
+ * Senhas nunca são exportadas
+ *
+ * DESEMPENHO:
+ * - Os registros são lidos página a página (cursor por chave) e escritos direto no
+ *   arquivo: a memória usada não depende da quantidade de registros
+ * - A escrita passa por um buffer grande; arquivos terminados em ".gz" são compactados
+ *
+ * (Fase 9: Persistência)
+ */
+public class ExportadorRelatorios {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private static final String[] COLUNAS_ALUNO = {"matricula", "nome", "login", "curso"};
+    private static final String[] COLUNAS_PROFESSOR = {"registro", "nome", "login", "especialidade"};
+    private static final String[] COLUNAS_CURSO = {"tipo", "nome", "codigo", "cargaHoraria", "local"};
+    private static final String[] COLUNAS_TURMA = {"turma", "curso", "professor", "matricula", "aluno",
+                                                   "avaliacao", "nota"};
+
+    // Escreve um registro do repositório no formato escolhido
+    @FunctionalInterface
+    private interface Escrita<T> {
+        void escrever(T item) throws IOException;
+    }
+
+    // Conteúdo exportado para um destino já aberto
+    @FunctionalInterface
+    private interface Exportacao {
+        long exportar(Writer saida) throws IOException;
+    }
+
+    // Campos de um registro plano: no CSV viram colunas, no JSON campos do objeto
+    private interface Registro {
+        void campo(String nome, String valor) throws IOException;
+
+        void campo(String nome, double valor) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Campos<T> {
+        void escrever(T item, Registro registro) throws IOException;
+    }
+
+    private final AlunoService alunoService;
+    private final ProfessorService professorService;
+    private final CursoService cursoService;
+    private final TurmaService turmaService;
+
+    /**
+     * Construtor do ExportadorRelatorios
+     * @param alunoService - Service de alunos
+     * @param professorService - Service de professores
+     * @param cursoService - Service de cursos
+     * @param turmaService - Service de turmas
+     */
+    public ExportadorRelatorios(AlunoService alunoService, ProfessorService professorService,
+                                CursoService cursoService, TurmaService turmaService) {
+        this.alunoService = alunoService;
+        this.professorService = professorService;
+        this.cursoService = cursoService;
+        this.turmaService = turmaService;
+    }
+
+    // ========== EXPORTAÇÃO PARA ARQUIVO ==========
+
+    /**
+     * Exporta todos os alunos
+     * @param arquivo - Arquivo de destino (compactado se terminar em ".gz")
+     * @param formato - CSV ou JSON
+     * @return Quantidade de alunos exportados
+     * @throws IOException se o arquivo não puder ser gravado (o arquivo incompleto é apagado)
+     */
+    public long exportarAlunos(Path arquivo, FormatoExportacao formato) throws IOException {
+        return exportar(arquivo, saida -> exportarAlunos(saida, formato));
+    }
+
+    /**
+     * Exporta todos os professores
+     * @param arquivo - Arquivo de destino (compactado se terminar em ".gz")
+     * @param formato - CSV ou JSON
+     * @return Quantidade de professores exportados
+     * @throws IOException se o arquivo não puder ser gravado (o arquivo incompleto é apagado)
+     */
+    public long exportarProfessores(Path arquivo, FormatoExportacao formato) throws IOException {
+        return exportar(arquivo, saida -> exportarProfessores(saida, formato));
+    }
+
+    /**
+     * Exporta todos os cursos
+     * @param arquivo - Arquivo de destino (compactado se terminar em ".gz")
+     * @param formato - CSV ou JSON
+     * @return Quantidade de cursos exportados
+     * @throws IOException se o arquivo não puder ser gravado (o arquivo incompleto é apagado)
+     */
+    public long exportarCursos(Path arquivo, FormatoExportacao formato) throws IOException {
+        return exportar(arquivo, saida -> exportarCursos(saida, formato));
+    }
+
+    /**
+     * Exporta todas as turmas com os alunos matriculados e suas notas
+     * @param arquivo - Arquivo de destino (compactado se terminar em ".gz")
+     * @param formato - CSV ou JSON
+     * @return Quantidade de turmas exportadas
+     * @throws IOException se o arquivo não puder ser gravado (o arquivo incompleto é apagado)
+     */
+    public long exportarTurmas(Path arquivo, FormatoExportacao formato) throws IOException {
+        return exportar(arquivo, saida -> exportarTurmas(saida, formato));
+    }
+
+    // ========== EXPORTAÇÃO PARA UM WRITER ==========
+
+    /**
+     * Exporta todos os alunos para um destino já aberto (não é fechado aqui)
+     * @param saida - Destino
+     * @param formato - CSV ou JSON
+     * @return Quantidade de alunos exportados
+     * @throws IOException se a escrita falhar
+     */
+    public long exportarAlunos(Writer saida, FormatoExportacao formato) throws IOException {
+        return exportarPlano(saida, formato, COLUNAS_ALUNO, alunoService::listarPaginaApos,
+                             (Aluno original, Registro registro) -> {
+                                 Aluno aluno = original.copiarAtributos();
+                                 registro.campo("matricula", aluno.getMatricula());
+                                 registro.campo("nome", aluno.getNome());
+                                 registro.campo("login", aluno.getLogin());
+                                 registro.campo("curso", aluno.getCurso());
+                             });
+    }
+
+    /**
+     * Exporta todos os professores para um destino já aberto (não é fechado aqui)
+     * @param saida - Destino
+     * @param formato - CSV ou JSON
+     * @return Quantidade de professores exportados
+     * @throws IOException se a escrita falhar
+     */
+    public long exportarProfessores(Writer saida, FormatoExportacao formato) throws IOException {
+        return exportarPlano(saida, formato, COLUNAS_PROFESSOR, professorService::listarPaginaApos,
+                             (Professor original, Registro registro) -> {
+                                 Professor professor = original.copiarAtributos();
+                                 registro.campo("registro", professor.getRegistro());
+                                 registro.campo("nome", professor.getNome());
+                                 registro.campo("login", professor.getLogin());
+                                 registro.campo("especialidade", professor.getEspecialidade());
+                             });
+    }
+
+    /**
+     * Exporta todos os cursos para um destino já aberto (não é fechado aqui)
+     * @param saida - Destino
+     * @param formato - CSV ou JSON
+     * @return Quantidade de cursos exportados
+     * @throws IOException se a escrita falhar
+     */
+    public long exportarCursos(Writer saida, FormatoExportacao formato) throws IOException {
+        return exportarPlano(saida, formato, COLUNAS_CURSO, cursoService::listarPaginaApos,
+                             (Curso original, Registro registro) -> {
+                                 Curso curso = original.copiarAtributos();
+                                 boolean ead = curso instanceof CursoEAD;
+                                 registro.campo("tipo", ead ? "EAD" : "PRESENCIAL");
+                                 registro.campo("nome", curso.getNome());
+                                 registro.campo("codigo", curso.getCodigo());
+                                 registro.campo("cargaHoraria", curso.getCargaHoraria());
+                                 registro.campo("local", ead ? ((CursoEAD) curso).getPlataformaVirtual()
+                                         : curso instanceof CursoPresencial ? ((CursoPresencial) curso).getSalaDeAula()
+                                         : null);
+                             });
+    }
+
+    /**
+     * Exporta todas as turmas para um destino já aberto (não é fechado aqui)
+     * @param saida - Destino
+     * @param formato - CSV ou JSON
+     * @return Quantidade de turmas exportadas
+     * @throws IOException se a escrita falhar
+     */
+    public long exportarTurmas(Writer saida, FormatoExportacao formato) throws IOException {
+        if (formato == FormatoExportacao.CSV) {
+            EscritorCsv csv = new EscritorCsv(saida);
+            csv.linha(COLUNAS_TURMA);
+            long total = percorrer(turmaService::listarPaginaApos, turma -> escreverTurmaCsv(csv, turma));
+            csv.flush();
+            return total;
+        }
+        EscritorJson json = new EscritorJson(saida);
+        json.iniciarLista();
+        long total = percorrer(turmaService::listarPaginaApos, turma -> escreverTurmaJson(json, turma));
+        json.terminarLista();
+        json.flush();
+        return total;
+    }
+
+    // ========== REGISTROS PLANOS ==========
+
+    private <T> long exportarPlano(Writer saida, FormatoExportacao formato, String[] colunas,
+                                   BiFunction<String, Integer, Pagina<String, T>> buscarPagina,
+                                   Campos<T> campos) throws IOException {
+        if (formato == FormatoExportacao.CSV) {
+            EscritorCsv csv = new EscritorCsv(saida);
+            Registro linha = new Registro() {
+                @Override
+                public void campo(String nome, String valor) throws IOException {
+                    csv.campo(valor);
+                }
+
+                @Override
+                public void campo(String nome, double valor) throws IOException {
+                    csv.campo(valor);
+                }
+            };
+            csv.linha(colunas);
+            long total = percorrer(buscarPagina, item -> {
+                campos.escrever(item, linha);
+                csv.terminarLinha();
+            });
+            csv.flush();
+            return total;
+        }
+
+        EscritorJson json = new EscritorJson(saida);
+        Registro objeto = new Registro() {
+            @Override
+            public void campo(String nome, String valor) throws IOException {
+                json.campo(nome, valor);
+            }
+
+            @Override
+            public void campo(String nome, double valor) throws IOException {
+                json.campo(nome, valor);
+            }
+        };
+        json.iniciarLista();
+        long total = percorrer(buscarPagina, item -> {
+            json.iniciarObjeto();
+            campos.escrever(item, objeto);
+            json.terminarObjeto();
+        });
+        json.terminarLista();
+        json.flush();
+        return total;
+    }
+
+    // ========== TURMAS ==========
+
+    private void escreverTurmaCsv(EscritorCsv csv, Turma turma) throws IOException {
+        List<List<Avaliacao>> avaliacoes = new ArrayList<>();
+        List<Aluno> alunos = lerTurma(turma, avaliacoes);
+        Turma atributos = turma.copiarAtributos();
+        String codigo = atributos.getCodigo();
+        String curso = atributos.getCurso() == null ? null : atributos.getCurso().getCodigo();
+        String professor = atributos.getProfessor() == null ? null : atributos.getProfessor().getRegistro();
+
+        for (int a = 0; a < alunos.size(); a++) {
+            Aluno aluno = alunos.get(a);
+            List<Avaliacao> doAluno = avaliacoes.get(a);
+            int linhas = doAluno.isEmpty() ? 1 : doAluno.size();
+            for (int i = 0; i < linhas; i++) {
+                csv.campo(codigo);
+                csv.campo(curso);
+                csv.campo(professor);
+                csv.campo(aluno.getMatricula());
+                csv.campo(aluno.getNome());
+                if (doAluno.isEmpty()) {
+                    csv.campo((String) null);
+                    csv.campo((String) null);
+                } else {
+                    csv.campo(doAluno.get(i).getDescricao());
+                    csv.campo(doAluno.get(i).getNota());
+                }
+                csv.terminarLinha();
+            }
+        }
+    }
+
+    private void escreverTurmaJson(EscritorJson json, Turma turma) throws IOException {
+        List<List<Avaliacao>> avaliacoes = new ArrayList<>();
+        List<Aluno> alunos = lerTurma(turma, avaliacoes);
+        Turma atributos = turma.copiarAtributos();
+
+        json.iniciarObjeto();
+        json.campo("codigo", atributos.getCodigo());
+        json.campo("curso", atributos.getCurso() == null ? null : atributos.getCurso().getCodigo());
+        json.campo("professor", atributos.getProfessor() == null ? null : atributos.getProfessor().getRegistro());
+        json.nome("alunos");
+        json.iniciarLista();
+        for (int a = 0; a < alunos.size(); a++) {
+            Aluno aluno = alunos.get(a);
+            json.iniciarObjeto();
+            json.campo("matricula", aluno.getMatricula());
+            json.campo("nome", aluno.getNome());
+            json.nome("avaliacoes");
+            json.iniciarLista();
+            for (Avaliacao avaliacao : avaliacoes.get(a)) {
+                json.iniciarObjeto();
+                json.campo("descricao", avaliacao.getDescricao());
+                json.campo("nota", avaliacao.getNota());
+                json.terminarObjeto();
+            }
+            json.terminarLista();
+            json.terminarObjeto();
+        }
+        json.terminarLista();
+        json.terminarObjeto();
+    }
+
+    /**
+     * Lê os alunos e as avaliações de uma turma no mesmo instante
+     * (as alterações da turma são sincronizadas nela e as listas entregues não mudam
+     * depois de obtidas, então as lidas juntas formam uma fotografia consistente)
+     * As avaliações de cada aluno vêm do encadeamento por aluno da turma, em O(k)
+     * @param avaliacoes - Recebe as avaliações de cada aluno, na mesma posição do aluno
+     * @return Alunos matriculados, na ordem da turma
+     */
+    private static List<Aluno> lerTurma(Turma turma, List<List<Avaliacao>> avaliacoes) {
+        synchronized (turma) {
+            List<Aluno> alunos = turma.getListaAlunos();
+            for (Aluno aluno : alunos) {
+                avaliacoes.add(turma.obterAvaliacoesPorAluno(aluno.getMatricula()));
+            }
+            return alunos;
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Percorre o repositório página a página pelo cursor da chave primária
+    private static <T> long percorrer(BiFunction<String, Integer, Pagina<String, T>> buscarPagina,
+                                      Escrita<T> escrita) throws IOException {
+        long total = 0;
+        String cursor = null;
+        do {
+            Pagina<String, T> pagina = buscarPagina.apply(cursor, Pagina.TAMANHO_MAXIMO);
+            for (T item : pagina.getItens()) {
+                escrita.escrever(item);
+                total++;
+            }
+            cursor = pagina.getProximaChave();
+        } while (cursor != null);
+        return total;
+    }
+
+    private static long exportar(Path arquivo, Exportacao exportacao) throws IOException {
+        try (Writer saida = abrir(arquivo)) {
+            return exportacao.exportar(saida);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException naoApagou) {
+                e.addSuppressed(naoApagou);
+            }
+            throw e;
+        }
+    }
+
+    private static Writer abrir(Path arquivo) throws IOException {
+        OutputStream saida = Files.newOutputStream(arquivo);
+        try {
+            if (arquivo.getFileName().toString().endsWith(".gz")) {
+                // Compactação rápida: o texto repetitivo já reduz bem, e o nível padrão
+                // custaria várias vezes o tempo da própria exportação
+                saida = new GZIPOutputStream(saida, TAMANHO_BUFFER) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+            }
+        } catch (IOException e) {
+            saida.close();
+            throw e;
+        }
+        return new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+}
@@ -0,0 +1,14 @@
+package service;
+
+/**
+ * Enum FormatoExportacao
+ * Formatos de arquivo gerados pelo ExportadorRelatorios
+ *
+ * (Fase 9: Persistência)
+ */
+public enum FormatoExportacao {
+
+    CSV,   // Uma linha por registro, com cabeçalho (planilhas, importação em outros sistemas)
+    JSON   // Lista de objetos, um por linha (integrações)
+
+}
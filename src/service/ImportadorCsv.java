@@ -0,0 +1,296 @@
+package service;
+
+import model.Aluno;
+import model.Curso;
+import model.CursoEAD;
+import model.CursoPresencial;
+import model.Professor;
+import persistencia.LeitorCsv;
+import repository.ResultadoLote;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Classe ImportadorCsv
+ * Importa alunos, professores e cursos de arquivos CSV (ex: ingresso do semestre
+ * exportado pela secretaria)
+ *
+ * COLUNAS ESPERADAS (o cabeçalho é opcional e reconhecido pelo nome da primeira coluna):
+ * - Alunos:      nome, login, senha, matricula, curso
+ * - Professores: nome, login, senha, especialidade, registro
+ * - Cursos:      tipo (PRESENCIAL ou EAD), nome, codigo, cargaHoraria, sala ou plataforma
+ *
+ * FUNCIONAMENTO:
+ * - O arquivo é lido registro a registro (LeitorCsv), nunca inteiro na memória
+ * - Os registros viram objetos e são cadastrados em lotes de tamanho fixo pelos
+ *   métodos de cadastro em lote dos services, que aplicam as mesmas regras do cadastro individual
+ * - Ao contrário do cadastro em lote, a importação NÃO é tudo ou nada: as linhas com
+ *   erro são rejeitadas (com o motivo) e o restante do lote é cadastrado
+ *
+ * A memória usada depende só do tamanho do lote e do limite de rejeições guardadas,
+ * não do tamanho do arquivo
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class ImportadorCsv {
+
+    public static final int TAMANHO_LOTE_PADRAO = 1000;
+    public static final int LIMITE_REJEICOES_PADRAO = 1000;
+
+    private static final String[] COLUNAS_ALUNO = {"nome", "login", "senha", "matricula", "curso"};
+    private static final String[] COLUNAS_PROFESSOR = {"nome", "login", "senha", "especialidade", "registro"};
+    private static final String[] COLUNAS_CURSO = {"tipo", "nome", "codigo", "cargaHoraria", "local"};
+
+    private final AlunoService alunoService;
+    private final ProfessorService professorService;
+    private final CursoService cursoService;
+    private final char separador;
+    private final int tamanhoLote;
+    private final int limiteRejeicoes;
+
+    /**
+     * Construtor do ImportadorCsv com vírgula como separador e lotes padrão
+     * @param alunoService - Service de alunos
+     * @param professorService - Service de professores
+     * @param cursoService - Service de cursos
+     */
+    public ImportadorCsv(AlunoService alunoService, ProfessorService professorService, CursoService cursoService) {
+        this(alunoService, professorService, cursoService, ',', TAMANHO_LOTE_PADRAO, LIMITE_REJEICOES_PADRAO);
+    }
+
+    /**
+     * Construtor do ImportadorCsv
+     * @param alunoService - Service de alunos
+     * @param professorService - Service de professores
+     * @param cursoService - Service de cursos
+     * @param separador - Separador de campos (',' ou ';')
+     * @param tamanhoLote - Quantidade de registros cadastrados de cada vez
+     * @param limiteRejeicoes - Quantidade máxima de rejeições guardadas com detalhes
+     */
+    public ImportadorCsv(AlunoService alunoService, ProfessorService professorService, CursoService cursoService,
+                         char separador, int tamanhoLote, int limiteRejeicoes) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser maior que 0");
+        }
+        this.alunoService = alunoService;
+        this.professorService = professorService;
+        this.cursoService = cursoService;
+        this.separador = separador;
+        this.tamanhoLote = tamanhoLote;
+        this.limiteRejeicoes = Math.max(0, limiteRejeicoes);
+    }
+
+    // ========== IMPORTAÇÃO ==========
+
+    /**
+     * Importa alunos de um arquivo CSV em UTF-8
+     * @param arquivo - Caminho do arquivo
+     * @return Totais e linhas rejeitadas
+     * @throws IOException se o arquivo não puder ser lido (ou não estiver em UTF-8)
+     */
+    public ResultadoImportacao importarAlunos(Path arquivo) throws IOException {
+        try (Reader entrada = abrir(arquivo)) {
+            return importarAlunos(entrada);
+        }
+    }
+
+    /**
+     * Importa alunos de um texto CSV
+     * @param entrada - Texto CSV (não é fechado aqui)
+     * @return Totais e linhas rejeitadas
+     * @throws IOException se a leitura falhar
+     */
+    public ResultadoImportacao importarAlunos(Reader entrada) throws IOException {
+        return importar(entrada, COLUNAS_ALUNO, 3,
+                        csv -> new Aluno(csv.getCampo(0), csv.getCampo(1), csv.getCampo(2),
+                                         csv.getCampo(3), csv.getCampo(4)),
+                        alunoService::cadastrarAlunosEmLote);
+    }
+
+    /**
+     * Importa professores de um arquivo CSV em UTF-8
+     * @param arquivo - Caminho do arquivo
+     * @return Totais e linhas rejeitadas
+     * @throws IOException se o arquivo não puder ser lido (ou não estiver em UTF-8)
+     */
+    public ResultadoImportacao importarProfessores(Path arquivo) throws IOException {
+        try (Reader entrada = abrir(arquivo)) {
+            return importarProfessores(entrada);
+        }
+    }
+
+    /**
+     * Importa professores de um texto CSV
+     * @param entrada - Texto CSV (não é fechado aqui)
+     * @return Totais e linhas rejeitadas
+     * @throws IOException se a leitura falhar
+     */
+    public ResultadoImportacao importarProfessores(Reader entrada) throws IOException {
+        return importar(entrada, COLUNAS_PROFESSOR, 4,
+                        csv -> new Professor(csv.getCampo(0), csv.getCampo(1), csv.getCampo(2),
+                                             csv.getCampo(3), csv.getCampo(4)),
+                        professorService::cadastrarProfessoresEmLote);
+    }
+
+    /**
+     * Importa cursos de um arquivo CSV em UTF-8
+     * @param arquivo - Caminho do arquivo
+     * @return Totais e linhas rejeitadas
+     * @throws IOException se o arquivo não puder ser lido (ou não estiver em UTF-8)
+     */
+    public ResultadoImportacao importarCursos(Path arquivo) throws IOException {
+        try (Reader entrada = abrir(arquivo)) {
+            return importarCursos(entrada);
+        }
+    }
+
+    /**
+     * Importa cursos de um texto CSV
+     * @param entrada - Texto CSV (não é fechado aqui)
+     * @return Totais e linhas rejeitadas
+     * @throws IOException se a leitura falhar
+     */
+    public ResultadoImportacao importarCursos(Reader entrada) throws IOException {
+        return importar(entrada, COLUNAS_CURSO, 2, ImportadorCsv::converterCurso,
+                        cursoService::cadastrarCursosEmLote);
+    }
+
+    // ========== LEITURA E LOTES ==========
+
+    // Decodificador estrito: arquivo em outra codificação é erro, não texto trocado
+    private static Reader abrir(Path arquivo) throws IOException {
+        return new InputStreamReader(Files.newInputStream(arquivo), StandardCharsets.UTF_8.newDecoder());
+    }
+
+    private <T> ResultadoImportacao importar(Reader entrada, String[] colunas, int colunaChave,
+                                             Function<LeitorCsv, T> converter,
+                                             Function<List<T>, ResultadoLote> cadastrar) throws IOException {
+        ResultadoImportacao resultado = new ResultadoImportacao(limiteRejeicoes);
+        LeitorCsv csv = new LeitorCsv(entrada, separador);
+        List<T> lote = new ArrayList<>(tamanhoLote);
+        long[] linhas = new long[tamanhoLote];
+        boolean primeiro = true;
+
+        while (csv.proximo()) {
+            if (primeiro) {
+                primeiro = false;
+                if (csv.getCampo(0).trim().equalsIgnoreCase(colunas[0])) {
+                    continue; // Cabeçalho
+                }
+            }
+            resultado.contarLidos(1);
+
+            String erro = csv.getErro();
+            if (erro == null && csv.getQuantidadeCampos() != colunas.length) {
+                erro = "Esperadas " + colunas.length + " colunas (" + String.join(", ", colunas)
+                        + "), encontradas " + csv.getQuantidadeCampos() + "!";
+            }
+            T item = null;
+            if (erro == null) {
+                try {
+                    item = converter.apply(csv);
+                } catch (IllegalArgumentException e) {
+                    erro = e.getMessage();
+                }
+            }
+            if (erro != null) {
+                String chave = colunaChave < csv.getQuantidadeCampos() ? csv.getCampo(colunaChave) : null;
+                resultado.rejeitar(csv.getLinha(), chave, ResultadoLote.Situacao.INVALIDO, erro);
+                continue;
+            }
+
+            linhas[lote.size()] = csv.getLinha();
+            lote.add(item);
+            if (lote.size() == tamanhoLote) {
+                cadastrarLote(lote, linhas, cadastrar, resultado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            cadastrarLote(lote, linhas, cadastrar, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cadastra um lote; se o service rejeitar o lote, retira as linhas com erro
+     * próprio e tenta de novo só com as demais
+     */
+    private <T> void cadastrarLote(List<T> lote, long[] linhas, Function<List<T>, ResultadoLote> cadastrar,
+                                   ResultadoImportacao resultado) {
+        List<T> pendentes = lote;
+        long[] linhasPendentes = linhas;
+
+        while (!pendentes.isEmpty()) {
+            ResultadoLote resultadoLote = cadastrar.apply(pendentes);
+            if (resultadoLote.isAplicado()) {
+                resultado.contarCadastrados(pendentes.size());
+                return;
+            }
+
+            List<ResultadoLote.Linha> erros = resultadoLote.getErros();
+            if (erros.isEmpty()) {
+                // Não deveria acontecer: sem linha culpada não há como tentar de novo
+                for (int i = 0; i < pendentes.size(); i++) {
+                    resultado.rejeitar(linhasPendentes[i], null, ResultadoLote.Situacao.NAO_CADASTRADO,
+                                       "Lote rejeitado pelo cadastro!");
+                }
+                return;
+            }
+
+            List<T> restantes = new ArrayList<>(pendentes.size() - erros.size());
+            long[] linhasRestantes = new long[pendentes.size() - erros.size()];
+            int proximoErro = 0;
+            for (int i = 0; i < pendentes.size(); i++) {
+                if (proximoErro < erros.size() && erros.get(proximoErro).getIndice() == i) {
+                    ResultadoLote.Linha linha = erros.get(proximoErro++);
+                    resultado.rejeitar(linhasPendentes[i], linha.getChave(), linha.getSituacao(), linha.getMensagem());
+                } else {
+                    linhasRestantes[restantes.size()] = linhasPendentes[i];
+                    restantes.add(pendentes.get(i));
+                }
+            }
+            pendentes = restantes;
+            linhasPendentes = linhasRestantes;
+        }
+    }
+
+    // ========== CONVERSÃO ==========
+
+    private static Curso converterCurso(LeitorCsv csv) {
+        String tipo = csv.getCampo(0).trim();
+        String nome = csv.getCampo(1);
+        String codigo = csv.getCampo(2);
+        double cargaHoraria = converterNumero(csv.getCampo(3), "Carga horária");
+        String local = csv.getCampo(4);
+
+        if (tipo.equalsIgnoreCase("PRESENCIAL")) {
+            return new CursoPresencial(nome, codigo, cargaHoraria, local);
+        }
+        if (tipo.equalsIgnoreCase("EAD")) {
+            return new CursoEAD(nome, codigo, cargaHoraria, local);
+        }
+        throw new IllegalArgumentException("Tipo de curso deve ser PRESENCIAL ou EAD (encontrado: " + tipo + ")!");
+    }
+
+    // Aceita vírgula decimal (planilhas em português)
+    private static double converterNumero(String texto, String campo) {
+        double valor;
+        try {
+            valor = Double.parseDouble(texto.trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            valor = Double.NaN;
+        }
+        if (!Double.isFinite(valor)) {
+            throw new IllegalArgumentException(campo + " não é um número: " + texto + "!");
+        }
+        return valor;
+    }
+}
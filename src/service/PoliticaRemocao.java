@@ -0,0 +1,14 @@
+package service;
+
+/**
+ * Enum PoliticaRemocao
+ * Define o que acontece com as turmas que referenciam uma entidade removida
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public enum PoliticaRemocao {
+
+    RESTRINGIR,  // Recusa a remoção enquanto houver turmas referenciando a entidade
+    CASCATA      // Remove também as referências (matrículas, avaliações ou as próprias turmas)
+
+}
@@ -1,7 +1,12 @@
 package service;
 
 import model.Professor;
+import model.Turma;
+import repository.Candidato;
+import repository.Pagina;
+import repository.ResultadoLote;
 import repository.ProfessorRepository;
+import repository.TurmaRepository;
 import java.util.List;
 
 /**
@@ -20,12 +25,29 @@ public class ProfessorService {
     // Dependência do Repository
     private ProfessorRepository professorRepository;
     
+    // Turmas que referenciam professores (null = remoção sem verificar turmas)
+    private TurmaRepository turmaRepository;
+    private PoliticaRemocao politicaRemocao;
+    
     /**
      * Construtor do ProfessorService
      * @param professorRepository - Repositório de professores
      */
     public ProfessorService(ProfessorRepository professorRepository) {
+        this(professorRepository, null, PoliticaRemocao.RESTRINGIR);
+    }
+    
+    /**
+     * Construtor do ProfessorService com integridade referencial nas turmas
+     * @param professorRepository - Repositório de professores
+     * @param turmaRepository - Repositório de turmas (índice reverso)
+     * @param politicaRemocao - RESTRINGIR recusa a remoção se houver turmas; CASCATA remove as turmas
+     */
+    public ProfessorService(ProfessorRepository professorRepository, TurmaRepository turmaRepository,
+                        PoliticaRemocao politicaRemocao) {
         this.professorRepository = professorRepository;
+        this.turmaRepository = turmaRepository;
+        this.politicaRemocao = politicaRemocao;
     }
     
     // ========== MÉTODOS DE NEGÓCIO ==========
@@ -58,6 +80,35 @@ public class ProfessorService {
         return resultado;
     }
     
+    /**
+     * Cadastra vários professores de uma vez
+     * Valida o lote inteiro, detecta registros e logins repetidos no lote e no
+     * sistema em uma única passada e cadastra TUDO OU NADA
+     * Consultas simultâneas podem ver o lote aparecendo aos poucos, e um cadastro
+     * simultâneo pode ser recusado por um login reservado por um lote que acaba
+     * rejeitado (ver Repository.adicionarTodos)
+     * Não imprime uma linha por professor: o resultado informa a situação de cada um
+     * @param professores - Professores a cadastrar
+     * @return Resultado de cada linha do lote
+     */
+    public ResultadoLote cadastrarProfessoresEmLote(List<Professor> professores) {
+        ResultadoLote resultado = new ResultadoLote(professores.size());
+        
+        for (int i = 0; i < professores.size(); i++) {
+            Professor professor = professores.get(i);
+            if (professor == null) {
+                continue; // O repository rejeita linhas nulas
+            }
+            String erro = verificarDados(professor.getNome(), professor.getLogin(), professor.getSenha(),
+                                         professor.getEspecialidade(), professor.getRegistro());
+            if (erro != null) {
+                resultado.rejeitar(i, professor.getRegistro(), ResultadoLote.Situacao.INVALIDO, erro);
+            }
+        }
+        
+        return professorRepository.adicionarTodos(professores, resultado);
+    }
+    
     /**
      * Busca um professor por registro
      * @param registro - Registro do professor
@@ -67,6 +118,26 @@ public class ProfessorService {
         return professorRepository.buscarPorRegistro(registro);
     }
     
+    /**
+     * Busca professores pelo início do nome (autocompletar)
+     * @param prefixo - Início do nome
+     * @param limite - Quantidade máxima de resultados
+     * @return Professores em ordem alfabética de nome
+     */
+    public List<Professor> buscarPorPrefixoNome(String prefixo, int limite) {
+        return professorRepository.buscarPorPrefixoNome(prefixo, limite);
+    }
+    
+    /**
+     * Busca professores com nome parecido (sem diferenciar acentos, tolera erros de digitação)
+     * @param termo - Nome digitado
+     * @param limite - Quantidade máxima de resultados
+     * @return Candidatos com a similaridade, do mais parecido para o menos parecido
+     */
+    public List<Candidato<Professor>> buscarPorNomeAproximado(String termo, int limite) {
+        return professorRepository.buscarPorNomeAproximado(termo, limite);
+    }
+    
     /**
      * Lista todos os professores
      * @return Lista de professores
@@ -75,6 +146,26 @@ public class ProfessorService {
         return professorRepository.listarTodos();
     }
     
+    /**
+     * Lista uma página de professores na ordem de cadastro
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página
+     * @return Página de professores
+     */
+    public Pagina<String, Professor> listarPagina(int offset, int limite) {
+        return professorRepository.listarPagina(offset, limite);
+    }
+    
+    /**
+     * Lista uma página de professores ordenada por registro, a partir de um cursor
+     * @param ultimoRegistro - Cursor devolvido pela página anterior (null para a primeira)
+     * @param limite - Tamanho da página
+     * @return Página de professores
+     */
+    public Pagina<String, Professor> listarPaginaApos(String ultimoRegistro, int limite) {
+        return professorRepository.listarPaginaApos(ultimoRegistro, limite);
+    }
+    
     /**
      * Remove um professor
      * @param registro - Registro do professor a remover
@@ -88,10 +179,25 @@ public class ProfessorService {
             return false;
         }
         
+        // Índice reverso: só as turmas que referenciam o professor são consultadas
+        List<Turma> turmas = turmaRepository == null ? List.of() : turmaRepository.listarPorProfessor(registro);
+        if (politicaRemocao == PoliticaRemocao.RESTRINGIR && !turmas.isEmpty()) {
+            System.out.println("❌ Professor " + professor.getNome() + " ministra " + turmas.size()
+                             + " turma(s)! Remova ou reatribua as turmas antes.");
+            return false;
+        }
+        
         boolean resultado = professorRepository.remover(registro);
         
         if (resultado) {
+            // Turmas sem professor não são válidas: saem junto com ele
+            for (Turma turma : turmas) {
+                turmaRepository.remover(turma.getCodigo());
+            }
             System.out.println("✓ Professor " + professor.getNome() + " removido com sucesso!");
+            if (!turmas.isEmpty()) {
+                System.out.println("✓ " + turmas.size() + " turma(s) removida(s) em cascata");
+            }
         }
         
         return resultado;
@@ -131,34 +237,43 @@ public class ProfessorService {
     
     /**
      * Valida os dados do professor
+     * Imprime o erro encontrado (cadastro individual)
      * @return true se válido, false caso contrário
      */
     private boolean validarDados(String nome, String login, String senha, String especialidade, String registro) {
-        if (nome == null || nome.trim().isEmpty()) {
-            System.out.println("❌ Nome não pode estar vazio!");
+        String erro = verificarDados(nome, login, senha, especialidade, registro);
+        if (erro != null) {
+            System.out.println("❌ " + erro);
             return false;
         }
+        return true;
+    }
+    
+    /**
+     * Verifica os dados sem imprimir nada (usado também no cadastro em lote)
+     * @return Mensagem do primeiro erro encontrado, ou null se válido
+     */
+    private String verificarDados(String nome, String login, String senha, String especialidade, String registro) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return "Nome não pode estar vazio!";
+        }
         
         if (login == null || login.trim().isEmpty()) {
-            System.out.println("❌ Login não pode estar vazio!");
-            return false;
+            return "Login não pode estar vazio!";
         }
         
         if (senha == null || senha.trim().isEmpty()) {
-            System.out.println("❌ Senha não pode estar vazia!");
-            return false;
+            return "Senha não pode estar vazia!";
         }
         
         if (especialidade == null || especialidade.trim().isEmpty()) {
-            System.out.println("❌ Especialidade não pode estar vazia!");
-            return false;
+            return "Especialidade não pode estar vazia!";
         }
         
         if (registro == null || registro.trim().isEmpty()) {
-            System.out.println("❌ Registro não pode estar vazio!");
-            return false;
+            return "Registro não pode estar vazio!";
         }
         
-        return true;
+        return null;
     }
 }
\ No newline at end of file
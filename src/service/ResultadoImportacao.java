@@ -0,0 +1,143 @@
+package service;
+
+import repository.ResultadoLote;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe ResultadoImportacao
+ * Resumo de uma importação de arquivo CSV: totais e as linhas rejeitadas com o motivo
+ *
+ * Para a memória não crescer com o arquivo, só as primeiras rejeições são guardadas
+ * com detalhes; as demais entram apenas na contagem
+ *
+ * Não imprime nada: quem chamou decide como apresentar os erros
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class ResultadoImportacao {
+
+    /**
+     * Linha do arquivo que não foi cadastrada
+     */
+    public static class Rejeicao {
+        private final long linha;
+        private final String chave;
+        private final ResultadoLote.Situacao situacao;
+        private final String mensagem;
+
+        Rejeicao(long linha, String chave, ResultadoLote.Situacao situacao, String mensagem) {
+            this.linha = linha;
+            this.chave = chave;
+            this.situacao = situacao;
+            this.mensagem = mensagem;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public ResultadoLote.Situacao getSituacao() {
+            return situacao;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        @Override
+        public String toString() {
+            return "Linha " + linha + (chave != null && !chave.isEmpty() ? " (" + chave + ")" : "")
+                    + ": " + mensagem;
+        }
+    }
+
+    private final int limiteRejeicoes;
+    private final List<Rejeicao> rejeicoes = new ArrayList<>();
+    private long totalLidos;
+    private long totalCadastrados;
+    private long totalRejeitados;
+
+    /**
+     * Construtor do ResultadoImportacao
+     * @param limiteRejeicoes - Quantidade máxima de rejeições guardadas com detalhes
+     */
+    ResultadoImportacao(int limiteRejeicoes) {
+        this.limiteRejeicoes = limiteRejeicoes;
+    }
+
+    // ========== REGISTRO (usado pelo ImportadorCsv) ==========
+
+    void contarLidos(int quantidade) {
+        totalLidos += quantidade;
+    }
+
+    void contarCadastrados(int quantidade) {
+        totalCadastrados += quantidade;
+    }
+
+    void rejeitar(long linha, String chave, ResultadoLote.Situacao situacao, String mensagem) {
+        totalRejeitados++;
+        if (rejeicoes.size() < limiteRejeicoes) {
+            rejeicoes.add(new Rejeicao(linha, chave, situacao, mensagem));
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Retorna a quantidade de registros lidos do arquivo (sem o cabeçalho)
+     * @return Número de registros
+     */
+    public long getTotalLidos() {
+        return totalLidos;
+    }
+
+    /**
+     * Retorna a quantidade de registros cadastrados
+     * @return Número de registros cadastrados
+     */
+    public long getTotalCadastrados() {
+        return totalCadastrados;
+    }
+
+    /**
+     * Retorna a quantidade de registros rejeitados
+     * @return Número de registros rejeitados
+     */
+    public long getTotalRejeitados() {
+        return totalRejeitados;
+    }
+
+    /**
+     * Retorna as rejeições guardadas
+     * Erros de formato entram assim que a linha é lida; erros de cadastro, quando o lote
+     * da linha é enviado (cada rejeição informa a linha do arquivo)
+     * @return Lista somente leitura (no máximo o limite informado na importação)
+     */
+    public List<Rejeicao> getRejeicoes() {
+        return Collections.unmodifiableList(rejeicoes);
+    }
+
+    /**
+     * Indica se houve mais rejeições do que as guardadas com detalhes
+     * @return true se a lista de rejeições está incompleta
+     */
+    public boolean isRejeicoesTruncadas() {
+        return totalRejeitados > rejeicoes.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacao{" +
+                "lidos=" + totalLidos +
+                ", cadastrados=" + totalCadastrados +
+                ", rejeitados=" + totalRejeitados +
+                '}';
+    }
+}
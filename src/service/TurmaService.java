@@ -3,6 +3,7 @@ package service;
 import model.Turma;
 import model.Professor;
 import model.Curso;
+import repository.Pagina;
 import repository.TurmaRepository;
 import java.util.List;
 
@@ -14,6 +15,7 @@ import java.util.List;
  * - Executar regras de negócio
  * - Coordenar com Repository
  * - Gerar relatórios
+ * - Calcular estatísticas de notas (por turma, por curso e gerais)
  * 
  * (Fase 7: Arquitetura em Camadas)
  */
@@ -86,6 +88,80 @@ public class TurmaService {
         return turmaRepository.listarTodas();
     }
     
+    /**
+     * Lista uma página de turmas na ordem de cadastro
+     * @param offset - Posição do primeiro item
+     * @param limite - Tamanho da página
+     * @return Página de turmas
+     */
+    public Pagina<String, Turma> listarPagina(int offset, int limite) {
+        return turmaRepository.listarPagina(offset, limite);
+    }
+    
+    /**
+     * Lista uma página de turmas ordenada por código, a partir de um cursor
+     * @param ultimoCodigo - Cursor devolvido pela página anterior (null para a primeira)
+     * @param limite - Tamanho da página
+     * @return Página de turmas
+     */
+    public Pagina<String, Turma> listarPaginaApos(String ultimoCodigo, int limite) {
+        return turmaRepository.listarPaginaApos(ultimoCodigo, limite);
+    }
+    
+    /**
+     * Lista as turmas de um professor
+     * @param registro - Registro do professor
+     * @return Lista de turmas do professor
+     */
+    public List<Turma> listarPorProfessor(String registro) {
+        return turmaRepository.listarPorProfessor(registro);
+    }
+    
+    /**
+     * Lista as turmas de um curso
+     * @param codigoCurso - Código do curso
+     * @return Lista de turmas do curso
+     */
+    public List<Turma> listarPorCurso(String codigoCurso) {
+        return turmaRepository.listarPorCurso(codigoCurso);
+    }
+    
+    /**
+     * Lista as turmas em que um aluno está matriculado
+     * @param matricula - Matrícula do aluno
+     * @return Lista de turmas do aluno
+     */
+    public List<Turma> listarPorAluno(String matricula) {
+        return turmaRepository.listarPorAluno(matricula);
+    }
+    
+    /**
+     * Retorna a quantidade de turmas em que um aluno está matriculado
+     * @param matricula - Matrícula do aluno
+     * @return Número de turmas do aluno
+     */
+    public int contarPorAluno(String matricula) {
+        return turmaRepository.contarPorAluno(matricula);
+    }
+    
+    /**
+     * Retorna a quantidade de turmas de um professor
+     * @param registro - Registro do professor
+     * @return Número de turmas do professor
+     */
+    public int contarPorProfessor(String registro) {
+        return turmaRepository.contarPorProfessor(registro);
+    }
+    
+    /**
+     * Retorna a quantidade de turmas de um curso
+     * @param codigoCurso - Código do curso
+     * @return Número de turmas do curso
+     */
+    public int contarPorCurso(String codigoCurso) {
+        return turmaRepository.contarPorCurso(codigoCurso);
+    }
+    
     /**
      * Remove uma turma
      * @param codigo - Código da turma a remover
@@ -130,6 +206,81 @@ public class TurmaService {
         }
     }
     
+    // ========== ESTATÍSTICAS DE NOTAS ==========
+    
+    /**
+     * Calcula as estatísticas das notas de uma turma
+     * @param codigo - Código da turma
+     * @return Estatísticas, ou null se a turma não existir
+     */
+    public EstatisticasNotas calcularEstatisticasTurma(String codigo) {
+        Turma turma = turmaRepository.buscarPorCodigo(codigo);
+        if (turma == null) {
+            System.out.println("❌ Turma não encontrada!");
+            return null;
+        }
+        return calcularEstatisticas(List.of(turma));
+    }
+    
+    /**
+     * Calcula as estatísticas das notas de todas as turmas de um curso
+     * @param codigoCurso - Código do curso
+     * @return Estatísticas (sem notas se o curso não tiver turmas)
+     */
+    public EstatisticasNotas calcularEstatisticasCurso(String codigoCurso) {
+        return calcularEstatisticas(turmaRepository.listarPorCurso(codigoCurso));
+    }
+    
+    /**
+     * Calcula as estatísticas das notas de todas as turmas da instituição
+     * @return Estatísticas
+     */
+    public EstatisticasNotas calcularEstatisticasGerais() {
+        return calcularEstatisticas(turmaRepository.listarTodas());
+    }
+    
+    /**
+     * Exibe estatísticas de notas
+     * @param titulo - Grupo a que as notas pertencem (ex: "Turma T101")
+     * @param estatisticas - Estatísticas calculadas
+     */
+    public void exibirEstatisticas(String titulo, EstatisticasNotas estatisticas) {
+        if (estatisticas.getQuantidade() == 0) {
+            System.out.println("❌ Nenhuma nota registrada em " + titulo + "!");
+            return;
+        }
+        System.out.println("\n--- Estatísticas de Notas: " + titulo + " ---");
+        System.out.println("Notas: " + estatisticas.getQuantidade());
+        System.out.println("Média: " + arredondar(estatisticas.getMedia())
+                           + " (desvio padrão " + arredondar(estatisticas.getDesvioPadrao()) + ")");
+        System.out.println("Mínima: " + arredondar(estatisticas.getMinimo())
+                           + " | Máxima: " + arredondar(estatisticas.getMaximo()));
+        System.out.println("Mediana: " + arredondar(estatisticas.getMediana()));
+        for (double percentil : estatisticas.getPercentis()) {
+            if (percentil != 50) {
+                System.out.println("Percentil " + Math.round(percentil) + ": "
+                                   + arredondar(estatisticas.getPercentil(percentil)));
+            }
+        }
+    }
+    
+    // Copia as notas das turmas para um único buffer (tamanho já somado) e calcula
+    private EstatisticasNotas calcularEstatisticas(List<Turma> turmas) {
+        int total = 0;
+        for (Turma turma : turmas) {
+            total += turma.getQuantidadeAvaliacoes();
+        }
+        CalculadoraEstatisticas calculadora = new CalculadoraEstatisticas(total);
+        for (Turma turma : turmas) {
+            calculadora.adicionarNotas(turma);
+        }
+        return calculadora.calcular();
+    }
+    
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+    
     /**
      * Retorna a quantidade de turmas cadastradas
      * @return Número de turmas
@@ -2,8 +2,15 @@ package ui;
 
 import service.*;
 import model.*;
+import repository.Candidato;
+import repository.Pagina;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Classe Menu
@@ -24,19 +31,28 @@ public class Menu {
     private CursoService cursoService;
     private TurmaService turmaService;
     private SistemaService sistemaService;
+    private AutenticacaoService autenticacaoService;
+    private ImportadorCsv importadorCsv;
+    private ExportadorRelatorios exportadorRelatorios;
     private Scanner scanner;
     
+    // Quantidade de itens exibidos por página nas listagens
+    private static final int TAMANHO_PAGINA = 20;
+    
     /**
      * Construtor do Menu
      */
     public Menu(AlunoService alunoService, ProfessorService professorService,
                 CursoService cursoService, TurmaService turmaService,
-                SistemaService sistemaService) {
+                SistemaService sistemaService, AutenticacaoService autenticacaoService) {
         this.alunoService = alunoService;
         this.professorService = professorService;
         this.cursoService = cursoService;
         this.turmaService = turmaService;
         this.sistemaService = sistemaService;
+        this.autenticacaoService = autenticacaoService;
+        this.importadorCsv = new ImportadorCsv(alunoService, professorService, cursoService);
+        this.exportadorRelatorios = new ExportadorRelatorios(alunoService, professorService, cursoService, turmaService);
         this.scanner = new Scanner(System.in);
     }
     
@@ -74,6 +90,9 @@ public class Menu {
                 case "7":
                     sistemaService.exibirResumoSistema();
                     break;
+                case "8":
+                    autenticarInterativo();
+                    break;
                 case "0":
                     sair = true;
                     System.out.println("\n✓ Encerrando o sistema... Até logo!\n");
@@ -99,6 +118,7 @@ public class Menu {
         System.out.println("5. 📝 Registrar Avaliações");
         System.out.println("6. 📊 Gerar Relatórios");
         System.out.println("7. 📈 Resumo do Sistema");
+        System.out.println("8. 🔐 Autenticar Usuário");
         System.out.println("0. ❌ Sair");
         System.out.println("══════════════════════════════════════════════════════════\n");
     }
@@ -114,6 +134,7 @@ public class Menu {
             System.out.println("│ 2. Buscar Aluno                      │");
             System.out.println("│ 3. Listar Alunos                     │");
             System.out.println("│ 4. Remover Aluno                     │");
+            System.out.println("│ 5. Importar Alunos (CSV)             │");
             System.out.println("│ 0. Voltar                            │");
             System.out.println("└──────────────────────────────────────┘");
             
@@ -132,6 +153,9 @@ public class Menu {
                 case "4":
                     removerAlunoInterativo();
                     break;
+                case "5":
+                    importarAlunosInterativo();
+                    break;
                 case "0":
                     voltar = true;
                     break;
@@ -157,20 +181,34 @@ public class Menu {
     }
     
     private void buscarAlunoInterativo() {
-        String matricula = obterEntrada("Matrícula do aluno: ");
-        Aluno aluno = alunoService.buscarPorMatricula(matricula);
+        String termo = obterEntrada("Matrícula ou início do nome do aluno: ");
+        Aluno aluno = alunoService.buscarPorMatricula(termo);
         
         if (aluno != null) {
             aluno.gerarRelatorio();
-        } else {
-            System.out.println("❌ Aluno não encontrado!");
+            List<Turma> turmas = turmaService.listarPorAluno(aluno.getMatricula());
+            System.out.println("  Turmas matriculadas: " + turmas.size());
+            for (Turma t : turmas) {
+                System.out.println("    " + t.getCodigo() + " - " + t.getCurso().getNome());
+            }
+            return;
+        }
+        
+        // Não é uma matrícula: procura pelo início do nome
+        List<Aluno> encontrados = alunoService.buscarPorPrefixoNome(termo, TAMANHO_PAGINA);
+        if (encontrados.isEmpty()) {
+            exibirSimilares(alunoService.buscarPorNomeAproximado(termo, TAMANHO_PAGINA),
+                            a -> a.getNome() + " (" + a.getMatricula() + ")", "Aluno");
+            return;
+        }
+        for (int i = 0; i < encontrados.size(); i++) {
+            Aluno a = encontrados.get(i);
+            System.out.println((i + 1) + ". " + a.getNome() + " (" + a.getMatricula() + ")");
         }
     }
     
     private void listarAlunos() {
-        List<Aluno> alunos = alunoService.listarTodos();
-        
-        if (alunos.isEmpty()) {
+        if (alunoService.contar() == 0) {
             System.out.println("\n❌ Nenhum aluno cadastrado!");
             return;
         }
@@ -178,13 +216,10 @@ public class Menu {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║       LISTA DE ALUNOS                  ║");
         System.out.println("╚════════════════════════════════════════╝");
-        System.out.println("Total: " + alunos.size() + " alunos\n");
+        System.out.println("Total: " + alunoService.contar() + " alunos\n");
         
-        for (int i = 0; i < alunos.size(); i++) {
-            Aluno a = alunos.get(i);
-            System.out.println((i + 1) + ". " + a.getNome() + " (" + a.getMatricula() + ")");
-        }
-        System.out.println();
+        exibirPaginado(offset -> alunoService.listarPagina(offset, TAMANHO_PAGINA),
+                       a -> a.getNome() + " (" + a.getMatricula() + ")");
     }
     
     private void removerAlunoInterativo() {
@@ -192,6 +227,17 @@ public class Menu {
         alunoService.removerAluno(matricula);
     }
     
+    private void importarAlunosInterativo() {
+        System.out.println("\n--- IMPORTAR ALUNOS ---");
+        System.out.println("Colunas: nome, login, senha, matricula, curso");
+        String arquivo = obterEntrada("Arquivo CSV: ");
+        try {
+            exibirImportacao(importadorCsv.importarAlunos(Paths.get(arquivo.trim())), "alunos");
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("❌ Não foi possível ler o arquivo: " + e.getMessage());
+        }
+    }
+    
     // ========== MENU DE PROFESSORES ==========
     
     private void menuProfessores() {
@@ -203,6 +249,7 @@ public class Menu {
             System.out.println("│ 2. Buscar Professor                  │");
             System.out.println("│ 3. Listar Professores                │");
             System.out.println("│ 4. Remover Professor                 │");
+            System.out.println("│ 5. Importar Professores (CSV)        │");
             System.out.println("│ 0. Voltar                            │");
             System.out.println("└──────────────────────────────────────┘");
             
@@ -221,6 +268,9 @@ public class Menu {
                 case "4":
                     removerProfessorInterativo();
                     break;
+                case "5":
+                    importarProfessoresInterativo();
+                    break;
                 case "0":
                     voltar = true;
                     break;
@@ -246,20 +296,29 @@ public class Menu {
     }
     
     private void buscarProfessorInterativo() {
-        String registro = obterEntrada("Registro do professor: ");
-        Professor prof = professorService.buscarPorRegistro(registro);
+        String termo = obterEntrada("Registro ou início do nome do professor: ");
+        Professor prof = professorService.buscarPorRegistro(termo);
         
         if (prof != null) {
             prof.gerarRelatorio();
-        } else {
-            System.out.println("❌ Professor não encontrado!");
+            return;
+        }
+        
+        // Não é um registro: procura pelo início do nome
+        List<Professor> encontrados = professorService.buscarPorPrefixoNome(termo, TAMANHO_PAGINA);
+        if (encontrados.isEmpty()) {
+            exibirSimilares(professorService.buscarPorNomeAproximado(termo, TAMANHO_PAGINA),
+                            p -> p.getNome() + " (" + p.getRegistro() + ")", "Professor");
+            return;
+        }
+        for (int i = 0; i < encontrados.size(); i++) {
+            Professor p = encontrados.get(i);
+            System.out.println((i + 1) + ". " + p.getNome() + " (" + p.getRegistro() + ")");
         }
     }
     
     private void listarProfessores() {
-        List<Professor> professores = professorService.listarTodos();
-        
-        if (professores.isEmpty()) {
+        if (professorService.contar() == 0) {
             System.out.println("\n❌ Nenhum professor cadastrado!");
             return;
         }
@@ -267,13 +326,10 @@ public class Menu {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║       LISTA DE PROFESSORES             ║");
         System.out.println("╚════════════════════════════════════════╝");
-        System.out.println("Total: " + professores.size() + " professores\n");
+        System.out.println("Total: " + professorService.contar() + " professores\n");
         
-        for (int i = 0; i < professores.size(); i++) {
-            Professor p = professores.get(i);
-            System.out.println((i + 1) + ". " + p.getNome() + " (" + p.getRegistro() + ")");
-        }
-        System.out.println();
+        exibirPaginado(offset -> professorService.listarPagina(offset, TAMANHO_PAGINA),
+                       p -> p.getNome() + " (" + p.getRegistro() + ")");
     }
     
     private void removerProfessorInterativo() {
@@ -281,6 +337,17 @@ public class Menu {
         professorService.removerProfessor(registro);
     }
     
+    private void importarProfessoresInterativo() {
+        System.out.println("\n--- IMPORTAR PROFESSORES ---");
+        System.out.println("Colunas: nome, login, senha, especialidade, registro");
+        String arquivo = obterEntrada("Arquivo CSV: ");
+        try {
+            exibirImportacao(importadorCsv.importarProfessores(Paths.get(arquivo.trim())), "professores");
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("❌ Não foi possível ler o arquivo: " + e.getMessage());
+        }
+    }
+    
     // ========== MENU DE CURSOS ==========
     
     private void menuCursos() {
@@ -292,6 +359,7 @@ public class Menu {
             System.out.println("│ 2. Cadastrar Curso EAD               │");
             System.out.println("│ 3. Listar Cursos                     │");
             System.out.println("│ 4. Remover Curso                     │");
+            System.out.println("│ 5. Importar Cursos (CSV)             │");
             System.out.println("│ 0. Voltar                            │");
             System.out.println("└──────────────────────────────────────┘");
             
@@ -310,6 +378,9 @@ public class Menu {
                 case "4":
                     removerCursoInterativo();
                     break;
+                case "5":
+                    importarCursosInterativo();
+                    break;
                 case "0":
                     voltar = true;
                     break;
@@ -350,9 +421,7 @@ public class Menu {
     }
     
     private void listarCursos() {
-        List<Curso> cursos = cursoService.listarTodos();
-        
-        if (cursos.isEmpty()) {
+        if (cursoService.contar() == 0) {
             System.out.println("\n❌ Nenhum curso cadastrado!");
             return;
         }
@@ -360,13 +429,10 @@ public class Menu {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║        LISTA DE CURSOS                 ║");
         System.out.println("╚════════════════════════════════════════╝");
-        System.out.println("Total: " + cursos.size() + " cursos\n");
+        System.out.println("Total: " + cursoService.contar() + " cursos\n");
         
-        for (int i = 0; i < cursos.size(); i++) {
-            Curso c = cursos.get(i);
-            System.out.println((i + 1) + ". " + c.getNome() + " (" + c.getCodigo() + ")");
-        }
-        System.out.println();
+        exibirPaginado(offset -> cursoService.listarPagina(offset, TAMANHO_PAGINA),
+                       c -> c.getNome() + " (" + c.getCodigo() + ")");
     }
     
     private void removerCursoInterativo() {
@@ -374,6 +440,17 @@ public class Menu {
         cursoService.removerCurso(codigo);
     }
     
+    private void importarCursosInterativo() {
+        System.out.println("\n--- IMPORTAR CURSOS ---");
+        System.out.println("Colunas: tipo (PRESENCIAL ou EAD), nome, codigo, cargaHoraria, sala ou plataforma");
+        String arquivo = obterEntrada("Arquivo CSV: ");
+        try {
+            exibirImportacao(importadorCsv.importarCursos(Paths.get(arquivo.trim())), "cursos");
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("❌ Não foi possível ler o arquivo: " + e.getMessage());
+        }
+    }
+    
     // ========== MENU DE TURMAS ==========
     
     private void menuTurmas() {
@@ -437,9 +514,7 @@ public class Menu {
     }
     
     private void listarTurmas() {
-        List<Turma> turmas = turmaService.listarTodas();
-        
-        if (turmas.isEmpty()) {
+        if (turmaService.contar() == 0) {
             System.out.println("\n❌ Nenhuma turma cadastrada!");
             return;
         }
@@ -447,14 +522,11 @@ public class Menu {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║        LISTA DE TURMAS                 ║");
         System.out.println("╚════════════════════════════════════════╝");
-        System.out.println("Total: " + turmas.size() + " turmas\n");
+        System.out.println("Total: " + turmaService.contar() + " turmas\n");
         
-        for (int i = 0; i < turmas.size(); i++) {
-            Turma t = turmas.get(i);
-            System.out.println((i + 1) + ". " + t.getCodigo() + " - " + t.getCurso().getNome() +
-                             " (" + t.getProfessor().getNome() + ")");
-        }
-        System.out.println();
+        exibirPaginado(offset -> turmaService.listarPagina(offset, TAMANHO_PAGINA),
+                       t -> t.getCodigo() + " - " + t.getCurso().getNome() +
+                            " (" + t.getProfessor().getNome() + ")");
     }
     
     private void verDetalhesTurmaInterativo() {
@@ -494,6 +566,20 @@ public class Menu {
         }
     }
     
+    // ========== AUTENTICAÇÃO ==========
+    
+    private void autenticarInterativo() {
+        System.out.println("\n--- AUTENTICAR USUÁRIO ---");
+        String login = obterEntrada("Login: ");
+        String senha = obterEntrada("Senha: ");
+        
+        Usuario usuario = autenticacaoService.autenticar(login, senha);
+        
+        if (usuario != null) {
+            System.out.println("Perfil: " + usuario.obterPerfil());
+        }
+    }
+    
     // ========== MENU DE RELATÓRIOS ==========
     
     private void menuRelatorios() {
@@ -506,6 +592,8 @@ public class Menu {
             System.out.println("│ 3. Relatório de Cursos               │");
             System.out.println("│ 4. Relatório de Turmas               │");
             System.out.println("│ 5. Relatório Completo do Sistema     │");
+            System.out.println("│ 6. Exportar Dados (CSV/JSON)         │");
+            System.out.println("│ 7. Estatísticas de Notas             │");
             System.out.println("│ 0. Voltar                            │");
             System.out.println("└──────────────────────────────────────┘");
             
@@ -527,6 +615,12 @@ public class Menu {
                 case "5":
                     sistemaService.gerarRelatorioCompleto();
                     break;
+                case "6":
+                    exportarInterativo();
+                    break;
+                case "7":
+                    estatisticasInterativo();
+                    break;
                 case "0":
                     voltar = true;
                     break;
@@ -536,8 +630,140 @@ public class Menu {
         }
     }
     
+    private void exportarInterativo() {
+        System.out.println("\n--- EXPORTAR DADOS ---");
+        System.out.println("1. Alunos  2. Professores  3. Cursos  4. Turmas (alunos e notas)");
+        String entidade = obterEntrada("O que exportar: ").trim();
+        if (!entidade.matches("[1-4]")) {
+            System.out.println("❌ Opção inválida!");
+            return;
+        }
+        String formatoStr = obterEntrada("Formato (CSV ou JSON): ").trim().toUpperCase();
+        if (!formatoStr.equals("CSV") && !formatoStr.equals("JSON")) {
+            System.out.println("❌ Formato inválido!");
+            return;
+        }
+        FormatoExportacao formato = FormatoExportacao.valueOf(formatoStr);
+        String arquivo = obterEntrada("Arquivo de destino (termine em .gz para compactar): ").trim();
+        
+        try {
+            Path destino = Paths.get(arquivo);
+            long total;
+            switch (entidade) {
+                case "1":
+                    total = exportadorRelatorios.exportarAlunos(destino, formato);
+                    break;
+                case "2":
+                    total = exportadorRelatorios.exportarProfessores(destino, formato);
+                    break;
+                case "3":
+                    total = exportadorRelatorios.exportarCursos(destino, formato);
+                    break;
+                default:
+                    total = exportadorRelatorios.exportarTurmas(destino, formato);
+            }
+            System.out.println("✓ " + total + " registros exportados para " + destino);
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("❌ Não foi possível gravar o arquivo: " + e.getMessage());
+        }
+    }
+    
+    private void estatisticasInterativo() {
+        System.out.println("\n--- ESTATÍSTICAS DE NOTAS ---");
+        System.out.println("1. Por Turma  2. Por Curso  3. Todas as Turmas");
+        String opcao = obterEntrada("Escolha uma opção: ").trim();
+        String titulo;
+        EstatisticasNotas estatisticas;
+        switch (opcao) {
+            case "1":
+                String codigoTurma = obterEntrada("Código da turma: ");
+                titulo = "Turma " + codigoTurma;
+                estatisticas = turmaService.calcularEstatisticasTurma(codigoTurma);
+                break;
+            case "2":
+                String codigoCurso = obterEntrada("Código do curso: ");
+                titulo = "Curso " + codigoCurso;
+                estatisticas = turmaService.calcularEstatisticasCurso(codigoCurso);
+                break;
+            case "3":
+                titulo = "todas as turmas";
+                estatisticas = turmaService.calcularEstatisticasGerais();
+                break;
+            default:
+                System.out.println("❌ Opção inválida!");
+                return;
+        }
+        if (estatisticas != null) {
+            turmaService.exibirEstatisticas(titulo, estatisticas);
+        }
+    }
+    
     // ========== MÉTODOS AUXILIARES ==========
     
+    /**
+     * Exibe os resultados de uma busca aproximada com a similaridade de cada um
+     */
+    private <T> void exibirSimilares(List<Candidato<T>> candidatos, Function<T, String> formatar, String entidade) {
+        if (candidatos.isEmpty()) {
+            System.out.println("❌ " + entidade + " não encontrado!");
+            return;
+        }
+        System.out.println("Nenhum nome começa com esse termo. Você quis dizer:");
+        for (int i = 0; i < candidatos.size(); i++) {
+            Candidato<T> c = candidatos.get(i);
+            long percentual = Math.round(c.getSimilaridade() * 100);
+            System.out.println((i + 1) + ". " + formatar.apply(c.getItem()) + " - " + percentual + "% parecido");
+        }
+    }
+    
+    /**
+     * Exibe o resumo de uma importação e as primeiras linhas rejeitadas
+     */
+    private void exibirImportacao(ResultadoImportacao resultado, String entidade) {
+        System.out.println("✓ " + resultado.getTotalCadastrados() + " " + entidade + " importados de "
+                           + resultado.getTotalLidos() + " linhas");
+        if (resultado.getTotalRejeitados() == 0) {
+            return;
+        }
+        System.out.println("❌ " + resultado.getTotalRejeitados() + " linhas rejeitadas:");
+        List<ResultadoImportacao.Rejeicao> rejeicoes = resultado.getRejeicoes();
+        for (int i = 0; i < rejeicoes.size() && i < TAMANHO_PAGINA; i++) {
+            System.out.println("   " + rejeicoes.get(i));
+        }
+        if (resultado.getTotalRejeitados() > TAMANHO_PAGINA) {
+            System.out.println("   ... e mais " + (resultado.getTotalRejeitados() - TAMANHO_PAGINA));
+        }
+    }
+    
+    /**
+     * Exibe uma listagem página por página, perguntando antes de continuar
+     * Evita imprimir (e carregar) milhares de registros de uma só vez
+     */
+    private <T> void exibirPaginado(Function<Integer, Pagina<String, T>> buscarPagina,
+                                    Function<T, String> formatar) {
+        int offset = 0;
+        
+        while (true) {
+            Pagina<String, T> pagina = buscarPagina.apply(offset);
+            List<T> itens = pagina.getItens();
+            
+            for (int i = 0; i < itens.size(); i++) {
+                System.out.println((offset + i + 1) + ". " + formatar.apply(itens.get(i)));
+            }
+            
+            if (!pagina.temProxima()) {
+                break;
+            }
+            
+            String resposta = obterEntrada("-- Enter para a próxima página, 0 para parar: ");
+            if (resposta.trim().equals("0")) {
+                break;
+            }
+            offset = pagina.getProximoOffset();
+        }
+        System.out.println();
+    }
+    
     private String obterEntrada(String mensagem) {
         System.out.print(mensagem);
         return scanner.nextLine();
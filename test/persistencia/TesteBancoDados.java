@@ -0,0 +1,121 @@
+package persistencia;
+
+import model.Aluno;
+import model.Avaliacao;
+import model.CursoPresencial;
+import model.Professor;
+import model.Turma;
+import repository.AlunoRepository;
+import repository.Armazenamento;
+import repository.CursoRepository;
+import repository.DiretorioLogin;
+import repository.ProfessorRepository;
+import repository.TurmaRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Classe TesteBancoDados
+ * Teste de ida e volta do BancoDados (Fase 9)
+ *
+ * VERIFICA:
+ * - duas avaliações do mesmo aluno com a mesma descrição são gravadas e
+ *   voltam como duas (a tabela avaliacao usa o id da turma como chave)
+ * - nota alterada e avaliação removida depois de reabrir atingem a
+ *   avaliação certa
+ *
+ * Execução (sai com código 1 se alguma verificação falhar; precisa do H2 no classpath):
+ *   javac -encoding UTF-8 -d out $(find src test -name '*.java')
+ *   java -cp out:h2.jar persistencia.TesteBancoDados
+ *
+ * (Fase 9: Persistência)
+ */
+public class TesteBancoDados {
+
+    private static int falhas = 0;
+
+    // Repositórios de uma abertura do banco
+    private static final class Sistema {
+        private final AlunoRepository alunos;
+        private final ProfessorRepository professores;
+        private final CursoRepository cursos;
+        private final TurmaRepository turmas;
+        private final BancoDados banco;
+
+        private Sistema(String url) throws Exception {
+            DiretorioLogin diretorioLogin = new DiretorioLogin();
+            alunos = new AlunoRepository(Armazenamento.HASH, diretorioLogin);
+            professores = new ProfessorRepository(Armazenamento.HASH, diretorioLogin);
+            cursos = new CursoRepository(Armazenamento.HASH);
+            turmas = new TurmaRepository(Armazenamento.HASH);
+            banco = new BancoDados(url, PoliticaSincronizacao.SEMPRE, alunos, professores, cursos, turmas);
+            banco.abrir();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Ida e volta do BancoDados ===");
+        Path diretorio = Files.createTempDirectory("teste-banco");
+        String url = "jdbc:h2:" + diretorio.resolve("sge").toAbsolutePath();
+
+        Sistema sistema = new Sistema(url);
+        sistema.professores.adicionar(new Professor("Ana", "ana", "senha", "Java", "P1"));
+        sistema.cursos.adicionar(new CursoPresencial("Java", "C1", 60, "Sala 1"));
+        Aluno aluno = new Aluno("Bruno", "bruno", "senha", "M1", "C1");
+        sistema.alunos.adicionar(aluno);
+        Turma turma = new Turma("T1", sistema.professores.buscarPorRegistro("P1"), sistema.cursos.buscarPorCodigo("C1"));
+        sistema.turmas.adicionar(turma);
+        turma.matricular(aluno);
+        registrarProva(turma, aluno, 4.0);
+        registrarProva(turma, aluno, 9.0);
+        sistema.banco.fechar();
+
+        sistema = new Sistema(url);
+        turma = sistema.turmas.buscarPorCodigo("T1");
+        verificar(turma != null && turma.getListaAvaliacoes().size() == 2 && turma.calcularMediaAluno("M1") == 6.5,
+                "avaliações com a mesma descrição voltam separadas (avaliações="
+                        + (turma == null ? 0 : turma.getListaAvaliacoes().size())
+                        + ", média=" + (turma == null ? 0 : turma.calcularMediaAluno("M1")) + ")");
+        if (turma == null || turma.getListaAvaliacoes().size() != 2) {
+            encerrar(sistema);
+            return;
+        }
+
+        // A primeira sai, a segunda muda de nota: cada alteração precisa achar a sua linha
+        turma.removerAvaliacao(turma.getListaAvaliacoes().get(0));
+        turma.getListaAvaliacoes().get(0).alterarNota(7.0);
+        sistema.banco.fechar();
+
+        sistema = new Sistema(url);
+        turma = sistema.turmas.buscarPorCodigo("T1");
+        verificar(turma != null && turma.getListaAvaliacoes().size() == 1 && turma.calcularMediaAluno("M1") == 7.0,
+                "remoção e nova nota atingem a avaliação certa (avaliações="
+                        + (turma == null ? 0 : turma.getListaAvaliacoes().size())
+                        + ", média=" + (turma == null ? 0 : turma.calcularMediaAluno("M1")) + ")");
+        encerrar(sistema);
+    }
+
+    private static void registrarProva(Turma turma, Aluno aluno, double nota) {
+        Avaliacao avaliacao = new Avaliacao("Prova", aluno);
+        avaliacao.alterarNota(nota);
+        turma.registrarAvaliacao(avaliacao);
+    }
+
+    private static void encerrar(Sistema sistema) {
+        sistema.banco.fechar();
+        if (falhas > 0) {
+            System.out.println("❌ " + falhas + " verificação(ões) falharam");
+            System.exit(1);
+        }
+        System.out.println("✓ Todas as verificações passaram");
+    }
+
+    private static void verificar(boolean condicao, String descricao) {
+        if (condicao) {
+            System.out.println("✓ " + descricao);
+        } else {
+            falhas++;
+            System.out.println("❌ " + descricao);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package repository;
+
+import model.Aluno;
+import model.Usuario;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe EstresseConcorrencia
+ * Teste de estresse do motor CONCORRENTE e dos repositórios (Fase 8)
+ *
+ * VERIFICA:
+ * - adicionar com a mesma chave em várias threads: exatamente uma vence
+ * - listagens durante escritas e trocas de chave: nenhuma entidade aparece
+ *   duas vezes ou some
+ * - páginas por cursor durante trocas de chave (sem trava): chaves em ordem,
+ *   sem repetição; a entidade em troca pode aparecer nas duas chaves ou em
+ *   nenhuma (só contado, não é erro)
+ * - índices consistentes ao final (contar, listar, páginas e buscar)
+ * - atualizações simultâneas pedindo o mesmo login: só uma consegue
+ *   e ninguém fica fora do diretório de logins
+ * - vazão (operações por segundo) por quantidade de threads
+ *
+ * Execução (sai com código 1 se alguma verificação falhar):
+ *   javac -encoding UTF-8 -d out $(find src test -name '*.java')
+ *   java -cp out repository.EstresseConcorrencia
+ *
+ * (Fase 8: Desempenho e Índices)
+ */
+public class EstresseConcorrencia {
+
+    // Entidade mínima para exercitar o motor sem os índices dos repositórios
+    private static final class Item {
+        private final String chave;
+        private final int id;
+
+        private Item(String chave, int id) {
+            this.chave = chave;
+            this.id = id;
+        }
+    }
+
+    private static final int THREADS_DISPUTA = 8;
+    private static final int RODADAS_DISPUTA = 500;
+    private static final int ITENS_TROCA = 400; // cabe em uma página (Pagina.TAMANHO_MAXIMO)
+    private static final long DURACAO_CONSISTENCIA_MS = 2000;
+    private static final int ITENS_VAZAO = 100_000;
+    private static final long DURACAO_VAZAO_MS = 1000;
+
+    private static int falhas = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Estresse do motor CONCORRENTE (" + Runtime.getRuntime().availableProcessors() + " processadores) ===");
+        verificarVencedorUnico();
+        verificarConsistenciaListagens();
+        verificarDisputaLogin();
+        medirVazao();
+
+        if (falhas > 0) {
+            System.out.println("❌ " + falhas + " verificação(ões) falharam");
+            System.exit(1);
+        }
+        System.out.println("✓ Todas as verificações passaram");
+    }
+
+    // ========== VENCEDOR ÚNICO ==========
+
+    private static void verificarVencedorUnico() throws InterruptedException {
+        ConcurrentRepository<String, Item> repositorio = new ConcurrentRepository<>(item -> item.chave);
+        int rodadasComErro = 0;
+
+        for (int rodada = 0; rodada < RODADAS_DISPUTA; rodada++) {
+            String chave = "disputa-" + rodada;
+            AtomicInteger vencedores = new AtomicInteger();
+            executarJuntas(THREADS_DISPUTA, t -> {
+                if (repositorio.adicionar(new Item(chave, t))) {
+                    vencedores.incrementAndGet();
+                }
+            });
+            if (vencedores.get() != 1) {
+                rodadasComErro++;
+            }
+        }
+
+        verificar(rodadasComErro == 0, "adicionar com a mesma chave tem um único vencedor ("
+                + RODADAS_DISPUTA + " rodadas, " + THREADS_DISPUTA + " threads; rodadas com erro: " + rodadasComErro + ")");
+        verificar(repositorio.contar() == RODADAS_DISPUTA && repositorio.listar().size() == RODADAS_DISPUTA,
+                "contar e listar têm uma entidade por chave disputada");
+    }
+
+    // ========== CONSISTÊNCIA DAS LISTAGENS ==========
+
+    // Escritores trocam a chave dos itens fixos (a-N <-> b-N) e adicionam/removem itens
+    // temporários; leitores conferem que cada item fixo aparece exatamente uma vez
+    private static void verificarConsistenciaListagens() throws InterruptedException {
+        ConcurrentRepository<String, Item> repositorio = new ConcurrentRepository<>(item -> item.chave);
+        for (int i = 0; i < ITENS_TROCA; i++) {
+            repositorio.adicionar(new Item(chaveTroca("a", i), i));
+        }
+
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicLong leiturasInconsistentes = new AtomicLong();
+        AtomicLong leituras = new AtomicLong();
+        AtomicLong paginasDuranteTroca = new AtomicLong();
+        AtomicLong trocas = new AtomicLong();
+        int escritores = 4;
+        int leitores = 4;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int e = 0; e < escritores; e++) {
+            int escritor = e;
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                int temporario = 0;
+                while (!parar.get()) {
+                    int i = aleatorio.nextInt(ITENS_TROCA);
+                    String chaveA = chaveTroca("a", i);
+                    String chaveB = chaveTroca("b", i);
+                    if (repositorio.atualizar(chaveA, new Item(chaveB, i))
+                            || repositorio.atualizar(chaveB, new Item(chaveA, i))) {
+                        trocas.incrementAndGet();
+                    }
+                    // Itens temporários (id negativo) entram e saem em paralelo às trocas
+                    String chaveTemporaria = "t-" + escritor + "-" + (temporario++ % 50);
+                    if (!repositorio.adicionar(new Item(chaveTemporaria, -1))) {
+                        repositorio.remover(chaveTemporaria);
+                    }
+                }
+            }));
+        }
+        for (int l = 0; l < leitores; l++) {
+            int leitor = l;
+            threads.add(new Thread(() -> {
+                while (!parar.get()) {
+                    if (leitor % 2 == 0) {
+                        if (!cadaItemFixoUmaVez(repositorio.listar())) {
+                            leiturasInconsistentes.incrementAndGet();
+                        }
+                    } else {
+                        // A página por cursor a partir de "a" cobre as chaves a-N e b-N (antes dos t-)
+                        List<Item> itens = repositorio.listarPaginaApos("a", Pagina.TAMANHO_MAXIMO).getItens();
+                        if (!chavesCrescentes(itens)) {
+                            leiturasInconsistentes.incrementAndGet();
+                        } else if (!cadaItemFixoUmaVez(itens)) {
+                            paginasDuranteTroca.incrementAndGet();
+                        }
+                    }
+                    leituras.incrementAndGet();
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        Thread.sleep(DURACAO_CONSISTENCIA_MS);
+        parar.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        verificar(leiturasInconsistentes.get() == 0, "listagens durante trocas de chave veem cada entidade uma vez, páginas em ordem ("
+                + leituras.get() + " leituras, " + trocas.get() + " trocas; inconsistentes: " + leiturasInconsistentes.get()
+                + "; páginas com uma troca no meio: " + paginasDuranteTroca.get() + ")");
+
+        // Ao final, todos os caminhos de leitura concordam
+        List<Item> todos = repositorio.listar();
+        int naoEncontrados = 0;
+        for (Item item : todos) {
+            if (repositorio.buscar(item.chave) != item) {
+                naoEncontrados++;
+            }
+        }
+        int paginados = 0;
+        Pagina<String, Item> pagina = repositorio.listarPaginaApos(null, Pagina.TAMANHO_MAXIMO);
+        while (true) {
+            paginados += pagina.getItens().size();
+            if (!pagina.temProxima()) {
+                break;
+            }
+            pagina = repositorio.listarPaginaApos(pagina.getProximaChave(), Pagina.TAMANHO_MAXIMO);
+        }
+        verificar(naoEncontrados == 0 && todos.size() == repositorio.contar() && paginados == todos.size()
+                        && cadaItemFixoUmaVez(todos),
+                "índices consistentes ao final (contar=" + repositorio.contar() + ", listar=" + todos.size()
+                        + ", páginas=" + paginados + ", buscar falhou=" + naoEncontrados + ")");
+    }
+
+    // Os itens temporários (id negativo) são ignorados: só os fixos têm presença garantida
+    private static boolean cadaItemFixoUmaVez(List<Item> itens) {
+        boolean[] vistos = new boolean[ITENS_TROCA];
+        int fixos = 0;
+        for (Item item : itens) {
+            if (item.id < 0) {
+                continue;
+            }
+            if (vistos[item.id]) {
+                return false;
+            }
+            vistos[item.id] = true;
+            fixos++;
+        }
+        return fixos == ITENS_TROCA;
+    }
+
+    private static boolean chavesCrescentes(List<Item> itens) {
+        for (int i = 1; i < itens.size(); i++) {
+            if (itens.get(i - 1).chave.compareTo(itens.get(i).chave) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String chaveTroca(String prefixo, int i) {
+        return String.format("%s-%04d", prefixo, i);
+    }
+
+    // ========== DISPUTA DE LOGIN ==========
+
+    private static void verificarDisputaLogin() throws InterruptedException {
+        DiretorioLogin diretorio = new DiretorioLogin();
+        AlunoRepository repositorio = new AlunoRepository(Armazenamento.CONCORRENTE, diretorio);
+        int rodadas = 300;
+        int disputantes = 4;
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < rodadas * disputantes; i++) {
+            Aluno aluno = new Aluno("Aluno " + i, "login-" + i, "senha", String.format("M%05d", i), "Curso");
+            repositorio.adicionar(aluno);
+            alunos.add(aluno);
+        }
+
+        int rodadasComErro = 0;
+        PrintStream saida = silenciar(); // As atualizações perdedoras imprimem "Login já está em uso"
+        try {
+            for (int rodada = 0; rodada < rodadas; rodada++) {
+                String loginDisputado = "disputado-" + rodada;
+                int primeiro = rodada * disputantes;
+                AtomicInteger vencedores = new AtomicInteger();
+                executarJuntas(disputantes, t -> {
+                    Aluno aluno = alunos.get(primeiro + t);
+                    Aluno alterado = new Aluno(aluno.getNome(), loginDisputado, aluno.getSenha(),
+                                               aluno.getMatricula(), aluno.getCurso());
+                    if (repositorio.atualizar(aluno.getMatricula(), aluno.getVersao(), alterado) == ResultadoAtualizacao.ATUALIZADO) {
+                        vencedores.incrementAndGet();
+                    }
+                });
+
+                // Um vencedor, dono do login disputado; os perdedores continuam com o login anterior
+                Usuario dono = diretorio.buscarPorLogin(loginDisputado);
+                boolean correta = vencedores.get() == 1 && dono != null && loginDisputado.equals(dono.getLogin());
+                for (int t = 0; t < disputantes; t++) {
+                    Aluno aluno = alunos.get(primeiro + t);
+                    correta &= diretorio.buscarPorLogin(aluno.getLogin()) == aluno;
+                }
+                if (!correta) {
+                    rodadasComErro++;
+                }
+            }
+        } finally {
+            System.setOut(saida);
+        }
+
+        verificar(rodadasComErro == 0, "atualizações pedindo o mesmo login têm um único vencedor ("
+                + rodadas + " rodadas, " + disputantes + " threads; rodadas com erro: " + rodadasComErro + ")");
+        verificar(diretorio.contar() == alunos.size(), "diretório tem exatamente um login por aluno ("
+                + diretorio.contar() + " de " + alunos.size() + ")");
+    }
+
+    // ========== VAZÃO ==========
+
+    // 90% buscas, 5% inclusões e 5% remoções sobre um motor pré-carregado
+    private static void medirVazao() throws InterruptedException {
+        ConcurrentRepository<String, Item> repositorio = new ConcurrentRepository<>(item -> item.chave);
+        for (int i = 0; i < ITENS_VAZAO; i++) {
+            repositorio.adicionar(new Item("v-" + i, i));
+        }
+
+        int processadores = Runtime.getRuntime().availableProcessors();
+        List<Integer> quantidades = new ArrayList<>();
+        for (int threads = 1; threads < processadores; threads *= 2) {
+            quantidades.add(threads);
+        }
+        quantidades.add(processadores);
+        if (processadores == 1) {
+            quantidades.add(2); // Sem paralelismo real, mostra ao menos o custo da disputa
+        }
+
+        System.out.println("--- Vazão (90% buscar, 5% adicionar, 5% remover) ---");
+        double base = 0;
+        for (int threads : quantidades) {
+            AtomicBoolean parar = new AtomicBoolean();
+            AtomicLong operacoes = new AtomicLong();
+            List<Thread> trabalhadores = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                trabalhadores.add(new Thread(() -> {
+                    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                    long feitas = 0;
+                    while (!parar.get()) {
+                        int i = aleatorio.nextInt(ITENS_VAZAO);
+                        int sorteio = aleatorio.nextInt(100);
+                        if (sorteio < 90) {
+                            repositorio.buscar("v-" + i);
+                        } else if (sorteio < 95) {
+                            repositorio.adicionar(new Item("v-" + i, i));
+                        } else {
+                            repositorio.remover("v-" + i);
+                        }
+                        feitas++;
+                    }
+                    operacoes.addAndGet(feitas);
+                }));
+            }
+            long inicio = System.nanoTime();
+            trabalhadores.forEach(Thread::start);
+            Thread.sleep(DURACAO_VAZAO_MS);
+            parar.set(true);
+            for (Thread trabalhador : trabalhadores) {
+                trabalhador.join();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            double porSegundo = operacoes.get() / segundos;
+            if (base == 0) {
+                base = porSegundo;
+            }
+            System.out.printf("%3d thread(s): %,14.0f op/s  (%.2fx)%n", threads, porSegundo, porSegundo / base);
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private interface Tarefa {
+        void executar(int thread) throws Exception;
+    }
+
+    // Solta todas as threads ao mesmo tempo para maximizar a disputa
+    private static void executarJuntas(int quantidade, Tarefa tarefa) throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(quantidade);
+        Set<Throwable> erros = Collections.synchronizedSet(new HashSet<>());
+        for (int t = 0; t < quantidade; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    largada.await();
+                    tarefa.executar(thread);
+                } catch (Exception e) {
+                    erros.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!erros.isEmpty()) {
+            throw new IllegalStateException("Erro em uma thread do teste", erros.iterator().next());
+        }
+    }
+
+    private static PrintStream silenciar() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+
+    private static void verificar(boolean condicao, String descricao) {
+        if (condicao) {
+            System.out.println("✓ " + descricao);
+        } else {
+            falhas++;
+            System.out.println("❌ " + descricao);
+        }
+    }
+}